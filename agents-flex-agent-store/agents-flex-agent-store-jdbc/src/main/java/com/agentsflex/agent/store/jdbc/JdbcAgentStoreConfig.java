@@ -15,12 +15,16 @@ public final class JdbcAgentStoreConfig {
     private final String tablePrefix;
     private final String binaryColumnType;
     private final AgentStoreSerializer serializer;
+    private final JdbcClaimMode claimMode;
+    private final int journalCompactionInterval;
 
     private JdbcAgentStoreConfig(Builder builder) {
         this.dataSource = builder.dataSource;
         this.tablePrefix = builder.tablePrefix;
         this.binaryColumnType = builder.binaryColumnType;
         this.serializer = builder.serializer;
+        this.claimMode = builder.claimMode;
+        this.journalCompactionInterval = builder.journalCompactionInterval;
     }
 
     public static Builder builder(DataSource dataSource) {
@@ -39,6 +43,14 @@ public final class JdbcAgentStoreConfig {
         return binaryColumnType;
     }
 
+    public JdbcClaimMode getClaimMode() {
+        return claimMode;
+    }
+
+    public int getJournalCompactionInterval() {
+        return journalCompactionInterval;
+    }
+
     AgentStoreSerializer getSerializer() {
         return serializer;
     }
@@ -63,6 +75,8 @@ public final class JdbcAgentStoreConfig {
         private String tablePrefix = "af_agent_";
         private String binaryColumnType = "BLOB";
         private AgentStoreSerializer serializer = new FastjsonAgentStoreSerializer();
+        private JdbcClaimMode claimMode = JdbcClaimMode.AUTO;
+        private int journalCompactionInterval;
 
         private Builder(DataSource dataSource) {
             this.dataSource = Objects.requireNonNull(dataSource, "dataSource must not be null");
@@ -98,6 +112,26 @@ public final class JdbcAgentStoreConfig {
             return this;
         }
 
+        /**
+         * 设置领取可运行 Turn 的策略，默认按数据库方言自动选择。
+         */
+        public Builder claimMode(JdbcClaimMode claimMode) {
+            this.claimMode = Objects.requireNonNull(claimMode, "claimMode must not be null");
+            return this;
+        }
+
+        /**
+         * 启用追加式 Journal，未终止 Turn 每步只写入新增消息和不含消息历史的状态，
+         * 每累积指定条数或进入终态时再压缩为完整 Snapshot。默认 0 表示每次写入完整 Snapshot。
+         */
+        public Builder journalCompactionInterval(int journalCompactionInterval) {
+            if (journalCompactionInterval < 0) {
+                throw new IllegalArgumentException("journalCompactionInterval must not be negative");
+            }
+            this.journalCompactionInterval = journalCompactionInterval;
+            return this;
+        }
+
         public JdbcAgentStoreConfig build() {
             return new JdbcAgentStoreConfig(this);
         }
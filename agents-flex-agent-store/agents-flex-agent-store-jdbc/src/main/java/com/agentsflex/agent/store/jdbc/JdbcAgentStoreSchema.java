@@ -24,6 +24,9 @@ public final class JdbcAgentStoreSchema extends JdbcAgentStoreSupport {
                 + "turn_id VARCHAR(191) PRIMARY KEY, version BIGINT NOT NULL, status VARCHAR(64) NOT NULL, "
                 + "next_runnable_at BIGINT NOT NULL, lease_owner VARCHAR(191), lease_id VARCHAR(191), lease_until BIGINT NOT NULL, "
                 + "parent_turn_id VARCHAR(191), cancellation_requested BOOLEAN NOT NULL, payload " + binary + " NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS " + table("turn_journal") + " ("
+                + "turn_id VARCHAR(191) NOT NULL, seq BIGINT NOT NULL, message_count INT NOT NULL, "
+                + "message_digest VARCHAR(128) NOT NULL, payload " + binary + " NOT NULL, PRIMARY KEY (turn_id, seq))");
             statement.execute("CREATE TABLE IF NOT EXISTS " + table("compression_states") + " ("
                 + "conversation_id VARCHAR(191) PRIMARY KEY, version BIGINT NOT NULL, payload " + binary + " NOT NULL)");
             createIndexIfMissing(connection, statement, table("turns"), table("turns_runnable_idx"),
@@ -3,24 +3,43 @@ package com.agentsflex.agent.store.jdbc;
 import com.agentsflex.agent.AgentTurnSnapshot;
 import com.agentsflex.agent.AgentTurnState;
 import com.agentsflex.agent.AgentTurnStatus;
+import com.agentsflex.agent.store.AgentTurnJournal;
+import com.agentsflex.agent.store.AgentTurnJournalEntry;
 import com.agentsflex.agent.store.AgentTurnStore;
 import com.agentsflex.agent.store.AgentTurnVersionConflictException;
 import com.agentsflex.agent.store.ParentChildTurnSnapshots;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * 使用 JDBC 事务、条件更新和乐观锁保存 AgentTurn Snapshot。
+ *
+ * <p>领取可运行 Turn 时按 {@link JdbcClaimMode} 选择 {@code FOR UPDATE SKIP LOCKED} 批量领取或逐行乐观领取。</p>
+ *
+ * <p>配置 {@link JdbcAgentStoreConfig.Builder#journalCompactionInterval(int)} 后，未终止 Turn 的保存只更新
+ * turns 表的状态列，并向 turn_journal 表追加一条 {@link AgentTurnJournalEntry}；turns.payload 仅在压缩时重写。
+ * 加载时在 payload 上按 seq 重放 Journal。</p>
  */
 public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements AgentTurnStore {
+    /** 实际使用的领取策略；AUTO 在首次领取时按数据库元数据解析。 */
+    private volatile JdbcClaimMode claimMode;
+    /** 为 {@code null} 时每次保存都重写完整 payload。 */
+    private final AgentTurnJournal journal;
+
     JdbcAgentTurnStore(JdbcAgentStoreConfig config) {
         super(config);
+        this.claimMode = config.getClaimMode();
+        this.journal = config.getJournalCompactionInterval() > 0
+            ? new AgentTurnJournal(config.getSerializer(), config.getJournalCompactionInterval()) : null;
     }
 
     @Override
@@ -56,15 +75,15 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
             statement.setString(4, AgentTurnStatus.MAX_ITERATIONS_REACHED.name());
             statement.setString(5, AgentTurnStatus.MAX_STEPS_REACHED.name());
             statement.setString(6, AgentTurnStatus.BUDGET_EXCEEDED.name());
+            String turnId = null;
             try (ResultSet rows = statement.executeQuery()) {
-                while (rows.next()) {
+                while (turnId == null && rows.next()) {
                     AgentTurnSnapshot snapshot = deserialize(rows.getBytes(1), AgentTurnSnapshot.class);
                     Object value = snapshot.getState().getMetadata().get("agentsflex.conversationId");
-                    if (conversationId.equals(value)) return load(connection,
-                        snapshot.getState().getTurnId());
+                    if (conversationId.equals(value)) turnId = snapshot.getState().getTurnId();
                 }
             }
-            return null;
+            return turnId == null ? null : load(connection, turnId);
         } catch (SQLException error) {
             throw failure("find active AgentTurn", error);
         }
@@ -139,21 +158,83 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
     public List<AgentTurnSnapshot> claimRunnable(String workerId, long now, long leaseMillis, int limit) {
         if (workerId == null || leaseMillis <= 0 || limit <= 0)
             throw new IllegalArgumentException("invalid lease request");
+        try (Connection connection = connection()) {
+            if (resolveClaimMode(connection) == JdbcClaimMode.SKIP_LOCKED) {
+                return claimSkipLocked(connection, workerId, now, leaseMillis, limit);
+            }
+            return claimOptimistic(connection, workerId, now, leaseMillis, limit);
+        } catch (SQLException error) {
+            throw failure("claim runnable AgentTurns", error);
+        }
+    }
+
+    /**
+     * 锁定一批候选行并在同一事务内写入租约。被其他 Worker 锁定的行会被直接跳过，
+     * 因此整批领取只需一次查询、一次批量更新和一次批量加载。
+     *
+     * <p>SKIP LOCKED 只锁定候选行本身，父 Turn 可能在查询之后被其他 Worker 领取，因此批量更新仍按乐观领取的
+     * 条件复查自身与父 Turn 的租约，最终只返回本次租约实际写入的 Turn。</p>
+     */
+    private List<AgentTurnSnapshot> claimSkipLocked(Connection connection, String workerId, long now,
+                                                    long leaseMillis, int limit) throws SQLException {
+        String query = "SELECT r.turn_id,r.parent_turn_id FROM " + table("turns") + " r WHERE " + runnablePredicate()
+            + " ORDER BY r.next_runnable_at LIMIT ? FOR UPDATE SKIP LOCKED";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            List<String> turnIds = new ArrayList<>(limit);
+            List<String> parentTurnIds = new ArrayList<>(limit);
+            try (PreparedStatement select = connection.prepareStatement(query)) {
+                bindRunnablePredicate(select, now);
+                select.setInt(14, limit);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        turnIds.add(rows.getString(1));
+                        parentTurnIds.add(rows.getString(2));
+                    }
+                }
+            }
+            if (turnIds.isEmpty()) {
+                connection.commit();
+                return new ArrayList<>();
+            }
+
+            Map<String, String> leaseIds = new HashMap<>();
+            try (PreparedStatement claim = connection.prepareStatement(claimUpdate())) {
+                for (int i = 0; i < turnIds.size(); i++) {
+                    String leaseId = UUID.randomUUID().toString();
+                    leaseIds.put(turnIds.get(i), leaseId);
+                    bindClaimUpdate(claim, workerId, leaseId, now, leaseMillis, turnIds.get(i), parentTurnIds.get(i));
+                    claim.addBatch();
+                }
+                claim.executeBatch();
+            }
+            // 部分驱动的批量结果只返回 SUCCESS_NO_INFO，按写入的 leaseId 判定哪些行实际被领取。
+            List<AgentTurnSnapshot> claimed = new ArrayList<>(turnIds.size());
+            for (AgentTurnSnapshot snapshot : loadAll(connection, turnIds)) {
+                AgentTurnState state = snapshot.getState();
+                if (workerId.equals(state.getLeaseOwner())
+                    && leaseIds.get(state.getTurnId()).equals(state.getLeaseId())) {
+                    claimed.add(snapshot);
+                }
+            }
+            connection.commit();
+            return claimed;
+        } catch (RuntimeException | SQLException error) {
+            rollback(connection);
+            throw error;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private List<AgentTurnSnapshot> claimOptimistic(Connection connection, String workerId, long now,
+                                                    long leaseMillis, int limit) throws SQLException {
         List<AgentTurnSnapshot> claimed = new ArrayList<>();
         String query = "SELECT r.turn_id,r.version,r.parent_turn_id FROM " + table("turns") + " r WHERE "
-            + "((r.status IN (?,?)) OR (r.status=? AND r.next_runnable_at<=?) OR "
-            + "(r.cancellation_requested=? AND r.status NOT IN (?,?,?,?,?,?))) "
-            + "AND (r.lease_owner IS NULL OR r.lease_until<=?) AND NOT EXISTS (SELECT 1 FROM " + table("turns")
-            + " p WHERE p.turn_id=r.parent_turn_id AND p.lease_owner IS NOT NULL AND p.lease_until>?) ORDER BY r.next_runnable_at";
-        try (Connection connection = connection(); PreparedStatement select = connection.prepareStatement(query)) {
-            select.setString(1, AgentTurnStatus.READY.name());
-            select.setString(2, AgentTurnStatus.RUNNING.name());
-            select.setString(3, AgentTurnStatus.RETRY_SCHEDULED.name());
-            select.setLong(4, now);
-            select.setBoolean(5, true);
-            bindTerminalStatuses(select, 6);
-            select.setLong(12, now);
-            select.setLong(13, now);
+            + runnablePredicate() + " ORDER BY r.next_runnable_at";
+        try (PreparedStatement select = connection.prepareStatement(query)) {
+            bindRunnablePredicate(select, now);
             select.setMaxRows(Math.max(limit * 4, limit));
             try (ResultSet rows = select.executeQuery()) {
                 while (rows.next() && claimed.size() < limit) {
@@ -161,27 +242,95 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
                     long version = rows.getLong(2);
                     String parentTurnId = rows.getString(3);
                     String leaseId = UUID.randomUUID().toString();
-                    String update = "UPDATE " + table("turns") + " SET lease_owner=?,lease_id=?,lease_until=?,version=version+1 "
-                        + "WHERE turn_id=? AND version=? AND (lease_owner IS NULL OR lease_until<=?) "
-                        + "AND (? IS NULL OR NOT EXISTS (SELECT 1 FROM (SELECT turn_id,lease_owner,lease_until FROM "
-                        + table("turns") + ") p WHERE p.turn_id=? AND p.lease_owner IS NOT NULL AND p.lease_until>?))";
-                    try (PreparedStatement claim = connection.prepareStatement(update)) {
-                        claim.setString(1, workerId);
-                        claim.setString(2, leaseId);
-                        claim.setLong(3, now + leaseMillis);
-                        claim.setString(4, turnId);
-                        claim.setLong(5, version);
-                        claim.setLong(6, now);
-                        claim.setString(7, parentTurnId);
-                        claim.setString(8, parentTurnId);
-                        claim.setLong(9, now);
+                    try (PreparedStatement claim = connection.prepareStatement(claimUpdate() + " AND version=?")) {
+                        bindClaimUpdate(claim, workerId, leaseId, now, leaseMillis, turnId, parentTurnId);
+                        claim.setLong(9, version);
                         if (claim.executeUpdate() == 1) claimed.add(load(connection, turnId));
                     }
                 }
             }
-            return claimed;
-        } catch (SQLException error) {
-            throw failure("claim runnable AgentTurns", error);
+        }
+        return claimed;
+    }
+
+    /**
+     * 写入租约的条件更新：自身租约已失效且父 Turn 未被有效租约占用。父 Turn 通过派生表读取，
+     * 以兼容 MySQL 不允许在 UPDATE 子查询中直接引用目标表的限制。
+     */
+    private String claimUpdate() {
+        return "UPDATE " + table("turns") + " SET lease_owner=?,lease_id=?,lease_until=?,version=version+1 "
+            + "WHERE turn_id=? AND (lease_owner IS NULL OR lease_until<=?) "
+            + "AND (? IS NULL OR NOT EXISTS (SELECT 1 FROM (SELECT turn_id,lease_owner,lease_until FROM "
+            + table("turns") + ") p WHERE p.turn_id=? AND p.lease_owner IS NOT NULL AND p.lease_until>?))";
+    }
+
+    private void bindClaimUpdate(PreparedStatement claim, String workerId, String leaseId, long now,
+                                 long leaseMillis, String turnId, String parentTurnId) throws SQLException {
+        claim.setString(1, workerId);
+        claim.setString(2, leaseId);
+        claim.setLong(3, now + leaseMillis);
+        claim.setString(4, turnId);
+        claim.setLong(5, now);
+        claim.setString(6, parentTurnId);
+        claim.setString(7, parentTurnId);
+        claim.setLong(8, now);
+    }
+
+    /**
+     * 可领取 Turn 的条件：待运行、到期重试或已请求取消但未结束，且自身与父 Turn 均未被有效租约占用。
+     */
+    private String runnablePredicate() {
+        return "((r.status IN (?,?)) OR (r.status=? AND r.next_runnable_at<=?) OR "
+            + "(r.cancellation_requested=? AND r.status NOT IN (?,?,?,?,?,?))) "
+            + "AND (r.lease_owner IS NULL OR r.lease_until<=?) AND NOT EXISTS (SELECT 1 FROM " + table("turns")
+            + " p WHERE p.turn_id=r.parent_turn_id AND p.lease_owner IS NOT NULL AND p.lease_until>?)";
+    }
+
+    private void bindRunnablePredicate(PreparedStatement select, long now) throws SQLException {
+        select.setString(1, AgentTurnStatus.READY.name());
+        select.setString(2, AgentTurnStatus.RUNNING.name());
+        select.setString(3, AgentTurnStatus.RETRY_SCHEDULED.name());
+        select.setLong(4, now);
+        select.setBoolean(5, true);
+        bindTerminalStatuses(select, 6);
+        select.setLong(12, now);
+        select.setLong(13, now);
+    }
+
+    private JdbcClaimMode resolveClaimMode(Connection connection) throws SQLException {
+        JdbcClaimMode mode = claimMode;
+        if (mode == JdbcClaimMode.AUTO) {
+            mode = supportsSkipLocked(connection.getMetaData()) ? JdbcClaimMode.SKIP_LOCKED : JdbcClaimMode.OPTIMISTIC;
+            claimMode = mode;
+        }
+        return mode;
+    }
+
+    static boolean supportsSkipLocked(DatabaseMetaData metadata) throws SQLException {
+        String product = metadata.getDatabaseProductName();
+        if (product == null) return false;
+        String version = metadata.getDatabaseProductVersion();
+        int major = metadata.getDatabaseMajorVersion();
+        int minor = metadata.getDatabaseMinorVersion();
+        String name = product.toLowerCase();
+        if (name.contains("postgresql")) return major > 9 || (major == 9 && minor >= 5);
+        if (name.contains("mariadb") || (version != null && version.toLowerCase().contains("mariadb"))) {
+            return version != null && mariaDbAtLeast(version, 10, 6);
+        }
+        if (name.contains("mysql")) return major >= 8;
+        return false;
+    }
+
+    private static boolean mariaDbAtLeast(String version, int major, int minor) {
+        // MariaDB 通过 MySQL 驱动连接时版本形如 "5.5.5-10.6.12-MariaDB"。
+        String value = version.startsWith("5.5.5-") ? version.substring(6) : version;
+        String[] parts = value.split("[.-]");
+        try {
+            int actualMajor = Integer.parseInt(parts[0]);
+            int actualMinor = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            return actualMajor > major || (actualMajor == major && actualMinor >= minor);
+        } catch (NumberFormatException error) {
+            return false;
         }
     }
 
@@ -222,7 +371,6 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
     @Override
     public List<AgentTurnSnapshot> findTerminalChildrenWithWaitingParent(int limit) {
         if (limit <= 0) throw new IllegalArgumentException("limit must be greater than 0");
-        List<AgentTurnSnapshot> result = new ArrayList<>();
         String sql = "SELECT c.turn_id FROM " + table("turns") + " c JOIN " + table("turns")
             + " p ON p.turn_id=c.parent_turn_id WHERE p.status=? AND c.status IN (?,?,?,?,?,?)";
         try (Connection connection = connection(); PreparedStatement statement = connection.prepareStatement(sql)) {
@@ -234,10 +382,11 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
             statement.setString(6, AgentTurnStatus.MAX_STEPS_REACHED.name());
             statement.setString(7, AgentTurnStatus.BUDGET_EXCEEDED.name());
             statement.setMaxRows(limit);
+            List<String> turnIds = new ArrayList<>();
             try (ResultSet rows = statement.executeQuery()) {
-                while (rows.next()) result.add(load(connection, rows.getString(1)));
+                while (rows.next()) turnIds.add(rows.getString(1));
             }
-            return result;
+            return turnIds.isEmpty() ? new ArrayList<>() : loadAll(connection, turnIds);
         } catch (SQLException error) {
             throw failure("find completed child AgentTurns", error);
         }
@@ -261,9 +410,20 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
                 throw error;
             }
         }
+        updateRow(connection, saved, expectedVersion, journal == null ? serialize(saved) : null);
+        if (journal != null) appendOrCompact(connection, saved);
+        return load(connection, saved.getState().getTurnId());
+    }
+
+    /**
+     * 按 expectedVersion 条件更新状态列；payload 为 {@code null} 时保留原有完整 Snapshot。
+     * 更新成功后当前事务持有该行锁，后续 Journal 读写不会与其他写入者交错。
+     */
+    private void updateRow(Connection connection, AgentTurnSnapshot saved, long expectedVersion,
+                           byte[] payload) throws SQLException {
         String sql = "UPDATE " + table("turns") + " SET version=?,status=?,next_runnable_at=?,lease_owner=?,lease_id=?,lease_until=?,"
-            + "parent_turn_id=?,cancellation_requested=CASE WHEN cancellation_requested=? THEN ? ELSE ? END,payload=? "
-            + "WHERE turn_id=? AND version=?";
+            + "parent_turn_id=?,cancellation_requested=CASE WHEN cancellation_requested=? THEN ? ELSE ? END"
+            + (payload == null ? "" : ",payload=?") + " WHERE turn_id=? AND version=?";
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             AgentTurnState state = saved.getState();
             statement.setLong(1, state.getVersion());
@@ -276,16 +436,119 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
             statement.setBoolean(8, true);
             statement.setBoolean(9, true);
             statement.setBoolean(10, state.isCancellationRequested());
-            statement.setBytes(11, serialize(saved));
-            statement.setString(12, state.getTurnId());
-            statement.setLong(13, expectedVersion);
+            int index = 11;
+            if (payload != null) statement.setBytes(index++, payload);
+            statement.setString(index++, state.getTurnId());
+            statement.setLong(index, expectedVersion);
             if (statement.executeUpdate() != 1) {
                 AgentTurnSnapshot actual = load(connection, state.getTurnId());
                 throw conflict(state.getTurnId(), expectedVersion,
                     actual == null ? -1 : actual.getState().getVersion());
             }
         }
-        return load(connection, saved.getState().getTurnId());
+    }
+
+    /**
+     * 历史仅追加且未达到压缩间隔时写入一条 Journal，否则重写完整 payload 并清空 Journal。
+     */
+    private void appendOrCompact(Connection connection, AgentTurnSnapshot saved) throws SQLException {
+        String turnId = saved.getState().getTurnId();
+        long seq = 0;
+        int messageCount;
+        String messageDigest;
+        String sql = "SELECT seq,message_count,message_digest FROM " + table("turn_journal")
+            + " WHERE turn_id=? ORDER BY seq DESC";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, turnId);
+            statement.setMaxRows(1);
+            try (ResultSet row = statement.executeQuery()) {
+                if (row.next()) {
+                    seq = row.getLong(1);
+                    messageCount = row.getInt(2);
+                    messageDigest = row.getString(3);
+                } else {
+                    AgentTurnSnapshot base = loadPayload(connection, turnId);
+                    messageCount = base.getState().getMessages().size();
+                    messageDigest = journal.digest(base);
+                }
+            }
+        }
+        AgentTurnJournalEntry entry = journal.shouldCompact(saved, (int) seq)
+            ? null : journal.append(saved, messageCount, messageDigest);
+        if (entry == null) {
+            compact(connection, saved);
+            return;
+        }
+        String insert = "INSERT INTO " + table("turn_journal")
+            + " (turn_id,seq,message_count,message_digest,payload) VALUES (?,?,?,?,?)";
+        try (PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, turnId);
+            statement.setLong(2, seq + 1);
+            statement.setInt(3, entry.getMessageCount());
+            statement.setString(4, entry.getMessageDigest());
+            statement.setBytes(5, serialize(entry));
+            statement.executeUpdate();
+        }
+    }
+
+    private void compact(Connection connection, AgentTurnSnapshot saved) throws SQLException {
+        String turnId = saved.getState().getTurnId();
+        try (PreparedStatement statement = connection.prepareStatement(
+            "UPDATE " + table("turns") + " SET payload=? WHERE turn_id=?")) {
+            statement.setBytes(1, serialize(saved));
+            statement.setString(2, turnId);
+            statement.executeUpdate();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+            "DELETE FROM " + table("turn_journal") + " WHERE turn_id=?")) {
+            statement.setString(1, turnId);
+            statement.executeUpdate();
+        }
+    }
+
+    private AgentTurnSnapshot loadPayload(Connection connection, String turnId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "SELECT payload FROM " + table("turns") + " WHERE turn_id=?")) {
+            statement.setString(1, turnId);
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) throw new IllegalStateException("AgentTurn snapshot not found: " + turnId);
+                return deserialize(row.getBytes(1), AgentTurnSnapshot.class);
+            }
+        }
+    }
+
+    private List<AgentTurnJournalEntry> loadJournal(Connection connection, String turnId) throws SQLException {
+        List<AgentTurnJournalEntry> entries = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT payload FROM "
+            + table("turn_journal") + " WHERE turn_id=? ORDER BY seq")) {
+            statement.setString(1, turnId);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) entries.add(deserialize(rows.getBytes(1), AgentTurnJournalEntry.class));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 一次查询加载多个 Turn 的 Journal，按 turn_id 分组并保持 seq 顺序；没有 Journal 的 Turn 不出现在结果中。
+     */
+    private Map<String, List<AgentTurnJournalEntry>> loadJournals(Connection connection, List<String> turnIds)
+        throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT turn_id,payload FROM ").append(table("turn_journal"))
+            .append(" WHERE turn_id IN (");
+        for (int i = 0; i < turnIds.size(); i++) sql.append(i == 0 ? "?" : ",?");
+        sql.append(") ORDER BY turn_id,seq");
+        Map<String, List<AgentTurnJournalEntry>> journals = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < turnIds.size(); i++) statement.setString(i + 1, turnIds.get(i));
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    journals.computeIfAbsent(rows.getString(1), key -> new ArrayList<>())
+                        .add(deserialize(rows.getBytes(2), AgentTurnJournalEntry.class));
+                }
+            }
+        }
+        return journals;
     }
 
     private void bind(PreparedStatement statement, AgentTurnSnapshot saved) throws SQLException {
@@ -305,19 +568,71 @@ public final class JdbcAgentTurnStore extends JdbcAgentStoreSupport implements A
     private AgentTurnSnapshot load(Connection connection, String turnId) throws SQLException {
         String sql = "SELECT version,status,next_runnable_at,lease_owner,lease_id,lease_until,parent_turn_id,cancellation_requested,payload "
             + "FROM " + table("turns") + " WHERE turn_id=?";
+        AgentTurnSnapshot snapshot;
         try (PreparedStatement statement = connection.prepareStatement(sql)) {
             statement.setString(1, turnId);
             try (ResultSet row = statement.executeQuery()) {
                 if (!row.next()) return null;
-                AgentTurnSnapshot payload = deserialize(row.getBytes(9), AgentTurnSnapshot.class);
-                AgentTurnState state = payload.getState().toBuilder()
-                    .version(row.getLong(1)).status(AgentTurnStatus.valueOf(row.getString(2)))
-                    .nextRunnableAt(row.getLong(3)).leaseOwner(row.getString(4)).leaseId(row.getString(5))
-                    .leaseUntil(row.getLong(6)).parentTurnId(row.getString(7))
-                    .cancellationRequested(row.getBoolean(8)).build();
-                return payload.withState(state);
+                snapshot = read(row);
+            }
+        }
+        return journal == null ? snapshot : replay(snapshot, loadJournal(connection, turnId));
+    }
+
+    /**
+     * 一次查询加载多个 Turn，结果按 turnIds 顺序返回并跳过不存在的 ID；启用 Journal 时再用一次查询加载全部 Journal。
+     */
+    private List<AgentTurnSnapshot> loadAll(Connection connection, List<String> turnIds) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT version,status,next_runnable_at,lease_owner,lease_id,lease_until,"
+            + "parent_turn_id,cancellation_requested,payload,turn_id FROM ").append(table("turns")).append(" WHERE turn_id IN (");
+        for (int i = 0; i < turnIds.size(); i++) sql.append(i == 0 ? "?" : ",?");
+        sql.append(')');
+        Map<String, AgentTurnSnapshot> loaded = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < turnIds.size(); i++) statement.setString(i + 1, turnIds.get(i));
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) loaded.put(rows.getString(10), read(rows));
             }
         }
+        Map<String, List<AgentTurnJournalEntry>> journals = journal == null || loaded.isEmpty()
+            ? new HashMap<>() : loadJournals(connection, new ArrayList<>(loaded.keySet()));
+        List<AgentTurnSnapshot> result = new ArrayList<>(turnIds.size());
+        for (String turnId : turnIds) {
+            AgentTurnSnapshot snapshot = loaded.get(turnId);
+            if (snapshot == null) continue;
+            List<AgentTurnJournalEntry> entries = journals.get(turnId);
+            result.add(entries == null ? snapshot : replay(snapshot, entries));
+        }
+        return result;
+    }
+
+    /**
+     * 读取 turns 表的一行；Journal 由调用方在关闭 ResultSet 后批量加载并通过 {@link #replay} 合并。
+     */
+    private AgentTurnSnapshot read(ResultSet row) throws SQLException {
+        AgentTurnSnapshot payload = deserialize(row.getBytes(9), AgentTurnSnapshot.class);
+        AgentTurnState state = payload.getState().toBuilder()
+            .version(row.getLong(1)).status(AgentTurnStatus.valueOf(row.getString(2)))
+            .nextRunnableAt(row.getLong(3)).leaseOwner(row.getString(4)).leaseId(row.getString(5))
+            .leaseUntil(row.getLong(6)).parentTurnId(row.getString(7))
+            .cancellationRequested(row.getBoolean(8)).build();
+        return payload.withState(state);
+    }
+
+    /**
+     * 在行快照上重放 Journal，并保留 turns 表中的状态列，它们总是比 Journal 头部更新。
+     */
+    private AgentTurnSnapshot replay(AgentTurnSnapshot row, List<AgentTurnJournalEntry> entries) {
+        if (entries.isEmpty()) return row;
+        AgentTurnSnapshot replayed = AgentTurnJournal.replay(row, entries);
+        AgentTurnState columns = row.getState();
+        AgentTurnState state = replayed.getState().toBuilder()
+            .version(columns.getVersion()).status(columns.getStatus())
+            .nextRunnableAt(columns.getNextRunnableAt()).leaseOwner(columns.getLeaseOwner())
+            .leaseId(columns.getLeaseId()).leaseUntil(columns.getLeaseUntil())
+            .parentTurnId(columns.getParentTurnId())
+            .cancellationRequested(columns.isCancellationRequested()).build();
+        return replayed.withState(state);
     }
 
     private AgentTurnVersionConflictException conflict(String turnId, long expected, long actual) {
@@ -0,0 +1,23 @@
+package com.agentsflex.agent.store.jdbc;
+
+/**
+ * {@link JdbcAgentTurnStore#claimRunnable} 使用的领取策略。
+ */
+public enum JdbcClaimMode {
+    /**
+     * 根据数据库产品和版本自动选择：PostgreSQL 9.5+、MySQL 8+、MariaDB 10.6+ 使用
+     * {@link #SKIP_LOCKED}，其余数据库使用 {@link #OPTIMISTIC}。
+     */
+    AUTO,
+
+    /**
+     * 在一个事务中以 {@code SELECT ... LIMIT ? FOR UPDATE SKIP LOCKED} 锁定一批候选，
+     * 再通过一次 JDBC 批量更新写入租约。并发 Worker 会跳过彼此已锁定的行，不产生版本冲突重试。
+     */
+    SKIP_LOCKED,
+
+    /**
+     * 先查询候选，再逐行执行带版本条件的 UPDATE。适用于不支持 SKIP LOCKED 的数据库。
+     */
+    OPTIMISTIC
+}
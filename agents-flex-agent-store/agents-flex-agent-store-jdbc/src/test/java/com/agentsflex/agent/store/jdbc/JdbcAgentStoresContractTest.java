@@ -10,6 +10,8 @@ import com.agentsflex.agent.AgentTurnStatus;
 import com.agentsflex.agent.store.AgentTurnVersionConflictException;
 import com.agentsflex.agent.store.ParentChildTurnSnapshots;
 import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.UserMessage;
 import com.mysql.cj.jdbc.MysqlDataSource;
 import org.h2.jdbcx.JdbcDataSource;
 import org.junit.After;
@@ -17,16 +19,25 @@ import org.junit.Before;
 import org.junit.Test;
 
 import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 
@@ -63,6 +74,7 @@ public class JdbcAgentStoresContractTest {
         if (dataSource == null || tablePrefix == null) return;
         try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
             statement.execute("DROP TABLE IF EXISTS " + tablePrefix + "compression_states");
+            statement.execute("DROP TABLE IF EXISTS " + tablePrefix + "turn_journal");
             statement.execute("DROP TABLE IF EXISTS " + tablePrefix + "turns");
         }
     }
@@ -153,6 +165,75 @@ public class JdbcAgentStoresContractTest {
         }
     }
 
+    /**
+     * SKIP LOCKED 批量领取时，并发 Worker 领取到的 Turn 不重叠且全部被领取。
+     */
+    @Test
+    public void shouldClaimDisjointBatchesWithSkipLocked() throws Exception {
+        final JdbcAgentTurnStore store = JdbcAgentStoreConfig.builder(dataSource).tablePrefix(tablePrefix)
+            .claimMode(JdbcClaimMode.SKIP_LOCKED).build().turnStore();
+        int turns = 40;
+        for (int i = 0; i < turns; i++) store.save(snapshot("batch-" + i, AgentTurnStatus.READY), -1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Set<String> claimedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger claimedCount = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                final String worker = "worker-" + w;
+                futures.add(executor.submit(() -> {
+                    List<AgentTurnSnapshot> claimed;
+                    while (!(claimed = store.claimRunnable(worker, 100, 1000, 3)).isEmpty()) {
+                        for (AgentTurnSnapshot snapshot : claimed) {
+                            assertEquals(worker, snapshot.getState().getLeaseOwner());
+                            assertEquals(1, snapshot.getState().getVersion());
+                            claimedIds.add(snapshot.getState().getTurnId());
+                            claimedCount.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(turns, claimedCount.get());
+        assertEquals(turns, claimedIds.size());
+    }
+
+    /**
+     * SKIP LOCKED 只锁定子 Turn；父 Turn 在查询与写入租约之间被其他 Worker 领取时，子 Turn 不能再被领取。
+     */
+    @Test
+    public void shouldNotClaimChildWhenParentIsLeasedConcurrentlyWithSkipLocked() {
+        final JdbcAgentTurnStore parentClaimer = JdbcAgentStoreConfig.builder(dataSource).tablePrefix(tablePrefix)
+            .claimMode(JdbcClaimMode.SKIP_LOCKED).build().turnStore();
+        parentClaimer.save(snapshot("parent", AgentTurnStatus.WAITING_FOR_CHILD), -1);
+        AgentTurnSnapshot initialChild = snapshot("child", AgentTurnStatus.READY);
+        parentClaimer.save(initialChild.withState(initialChild.getState().toBuilder()
+            .parentTurnId("parent").rootTurnId("parent").build()), -1);
+        // 父 Turn 在子 Turn 之后才变为可运行，保证第一次领取只选中子 Turn。
+        final AtomicInteger parentClaims = new AtomicInteger();
+        Runnable claimParent = () -> {
+            AgentTurnSnapshot current = parentClaimer.load("parent");
+            parentClaimer.save(current.withState(current.getState().toBuilder()
+                .status(AgentTurnStatus.READY).build()), current.getState().getVersion());
+            for (AgentTurnSnapshot claimed : parentClaimer.claimRunnable("parent-worker", 100, 1000, 10)) {
+                assertEquals("parent", claimed.getState().getTurnId());
+                parentClaims.incrementAndGet();
+            }
+        };
+
+        JdbcAgentTurnStore childClaimer = JdbcAgentStoreConfig.builder(beforeClaimUpdate(dataSource, claimParent))
+            .tablePrefix(tablePrefix).claimMode(JdbcClaimMode.SKIP_LOCKED).build().turnStore();
+        assertTrue(childClaimer.claimRunnable("child-worker", 100, 1000, 10).isEmpty());
+        assertEquals(1, parentClaims.get());
+        assertEquals("parent-worker", childClaimer.load("parent").getState().getLeaseOwner());
+        assertNull(childClaimer.load("child").getState().getLeaseOwner());
+        assertEquals(0, childClaimer.load("child").getState().getVersion());
+    }
+
     /**
      * 取消标记在终态快照中保持为 true 时，也不能让终态 Turn 再次被领取。
      */
@@ -192,6 +273,83 @@ public class JdbcAgentStoresContractTest {
     /**
      * 活动会话查询应排除终态，终态子任务应能被等待中的父任务恢复扫描发现。
      */
+    @Test
+    public void shouldAppendJournalReplayOnLoadAndCompactPeriodically() throws Exception {
+        JdbcAgentTurnStore store = JdbcAgentStoreConfig.builder(dataSource).tablePrefix(tablePrefix)
+            .journalCompactionInterval(3).build().turnStore();
+        List<Message> history = new ArrayList<>();
+        history.add(new UserMessage("question"));
+        AgentTurnSnapshot source = snapshot("journal", AgentTurnStatus.READY);
+        AgentTurnSnapshot current = store.save(source.withState(source.getState().toBuilder()
+            .messages(history).build()), -1);
+        current = store.claimRunnable("worker", 1000, 60_000, 1).get(0);
+
+        for (int step = 1; step <= 5; step++) {
+            history.add(new AiMessage("step-" + step));
+            current = store.save(current.withState(current.getState().toBuilder()
+                .status(AgentTurnStatus.RUNNING).messages(history).build()), current.getState().getVersion());
+            assertEquals(step + 1, current.getState().getMessages().size());
+            assertEquals("worker", current.getState().getLeaseOwner());
+        }
+        // 前三步写入 Journal，第四步达到压缩间隔后重写 payload，第五步重新开始追加。
+        assertEquals(1, journalRows("journal"));
+        assertEquals("step-5", ((AiMessage) store.load("journal").getState().getMessages().get(5)).getContent());
+
+        // 历史被改写时退回完整写入。
+        List<Message> compressed = new ArrayList<>(Arrays.<Message>asList(new UserMessage("summary")));
+        current = store.save(current.withState(current.getState().toBuilder()
+            .messages(compressed).build()), current.getState().getVersion());
+        assertEquals(0, journalRows("journal"));
+        assertEquals(1, store.load("journal").getState().getMessages().size());
+
+        compressed.add(new AiMessage("after"));
+        current = store.save(current.withState(current.getState().toBuilder()
+            .messages(compressed).build()), current.getState().getVersion());
+        assertEquals(1, journalRows("journal"));
+        store.save(current.withState(current.getState().toBuilder().status(AgentTurnStatus.COMPLETED)
+            .messages(compressed).build()), current.getState().getVersion());
+        assertEquals(0, journalRows("journal"));
+        AgentTurnSnapshot completed = config.turnStore().load("journal");
+        assertEquals(AgentTurnStatus.COMPLETED, completed.getState().getStatus());
+        assertEquals(2, completed.getState().getMessages().size());
+    }
+
+    /**
+     * 批量领取时所有 Turn 的 Journal 通过一次查询加载，而不是每行各查一次。
+     */
+    @Test
+    public void shouldBatchLoadJournalsWhenClaimingMultipleTurns() throws Exception {
+        JdbcAgentTurnStore writer = JdbcAgentStoreConfig.builder(dataSource).tablePrefix(tablePrefix)
+            .journalCompactionInterval(10).build().turnStore();
+        for (int i = 0; i < 3; i++) {
+            List<Message> history = new ArrayList<>();
+            history.add(new UserMessage("question-" + i));
+            AgentTurnSnapshot source = snapshot("batch-journal-" + i, AgentTurnStatus.READY);
+            AgentTurnSnapshot saved = writer.save(source.withState(source.getState().toBuilder()
+                .messages(history).build()), -1);
+            history.add(new AiMessage("answer-" + i));
+            writer.save(saved.withState(saved.getState().toBuilder().messages(history).build()),
+                saved.getState().getVersion());
+        }
+        assertEquals(1, journalRows("batch-journal-0"));
+
+        AtomicInteger journalQueries = new AtomicInteger();
+        JdbcAgentTurnStore store = JdbcAgentStoreConfig.builder(countingJournalQueries(dataSource, journalQueries))
+            .tablePrefix(tablePrefix).claimMode(JdbcClaimMode.SKIP_LOCKED).journalCompactionInterval(10)
+            .build().turnStore();
+        List<AgentTurnSnapshot> claimed = store.claimRunnable("worker", 1000, 60_000, 10);
+        assertEquals(3, claimed.size());
+        assertEquals(1, journalQueries.get());
+        for (AgentTurnSnapshot snapshot : claimed) {
+            String turnId = snapshot.getState().getTurnId();
+            String index = turnId.substring(turnId.lastIndexOf('-') + 1);
+            assertEquals(2, snapshot.getState().getMessages().size());
+            assertEquals("answer-" + index, ((AiMessage) snapshot.getState().getMessages().get(1)).getContent());
+            assertEquals("worker", snapshot.getState().getLeaseOwner());
+            assertEquals(2, snapshot.getState().getVersion());
+        }
+    }
+
     @Test
     public void shouldFindActiveTurnAndTerminalChildForRecovery() {
         JdbcAgentTurnStore store = config.turnStore();
@@ -228,6 +386,65 @@ public class JdbcAgentStoresContractTest {
         return AgentTurnSnapshot.of("agent", "1", state);
     }
 
+    private int journalRows(String turnId) throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + tablePrefix
+                 + "turn_journal WHERE turn_id='" + turnId + "'")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    /**
+     * 在第一次准备写入租约的 UPDATE 之前执行 hook，用于在领取事务的查询与写入之间插入其他 Worker 的操作。
+     */
+    private static DataSource beforeClaimUpdate(DataSource target, Runnable hook) {
+        AtomicReference<Runnable> pending = new AtomicReference<>(hook);
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (!"getConnection".equals(method.getName())) return result;
+                Connection connection = (Connection) result;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (connectionProxy, connectionMethod, connectionArgs) -> {
+                        if ("prepareStatement".equals(connectionMethod.getName())
+                            && ((String) connectionArgs[0]).contains("SET lease_owner=?")) {
+                            Runnable action = pending.getAndSet(null);
+                            if (action != null) action.run();
+                        }
+                        return invoke(connection, connectionMethod, connectionArgs);
+                    });
+            });
+    }
+
+    /**
+     * 统计对 turn_journal 表执行的查询语句数量。
+     */
+    private static DataSource countingJournalQueries(DataSource target, AtomicInteger counter) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (!"getConnection".equals(method.getName())) return result;
+                Connection connection = (Connection) result;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (connectionProxy, connectionMethod, connectionArgs) -> {
+                        if ("prepareStatement".equals(connectionMethod.getName())) {
+                            String sql = (String) connectionArgs[0];
+                            if (sql.startsWith("SELECT") && sql.contains("turn_journal")) counter.incrementAndGet();
+                        }
+                        return invoke(connection, connectionMethod, connectionArgs);
+                    });
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException error) {
+            throw error.getCause();
+        }
+    }
+
     private static String requiredEnv(String name) {
         String value = System.getenv(name);
         if (value == null || value.isEmpty()) throw new IllegalStateException(name + " is required");
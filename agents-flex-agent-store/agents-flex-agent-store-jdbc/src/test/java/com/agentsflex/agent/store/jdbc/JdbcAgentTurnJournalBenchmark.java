@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.agent.store.jdbc;
+
+import com.agentsflex.agent.AgentExecutionPolicy;
+import com.agentsflex.agent.AgentTurnSnapshot;
+import com.agentsflex.agent.AgentTurnState;
+import com.agentsflex.agent.AgentTurnStatus;
+import com.agentsflex.agent.store.AgentStoreSerializer;
+import com.agentsflex.agent.store.FastjsonAgentStoreSerializer;
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.ToolMessage;
+import com.agentsflex.core.message.UserMessage;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 比较完整 Snapshot 与追加式 Journal 在长工具 Turn 中每一步写入的字节数；不属于常规 Surefire 测试。
+ *
+ * <p>统计 Store 交给数据库的 payload 字节，不包含计算消息摘要时的序列化。可通过 -Dstore.benchmark.steps、
+ * -Dstore.benchmark.toolResultChars 和 -Dstore.benchmark.compactionInterval 调整负载。</p>
+ */
+public class JdbcAgentTurnJournalBenchmark {
+    @Test
+    public void benchmarkBytesWrittenPerStep() {
+        int steps = Integer.getInteger("store.benchmark.steps", 200);
+        int resultChars = Integer.getInteger("store.benchmark.toolResultChars", 2000);
+        int interval = Integer.getInteger("store.benchmark.compactionInterval", 32);
+        Result full = run(0, steps, resultChars);
+        Result journal = run(interval, steps, resultChars);
+        report("full snapshot", steps, full);
+        report("journal x" + interval, steps, journal);
+        System.out.printf("BENCH bytes reduction=%.1fx%n", full.bytes / (double) journal.bytes);
+    }
+
+    private Result run(int compactionInterval, int steps, int resultChars) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        CountingSerializer serializer = new CountingSerializer();
+        JdbcAgentStoreConfig config = JdbcAgentStoreConfig.builder(dataSource).serializer(serializer)
+            .journalCompactionInterval(compactionInterval).build();
+        config.schema().initialize();
+        JdbcAgentTurnStore store = config.turnStore();
+
+        List<Message> history = new ArrayList<>();
+        history.add(new UserMessage("analyse the incident"));
+        AgentTurnState initial = AgentTurnState.builder("turn", AgentExecutionPolicy.defaults(), 1)
+            .status(AgentTurnStatus.RUNNING).rootTurnId("turn").updatedAt(1).messages(history).build();
+        AgentTurnSnapshot current = store.save(AgentTurnSnapshot.of("benchmark", "1", initial), -1);
+        String payload = repeat('x', resultChars);
+        serializer.written.set(0);
+        long started = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            history.add(new AiMessage("calling tool " + step));
+            ToolMessage result = new ToolMessage();
+            result.setToolCallId("call-" + step);
+            result.setContent(payload);
+            history.add(result);
+            current = store.save(current.withState(current.getState().toBuilder()
+                .messages(history).updatedAt(step).build()), current.getState().getVersion());
+        }
+        long elapsed = System.nanoTime() - started;
+        assertEquals(history.size(), store.load("turn").getState().getMessages().size());
+        return new Result(serializer.written.get(), elapsed);
+    }
+
+    private static void report(String name, int steps, Result result) {
+        System.out.printf("BENCH %-18s steps=%d bytes=%d bytes/step=%d time/step=%.3fms%n",
+            name, steps, result.bytes, result.bytes / steps, result.elapsed / steps / 1_000_000d);
+    }
+
+    private static String repeat(char value, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) builder.append(value);
+        return builder.toString();
+    }
+
+    /** 只统计写入 payload 列的值，消息摘要用到的单条消息序列化不计入。 */
+    private static final class CountingSerializer implements AgentStoreSerializer {
+        private final AgentStoreSerializer delegate = new FastjsonAgentStoreSerializer();
+        private final AtomicLong written = new AtomicLong();
+
+        @Override
+        public byte[] serialize(Serializable value) {
+            byte[] bytes = delegate.serialize(value);
+            if (!(value instanceof Message)) written.addAndGet(bytes.length);
+            return bytes;
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes, Class<T> type) {
+            return delegate.deserialize(bytes, type);
+        }
+    }
+
+    private static final class Result {
+        private final long bytes;
+        private final long elapsed;
+
+        private Result(long bytes, long elapsed) {
+            this.bytes = bytes;
+            this.elapsed = elapsed;
+        }
+    }
+}
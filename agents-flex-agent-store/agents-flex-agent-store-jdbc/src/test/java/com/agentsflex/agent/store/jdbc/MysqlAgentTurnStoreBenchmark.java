@@ -60,12 +60,73 @@ public class MysqlAgentTurnStoreBenchmark {
         } finally {
             try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
                 statement.execute("DROP TABLE IF EXISTS " + prefix + "compression_states");
+                statement.execute("DROP TABLE IF EXISTS " + prefix + "turn_journal");
                 statement.execute("DROP TABLE IF EXISTS " + prefix + "turns");
             }
             dataSource.close();
         }
     }
 
+    /**
+     * 比较两种领取策略在 1、8、32 个并发 Worker 下的领取吞吐。
+     */
+    @Test
+    public void benchmarkClaimThroughput() throws Exception {
+        int tasks = Integer.getInteger("store.benchmark.tasks", 2000);
+        int batch = Integer.getInteger("store.benchmark.claimBatch", 20);
+        for (JdbcClaimMode mode : new JdbcClaimMode[]{JdbcClaimMode.OPTIMISTIC, JdbcClaimMode.SKIP_LOCKED}) {
+            for (int workers : new int[]{1, 8, 32}) {
+                String prefix = "bench_claim_" + UUID.randomUUID().toString().replace("-", "") + "_";
+                HikariDataSource dataSource = dataSource(workers);
+                JdbcAgentStoreConfig config = JdbcAgentStoreConfig.builder(dataSource)
+                    .tablePrefix(prefix).claimMode(mode).build();
+                try {
+                    config.schema().initialize();
+                    JdbcAgentTurnStore store = config.turnStore();
+                    for (int i = 0; i < tasks; i++) store.save(snapshot("turn-" + i), -1);
+                    Result claims = claims(store, tasks, workers, batch);
+                    assertEquals(tasks, claims.count);
+                    report("claim " + mode.name().toLowerCase() + " x" + workers, tasks, claims.elapsed,
+                        claims.latencies);
+                } finally {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        statement.execute("DROP TABLE IF EXISTS " + prefix + "compression_states");
+                        statement.execute("DROP TABLE IF EXISTS " + prefix + "turn_journal");
+                        statement.execute("DROP TABLE IF EXISTS " + prefix + "turns");
+                    }
+                    dataSource.close();
+                }
+            }
+        }
+    }
+
+    private Result claims(JdbcAgentTurnStore store, int tasks, int workers, int batch) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        AtomicInteger claimedCount = new AtomicInteger();
+        long[] latencies = new long[tasks];
+        Future<?>[] futures = new Future<?>[workers];
+        long start = System.nanoTime();
+        for (int i = 0; i < workers; i++) {
+            final String worker = "worker-" + i;
+            futures[i] = pool.submit(() -> {
+                while (true) {
+                    long op = System.nanoTime();
+                    List<AgentTurnSnapshot> claimed = store.claimRunnable(
+                        worker, System.currentTimeMillis(), 600_000, batch);
+                    if (claimed.isEmpty()) break;
+                    long perTask = (System.nanoTime() - op) / claimed.size();
+                    for (int j = 0; j < claimed.size(); j++) {
+                        latencies[claimedCount.getAndIncrement()] = perTask;
+                    }
+                }
+            });
+        }
+        for (Future<?> future : futures) future.get();
+        pool.shutdownNow();
+        return new Result(claimedCount.get(), System.nanoTime() - start, latencies);
+    }
+
     private Result lifecycle(JdbcAgentTurnStore store, int tasks, int workers) throws Exception {
         ExecutorService pool = Executors.newFixedThreadPool(workers);
         AtomicInteger completed = new AtomicInteger();
@@ -16,12 +16,14 @@ public final class RedisAgentStoreConfig implements AutoCloseable {
     private final String keyPrefix;
     private final boolean closeClient;
     private final AgentStoreSerializer serializer;
+    private final int journalCompactionInterval;
 
     private RedisAgentStoreConfig(Builder builder) {
         this.jedis = builder.jedis != null ? builder.jedis : new JedisPooled(URI.create(builder.uri));
         this.keyPrefix = builder.keyPrefix;
         this.closeClient = builder.jedis == null;
         this.serializer = builder.serializer;
+        this.journalCompactionInterval = builder.journalCompactionInterval;
     }
 
     public static Builder builder(String uri) {
@@ -44,6 +46,10 @@ public final class RedisAgentStoreConfig implements AutoCloseable {
         return serializer;
     }
 
+    int journalCompactionInterval() {
+        return journalCompactionInterval;
+    }
+
     public RedisAgentTurnStore turnStore() {
         return new RedisAgentTurnStore(this);
     }
@@ -63,6 +69,7 @@ public final class RedisAgentStoreConfig implements AutoCloseable {
         private JedisPooled jedis;
         private String keyPrefix = "agents-flex:agent:";
         private AgentStoreSerializer serializer = new FastjsonAgentStoreSerializer();
+        private int journalCompactionInterval;
 
         private Builder(String uri) {
             this.uri = Objects.requireNonNull(uri, "uri must not be null");
@@ -90,6 +97,17 @@ public final class RedisAgentStoreConfig implements AutoCloseable {
             return this;
         }
 
+        /**
+         * 启用追加式 Journal，未终止 Turn 每步只向列表追加新增消息和不含消息历史的状态，
+         * 每累积指定条数或进入终态时再压缩为完整 Snapshot。默认 0 表示每次写入完整 Snapshot。
+         */
+        public Builder journalCompactionInterval(int journalCompactionInterval) {
+            if (journalCompactionInterval < 0)
+                throw new IllegalArgumentException("journalCompactionInterval must not be negative");
+            this.journalCompactionInterval = journalCompactionInterval;
+            return this;
+        }
+
         public RedisAgentStoreConfig build() {
             return new RedisAgentStoreConfig(this);
         }
@@ -3,25 +3,36 @@ package com.agentsflex.agent.store.redis;
 import com.agentsflex.agent.AgentTurnSnapshot;
 import com.agentsflex.agent.AgentTurnState;
 import com.agentsflex.agent.AgentTurnStatus;
+import com.agentsflex.agent.store.AgentTurnJournal;
+import com.agentsflex.agent.store.AgentTurnJournalEntry;
 import com.agentsflex.agent.store.AgentTurnStore;
 import com.agentsflex.agent.store.AgentTurnVersionConflictException;
 import com.agentsflex.agent.store.ParentChildTurnSnapshots;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * 使用 Redis Hash 与 Lua 脚本实现跨进程 AgentTurn CAS、取消和 Lease。
+ *
+ * <p>配置 {@link RedisAgentStoreConfig.Builder#journalCompactionInterval(int)} 后，未终止 Turn 的保存只更新
+ * Hash 的状态字段并向 {@code turn-journal} 列表追加一条 {@link AgentTurnJournalEntry}，payload 仅在压缩时重写。
+ * Hash 中的 jseq、jcount、jdigest 记录当前 Journal 条数和消息边界摘要，加载时原子读取 Hash 与列表并重放。</p>
  */
 public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements AgentTurnStore {
     private static final String SAVE = "local a=redis.call('HGET',KEYS[1],'version'); local actual=a and tonumber(a) or -1; "
         + "if actual~=tonumber(ARGV[1]) then return actual end; local cancel=redis.call('HGET',KEYS[1],'cancel'); "
         + "local c=(cancel=='1' or ARGV[9]=='1') and '1' or '0'; redis.call('HSET',KEYS[1],"
         + "'version',ARGV[2],'status',ARGV[3],'next',ARGV[4],'lease_owner',ARGV[5],'lease_id',ARGV[6],'lease_until',ARGV[7],"
-        + "'parent',ARGV[8],'cancel',c,'payload',ARGV[10]); redis.call('SADD',KEYS[2],ARGV[11]); "
+        + "'parent',ARGV[8],'cancel',c); if ARGV[12]~='' then redis.call('RPUSH',KEYS[4],ARGV[12]) else "
+        + "redis.call('HSET',KEYS[1],'payload',ARGV[10]); redis.call('DEL',KEYS[4]) end; if ARGV[13]~='' then "
+        + "redis.call('HSET',KEYS[1],'jseq',ARGV[13],'jcount',ARGV[14],'jdigest',ARGV[15]) else "
+        + "redis.call('HDEL',KEYS[1],'jseq','jcount','jdigest') end; redis.call('SADD',KEYS[2],ARGV[11]); "
         + "local s=ARGV[3]; local terminal=(s=='COMPLETED' or s=='FAILED' or s=='CANCELLED' or s=='MAX_ITERATIONS_REACHED' or s=='MAX_STEPS_REACHED' or s=='BUDGET_EXCEEDED'); "
         + "local score=nil; local lu=tonumber(ARGV[7]); if (c=='1' and not terminal) or s=='READY' or s=='RUNNING' then "
         + "score=(ARGV[5]~='' and lu or 0) elseif s=='RETRY_SCHEDULED' then score=math.max(tonumber(ARGV[4]),lu) end; "
@@ -36,9 +47,15 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
         + "local po=redis.call('HGET',KEYS[2],'lease_owner'); if po and po~='' and pu>tonumber(ARGV[1]) then return 0 end end; "
         + "redis.call('HSET',KEYS[1],'lease_owner',ARGV[2],'lease_id',ARGV[4],'lease_until',ARGV[3]); "
         + "redis.call('HINCRBY',KEYS[1],'version',1); redis.call('ZADD',KEYS[3],ARGV[3],ARGV[6]); return 1";
+    private static final String LOAD = "return {redis.call('HGETALL',KEYS[1]),redis.call('LRANGE',KEYS[2],0,-1)}";
+
+    /** 为 {@code null} 时每次保存都重写完整 payload。 */
+    private final AgentTurnJournal journal;
 
     RedisAgentTurnStore(RedisAgentStoreConfig config) {
         super(config);
+        this.journal = config.journalCompactionInterval() > 0
+            ? new AgentTurnJournal(config.serializer(), config.journalCompactionInterval()) : null;
     }
 
     @Override
@@ -50,9 +67,28 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
 
     @Override
     public AgentTurnSnapshot load(String turnId) {
-        Map<String, String> values = jedis.hgetAll(key("turn", turnId));
+        if (journal == null) return read(jedis.hgetAll(key("turn", turnId)), Collections.<String>emptyList());
+        @SuppressWarnings("unchecked")
+        List<Object> result = (List<Object>) eval(LOAD, keys(key("turn", turnId), key("turn-journal", turnId)), noKeys());
+        @SuppressWarnings("unchecked")
+        List<Object> fields = (List<Object>) result.get(0);
+        @SuppressWarnings("unchecked")
+        List<Object> entries = (List<Object>) result.get(1);
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) values.put(string(fields.get(i)), string(fields.get(i + 1)));
+        List<String> journalEntries = new ArrayList<>(entries.size());
+        for (Object entry : entries) journalEntries.add(string(entry));
+        return read(values, journalEntries);
+    }
+
+    private AgentTurnSnapshot read(Map<String, String> values, List<String> journalEntries) {
         if (values == null || values.isEmpty()) return null;
         AgentTurnSnapshot payload = decode(values.get("payload"), AgentTurnSnapshot.class);
+        if (!journalEntries.isEmpty()) {
+            List<AgentTurnJournalEntry> entries = new ArrayList<>(journalEntries.size());
+            for (String entry : journalEntries) entries.add(decode(entry, AgentTurnJournalEntry.class));
+            payload = AgentTurnJournal.replay(payload, entries);
+        }
         AgentTurnState state = payload.getState().toBuilder()
             .version(Long.parseLong(values.get("version")))
             .status(AgentTurnStatus.valueOf(values.get("status"))).nextRunnableAt(number(values.get("next")))
@@ -80,12 +116,42 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
         if (snapshot == null) throw new IllegalArgumentException("snapshot must not be null");
         AgentTurnSnapshot saved = snapshot.withVersion(expectedVersion + 1);
         AgentTurnState state = saved.getState();
+        String turnKey = key("turn", state.getTurnId());
+        String payload = "";
+        String entry = "";
+        String[] head = {"", "", ""};
+        AgentTurnJournalEntry appended = null;
+        if (journal != null && expectedVersion != -1) {
+            // 预读与 Lua CAS 使用同一 expectedVersion；两次都匹配时 Journal 头部在其间不可能变化。
+            List<String> current = jedis.hmget(turnKey, "version", "jseq", "jcount", "jdigest");
+            long actual = current.get(0) == null ? -1 : Long.parseLong(current.get(0));
+            if (actual != expectedVersion) {
+                throw new AgentTurnVersionConflictException(state.getTurnId(), expectedVersion, actual);
+            }
+            if (current.get(1) != null && !journal.shouldCompact(saved, Integer.parseInt(current.get(1)))) {
+                appended = journal.append(saved, Integer.parseInt(current.get(2)), current.get(3));
+                if (appended != null) head[0] = String.valueOf(Long.parseLong(current.get(1)) + 1);
+            }
+        }
+        if (appended != null) {
+            entry = encode(appended);
+            head[1] = String.valueOf(appended.getMessageCount());
+            head[2] = appended.getMessageDigest();
+        } else {
+            payload = encode(saved);
+            if (journal != null && !state.getStatus().isTerminal()) {
+                head[0] = "0";
+                head[1] = String.valueOf(state.getMessages().size());
+                head[2] = journal.digest(saved);
+            }
+        }
         Object result = eval(SAVE,
-            keys(key("turn", state.getTurnId()), index("turns"), index("runnable-turns")), args(
+            keys(turnKey, index("turns"), index("runnable-turns"), key("turn-journal", state.getTurnId())), args(
                 String.valueOf(expectedVersion), String.valueOf(state.getVersion()), state.getStatus().name(),
                 String.valueOf(state.getNextRunnableAt()), text(state.getLeaseOwner()), text(state.getLeaseId()),
                 String.valueOf(state.getLeaseUntil()), text(state.getParentTurnId()),
-                state.isCancellationRequested() ? "1" : "0", encode(saved), state.getTurnId()));
+                state.isCancellationRequested() ? "1" : "0", payload, state.getTurnId(), entry,
+                head[0], head[1], head[2]));
         long code = ((Number) result).longValue();
         if (code != -2) {
             throw new AgentTurnVersionConflictException(state.getTurnId(), expectedVersion, code);
@@ -118,6 +184,7 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
             + "local pc=redis.call('HGET',KEYS[1],'cancel'); local c=(pc=='1' or ARGV[9]=='1') and '1' or '0'; "
             + "redis.call('HSET',KEYS[1],'version',ARGV[2],'status',ARGV[3],'next',ARGV[4],'lease_owner',ARGV[5],"
             + "'lease_id',ARGV[6],'lease_until',ARGV[7],'parent',ARGV[8],'cancel',c,'payload',ARGV[10]); "
+            + "redis.call('HDEL',KEYS[1],'jseq','jcount','jdigest'); redis.call('DEL',KEYS[5]); "
             + "redis.call('HSET',KEYS[2],'version','0','status',ARGV[11],'next',ARGV[12],'lease_owner',ARGV[13],"
             + "'lease_id',ARGV[14],'lease_until',ARGV[15],'parent',ARGV[16],'cancel',ARGV[17],'payload',ARGV[18]); "
             + "redis.call('SADD',KEYS[3],ARGV[19],ARGV[20]); redis.call('ZREM',KEYS[4],ARGV[19]); "
@@ -125,7 +192,7 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
             + "elseif cs=='RETRY_SCHEDULED' then redis.call('ZADD',KEYS[4],math.max(tonumber(ARGV[12]),tonumber(ARGV[15])),ARGV[20]) end; return -2";
         Object result = eval(script,
             keys(key("turn", parentState.getTurnId()), key("turn", childState.getTurnId()),
-                index("turns"), index("runnable-turns")), args(
+                index("turns"), index("runnable-turns"), key("turn-journal", parentState.getTurnId())), args(
                 String.valueOf(expectedParentVersion), String.valueOf(parentState.getVersion()),
                 parentState.getStatus().name(), String.valueOf(parentState.getNextRunnableAt()),
                 text(parentState.getLeaseOwner()), text(parentState.getLeaseId()),
@@ -228,6 +295,10 @@ public final class RedisAgentTurnStore extends RedisAgentStoreSupport implements
         return Long.parseLong(String.valueOf(value));
     }
 
+    private static String string(Object value) {
+        return value instanceof byte[] ? new String((byte[]) value, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
     private static String emptyToNull(String value) {
         return value == null || value.isEmpty() ? null : value;
     }
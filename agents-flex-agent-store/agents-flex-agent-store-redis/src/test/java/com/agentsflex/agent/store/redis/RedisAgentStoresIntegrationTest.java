@@ -9,6 +9,8 @@ import com.agentsflex.agent.AgentTurnState;
 import com.agentsflex.agent.AgentTurnStatus;
 import com.agentsflex.agent.store.ParentChildTurnSnapshots;
 import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.UserMessage;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
 import org.junit.After;
@@ -204,6 +206,40 @@ public class RedisAgentStoresIntegrationTest {
         assertEquals("terminal-child", completed.get(0).getState().getTurnId());
     }
 
+    @Test
+    public void shouldAppendJournalReplayOnLoadAndCompactPeriodically() {
+        RedisAgentStoreConfig journalConfig = RedisAgentStoreConfig.builder(config.jedis())
+            .keyPrefix(prefix).journalCompactionInterval(3).build();
+        RedisAgentTurnStore turns = journalConfig.turnStore();
+        List<Message> history = new ArrayList<>();
+        history.add(new UserMessage("question"));
+        AgentTurnSnapshot source = snapshot("journal", AgentTurnStatus.READY);
+        turns.save(source.withState(source.getState().toBuilder().messages(history).build()), -1);
+        AgentTurnSnapshot current = turns.claimRunnable("worker", 100, 60_000, 1).get(0);
+
+        String journalKey = prefix + "{agent-store}:turn-journal:journal";
+        for (int step = 1; step <= 5; step++) {
+            history.add(new AiMessage("step-" + step));
+            current = turns.save(current.withState(current.getState().toBuilder()
+                .status(AgentTurnStatus.RUNNING).messages(history).build()), current.getState().getVersion());
+            assertEquals(step + 1, current.getState().getMessages().size());
+            assertEquals("worker", current.getState().getLeaseOwner());
+        }
+        assertEquals(1, config.jedis().llen(journalKey));
+
+        List<Message> compressed = new ArrayList<>(Collections.<Message>singletonList(new UserMessage("summary")));
+        current = turns.save(current.withState(current.getState().toBuilder()
+            .messages(compressed).build()), current.getState().getVersion());
+        assertEquals(0, config.jedis().llen(journalKey));
+        assertEquals(1, turns.load("journal").getState().getMessages().size());
+
+        turns.save(current.withState(current.getState().toBuilder().status(AgentTurnStatus.COMPLETED)
+            .messages(compressed).build()), current.getState().getVersion());
+        AgentTurnSnapshot completed = config.turnStore().load("journal");
+        assertEquals(AgentTurnStatus.COMPLETED, completed.getState().getStatus());
+        assertEquals(1, completed.getState().getMessages().size());
+    }
+
     private AgentTurnSnapshot snapshot() {
         return snapshot("turn-1", AgentTurnStatus.READY);
     }
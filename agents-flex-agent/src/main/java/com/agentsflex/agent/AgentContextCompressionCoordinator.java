@@ -2,9 +2,13 @@ package com.agentsflex.agent;
 
 import com.agentsflex.core.message.Message;
 import com.agentsflex.core.message.UserMessage;
+import com.agentsflex.core.util.IncrementalTokenCounter;
+import com.agentsflex.core.util.LocalTokenCounter;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.ToLongFunction;
 
 /**
@@ -13,16 +17,48 @@ import java.util.function.ToLongFunction;
  * <p>它只处理已传入的较早历史，不修改 ChatMemory。压缩失败或 CAS 冲突时不会覆盖旧摘要。</p>
  */
 public final class AgentContextCompressionCoordinator {
+    /**
+     * 默认估算器最多保留的会话计数器数量，超出后淘汰最久未使用的会话。
+     */
+    private static final int MAX_TRACKED_CONVERSATIONS = 1024;
+
+    private final Map<String, IncrementalTokenCounter> tokenCounters = new LinkedHashMap<String, IncrementalTokenCounter>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IncrementalTokenCounter> eldest) {
+            return size() > MAX_TRACKED_CONVERSATIONS;
+        }
+    };
     private final AgentContextCompressionStateStore store;
     private final AgentContextCompressionTrigger trigger;
     private final AgentContextCompressor compressor;
     private final ToLongFunction<List<Message>> tokenEstimator;
 
+    /**
+     * 使用 {@link LocalTokenCounter} 的口径估算待压缩历史的 token 数。
+     *
+     * <p>每个会话持有一个 {@link IncrementalTokenCounter}，游标之后的历史只在尾部追加时只编码新增消息，
+     * 触发判断的成本与新增内容成正比；压缩推进游标或历史被改写时从变化位置重新统计。</p>
+     */
+    public AgentContextCompressionCoordinator(AgentContextCompressionStateStore store,
+                                              AgentContextCompressionTrigger trigger,
+                                              AgentContextCompressor compressor) {
+        this(store, trigger, compressor, null, true);
+    }
+
     public AgentContextCompressionCoordinator(AgentContextCompressionStateStore store,
                                               AgentContextCompressionTrigger trigger,
                                               AgentContextCompressor compressor,
                                               ToLongFunction<List<Message>> tokenEstimator) {
-        if (store == null || trigger == null || compressor == null || tokenEstimator == null) {
+        this(store, trigger, compressor, tokenEstimator, false);
+    }
+
+    private AgentContextCompressionCoordinator(AgentContextCompressionStateStore store,
+                                               AgentContextCompressionTrigger trigger,
+                                               AgentContextCompressor compressor,
+                                               ToLongFunction<List<Message>> tokenEstimator,
+                                               boolean defaultEstimator) {
+        if (store == null || trigger == null || compressor == null
+            || (tokenEstimator == null && !defaultEstimator)) {
             throw new IllegalArgumentException("compression coordinator dependencies must not be null");
         }
         this.store = store;
@@ -43,7 +79,8 @@ public final class AgentContextCompressionCoordinator {
         AgentContextCompressionState state = store.load(conversationId);
         if (state == null) state = AgentContextCompressionState.empty();
         List<Message> pending = pendingAfter(state.getCoveredUntilMessageId(), chronologicalMessages);
-        long estimatedTokens = tokenEstimator.applyAsLong(pending);
+        long estimatedTokens = tokenEstimator == null
+            ? estimateTokens(conversationId, pending) : tokenEstimator.applyAsLong(pending);
         if (estimatedTokens < 0) {
             throw new IllegalArgumentException("tokenEstimator must return a non-negative value");
         }
@@ -92,6 +129,17 @@ public final class AgentContextCompressionCoordinator {
         return new ArrayList<>(messages.subList(start, messages.size()));
     }
 
+    private long estimateTokens(String conversationId, List<Message> messages) {
+        IncrementalTokenCounter counter;
+        synchronized (tokenCounters) {
+            counter = tokenCounters.computeIfAbsent(conversationId, id -> new IncrementalTokenCounter());
+        }
+        // 计数器本身不是线程安全的；同一会话的并发压缩本就会在 CAS 保存时冲突，这里只需串行化统计。
+        synchronized (counter) {
+            return counter.countMessageTokens(messages);
+        }
+    }
+
     private static int countTurns(List<Message> messages) {
         int count = 0;
         for (Message message : messages) if (message instanceof UserMessage) count++;
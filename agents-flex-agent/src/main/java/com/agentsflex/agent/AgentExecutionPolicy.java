@@ -8,6 +8,7 @@ package com.agentsflex.agent;
 
 import com.agentsflex.agent.tool.ToolErrorStrategy;
 import com.agentsflex.agent.tool.ToolErrorMessageFactory;
+import com.agentsflex.core.model.chat.tool.Tool;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -22,7 +23,8 @@ import java.io.Serializable;
  *     <li>限制 Runner 最多推进多少个 step，避免非模型路径无限循环；</li>
  *     <li>规定工具执行失败后，是立即终止运行，还是把结构化错误返回给模型继续处理。</li>
  *     <li>为可恢复异常配置自动重试和退避时间；</li>
- *     <li>限制运行时间、Token 和工具调用次数。</li>
+ *     <li>限制运行时间、Token 和工具调用次数；</li>
+ *     <li>允许同一模型回合中连续的并行安全工具调用并发执行。</li>
  * </ul>
  *
  * <p>策略属于 Agent 定义的一部分，会应用到该 Agent 创建的每一个 {@link AgentTurn}。</p>
@@ -31,6 +33,11 @@ public final class AgentExecutionPolicy implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 标记 Tool 可以与同一模型回合中的其他调用并发执行的元数据键，值为 {@code true} 时生效。
+     */
+    public static final String PARALLEL_SAFE_TOOL_METADATA = "agent.parallelSafe";
+
     /**
      * 默认最多允许调用模型 20 次。
      */
@@ -84,6 +91,10 @@ public final class AgentExecutionPolicy implements Serializable {
      * 主动取消 Turn 时写入收束消息的原因文本。
      */
     private final String cancellationReason;
+    /**
+     * 同一模型回合中最多并发执行的工具调用数；小于等于 1 表示逐个执行。
+     */
+    private final int maxParallelToolCalls;
 
     private AgentExecutionPolicy(Builder builder) {
         this.maxIterations = builder.maxIterations;
@@ -95,6 +106,7 @@ public final class AgentExecutionPolicy implements Serializable {
         this.interruptedToolMessageTemplate = builder.interruptedToolMessageTemplate;
         this.interruptedTurnMessageTemplate = builder.interruptedTurnMessageTemplate;
         this.cancellationReason = builder.cancellationReason;
+        this.maxParallelToolCalls = builder.maxParallelToolCalls;
     }
 
     private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
@@ -181,6 +193,20 @@ public final class AgentExecutionPolicy implements Serializable {
         return cancellationReason;
     }
 
+    /**
+     * @return 同一模型回合中最多并发执行的工具调用数，小于等于 1 时逐个执行
+     */
+    public int getMaxParallelToolCalls() {
+        return maxParallelToolCalls;
+    }
+
+    /**
+     * 判断 Tool 是否通过 {@link #PARALLEL_SAFE_TOOL_METADATA} 声明为并行安全。
+     */
+    public static boolean isParallelSafe(Tool tool) {
+        return tool != null && Boolean.TRUE.equals(tool.getMetadata().get(PARALLEL_SAFE_TOOL_METADATA));
+    }
+
     /**
      * 执行策略构建器。
      */
@@ -196,6 +222,7 @@ public final class AgentExecutionPolicy implements Serializable {
         private String interruptedToolMessageTemplate = DEFAULT_INTERRUPTED_TOOL_MESSAGE;
         private String interruptedTurnMessageTemplate = DEFAULT_INTERRUPTED_TURN_MESSAGE;
         private String cancellationReason = DEFAULT_CANCELLATION_REASON;
+        private int maxParallelToolCalls = 1;
 
         /**
          * 设置最大模型迭代次数。
@@ -279,6 +306,21 @@ public final class AgentExecutionPolicy implements Serializable {
             return this;
         }
 
+        /**
+         * 设置同一模型回合中最多并发执行的工具调用数。
+         *
+         * <p>默认值 1 保持逐个执行。大于 1 时，Runner 只会把 pending 队首连续的、已允许执行且通过
+         * {@link #PARALLEL_SAFE_TOOL_METADATA} 声明为并行安全的业务工具合并为一批并发执行，
+         * ToolMessage 仍按原 ToolCall 顺序逐个写入并保存 Snapshot。批内调用在后续调用失败、
+         * 取消或需要用户输入时可能被丢弃并在恢复后重新执行，因此并行安全工具必须可以安全重试。</p>
+         *
+         * @param value 必须大于 0
+         */
+        public Builder maxParallelToolCalls(int value) {
+            this.maxParallelToolCalls = value;
+            return this;
+        }
+
         /**
          * 构建不可变执行策略。
          *
@@ -288,6 +330,9 @@ public final class AgentExecutionPolicy implements Serializable {
             if (maxIterations <= 0 || maxSteps <= 0) {
                 throw new IllegalStateException("maxIterations and maxSteps must be greater than 0");
             }
+            if (maxParallelToolCalls <= 0) {
+                throw new IllegalStateException("maxParallelToolCalls must be greater than 0");
+            }
             if (toolErrorStrategy == null) {
                 throw new IllegalStateException("toolErrorStrategy must not be null");
             }
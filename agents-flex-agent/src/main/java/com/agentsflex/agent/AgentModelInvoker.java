@@ -15,14 +15,21 @@ import com.agentsflex.core.model.chat.response.AiMessageResponse;
 import com.agentsflex.core.model.client.StreamContext;
 import com.agentsflex.core.prompt.Prompt;
 import com.agentsflex.core.prompt.MemoryPrompt;
+import com.agentsflex.core.util.NamedThreadFactory;
 import com.agentsflex.core.util.StringUtil;
 
 import java.util.LinkedHashMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -52,14 +59,39 @@ final class AgentModelInvoker {
         if (!turn.isStreaming()) {
             return model.chat(prompt, options);
         }
-        return invokeStreaming(turn, prompt, options, model);
+        return awaitClose(turn, invokeStreaming(turn, prompt, options, model));
     }
 
     /**
-     * 等待异步流关闭，并返回与同步接口一致的完整 AiMessageResponse。
+     * 以非阻塞方式调用模型，供 Runner 的异步执行模式使用。
+     *
+     * <p>流式调用只注册监听器并立即返回，Future 在流关闭时完成，期间不占用任何线程；总时长预算由
+     * 共享的定时器负责超时。同步模型没有异步接口，仍在当前线程完成后返回已完成的 Future。</p>
      */
-    private AiMessageResponse invokeStreaming(AgentTurn turn, Prompt prompt, ChatOptions options, ChatModel model) {
-        CountDownLatch closed = new CountDownLatch(1);
+    CompletableFuture<AiMessageResponse> invokeAsync(AgentTurn turn, Prompt prompt) {
+        ChatOptions options = requestOptions(turn);
+        ChatModel model = selectModel(turn, prompt);
+        CompletableFuture<AiMessageResponse> future;
+        try {
+            if (!turn.isStreaming()) {
+                return CompletableFuture.completedFuture(model.chat(prompt, options));
+            }
+            future = invokeStreaming(turn, prompt, options, model);
+        } catch (RuntimeException error) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(error);
+            return future;
+        }
+        return withDeadline(turn, future);
+    }
+
+    /**
+     * 发起流式调用，并在流关闭时以与同步接口一致的完整 AiMessageResponse 完成 Future。
+     */
+    private CompletableFuture<AiMessageResponse> invokeStreaming(AgentTurn turn, Prompt prompt,
+                                                                ChatOptions options, ChatModel model) {
+        CompletableFuture<AiMessageResponse> closed = new CompletableFuture<>();
+        AtomicBoolean finished = new AtomicBoolean();
         AtomicReference<AiMessage> fullMessage = new AtomicReference<>();
         AtomicReference<ChatContext> chatContext = new AtomicReference<>();
         AtomicReference<Throwable> failure = new AtomicReference<>();
@@ -92,20 +124,20 @@ final class AgentModelInvoker {
             }
 
             /**
-             * 记录流式调用异常并解除等待。
+             * 记录流式调用异常并结束等待。
              *
              * <p>部分模型适配器在连接建立前失败时不会继续触发关闭回调，因此此处必须主动
-             * 释放等待线程。异常会在等待结束后由调用线程重新抛出。</p>
+             * 完成 Future。</p>
              */
             @Override
             public void onError(StreamContext context, Throwable error) {
                 failure.compareAndSet(null, error);
                 // 流在打开前失败时模型实现可能不会再调用 onClose。
-                closed.countDown();
+                finish();
             }
 
             /**
-             * 读取流关闭时汇总的完整消息、聊天状态和异常，并通知调用线程继续处理。
+             * 读取流关闭时汇总的完整消息、聊天状态和异常，并完成 Future。
              */
             @Override
             public void onClose(StreamContext context) {
@@ -119,20 +151,30 @@ final class AgentModelInvoker {
                         failure.compareAndSet(null, context.getThrowable());
                     }
                 }
-                closed.countDown();
+                finish();
             }
-        }, options);
 
-        awaitClose(turn, closed);
-        rethrowFailure(failure.get());
-        // 包装器或兼容客户端可能只在关闭完成后补齐聚合消息；返回 Runner 前做最后一次兜底。
-        publishFinalTextIfNeeded(turn, fullMessage.get(), textDeltaPublished);
-        ChatContext context = chatContext.get();
-        if (context == null) {
-            context = new ChatContext();
-            context.setPrompt(prompt);
-        }
-        return new AiMessageResponse(context, null, fullMessage.get());
+            /**
+             * onError 与 onClose 可能先后到达，只有第一次回调决定调用结果。
+             */
+            private void finish() {
+                if (!finished.compareAndSet(false, true)) return;
+                Throwable error = failure.get();
+                if (error != null) {
+                    closed.completeExceptionally(error);
+                    return;
+                }
+                // 包装器或兼容客户端可能只在关闭完成后补齐聚合消息；返回 Runner 前做最后一次兜底。
+                publishFinalTextIfNeeded(turn, fullMessage.get(), textDeltaPublished);
+                ChatContext context = chatContext.get();
+                if (context == null) {
+                    context = new ChatContext();
+                    context.setPrompt(prompt);
+                }
+                closed.complete(new AiMessageResponse(context, null, fullMessage.get()));
+            }
+        }, options);
+        return closed;
     }
 
     /**
@@ -221,27 +263,65 @@ final class AgentModelInvoker {
     /**
      * 有总时长预算时，流式等待不会超过当前 Turn 的剩余时间。
      */
-    private void awaitClose(AgentTurn turn, CountDownLatch closed) {
+    private AiMessageResponse awaitClose(AgentTurn turn, CompletableFuture<AiMessageResponse> closed) {
         try {
-            long maxDuration = turn.getExecutionPolicy().getBudget().getMaxDurationMillis();
-            if (maxDuration <= 0) {
-                closed.await();
-                return;
+            long remaining = remainingMillis(turn);
+            if (remaining == Long.MAX_VALUE) {
+                return closed.get();
             }
-            long remaining = maxDuration - (System.currentTimeMillis() - turn.getCreatedAt());
-            if (remaining <= 0 || !closed.await(remaining, TimeUnit.MILLISECONDS)) {
-                throw new IllegalStateException("streaming model call exceeded maxDurationMillis");
+            if (remaining <= 0) {
+                throw budgetExceeded();
             }
+            return closed.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException error) {
+            throw budgetExceeded();
         } catch (InterruptedException error) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("streaming model call was interrupted", error);
+        } catch (ExecutionException error) {
+            throw toRuntimeException(error.getCause());
         }
     }
 
-    private void rethrowFailure(Throwable error) {
-        if (error == null) return;
-        if (error instanceof RuntimeException) throw (RuntimeException) error;
-        throw new IllegalStateException("streaming model call failed", error);
+    /**
+     * 异步等待不阻塞线程，由共享定时器在剩余预算耗尽时以超时异常完成 Future。
+     */
+    private CompletableFuture<AiMessageResponse> withDeadline(AgentTurn turn,
+                                                             CompletableFuture<AiMessageResponse> closed) {
+        long remaining = remainingMillis(turn);
+        if (remaining == Long.MAX_VALUE || closed.isDone()) {
+            return closed;
+        }
+        if (remaining <= 0) {
+            closed.completeExceptionally(budgetExceeded());
+            return closed;
+        }
+        ScheduledFuture<?> timeout = Deadlines.SCHEDULER.schedule(
+            () -> closed.completeExceptionally(budgetExceeded()), remaining, TimeUnit.MILLISECONDS);
+        closed.whenComplete((response, error) -> timeout.cancel(false));
+        return closed;
+    }
+
+    /**
+     * @return 当前 Turn 剩余的总时长预算；未配置预算时返回 {@link Long#MAX_VALUE}
+     */
+    private long remainingMillis(AgentTurn turn) {
+        long maxDuration = turn.getExecutionPolicy().getBudget().getMaxDurationMillis();
+        if (maxDuration <= 0) return Long.MAX_VALUE;
+        return maxDuration - (System.currentTimeMillis() - turn.getCreatedAt());
+    }
+
+    private static IllegalStateException budgetExceeded() {
+        return new IllegalStateException("streaming model call exceeded maxDurationMillis");
+    }
+
+    /**
+     * 把流式回调或 Future 携带的异常转换为同步调用抛出的运行时异常。
+     */
+    static RuntimeException toRuntimeException(Throwable error) {
+        if (error instanceof RuntimeException) return (RuntimeException) error;
+        if (error instanceof Error) throw (Error) error;
+        return new IllegalStateException("streaming model call failed", error);
     }
 
     private Map<String, Object> data(String key, Object value) {
@@ -249,4 +329,19 @@ final class AgentModelInvoker {
         data.put(key, value);
         return data;
     }
+
+    /**
+     * 全部 Runner 共享的流式超时定时器，只在首次使用异步模式且配置了时长预算时创建。
+     */
+    private static final class Deadlines {
+        private static final ScheduledExecutorService SCHEDULER = newScheduler();
+
+        private static ScheduledExecutorService newScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                1, new NamedThreadFactory("agent-model-deadline", true));
+            // 绝大多数流会在预算内关闭，及时移除已取消的超时任务，避免大量并发 Turn 堆积在队列中。
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
 }
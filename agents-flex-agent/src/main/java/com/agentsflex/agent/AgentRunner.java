@@ -41,6 +41,7 @@ import com.agentsflex.core.model.chat.tool.Tool;
 import com.agentsflex.core.model.chat.tool.ToolExecutor;
 import com.agentsflex.core.model.chat.tool.ToolInterceptor;
 import com.agentsflex.core.prompt.Prompt;
+import com.agentsflex.core.util.NamedThreadPools;
 import com.agentsflex.core.util.StringUtil;
 import com.alibaba.fastjson2.JSON;
 import org.slf4j.Logger;
@@ -48,11 +49,19 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * 创建、推进、暂停和恢复 {@link AgentTurn} 的核心执行器。
@@ -80,6 +89,10 @@ import java.util.concurrent.ConcurrentMap;
  * <p>直接调用 {@code run(...)} 会在当前线程推进子 Turn；分布式长任务应先调用 {@code start(...)}
  * 保存 READY Snapshot，再由 AgentWorker 通过租约领取。不要让两个线程直接推进同一个
  * AgentTurn 对象。</p>
+ *
+ * <p>{@link #runAsync(AgentTurn)} 提供异步执行模式：流式模型调用期间不占用线程，流关闭后工具调用、
+ * Snapshot 保存和后续 Step 作为续体提交到 Turn 执行器，大量并发流式 Turn 不再各自占用一个等待线程。
+ * 暂停、预算和租约语义与同步模式一致。</p>
  */
 public final class AgentRunner {
 
@@ -111,6 +124,10 @@ public final class AgentRunner {
      * 可选的业务会话消息投影。未配置 Provider 时为空操作，现有显式传历史消息的 API 不受影响。
      */
     private final AgentRunnerChatMemory chatMemory;
+    /**
+     * 执行并行安全工具批次的执行器；只有策略允许并发工具调用时才会使用。
+     */
+    private final Executor toolExecutor;
     /**
      * 标识当前线程正在代表哪个 Worker 推进已领取的 Turn。
      */
@@ -133,6 +150,10 @@ public final class AgentRunner {
      * 同一 Runner 内按 conversationId 串行创建初始 Turn，避免检查与保存之间出现竞态。
      */
     private final ConcurrentMap<String, Object> conversationLocks = new ConcurrentHashMap<>();
+    /**
+     * 异步执行模式下运行 Step 各段和流关闭后续体的执行器。
+     */
+    private final Executor turnExecutor;
 
     /**
      * 创建全部使用进程内依赖的 Runner，适合测试和单实例试用。
@@ -152,11 +173,12 @@ public final class AgentRunner {
      * 创建自定义 TurnStore 和 AgentLoader 的 Runner。
      */
     public AgentRunner(AgentTurnStore turnStore, AgentLoader agentLoader) {
-        this(turnStore, agentLoader, null);
+        this(turnStore, agentLoader, null, null, null);
     }
 
     private AgentRunner(AgentTurnStore turnStore, AgentLoader agentLoader,
-                        ChatMemoryProvider chatMemoryProvider) {
+                        ChatMemoryProvider chatMemoryProvider, Executor toolExecutor,
+                        Executor turnExecutor) {
         if (turnStore == null || agentLoader == null) {
             throw new IllegalArgumentException(
                 "AgentRunner dependencies must not be null");
@@ -167,6 +189,11 @@ public final class AgentRunner {
         this.planning = new AgentRunnerPlanning(this, agentLoader, eventPublisher);
         this.modelInvoker = new AgentModelInvoker(eventPublisher);
         this.chatMemory = new AgentRunnerChatMemory(chatMemoryProvider);
+        // 默认执行器优先使用虚拟线程，低版本 JDK 回退为守护线程池；并发度由执行策略按批限制。
+        this.toolExecutor = toolExecutor == null
+            ? NamedThreadPools.newVirtualThreadPerTaskExecutor("agent-tool") : toolExecutor;
+        this.turnExecutor = turnExecutor == null
+            ? NamedThreadPools.newVirtualThreadPerTaskExecutor("agent-turn") : turnExecutor;
     }
 
     /**
@@ -179,6 +206,8 @@ public final class AgentRunner {
         private AgentTurnStore turnStore = new InMemoryAgentTurnStore();
         private AgentLoader agentLoader = new InMemoryAgentLoader();
         private ChatMemoryProvider chatMemoryProvider;
+        private Executor toolExecutor;
+        private Executor turnExecutor;
 
         /**
          * 设置 Snapshot 与租约存储。
@@ -208,11 +237,33 @@ public final class AgentRunner {
             return this;
         }
 
+        /**
+         * 设置并发执行工具批次的执行器。
+         *
+         * <p>仅当 {@link AgentExecutionPolicy#getMaxParallelToolCalls()} 大于 1 时使用。未配置时使用
+         * 虚拟线程执行器，运行环境不支持虚拟线程时回退为守护线程池。Runner 不负责关闭外部传入的执行器。</p>
+         */
+        public Builder toolExecutor(Executor value) {
+            toolExecutor = value;
+            return this;
+        }
+
+        /**
+         * 设置异步执行模式使用的 Turn 执行器。
+         *
+         * <p>执行器只运行 Step 中真正需要计算的部分，流式模型调用等待期间不占用其中的线程。未配置时
+         * 使用虚拟线程执行器，运行环境不支持虚拟线程时回退为守护线程池。Runner 不负责关闭外部传入的执行器。</p>
+         */
+        public Builder turnExecutor(Executor value) {
+            turnExecutor = value;
+            return this;
+        }
+
         /**
          * 校验全部依赖并创建 Runner。
          */
         public AgentRunner build() {
-            return new AgentRunner(turnStore, agentLoader, chatMemoryProvider);
+            return new AgentRunner(turnStore, agentLoader, chatMemoryProvider, toolExecutor, turnExecutor);
         }
     }
 
@@ -560,6 +611,76 @@ public final class AgentRunner {
         }
     }
 
+    /**
+     * 异步推进已经创建的 Turn，语义等同于 {@link #runUntilBlockedAsync(AgentTurn)}。
+     */
+    public CompletableFuture<AgentTurn> runAsync(AgentTurn turn) {
+        return runUntilBlockedAsync(turn);
+    }
+
+    /**
+     * 从最新 Snapshot 恢复指定 Turn 并异步推进到下一个稳定边界。
+     */
+    public CompletableFuture<AgentTurn> runUntilBlockedAsync(String turnId) {
+        return runUntilBlockedAsync(restore(turnId));
+    }
+
+    /**
+     * 以异步方式持续推进，直到根任务终止或等待外部事件，返回边界与
+     * {@link #runUntilBlocked(AgentTurn)} 相同。
+     *
+     * <p>方法立即返回，Step 在 Turn 执行器上运行。流式 Turn 的模型调用不阻塞线程：请求发出后当前
+     * Step 让出线程，流关闭时再在执行器上继续完成校验、工具调用和 Snapshot 保存。非流式模型和
+     * 配置了 Middleware 的 Agent 没有可挂起的调用点，对应 Step 仍在执行器线程上同步完成。</p>
+     *
+     * <p>调用线程若正代表 Worker 持有租约，租约上下文会随每段续体一起恢复，保存 Snapshot 前仍会校验
+     * 租约。与同步模式相同，不要让两个调用同时推进同一个 AgentTurn 对象。</p>
+     *
+     * @return 完成值为最新父 Turn；执行期间的未处理异常会使 Future 异常完成
+     */
+    public CompletableFuture<AgentTurn> runUntilBlockedAsync(AgentTurn turn) {
+        if (turn == null) {
+            throw new IllegalArgumentException("turn must not be null");
+        }
+        return runUntilBlockedAsync(turn, new LeaseScope(activeWorkerId.get(), activeLeaseId.get()));
+    }
+
+    private CompletableFuture<AgentTurn> runUntilBlockedAsync(AgentTurn turn, LeaseScope scope) {
+        return CompletableFuture.supplyAsync(() -> scope.call(() -> {
+            ensurePreparedAndSnapshotSaved(turn);
+            refreshCancellation(turn);
+            return turn;
+        }), turnExecutor).thenCompose(current -> advanceAsync(turn, current, scope));
+    }
+
+    /**
+     * 异步版本的 {@link #runUntilBlocked(AgentTurn)} 循环体，每推进一步后在执行器上继续下一轮判断。
+     */
+    private CompletableFuture<AgentTurn> advanceAsync(AgentTurn turn, AgentTurn current, LeaseScope scope) {
+        return scope.call(() -> {
+            if (!current.getStatus().isTerminal()
+                && (!current.getStatus().isBlocked() || current.isCancellationRequested())) {
+                return stepAsync(current, scope)
+                    .thenComposeAsync(result -> advanceAsync(turn, current, scope), turnExecutor);
+            }
+
+            AgentTurn child = planning.currentChild(current);
+            if (child == null || current.isCancellationRequested()) {
+                return CompletableFuture.completedFuture(current);
+            }
+            if (scope.workerId != null) return CompletableFuture.completedFuture(current);
+
+            return runUntilBlockedAsync(child, scope).thenComposeAsync(finishedChild -> scope.call(() -> {
+                if (!finishedChild.getStatus().isTerminal()) {
+                    return CompletableFuture.completedFuture(current);
+                }
+                AgentTurn parent = resumeParentFromChild(finishedChild);
+                if (parent == null) return CompletableFuture.completedFuture(turn);
+                return advanceAsync(turn, parent, scope);
+            }), turnExecutor);
+        });
+    }
+
     /**
      * 请求取消指定的 Agent Turn，并返回包含最新取消标记的 Turn。
      *
@@ -735,6 +856,30 @@ public final class AgentRunner {
      * 收到该 Turn 的步骤事件。</p>
      */
     public AgentStepResult step(AgentTurn turn) {
+        boolean maxStepsReached = enterStep(turn);
+        List<Runnable> deferredEvents = new ArrayList<>();
+        try {
+            return withStepEvents(deferredEvents, () -> {
+                eventPublisher.publish(turn, AgentEventType.STEP_STARTED,
+                    objectAttributes("phase", turn.getPhase()));
+                AgentStepResult result = maxStepsReached
+                    ? maxStepsReached(turn) : stepCore(turn);
+                completeStep(turn, result, deferredEvents);
+                return result;
+            });
+        } finally {
+            if (turn.getStatus().isTerminal()) {
+                eventPublisher.clearSequence(turn.getId());
+            }
+        }
+    }
+
+    /**
+     * 完成 Step 入口的校验、首次 Turn 事件和计数。
+     *
+     * @return 本步是否只需记录已达到最大步数
+     */
+    private boolean enterStep(AgentTurn turn) {
         // 在任何 Step 事件之前完成首次 Turn 状态转换，保持 Turn > Step 的生命周期嵌套关系。
         validateStep(turn);
         ensurePreparedAndSnapshotSaved(turn);
@@ -754,31 +899,166 @@ public final class AgentRunner {
             // STEP_STARTED 和 STEP_COMPLETED 对同一次推进展示相同的 1-based stepCount。
             turn.incrementStep();
         }
+        return maxStepsReached;
+    }
+
+    /**
+     * 发布 STEP_COMPLETED、本步延后的 Turn 状态事件和终止事件。
+     */
+    private void completeStep(AgentTurn turn, AgentStepResult result, List<Runnable> deferredEvents) {
+        eventPublisher.publish(turn, AgentEventType.STEP_COMPLETED,
+            objectAttributes("status", turn.getStatus(),
+                "phase", turn.getPhase(),
+                "toolMessageCount", result == null ? 0 : result.getToolMessages().size()));
+        publishDeferredEvents(deferredEvents);
+        publishTerminalEvent(turn);
+    }
 
+    /**
+     * 在指定 Step 的延后事件上下文中执行一段同步逻辑，结束后恢复外层 Step 的上下文。
+     *
+     * <p>异步 Step 的各段可能在不同线程上执行，因此每段都需要重新绑定同一个事件列表。</p>
+     */
+    private <T> T withStepEvents(List<Runnable> deferredEvents, Supplier<T> action) {
         List<Runnable> parentEvents = afterStepEvents.get();
-        List<Runnable> deferredEvents = new ArrayList<>();
         afterStepEvents.set(deferredEvents);
         try {
-            eventPublisher.publish(turn, AgentEventType.STEP_STARTED,
-                objectAttributes("phase", turn.getPhase()));
-            AgentStepResult result = maxStepsReached
-                ? maxStepsReached(turn) : stepCore(turn);
-            eventPublisher.publish(turn, AgentEventType.STEP_COMPLETED,
-                objectAttributes("status", turn.getStatus(),
-                    "phase", turn.getPhase(),
-                    "toolMessageCount", result == null ? 0 : result.getToolMessages().size()));
-            publishDeferredEvents(deferredEvents);
-            publishTerminalEvent(turn);
-            return result;
+            return action.get();
         } finally {
             if (parentEvents == null) {
                 afterStepEvents.remove();
             } else {
                 afterStepEvents.set(parentEvents);
             }
+        }
+    }
+
+    /**
+     * 异步推进一个 Step，事件顺序与 {@link #step(AgentTurn)} 相同。
+     *
+     * <p>只有流式且未配置 Middleware 的 Turn 会在模型调用处让出线程；Middleware 以同步责任链包裹
+     * 模型调用，无法在中途挂起，此时直接在当前执行器线程上调用 {@link #step(AgentTurn)}。</p>
+     */
+    private CompletableFuture<AgentStepResult> stepAsync(AgentTurn turn, LeaseScope scope) {
+        if (!turn.isStreaming() || !turn.getAgent().getMiddlewares().isEmpty()) {
+            return CompletableFuture.completedFuture(step(turn));
+        }
+        boolean maxStepsReached = enterStep(turn);
+        List<Runnable> deferredEvents = new ArrayList<>();
+        CompletableFuture<AgentStepResult> core;
+        try {
+            core = withStepEvents(deferredEvents, () -> {
+                eventPublisher.publish(turn, AgentEventType.STEP_STARTED,
+                    objectAttributes("phase", turn.getPhase()));
+                return maxStepsReached
+                    ? CompletableFuture.completedFuture(maxStepsReached(turn))
+                    : stepCoreAsync(turn, scope, deferredEvents);
+            });
+        } catch (RuntimeException | Error error) {
             if (turn.getStatus().isTerminal()) {
                 eventPublisher.clearSequence(turn.getId());
             }
+            throw error;
+        }
+        return core.handle((result, error) -> scope.call(() -> {
+            try {
+                if (error != null) throw rethrow(error);
+                withStepEvents(deferredEvents, () -> {
+                    completeStep(turn, result, deferredEvents);
+                    return null;
+                });
+                return result;
+            } finally {
+                if (turn.getStatus().isTerminal()) {
+                    eventPublisher.clearSequence(turn.getId());
+                }
+            }
+        }));
+    }
+
+    /**
+     * 异步版本的 {@link #stepCore(AgentTurn)}，只有 MODEL Phase 会真正挂起。
+     */
+    private CompletableFuture<AgentStepResult> stepCoreAsync(AgentTurn turn, LeaseScope scope,
+                                                             List<Runnable> deferredEvents) {
+        AgentStepResult early = beforeStepCore(turn);
+        if (early != null) return CompletableFuture.completedFuture(early);
+
+        CompletableFuture<AgentStepResult> result = turn.getPhase() == AgentTurnPhase.MODEL
+            ? executeModelAsync(turn, scope, deferredEvents)
+            : CompletableFuture.completedFuture(executeToolCallingStep(turn));
+        return result.thenApply(value -> scope.call(
+            () -> withStepEvents(deferredEvents, () -> afterStepCore(turn, value))));
+    }
+
+    /**
+     * 发起模型调用后立即返回，流关闭时在 Turn 执行器上完成与 {@link #executeModel(AgentTurn)}
+     * 相同的后续处理。
+     */
+    private CompletableFuture<AgentStepResult> executeModelAsync(AgentTurn turn, LeaseScope scope,
+                                                                 List<Runnable> deferredEvents) {
+        AgentStepResult limited = beginModelCall(turn);
+        if (limited != null) return CompletableFuture.completedFuture(limited);
+        CompletableFuture<AiMessageResponse> call;
+        try {
+            call = modelInvoker.invokeAsync(turn, modelPrompt(turn, turn.getPrompt()));
+        } catch (RuntimeException error) {
+            return CompletableFuture.completedFuture(
+                handleFailure(turn, null, error, AgentTurnPhase.MODEL));
+        }
+        return call.handleAsync((response, error) -> scope.call(() -> withStepEvents(deferredEvents, () -> {
+            if (error != null) {
+                return handleFailure(turn, null, rethrow(error), AgentTurnPhase.MODEL);
+            }
+            return completeModelCall(turn, response);
+        })), turnExecutor);
+    }
+
+    /**
+     * 去掉 CompletableFuture 的包装异常，Error 直接抛出，其余异常转换为运行时异常。
+     */
+    private static RuntimeException rethrow(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return AgentModelInvoker.toRuntimeException(cause);
+    }
+
+    /**
+     * 异步执行时随续体传递的 Worker 租约上下文。
+     *
+     * <p>同步模式通过线程变量标识当前 Worker；异步续体可能在任意执行器线程上运行，因此每段执行前
+     * 重新绑定，执行后恢复线程原有的值。</p>
+     */
+    private final class LeaseScope {
+        private final String workerId;
+        private final String leaseId;
+
+        private LeaseScope(String workerId, String leaseId) {
+            this.workerId = workerId;
+            this.leaseId = leaseId;
+        }
+
+        private <T> T call(Supplier<T> action) {
+            String previousWorkerId = activeWorkerId.get();
+            String previousLeaseId = activeLeaseId.get();
+            bind(workerId, leaseId);
+            try {
+                return action.get();
+            } finally {
+                bind(previousWorkerId, previousLeaseId);
+            }
+        }
+
+        private void bind(String worker, String lease) {
+            if (worker == null) {
+                activeWorkerId.remove();
+                activeLeaseId.remove();
+            } else {
+                activeWorkerId.set(worker);
+                activeLeaseId.set(lease);
+            }
         }
     }
 
@@ -802,6 +1082,21 @@ public final class AgentRunner {
      * 执行不包含 step Middleware 包装的通用单步状态机。
      */
     private AgentStepResult stepCore(AgentTurn turn) {
+        AgentStepResult early = beforeStepCore(turn);
+        if (early != null) return early;
+
+        // 规划没有产生独立动作时，再进入 Middleware 和内置 ToolCall 状态机。
+        AgentStepResult result = proceedStep(turn,
+            new AgentMiddlewareContext(this, turn, turn.getPrompt()), 0);
+        return afterStepCore(turn, result);
+    }
+
+    /**
+     * 执行模型或工具之前的取消、阻塞、预算和规划检查。
+     *
+     * @return 本步已由检查处理时返回结果，需要继续执行状态机时返回 {@code null}
+     */
+    private AgentStepResult beforeStepCore(AgentTurn turn) {
         // Lease 和持久化取消标记必须在任何模型或工具副作用之前检查。
         assertLeaseOwnership(turn);
         refreshCancellation(turn);
@@ -819,12 +1114,13 @@ public final class AgentRunner {
         }
 
         // 已存在的任务计划优先于下一次模型调用推进，避免计划任务与普通对话循环互相竞争。
-        AgentStepResult planningResult = planning.advance(turn);
-        if (planningResult != null) return planningResult;
+        return planning.advance(turn);
+    }
 
-        // 规划没有产生独立动作时，再进入 Middleware 和内置 ToolCall 状态机。
-        AgentStepResult result = proceedStep(turn,
-            new AgentMiddlewareContext(this, turn, turn.getPrompt()), 0);
+    /**
+     * 校验状态机返回的结果，并同步执行期间提交的取消信号。
+     */
+    private AgentStepResult afterStepCore(AgentTurn turn, AgentStepResult result) {
         if (result == null) {
             return handleFailure(turn, null,
                 new IllegalStateException("Agent step returned null result"),
@@ -963,6 +1259,29 @@ public final class AgentRunner {
         }
     }
 
+    /**
+     * 在指定 Worker 的租约上下文中异步推进已经领取的 Turn。
+     */
+    CompletableFuture<AgentTurn> runLeasedAsync(AgentTurn turn, String workerId, String leaseId) {
+        if (!workerId.equals(turn.getLeaseOwner())
+            || leaseId == null || !leaseId.equals(turn.getLeaseId())
+            || turn.getLeaseUntil() <= turnStore.currentTimeMillis()) {
+            throw new IllegalStateException("AgentTurn lease is not active for worker: " + workerId);
+        }
+        LeaseScope scope = new LeaseScope(workerId, leaseId);
+        if (turn.getStatus() != AgentTurnStatus.RETRY_SCHEDULED) {
+            return runUntilBlockedAsync(turn, scope);
+        }
+        if (planning.currentChild(turn) != null) {
+            // 子 Turn 路由需要逐层恢复，保持同步语义在执行器上完成。
+            return CompletableFuture.supplyAsync(
+                () -> scope.call(() -> resume(turn, AgentResumeCommand.retry())), turnExecutor);
+        }
+        return CompletableFuture.supplyAsync(
+                () -> scope.call(() -> submitResume(turn, AgentResumeCommand.retry())), turnExecutor)
+            .thenCompose(resumed -> runUntilBlockedAsync(resumed, scope));
+    }
+
     /**
      * 执行一个模型回合，并根据响应进入完成状态或 ToolCall 处理阶段。
      *
@@ -970,7 +1289,26 @@ public final class AgentRunner {
      * 和 TOOLS Phase，再执行工具；该顺序保证模型已经作出的工具决定可跨进程恢复。</p>
      */
     private AgentStepResult executeModel(AgentTurn turn) {
-        Agent agent = turn.getAgent();
+        AgentStepResult limited = beginModelCall(turn);
+        if (limited != null) return limited;
+        AiMessageResponse response;
+        try {
+            // 模型 Middleware 以责任链包裹最终调用，可用于 tracing、缓存或受控 Prompt 增强。
+            AgentMiddlewareContext middlewareContext = new AgentMiddlewareContext(
+                this, turn, turn.getPrompt());
+            response = proceedModelCall(turn, middlewareContext, 0);
+        } catch (RuntimeException error) {
+            return handleFailure(turn, null, error, AgentTurnPhase.MODEL);
+        }
+        return completeModelCall(turn, response);
+    }
+
+    /**
+     * 检查模型迭代上限，并在发起请求前记录本次迭代。
+     *
+     * @return 已达到迭代上限时返回结果，可以调用模型时返回 {@code null}
+     */
+    private AgentStepResult beginModelCall(AgentTurn turn) {
         if (turn.getIterationCount() >= turn.getExecutionPolicy().getMaxIterations()) {
             finalizeInterruptedHistory(turn, "maximum model iterations reached");
             turn.markMaxIterationsReached();
@@ -981,12 +1319,14 @@ public final class AgentRunner {
         // 迭代次数表示模型调用次数，在发起请求前增加，失败的模型请求同样消耗一次尝试。
         turn.incrementIteration();
         eventPublisher.notifyModelStart(turn);
-        AiMessageResponse response;
+        return null;
+    }
+
+    /**
+     * 校验模型响应，并根据响应进入完成状态或 ToolCall 处理阶段。
+     */
+    private AgentStepResult completeModelCall(AgentTurn turn, AiMessageResponse response) {
         try {
-            // 模型 Middleware 以责任链包裹最终调用，可用于 tracing、缓存或受控 Prompt 增强。
-            AgentMiddlewareContext middlewareContext = new AgentMiddlewareContext(
-                this, turn, turn.getPrompt());
-            response = proceedModelCall(turn, middlewareContext, 0);
             validateResponse(response);
             eventPublisher.notifyModelEnd(turn, response);
         } catch (RuntimeException error) {
@@ -1036,6 +1376,13 @@ public final class AgentRunner {
      * 调用模型适配器，并由适配器发布细粒度流式事件。
      */
     private AiMessageResponse invokeModel(AgentTurn turn, Prompt prompt) {
+        return modelInvoker.invoke(turn, modelPrompt(turn, prompt));
+    }
+
+    /**
+     * 按 Agent 的上下文窗口配置裁剪实际发送给模型的 Prompt。
+     */
+    private Prompt modelPrompt(AgentTurn turn, Prompt prompt) {
         Prompt modelPrompt = prompt;
         if (prompt instanceof com.agentsflex.core.prompt.MemoryPrompt) {
             modelPrompt = AgentContextWindow.build(
@@ -1046,14 +1393,20 @@ public final class AgentRunner {
                 turn.getAgent().getCompressionKeepRecentTurns(),
                 turn.getAgent().getContextCompressor());
         }
-        return modelInvoker.invoke(turn, modelPrompt);
+        return modelPrompt;
     }
 
     /**
      * 逐个处理待执行 ToolCall，并在每个结果写入后保存 Snapshot。
+     *
+     * <p>执行策略允许并发时，队首连续的并行安全调用会先合并为一批执行，结果仍按原顺序逐个提交。</p>
      */
     private AgentStepResult executePendingTools(AgentTurn turn, AiMessageResponse response) {
         List<ToolMessage> results = new ArrayList<>();
+        // 本 step 内已计算的审批决定，避免批次探测和逐个执行对同一 ToolCall 重复调用审批策略。
+        Map<String, ToolApprovalDecision> decisions = new HashMap<>();
+        // 并发执行时请求用户输入的调用退回逐个执行路径，以便按原语义挂起。
+        Set<String> serialOnly = new HashSet<>();
         while (!turn.getPendingToolCalls().isEmpty()) {
             // 每个 ToolCall 前重新检查取消和通用预算；工具次数只约束后面的业务工具。
             if (turn.isCancellationRequested()) {
@@ -1064,6 +1417,15 @@ public final class AgentRunner {
                 return budgetExceeded(turn, budgetReason);
             }
 
+            List<ParallelToolCall> batch = collectParallelBatch(turn, decisions, serialOnly);
+            if (batch.size() > 1) {
+                AgentStepResult interrupted = executeParallelBatch(turn, response, batch, results, serialOnly);
+                if (interrupted != null) {
+                    return interrupted;
+                }
+                continue;
+            }
+
             // 始终处理队首调用；成功写入 ToolMessage 后才从 pending 列表移除。
             ToolCall call = turn.getPendingToolCalls().get(0);
             if (planning.isPlanningTool(call)) {
@@ -1110,11 +1472,7 @@ public final class AgentRunner {
                 return budgetExceeded(turn, budgetReason);
             }
 
-            // 已恢复的审批决定优先；首次遇到 ToolCall 时才执行动态审批策略。
-            Boolean approval = turn.getToolApproval(callKey(call));
-            ToolApprovalDecision decision = approval == null
-                ? turn.getAgent().getToolApprovalPolicy().decide(turn, call, tool)
-                : (approval ? ToolApprovalDecision.ALLOW : ToolApprovalDecision.DENY);
+            ToolApprovalDecision decision = decideApproval(turn, call, tool, decisions);
             if (decision == null) {
                 return handleFailure(turn, response,
                     new IllegalStateException("ToolApprovalPolicy returned null"), AgentTurnPhase.TOOLS);
@@ -1183,6 +1541,153 @@ public final class AgentRunner {
         return AgentStepResult.of(response, results, null);
     }
 
+    /**
+     * 已恢复的审批决定优先；首次遇到 ToolCall 时才执行动态审批策略，并在当前 step 内缓存结果。
+     */
+    private ToolApprovalDecision decideApproval(AgentTurn turn, ToolCall call, Tool tool,
+                                                Map<String, ToolApprovalDecision> decisions) {
+        String key = callKey(call);
+        if (decisions.containsKey(key)) {
+            return decisions.get(key);
+        }
+        Boolean approval = turn.getToolApproval(key);
+        ToolApprovalDecision decision = approval == null
+            ? turn.getAgent().getToolApprovalPolicy().decide(turn, call, tool)
+            : (approval ? ToolApprovalDecision.ALLOW : ToolApprovalDecision.DENY);
+        decisions.put(key, decision);
+        return decision;
+    }
+
+    /**
+     * 从 pending 队首收集可以并发执行的连续 ToolCall。
+     *
+     * <p>规划工具、用户输入工具、未声明并行安全的工具、恢复后携带表单数据的调用以及未被直接允许的
+     * 调用都会结束批次，由逐个执行路径按原语义处理。批次大小同时受并发上限和剩余工具调用预算约束。</p>
+     */
+    private List<ParallelToolCall> collectParallelBatch(AgentTurn turn,
+                                                        Map<String, ToolApprovalDecision> decisions,
+                                                        Set<String> serialOnly) {
+        AgentExecutionPolicy policy = turn.getExecutionPolicy();
+        int limit = policy.getMaxParallelToolCalls();
+        if (limit <= 1) {
+            return Collections.emptyList();
+        }
+        int maxToolCalls = policy.getBudget().getMaxToolCalls();
+        List<ParallelToolCall> batch = new ArrayList<>();
+        for (ToolCall call : turn.getPendingToolCalls()) {
+            if (batch.size() >= limit
+                || (maxToolCalls > 0 && turn.getToolCallCount() + batch.size() >= maxToolCalls)
+                || serialOnly.contains(callKey(call))
+                || planning.isPlanningTool(call)) {
+                break;
+            }
+            Tool tool = resolveTool(turn, call);
+            if (tool == null || AgentUserInputTool.isUserInputTool(tool)
+                || !AgentExecutionPolicy.isParallelSafe(tool)
+                || !turn.getToolInputData(callKey(call)).isEmpty()) {
+                break;
+            }
+            ToolApprovalDecision decision = decideApproval(turn, call, tool, decisions);
+            if (decision == null || decision.getOutcome() != ToolApprovalDecision.Outcome.ALLOW) {
+                break;
+            }
+            batch.add(new ParallelToolCall(call, tool));
+        }
+        return batch;
+    }
+
+    /**
+     * 并发执行一批工具，等待全部结束后再按原 ToolCall 顺序逐个提交结果。
+     *
+     * <p>提交阶段与逐个执行保持一致：每个结果写入后保存 Snapshot 并同步取消信号；取消、失败或用户输入
+     * 请求出现时，尚未提交的结果会被丢弃并回滚对应的工具调用计数，恢复后重新执行。</p>
+     *
+     * <p>工具在执行器线程上运行，因此每个任务都重新绑定当前 Worker 租约；工具或 Middleware 经由 Runner
+     * 发布的延后事件先收集到各自的列表，整批结束后按 ToolCall 顺序并入当前 Step。</p>
+     *
+     * @return 需要结束当前 step 时的结果；整批已提交或需要退回逐个执行时返回 {@code null}
+     */
+    private AgentStepResult executeParallelBatch(AgentTurn turn, AiMessageResponse response,
+                                                 List<ParallelToolCall> batch,
+                                                 List<ToolMessage> results, Set<String> serialOnly) {
+        List<CompletableFuture<ToolMessage>> futures = new ArrayList<>(batch.size());
+        LeaseScope scope = new LeaseScope(activeWorkerId.get(), activeLeaseId.get());
+        List<Runnable> stepEvents = afterStepEvents.get();
+        List<List<Runnable>> toolEvents = new ArrayList<>(batch.size());
+        for (ParallelToolCall item : batch) {
+            eventPublisher.notifyToolStart(turn, item.call);
+            turn.incrementToolCallCount();
+            List<Runnable> events = stepEvents == null ? null : new ArrayList<>();
+            toolEvents.add(events);
+            CompletableFuture<ToolMessage> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> scope.call(
+                    () -> withStepEvents(events, () -> executeTool(turn, item.tool, item.call))), toolExecutor);
+            } catch (RejectedExecutionException error) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(error);
+            }
+            futures.add(future);
+        }
+
+        // 先等待整批结束，保证 step 返回后不会有工具仍在后台运行。
+        ToolMessage[] messages = new ToolMessage[batch.size()];
+        RuntimeException[] errors = new RuntimeException[batch.size()];
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                messages[i] = futures.get(i).join();
+            } catch (CompletionException error) {
+                Throwable cause = error.getCause() == null ? error : error.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                errors[i] = cause instanceof RuntimeException
+                    ? (RuntimeException) cause : new IllegalStateException(cause);
+            }
+        }
+        if (stepEvents != null) {
+            for (List<Runnable> events : toolEvents) {
+                stepEvents.addAll(events);
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            ToolCall call = batch.get(i).call;
+            if (turn.isCancellationRequested()) {
+                rollbackToolCallCount(turn, batch.size() - i);
+                return cancelTurn(turn);
+            }
+            RuntimeException error = errors[i];
+            if (error instanceof AgentFormRequiredException) {
+                // 用户输入请求发生在副作用之前，退回逐个执行路径重新调用并按原语义挂起。
+                rollbackToolCallCount(turn, batch.size() - i);
+                serialOnly.add(callKey(call));
+                return null;
+            }
+            ToolMessage completedResult = messages[i];
+            if (error != null) {
+                eventPublisher.notifyToolError(turn, call, error);
+                if (turn.getExecutionPolicy().getToolErrorStrategy()
+                    != ToolErrorStrategy.RETURN_ERROR_TO_MODEL) {
+                    rollbackToolCallCount(turn, batch.size() - i - 1);
+                    return handleFailure(turn, response, error, AgentTurnPhase.TOOLS);
+                }
+                completedResult = buildToolErrorMessage(turn, call, error);
+            }
+            appendToolResult(turn, call, completedResult);
+            results.add(completedResult);
+            eventPublisher.notifyToolEnd(turn, call);
+            refreshCancellation(turn);
+        }
+        return null;
+    }
+
+    private static void rollbackToolCallCount(AgentTurn turn, int count) {
+        for (int i = 0; i < count; i++) {
+            turn.rollbackToolCallCount();
+        }
+    }
+
     /**
      * 原子语义上提交一个工具结果：追加消息、移除 pending 调用并保存 Snapshot。
      *
@@ -1804,6 +2309,19 @@ public final class AgentRunner {
     private static final class AgentTurnCancelledException extends RuntimeException {
     }
 
+    /**
+     * 已通过审批、可以并发执行的 ToolCall 及其解析出的工具。
+     */
+    private static final class ParallelToolCall {
+        private final ToolCall call;
+        private final Tool tool;
+
+        private ParallelToolCall(ToolCall call, Tool tool) {
+            this.call = call;
+            this.tool = tool;
+        }
+    }
+
     /**
      * 表示恢复执行时，当前 Agent 已无法提供快照所记录的工具。
      */
@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -25,7 +27,8 @@ import java.util.concurrent.atomic.AtomicReference;
  * 三分之一续租；租约丢失后 Runner 会在下一个 Snapshot 边界拒绝继续写入。</p>
  *
  * <p>Worker 可以由外部调度器调用 {@link #pollAndRun(int)}，也可以使用
- * {@link #startPolling(long, int)} 启动进程内定时轮询。关闭 Worker 不保证强制中断正在执行的
+ * {@link #startPolling(long, int)} 启动进程内定时轮询。{@link #pollAndRunAsync(int)} 以 Runner 的
+ * 异步模式并发推进领取到的 Turn，流式模型调用期间不占用线程。关闭 Worker 不保证强制中断正在执行的
  * 模型 HTTP 请求或业务工具。</p>
  */
 public final class AgentWorker implements AutoCloseable {
@@ -57,7 +60,7 @@ public final class AgentWorker implements AutoCloseable {
      */
     private boolean closed;
     /**
-     * 当前尚未返回的同步轮询调用数量。
+     * 当前尚未返回的同步轮询调用和尚未完成的异步轮询数量。
      */
     private int activePolls;
 
@@ -131,6 +134,82 @@ public final class AgentWorker implements AutoCloseable {
         return results;
     }
 
+    /**
+     * 从 Store 领取一批任务，并以 Runner 的异步模式并发推进。
+     *
+     * <p>领取在调用线程完成，随后立即返回。每个 Turn 在续体中保持心跳，终止或阻塞后释放租约。
+     * 任一 Turn 执行失败时，Future 会在全部 Turn 结束后以第一个失败异常完成。</p>
+     *
+     * @param limit 本次最多领取的任务数
+     * @return 完成值为已推进到终止或阻塞状态的运行列表，顺序与领取顺序一致
+     */
+    public CompletableFuture<List<AgentTurn>> pollAndRunAsync(int limit) {
+        beginPoll();
+        List<CompletableFuture<AgentTurn>> runs = new ArrayList<>(limit);
+        try {
+            runner.recoverCompletedChildren(limit);
+            for (int index = 0; index < limit; index++) {
+                List<AgentTurnSnapshot> claimed = runner.getTurnStore().claimRunnable(
+                    workerId, runner.getTurnStore().currentTimeMillis(), leaseMillis, 1);
+                if (claimed.isEmpty()) break;
+                runs.add(runClaimedAsync(claimed.get(0)));
+            }
+        } catch (RuntimeException error) {
+            // 已领取的 Turn 继续执行并释放租约，轮询计数在它们结束后归还。
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, failure) -> endPoll());
+            throw error;
+        }
+        return CompletableFuture.allOf(runs.toArray(new CompletableFuture[0]))
+            .handle((ignored, failure) -> {
+                endPoll();
+                List<AgentTurn> results = new ArrayList<>(runs.size());
+                for (CompletableFuture<AgentTurn> run : runs) {
+                    results.add(run.join());
+                }
+                return results;
+            });
+    }
+
+    /**
+     * 异步推进一个已领取的 Snapshot，并在结束时停止心跳和释放租约。
+     */
+    private CompletableFuture<AgentTurn> runClaimedAsync(AgentTurnSnapshot snapshot) {
+        String turnId = snapshot.getState().getTurnId();
+        String leaseId = snapshot.getState().getLeaseId();
+        AgentTurn turn;
+        ScheduledFuture<?> heartbeat = null;
+        CompletableFuture<AgentTurn> run;
+        try {
+            turn = runner.restore(turnId);
+            turn.updateLease(workerId, leaseId, snapshot.getState().getLeaseUntil());
+            heartbeat = startLeaseHeartbeat(turn);
+            run = runner.runLeasedAsync(turn, workerId, leaseId);
+        } catch (RuntimeException error) {
+            if (heartbeat != null) heartbeat.cancel(false);
+            runner.getTurnStore().releaseLease(turnId, workerId, leaseId);
+            CompletableFuture<AgentTurn> failed = new CompletableFuture<>();
+            failed.completeExceptionally(error);
+            return failed;
+        }
+        ScheduledFuture<?> activeHeartbeat = heartbeat;
+        return run.thenApply(finished -> {
+            runner.resumeParentFromChild(finished);
+            return finished;
+        }).handle((finished, error) -> {
+            activeHeartbeat.cancel(false);
+            synchronized (turn) {
+                runner.getTurnStore().releaseLease(turnId, workerId, leaseId);
+            }
+            if (error != null) {
+                throw error instanceof CompletionException
+                    ? (CompletionException) error : new CompletionException(error);
+            }
+            // 返回释放租约后的最新版本，避免调用方持有过期的乐观锁版本号。
+            return runner.restore(turn.getId());
+        });
+    }
+
     /**
      * 延长指定 Turn 的租约并返回新版本快照。
      *
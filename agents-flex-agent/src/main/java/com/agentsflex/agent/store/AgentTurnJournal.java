@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.agent.store;
+
+import com.agentsflex.agent.AgentTurnSnapshot;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.util.HashUtil;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AgentTurnStore 的追加式 Journal 编解码规则。
+ *
+ * <p>Runner 每一步都会保存完整 Snapshot，而消息历史通常只在末尾追加。Journal 模式下 Store 只写入新增消息和
+ * 不含消息历史的最新状态，每累积 {@link #getCompactionInterval()} 条记录或 Turn 进入终态时，再把完整
+ * Snapshot 压缩写回，从而把长 Turn 的写入量从 O(n²) 降为 O(n)。</p>
+ *
+ * <p>是否仅追加通过消息数和首尾两条已持久化消息的摘要判断：历史被截断、替换或头尾被改写时返回
+ * {@code null}，调用方应退回完整写入。该判断不逐条比较中间消息，业务如需原地修改历史中段，
+ * 不应启用 Journal 模式。</p>
+ */
+public final class AgentTurnJournal {
+
+    private final AgentStoreSerializer serializer;
+    private final int compactionInterval;
+
+    /**
+     * @param serializer         用于计算消息摘要的序列化器，应与 Store 持久化使用的实例一致
+     * @param compactionInterval 两次完整 Snapshot 之间最多累积的 Journal 记录数
+     */
+    public AgentTurnJournal(AgentStoreSerializer serializer, int compactionInterval) {
+        if (serializer == null) throw new IllegalArgumentException("serializer must not be null");
+        if (compactionInterval <= 0) {
+            throw new IllegalArgumentException("compactionInterval must be greater than 0");
+        }
+        this.serializer = serializer;
+        this.compactionInterval = compactionInterval;
+    }
+
+    public int getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * 判断本次保存是否应写完整 Snapshot：Turn 已终态，或现有记录数已达到压缩间隔。
+     */
+    public boolean shouldCompact(AgentTurnSnapshot snapshot, int journalSize) {
+        return snapshot.getState().getStatus().isTerminal() || journalSize >= compactionInterval;
+    }
+
+    /**
+     * @return 完整 Snapshot 消息历史的边界摘要
+     */
+    public String digest(AgentTurnSnapshot snapshot) {
+        List<Message> messages = snapshot.getState().getMessages();
+        return digest(messages, messages.size());
+    }
+
+    /**
+     * 生成相对已持久化历史的增量记录。
+     *
+     * @param snapshot         待保存的完整 Snapshot
+     * @param persistedCount   已持久化的消息数
+     * @param persistedDigest  已持久化历史的边界摘要
+     * @return 增量记录；历史不是已持久化内容的追加时返回 {@code null}
+     */
+    public AgentTurnJournalEntry append(AgentTurnSnapshot snapshot, int persistedCount, String persistedDigest) {
+        List<Message> messages = snapshot.getState().getMessages();
+        if (messages.size() < persistedCount || !digest(messages, persistedCount).equals(persistedDigest)) {
+            return null;
+        }
+        return new AgentTurnJournalEntry(persistedCount, messages.subList(persistedCount, messages.size()),
+            withoutMessages(snapshot), digest(messages, messages.size()));
+    }
+
+    /**
+     * 在最近一次完整 Snapshot 上按顺序重放 Journal 记录。
+     *
+     * <p>最新状态取自最后一条记录的 head，消息历史为基础历史按各记录的 offset 截断后追加的结果。</p>
+     */
+    public static AgentTurnSnapshot replay(AgentTurnSnapshot base, List<AgentTurnJournalEntry> entries) {
+        if (entries == null || entries.isEmpty()) return base;
+        List<Message> messages = new ArrayList<>(base.getState().getMessages());
+        AgentTurnSnapshot head = base;
+        for (AgentTurnJournalEntry entry : entries) {
+            if (entry.getMessageOffset() > messages.size()) {
+                throw new IllegalStateException("AgentTurn journal is not contiguous: "
+                    + base.getState().getTurnId());
+            }
+            messages.subList(entry.getMessageOffset(), messages.size()).clear();
+            messages.addAll(entry.getMessages());
+            head = entry.getHead();
+        }
+        return head.withState(head.getState().toBuilder().messages(messages).build());
+    }
+
+    private static AgentTurnSnapshot withoutMessages(AgentTurnSnapshot snapshot) {
+        return snapshot.withState(snapshot.getState().toBuilder()
+            .messages(Collections.<Message>emptyList()).build());
+    }
+
+    /**
+     * 对消息数以及前 count 条中的首尾消息计算摘要；新追加的消息不会改变已持久化前缀的摘要。
+     */
+    private String digest(List<Message> messages, int count) {
+        if (count == 0) return "0";
+        MessageDigest digest = sha256();
+        digest.update(ByteBuffer.allocate(4).putInt(count).array());
+        digest.update(serializer.serialize(messages.get(0)));
+        if (count > 1) digest.update(serializer.serialize(messages.get(count - 1)));
+        return HashUtil.bytesToHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException error) {
+            throw new IllegalStateException(error);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.agent.store;
+
+import com.agentsflex.agent.AgentTurnSnapshot;
+import com.agentsflex.core.message.Message;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Journal 模式下一次保存写入的增量记录。
+ *
+ * <p>记录只包含自上次持久化以来追加的消息，以及不含消息历史的最新 Snapshot。加载时先读取最近一次压缩的
+ * 完整 Snapshot，再按顺序重放这些记录，参见 {@link AgentTurnJournal#replay}。</p>
+ */
+public final class AgentTurnJournalEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 追加消息在完整历史中的起始下标，即写入前已持久化的消息数。 */
+    private final int messageOffset;
+    /** 本次追加的消息。 */
+    private final List<Message> messages;
+    /** 消息历史为空的最新 Snapshot，用于恢复其余状态字段。 */
+    private final AgentTurnSnapshot head;
+    /** 写入后完整历史的边界摘要，供下一次保存判断历史是否仅追加。 */
+    private final String messageDigest;
+
+    AgentTurnJournalEntry(int messageOffset, List<Message> messages, AgentTurnSnapshot head,
+                          String messageDigest) {
+        this.messageOffset = messageOffset;
+        this.messages = new ArrayList<>(messages);
+        this.head = head;
+        this.messageDigest = messageDigest;
+    }
+
+    public int getMessageOffset() {
+        return messageOffset;
+    }
+
+    public List<Message> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    public AgentTurnSnapshot getHead() {
+        return head;
+    }
+
+    /**
+     * @return 写入该记录后的完整消息数
+     */
+    public int getMessageCount() {
+        return messageOffset + messages.size();
+    }
+
+    public String getMessageDigest() {
+        return messageDigest;
+    }
+}
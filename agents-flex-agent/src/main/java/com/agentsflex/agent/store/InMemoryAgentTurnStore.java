@@ -10,9 +10,13 @@ import com.agentsflex.agent.AgentTurnSnapshot;
 import com.agentsflex.agent.AgentTurnState;
 import com.agentsflex.agent.AgentTurnStatus;
 import com.agentsflex.agent.AgentConversationBusyException;
+import com.agentsflex.core.message.Message;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -22,17 +26,46 @@ import java.util.concurrent.ConcurrentMap;
  *
  * <p>该实现通过 turnId 粒度的同步块实现版本检查和写入原子性。生产环境的长任务应替换为数据库、
  * Redis 等持久化实现，并在存储层使用 CAS、事务或条件更新保证相同语义。</p>
+ *
+ * <p>通过 {@link #InMemoryAgentTurnStore(int)} 启用 Journal 模式后，未终止 Turn 的消息历史按
+ * {@link AgentTurnJournal} 规则追加保存，每一步只复制新增消息；读取时在最近一次压缩的历史上重放。</p>
  */
 public final class InMemoryAgentTurnStore implements AgentTurnStore {
 
-    /** 按 turnId 保存的最新不可变快照。 */
+    /**
+     * 按 turnId 保存的最新不可变快照。Journal 模式下未终止 Turn 的快照不含消息历史，
+     * 完整历史由 {@link #journals} 重放得到。
+     */
     private final ConcurrentMap<String, AgentTurnSnapshot> snapshots = new ConcurrentHashMap<>();
 
+    /** Journal 模式下未终止 Turn 的消息历史，只在 snapshots 同步块内访问。 */
+    private final Map<String, MessageJournal> journals = new HashMap<>();
+
+    /** 为 {@code null} 时每次保存完整快照。 */
+    private final AgentTurnJournal journal;
+
+    /** 创建每次保存完整快照的内存 Store。 */
+    public InMemoryAgentTurnStore() {
+        this.journal = null;
+    }
+
+    /**
+     * 创建追加保存消息历史的内存 Store。
+     *
+     * @param journalCompactionInterval 两次完整压缩之间最多累积的 Journal 记录数
+     */
+    public InMemoryAgentTurnStore(int journalCompactionInterval) {
+        this.journal = new AgentTurnJournal(new FastjsonAgentStoreSerializer(), journalCompactionInterval);
+    }
+
     /** 返回最新快照副本；不存在时返回 {@code null}。 */
     @Override
     public AgentTurnSnapshot load(String turnId) {
         AgentTurnSnapshot snapshot = snapshots.get(turnId);
-        return snapshot == null ? null : snapshot.copy();
+        if (snapshot == null || journal == null) return snapshot == null ? null : snapshot.copy();
+        synchronized (snapshots) {
+            return restore(snapshots.get(turnId));
+        }
     }
 
     @Override
@@ -43,7 +76,7 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
                 AgentTurnState state = snapshot.getState();
                 Object value = state.getMetadata().get("agentsflex.conversationId");
                 if (conversationId.equals(value) && !state.getStatus().isTerminal()) {
-                    return snapshot.copy();
+                    return restore(snapshot);
                 }
             }
             return null;
@@ -85,7 +118,7 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
                     .cancellationRequested(true).build())
                 : snapshot;
             AgentTurnSnapshot saved = candidate.withVersion(expectedVersion + 1);
-            snapshots.put(turnId, saved.copy());
+            put(saved);
             return saved.copy();
         }
     }
@@ -136,8 +169,8 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
             }
             AgentTurnSnapshot savedParent = parent.withVersion(expectedParentVersion + 1);
             AgentTurnSnapshot savedChild = child.withVersion(0);
-            snapshots.put(savedParent.getState().getTurnId(), savedParent.copy());
-            snapshots.put(savedChild.getState().getTurnId(), savedChild.copy());
+            put(savedParent);
+            put(savedChild);
             return new ParentChildTurnSnapshots(savedParent.copy(), savedChild.copy());
         }
     }
@@ -169,7 +202,7 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
                     .version(state.getVersion() + 1)
                     .build());
                 snapshots.put(state.getTurnId(), leased.copy());
-                claimed.add(leased.copy());
+                claimed.add(restore(leased));
             }
         }
         return claimed;
@@ -188,7 +221,7 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
                 .leaseUntil(leaseUntil)
                 .build());
             snapshots.put(turnId, renewed.copy());
-            return renewed.copy();
+            return restore(renewed);
         }
     }
 
@@ -228,7 +261,7 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
                     && parentState.getSuspension() != null
                     && childState.getTurnId().equals(
                         parentState.getSuspension().getCorrelationId())) {
-                    result.add(child.copy());
+                    result.add(restore(child));
                 }
             }
         }
@@ -270,4 +303,63 @@ public final class InMemoryAgentTurnStore implements AgentTurnStore {
         }
         return current;
     }
+
+    /**
+     * 保存完整快照。Journal 模式下能追加时只记录新增消息，否则以该快照作为新的压缩基线；
+     * 终态 Turn 总是保存完整快照并丢弃 Journal。
+     */
+    private void put(AgentTurnSnapshot saved) {
+        String turnId = saved.getState().getTurnId();
+        if (journal == null) {
+            snapshots.put(turnId, saved.copy());
+            return;
+        }
+        MessageJournal current = journals.get(turnId);
+        if (current != null && !journal.shouldCompact(saved, current.entries.size())) {
+            AgentTurnJournalEntry entry = journal.append(saved, current.messageCount, current.messageDigest);
+            if (entry != null) {
+                current.append(entry);
+                snapshots.put(turnId, entry.getHead());
+                return;
+            }
+        }
+        if (saved.getState().getStatus().isTerminal()) {
+            journals.remove(turnId);
+            snapshots.put(turnId, saved.copy());
+            return;
+        }
+        AgentTurnSnapshot base = saved.copy();
+        journals.put(turnId, new MessageJournal(base, journal.digest(base)));
+        snapshots.put(turnId, base.withState(base.getState().toBuilder()
+            .messages(Collections.<Message>emptyList()).build()));
+    }
+
+    /** 将快照的消息历史替换为 Journal 重放结果；没有 Journal 时返回副本。 */
+    private AgentTurnSnapshot restore(AgentTurnSnapshot head) {
+        MessageJournal current = journal == null ? null : journals.get(head.getState().getTurnId());
+        if (current == null) return head.copy();
+        List<Message> messages = AgentTurnJournal.replay(current.base, current.entries)
+            .getState().getMessages();
+        return head.withState(head.getState().toBuilder().messages(messages).build());
+    }
+
+    /** 最近一次压缩的完整快照及其后的追加记录。 */
+    private static final class MessageJournal {
+        private final AgentTurnSnapshot base;
+        private final List<AgentTurnJournalEntry> entries = new ArrayList<>();
+        private int messageCount;
+        private String messageDigest;
+
+        private MessageJournal(AgentTurnSnapshot base, String messageDigest) {
+            this.base = base;
+            this.messageCount = base.getState().getMessages().size();
+            this.messageDigest = messageDigest;
+        }
+
+        private void append(AgentTurnJournalEntry entry) {
+            entries.add(entry);
+            messageCount = entry.getMessageCount();
+            messageDigest = entry.getMessageDigest();
+        }
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.agent;
+
+import com.agentsflex.agent.event.AgentEvent;
+import com.agentsflex.agent.event.AgentEventType;
+import com.agentsflex.agent.loader.InMemoryAgentLoader;
+import com.agentsflex.agent.store.InMemoryAgentTurnStore;
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.ToolCall;
+import com.agentsflex.core.model.chat.ChatModel;
+import com.agentsflex.core.model.chat.ChatOptions;
+import com.agentsflex.core.model.chat.StreamResponseListener;
+import com.agentsflex.core.model.chat.response.AiMessageResponse;
+import com.agentsflex.core.prompt.Prompt;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.agentsflex.agent.AgentScenarioTestSupport.response;
+import static com.agentsflex.agent.AgentScenarioTestSupport.tool;
+import static com.agentsflex.agent.AgentScenarioTestSupport.toolCalls;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** 异步执行模式下流式调用不占用线程，且保持同步模式的事件、预算和租约语义。 */
+public class AgentAsyncExecutionTest {
+
+    @Test
+    public void shouldRunManyStreamingTurnsOnTwoThreads() throws Exception {
+        int turns = 200;
+        PendingStreamModel model = new PendingStreamModel();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AgentRunner runner = AgentRunner.builder().turnExecutor(executor).build();
+            Agent agent = Agent.builder("async-stream").chatModel(model).build();
+            List<CompletableFuture<AgentTurn>> futures = new ArrayList<>();
+            for (int i = 0; i < turns; i++) {
+                AgentTurn turn = runner.start(agent, "question " + i,
+                    AgentTurnOptions.builder().streaming(true).build());
+                futures.add(runner.runAsync(turn));
+            }
+
+            // 两个执行器线程即可让全部 Turn 同时处于等待流关闭的状态。
+            List<PendingStream> streams = new ArrayList<>();
+            for (int i = 0; i < turns; i++) {
+                PendingStream stream = model.streams.poll(5, TimeUnit.SECONDS);
+                assertNotNull("stream " + i + " was not opened", stream);
+                streams.add(stream);
+            }
+            for (CompletableFuture<AgentTurn> future : futures) {
+                assertFalse(future.isDone());
+            }
+
+            for (PendingStream stream : streams) {
+                stream.finish(new AiMessage("answer"));
+            }
+            for (CompletableFuture<AgentTurn> future : futures) {
+                AgentTurn turn = future.get(5, TimeUnit.SECONDS);
+                assertEquals(AgentTurnStatus.COMPLETED, turn.getStatus());
+                assertEquals("answer", turn.getFinalOutput());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldResumeToolCallsAfterStreamAndKeepEventOrder() throws Exception {
+        PendingStreamModel model = new PendingStreamModel();
+        List<AgentEvent> events = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger toolCalls = new AtomicInteger();
+        AgentRunner runner = new AgentRunner().addEventListener(events::add);
+        Agent agent = Agent.builder("async-tools")
+            .chatModel(model)
+            .tool(tool("lookup", args -> {
+                toolCalls.incrementAndGet();
+                return "value";
+            }))
+            .build();
+
+        CompletableFuture<AgentTurn> future = runner.runAsync(runner.start(agent, "question",
+            AgentTurnOptions.builder().streaming(true).build()));
+        model.streams.poll(5, TimeUnit.SECONDS)
+            .finish(toolCalls(new ToolCall("call-1", "lookup", "{}")));
+        model.streams.poll(5, TimeUnit.SECONDS).finish(new AiMessage("done"));
+        AgentTurn turn = future.get(5, TimeUnit.SECONDS);
+
+        assertEquals(AgentTurnStatus.COMPLETED, turn.getStatus());
+        assertEquals("done", turn.getFinalOutput());
+        assertEquals(1, toolCalls.get());
+        assertEquals(2, turn.getIterationCount());
+        List<AgentEventType> types = new ArrayList<>();
+        for (AgentEvent event : events) {
+            types.add(event.getType());
+        }
+        assertEquals(AgentEventType.TURN_COMPLETED, types.get(types.size() - 1));
+        assertEquals(AgentEventType.STEP_COMPLETED, types.get(types.size() - 2));
+        assertTrue(types.indexOf(AgentEventType.STEP_STARTED) < types.indexOf(AgentEventType.MODEL_TEXT_DELTA));
+    }
+
+    @Test
+    public void shouldFailStreamThatOutlivesDurationBudget() throws Exception {
+        PendingStreamModel model = new PendingStreamModel();
+        Agent agent = Agent.builder("async-budget")
+            .chatModel(model)
+            .executionPolicy(AgentExecutionPolicy.builder()
+                .budget(AgentBudget.builder().maxDurationMillis(200).build())
+                .build())
+            .build();
+        AgentRunner runner = new AgentRunner();
+
+        AgentTurn turn = runner.runAsync(runner.start(agent, "question",
+            AgentTurnOptions.builder().streaming(true).build())).get(5, TimeUnit.SECONDS);
+
+        assertTrue(turn.getStatus().isTerminal());
+        assertNotNull(turn.getError());
+        assertTrue(turn.getError().getMessage().contains("maxDurationMillis"));
+    }
+
+    @Test
+    public void shouldRunClaimedTurnsAsynchronouslyAndReleaseLease() throws Exception {
+        PendingStreamModel model = new PendingStreamModel();
+        Agent agent = Agent.builder("async-worker").chatModel(model).build();
+        InMemoryAgentTurnStore store = new InMemoryAgentTurnStore();
+        AgentRunner runner = new AgentRunner(store, new InMemoryAgentLoader(agent));
+        AgentTurn started = runner.start(agent, "question",
+            AgentTurnOptions.builder().streaming(true).build());
+
+        try (AgentWorker worker = new AgentWorker("worker-1", runner, 10_000)) {
+            CompletableFuture<List<AgentTurn>> polled = worker.pollAndRunAsync(5);
+            model.streams.poll(5, TimeUnit.SECONDS).finish(new AiMessage("done"));
+            List<AgentTurn> results = polled.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, results.size());
+            assertEquals(started.getId(), results.get(0).getId());
+            assertEquals(AgentTurnStatus.COMPLETED, results.get(0).getStatus());
+            assertNull(store.load(started.getId()).getState().getLeaseOwner());
+        }
+    }
+
+    /** 打开流后不回调，由测试线程决定何时关闭，模拟长时间输出的 SSE 连接。 */
+    private static final class PendingStreamModel implements ChatModel {
+        private final BlockingQueue<PendingStream> streams = new LinkedBlockingQueue<>();
+
+        @Override
+        public AiMessageResponse chat(Prompt prompt, ChatOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void chatStream(Prompt prompt, StreamResponseListener listener, ChatOptions options) {
+            streams.add(new PendingStream(prompt, listener));
+        }
+    }
+
+    private static final class PendingStream {
+        private final Prompt prompt;
+        private final StreamResponseListener listener;
+
+        private PendingStream(Prompt prompt, StreamResponseListener listener) {
+            this.prompt = prompt;
+            this.listener = listener;
+        }
+
+        private void finish(AiMessage message) {
+            if (message.getContent() != null) {
+                AiMessage delta = new AiMessage(message.getContent());
+                delta.setFinished(false);
+                listener.onMessage(null, response(prompt, delta));
+            }
+            message.setFinished(true);
+            listener.onMessage(null, response(prompt, message));
+            listener.onClose(null);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.agentsflex.agent;
 import com.agentsflex.core.message.AiMessage;
 import com.agentsflex.core.message.Message;
 import com.agentsflex.core.message.UserMessage;
+import com.agentsflex.core.util.LocalTokenCounter;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -224,6 +226,59 @@ public class AgentContextCompressionCoordinatorTest {
         assertEquals(2, result.getState().getCoveredTurnCount());
     }
 
+    @Test
+    public void shouldEstimatePendingTokensWithLocalTokenCounterByDefault() {
+        List<Long> estimates = new ArrayList<>();
+        AgentContextCompressionCoordinator coordinator = new AgentContextCompressionCoordinator(new MemoryStore(),
+            input -> {
+                estimates.add(input.getEstimatedPendingTokens());
+                return false;
+            },
+            value -> Collections.singletonList(new AiMessage("summary")));
+        List<Message> history = messages(3);
+        history.add(new AiMessage("an answer that is long enough to be cached by the local token counter"));
+        long expected = 0;
+        for (Message message : history) expected += LocalTokenCounter.countMessageTokens(message);
+
+        coordinator.compress("default-estimator", history);
+        coordinator.compress("default-estimator", history);
+
+        assertEquals(Arrays.asList(expected, expected), estimates);
+        assertTrue(expected > history.size());
+    }
+
+    @Test
+    public void shouldTrackAppendedAndEditedHistoryWithDefaultEstimator() {
+        List<Long> estimates = new ArrayList<>();
+        AgentContextCompressionCoordinator coordinator = new AgentContextCompressionCoordinator(new MemoryStore(),
+            input -> {
+                estimates.add(input.getEstimatedPendingTokens());
+                return false;
+            },
+            value -> Collections.singletonList(new AiMessage("summary")));
+        List<Message> history = messages(3);
+        for (int i = 0; i < history.size(); i++) history.get(i).setMessageId("m" + i);
+        coordinator.compress("incremental", history);
+
+        history.add(new AiMessage("an appended answer"));
+        coordinator.compress("incremental", history);
+        long appended = 0;
+        for (Message message : history) appended += LocalTokenCounter.countMessageTokens(message);
+
+        // 中间消息被存储更新后版本递增，默认估算器必须从该位置重新统计
+        UserMessage edited = new UserMessage("an edited question with noticeably more tokens than before");
+        edited.setMessageId("m1");
+        edited.setVersion(1);
+        history.set(1, edited);
+        coordinator.compress("incremental", history);
+        long rewritten = 0;
+        for (Message message : history) rewritten += LocalTokenCounter.countMessageTokens(message);
+
+        assertEquals(3, estimates.size());
+        assertEquals(appended, estimates.get(1).longValue());
+        assertEquals(rewritten, estimates.get(2).longValue());
+    }
+
     @Test
     public void shouldRejectNegativeTokenEstimate() {
         AgentContextCompressionCoordinator coordinator = coordinator(new MemoryStore(), value -> true,
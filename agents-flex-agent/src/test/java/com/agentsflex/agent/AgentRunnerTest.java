@@ -29,9 +29,12 @@ import org.junit.Test;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -357,6 +360,80 @@ public class AgentRunnerTest {
         assertEquals(AgentTurnStatus.COMPLETED, turn.getStatus());
         assertEquals(1, intercepted.get());
     }
+    @Test
+    public void shouldRunParallelSafeToolsConcurrentlyAndCommitInModelOrder() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Function<Map<String, Object>, Object> awaitOthers = args -> {
+            allStarted.countDown();
+            try {
+                // 三个调用都开始后才返回，逐个执行时会超时并产生 false。
+                return allStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        QueueChatModel model = new QueueChatModel();
+        model.enqueue(prompt -> aiWithCalls(
+            toolCall("call-a", "fetchA", "{}"),
+            toolCall("call-b", "fetchB", "{}"),
+            toolCall("call-c", "fetchC", "{}"),
+            toolCall("call-d", "serial", "{}")
+        ));
+        model.enqueue(prompt -> {
+            List<Message> messages = prompt.getMessages();
+            List<String> ids = new ArrayList<>();
+            for (Message message : messages.subList(messages.size() - 4, messages.size())) {
+                ToolMessage toolMessage = (ToolMessage) message;
+                ids.add(toolMessage.getToolCallId());
+                assertEquals("true", toolMessage.getContent());
+            }
+            assertEquals(Arrays.asList("call-a", "call-b", "call-c", "call-d"), ids);
+            return new AiMessage("complete");
+        });
+
+        Agent agent = Agent.builder()
+            .chatModel(model)
+            .executionPolicy(AgentExecutionPolicy.builder().maxParallelToolCalls(4).build())
+            .tool(parallelTool("fetchA", awaitOthers))
+            .tool(parallelTool("fetchB", awaitOthers))
+            .tool(parallelTool("fetchC", awaitOthers))
+            .tool(tool("serial", args -> true))
+            .build();
+
+        AgentTurn turn = new AgentRunner().run(agent, "fetch all");
+
+        assertEquals(AgentTurnStatus.COMPLETED, turn.getStatus());
+        assertEquals(4, turn.getToolCallCount());
+    }
+
+    @Test
+    public void shouldLimitParallelBatchByToolCallBudget() {
+        AtomicInteger executed = new AtomicInteger();
+        QueueChatModel model = new QueueChatModel();
+        model.enqueue(prompt -> aiWithCalls(
+            toolCall("call-a", "fetchA", "{}"),
+            toolCall("call-b", "fetchB", "{}"),
+            toolCall("call-c", "fetchC", "{}")
+        ));
+
+        Agent agent = Agent.builder()
+            .chatModel(model)
+            .executionPolicy(AgentExecutionPolicy.builder()
+                .maxParallelToolCalls(4)
+                .budget(AgentBudget.builder().maxToolCalls(2).build())
+                .build())
+            .tool(parallelTool("fetchA", args -> executed.incrementAndGet()))
+            .tool(parallelTool("fetchB", args -> executed.incrementAndGet()))
+            .tool(parallelTool("fetchC", args -> executed.incrementAndGet()))
+            .build();
+
+        AgentTurn turn = new AgentRunner().run(agent, "fetch all");
+
+        assertEquals(AgentTurnStatus.BUDGET_EXCEEDED, turn.getStatus());
+        assertEquals(2, executed.get());
+        assertEquals(2, turn.getToolCallCount());
+    }
+
 
     @Test(expected = IllegalStateException.class)
     public void shouldRejectDuplicateToolNames() {
@@ -392,6 +469,36 @@ public class AgentRunnerTest {
         };
     }
 
+    private static Tool parallelTool(String name, Function<Map<String, Object>, Object> function) {
+        Tool delegate = tool(name, function);
+        return new Tool() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public Parameter[] getParameters() {
+                return new Parameter[0];
+            }
+
+            @Override
+            public Map<String, Object> getMetadata() {
+                return Collections.singletonMap(AgentExecutionPolicy.PARALLEL_SAFE_TOOL_METADATA, true);
+            }
+
+            @Override
+            public Object invoke(Map<String, Object> argsMap) {
+                return delegate.invoke(argsMap);
+            }
+        };
+    }
+
     private static AiMessage aiWithCalls(ToolCall... calls) {
         AiMessage message = new AiMessage();
         message.setToolCalls(Arrays.asList(calls));
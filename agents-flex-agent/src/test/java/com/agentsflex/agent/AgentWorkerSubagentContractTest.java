@@ -4,13 +4,24 @@
 package com.agentsflex.agent;
 
 import com.agentsflex.agent.loader.InMemoryAgentLoader;
+import com.agentsflex.agent.middleware.AgentMiddleware;
+import com.agentsflex.agent.middleware.AgentMiddlewareContext;
+import com.agentsflex.agent.middleware.AgentToolCallChain;
 import com.agentsflex.agent.store.AgentTurnVersionConflictException;
 import com.agentsflex.agent.store.InMemoryAgentTurnStore;
 import com.agentsflex.core.message.AiMessage;
 import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.ToolCall;
+import com.agentsflex.core.model.chat.tool.Parameter;
+import com.agentsflex.core.model.chat.tool.Tool;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -134,6 +145,50 @@ public class AgentWorkerSubagentContractTest {
         }
     }
 
+    @Test
+    public void shouldKeepWorkerLeaseWhenParallelToolsReenterRunner() throws Exception {
+        InMemoryAgentTurnStore store = new InMemoryAgentTurnStore();
+        AgentScenarioTestSupport.QueueChatModel model = new AgentScenarioTestSupport.QueueChatModel();
+        model.enqueue(prompt -> AgentScenarioTestSupport.toolCalls(
+            new ToolCall("call-a", "fetchA", "{}"), new ToolCall("call-b", "fetchB", "{}")));
+        model.enqueue(prompt -> new AiMessage("completed"));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Set<String> toolThreads = ConcurrentHashMap.newKeySet();
+        List<Throwable> reentryErrors = new CopyOnWriteArrayList<>();
+        AgentMiddleware checkpoint = new AgentMiddleware() {
+            @Override
+            public Object aroundToolCall(AgentMiddlewareContext context, AgentToolCallChain chain) {
+                toolThreads.add(Thread.currentThread().getName());
+                Object result = chain.proceed(context);
+                if ("fetchA".equals(context.getToolContext().getToolName())) {
+                    try {
+                        // 工具线程经由 Runner 保存 Snapshot 时必须仍被识别为持有租约的 Worker。
+                        context.getRunner().saveSnapshot(context.getRun());
+                    } catch (RuntimeException error) {
+                        reentryErrors.add(error);
+                    }
+                }
+                return result;
+            }
+        };
+        Agent agent = Agent.builder("parallel-worker").chatModel(model)
+            .executionPolicy(AgentExecutionPolicy.builder().maxParallelToolCalls(2).build())
+            .tool(parallelTool("fetchA", bothStarted))
+            .tool(parallelTool("fetchB", bothStarted))
+            .middleware(checkpoint)
+            .build();
+        AgentRunner runner = new AgentRunner(store, new InMemoryAgentLoader(agent));
+        runner.start(agent, "input");
+
+        List<AgentTurn> turns = new AgentWorker("parallel-worker-a", runner, 5000).pollAndRun(1);
+
+        assertEquals(1, turns.size());
+        assertTrue(reentryErrors.toString(), reentryErrors.isEmpty());
+        assertEquals(AgentTurnStatus.COMPLETED, turns.get(0).getStatus());
+        assertEquals(2, turns.get(0).getToolCallCount());
+        assertFalse(toolThreads.contains(Thread.currentThread().getName()));
+    }
+
     @Test
     public void shouldRecoverParentWakeupAfterChildCompletionCrashWindow() {
         InMemoryAgentTurnStore store = new InMemoryAgentTurnStore();
@@ -249,4 +304,26 @@ public class AgentWorkerSubagentContractTest {
 
         assertFalse(worker.isPolling());
     }
+
+    private static Tool parallelTool(String name, CountDownLatch bothStarted) {
+        Tool delegate = AgentScenarioTestSupport.tool(name, args -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException error) {
+                throw new IllegalStateException(error);
+            }
+        });
+        return new Tool() {
+            @Override public String getName() { return name; }
+            @Override public String getDescription() { return name; }
+            @Override public Parameter[] getParameters() { return new Parameter[0]; }
+            @Override public Map<String, Object> getMetadata() {
+                return Collections.singletonMap(AgentExecutionPolicy.PARALLEL_SAFE_TOOL_METADATA, true);
+            }
+            @Override public Object invoke(Map<String, Object> argsMap) {
+                return delegate.invoke(argsMap);
+            }
+        };
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.agent.store;
+
+import com.agentsflex.agent.AgentExecutionPolicy;
+import com.agentsflex.agent.AgentTurnSnapshot;
+import com.agentsflex.agent.AgentTurnState;
+import com.agentsflex.agent.AgentTurnStatus;
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.UserMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** 追加式 Journal 的增量判定、重放和内存 Store 压缩测试。 */
+public class AgentTurnJournalTest {
+
+    private static final List<Message> HISTORY = new ArrayList<>();
+
+    static {
+        HISTORY.add(new UserMessage("question"));
+        for (int index = 1; index < 8; index++) HISTORY.add(new AiMessage("message-" + index));
+    }
+
+    private final FastjsonAgentStoreSerializer serializer = new FastjsonAgentStoreSerializer();
+
+    @Test
+    public void shouldAppendOnlyNewMessagesAndReplayThroughSerializer() {
+        AgentTurnJournal journal = new AgentTurnJournal(serializer, 8);
+        AgentTurnSnapshot base = snapshot(AgentTurnStatus.RUNNING, messages(2));
+        AgentTurnSnapshot next = snapshot(AgentTurnStatus.RUNNING, messages(4));
+
+        AgentTurnJournalEntry entry = journal.append(next, 2, journal.digest(base));
+        assertNotNull(entry);
+        assertEquals(2, entry.getMessageOffset());
+        assertEquals(2, entry.getMessages().size());
+        assertTrue(entry.getHead().getState().getMessages().isEmpty());
+
+        AgentTurnJournalEntry decoded = serializer.deserialize(serializer.serialize(entry),
+            AgentTurnJournalEntry.class);
+        AgentTurnSnapshot replayed = AgentTurnJournal.replay(base, Collections.singletonList(decoded));
+        assertEquals(4, replayed.getState().getMessages().size());
+        assertEquals("message-3", ((AiMessage) replayed.getState().getMessages().get(3)).getContent());
+        assertEquals(journal.digest(next), decoded.getMessageDigest());
+    }
+
+    @Test
+    public void shouldRejectRewrittenHistory() {
+        AgentTurnJournal journal = new AgentTurnJournal(serializer, 8);
+        AgentTurnSnapshot base = snapshot(AgentTurnStatus.RUNNING, messages(3));
+        List<Message> rewritten = messages(4);
+        rewritten.set(2, new AiMessage("summary"));
+
+        assertNull(journal.append(snapshot(AgentTurnStatus.RUNNING, rewritten), 3, journal.digest(base)));
+        assertNull(journal.append(snapshot(AgentTurnStatus.RUNNING, messages(2)), 3, journal.digest(base)));
+        assertTrue(journal.shouldCompact(snapshot(AgentTurnStatus.COMPLETED, messages(3)), 0));
+        assertTrue(journal.shouldCompact(snapshot(AgentTurnStatus.RUNNING, messages(3)), 8));
+    }
+
+    @Test
+    public void shouldReplayInMemoryJournalAcrossLeasesAndCompaction() {
+        InMemoryAgentTurnStore store = new InMemoryAgentTurnStore(2);
+        AgentTurnSnapshot saved = store.save(snapshot(AgentTurnStatus.READY, messages(1)), -1);
+        AgentTurnSnapshot claimed = store.claimRunnable("worker", 1, 60_000, 1).get(0);
+        assertEquals(1, claimed.getState().getMessages().size());
+
+        for (int count = 2; count <= 6; count++) {
+            AgentTurnState state = claimed.getState().toBuilder().status(AgentTurnStatus.RUNNING)
+                .messages(messages(count)).build();
+            saved = store.save(claimed.withState(state), claimed.getState().getVersion());
+            claimed = store.load("turn-1");
+            assertEquals(count, claimed.getState().getMessages().size());
+            assertEquals("worker", claimed.getState().getLeaseOwner());
+        }
+
+        List<Message> rewritten = messages(3);
+        rewritten.set(0, new UserMessage("compressed"));
+        store.save(saved.withState(saved.getState().toBuilder().messages(rewritten).build()),
+            saved.getState().getVersion());
+        AgentTurnSnapshot loaded = store.load("turn-1");
+        assertEquals(3, loaded.getState().getMessages().size());
+        assertEquals("compressed", ((UserMessage) loaded.getState().getMessages().get(0)).getContent());
+
+        AgentTurnSnapshot completed = store.save(loaded.withState(loaded.getState().toBuilder()
+                .status(AgentTurnStatus.COMPLETED).messages(messages(5)).build()),
+            loaded.getState().getVersion());
+        assertEquals(5, store.load("turn-1").getState().getMessages().size());
+        assertEquals(completed.getState().getVersion(), store.load("turn-1").getState().getVersion());
+    }
+
+    private static AgentTurnSnapshot snapshot(AgentTurnStatus status, List<Message> messages) {
+        AgentTurnState state = AgentTurnState.builder("turn-1", AgentExecutionPolicy.defaults(), 1)
+            .status(status).rootTurnId("turn-1").updatedAt(1).messages(messages).build();
+        return AgentTurnSnapshot.of("agent", "1", state);
+    }
+
+    /** 同一条消息的副本保留 messageId，与 Runner 逐步保存的历史一致。 */
+    private static List<Message> messages(int count) {
+        return new ArrayList<>(HISTORY.subList(0, count));
+    }
+}
@@ -18,7 +18,9 @@ package com.agentsflex.asynctask.store.redis;
 import com.agentsflex.asynctask.*;
 import com.agentsflex.asynctask.policy.*;
 import com.agentsflex.asynctask.store.*;
+import redis.clients.jedis.AbstractPipeline;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Response;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -31,16 +33,39 @@ import java.util.*;
  *
  * <p>AdmissionPolicy 仍是本地 Java 扩展点：脚本负责任务领取原子性，跨 JVM 的供应商 QPS、账号并发
  * 和租户配额应由共享策略实现。候选列表只读取到本进程，任务正文不会在 Lua 中反序列化。</p>
+ *
+ * <p>脚本以 EVALSHA 执行，只有服务端脚本缓存丢失时才重新发送源码。批量领取脚本按任务键前缀在服务端拼出
+ * 任务键；这些键与声明的索引键共享 hash tag，因此仍落在同一槽位。</p>
  */
 public final class RedisAsyncTaskStore implements AsyncTaskStore {
+    private static final RedisScript TIME = new RedisScript("local t=redis.call('TIME'); return t[1]*1000+math.floor(t[2]/1000)");
+    private static final RedisScript CREATE = new RedisScript("if redis.call('EXISTS',KEYS[1])==1 then return 0 end; redis.call('HSET',KEYS[1],'version','0','status',ARGV[1],'lease_owner',ARGV[2],'lease_id',ARGV[3],'lease_until',ARGV[4],'cancel',ARGV[5],'payload',ARGV[6]); redis.call('SADD',KEYS[2],ARGV[7]); if ARGV[1]=='PENDING_SUBMIT' then redis.call('ZADD',KEYS[3],ARGV[8],ARGV[7]) elseif ARGV[1]=='SUBMITTED' or ARGV[1]=='RUNNING' then redis.call('ZADD',KEYS[4],ARGV[9],ARGV[7]) end; return 1");
+    private static final RedisScript SAVE = new RedisScript("local v=redis.call('HGET',KEYS[1],'version'); if not v then return -1 end; if tonumber(v)~=tonumber(ARGV[1]) then return tonumber(v) end; local c=redis.call('HGET',KEYS[1],'cancel'); redis.call('HSET',KEYS[1],'version',ARGV[2],'status',ARGV[3],'lease_owner',ARGV[4],'lease_id',ARGV[5],'lease_until',ARGV[6],'cancel',(c=='1' and '1' or ARGV[7]),'payload',ARGV[8]); redis.call('ZREM',KEYS[2],ARGV[9]); redis.call('ZREM',KEYS[3],ARGV[9]); if ARGV[3]=='PENDING_SUBMIT' then redis.call('ZADD',KEYS[2],ARGV[10],ARGV[9]) elseif ARGV[3]=='SUBMITTED' or ARGV[3]=='RUNNING' then redis.call('ZADD',KEYS[3],ARGV[10],ARGV[9]) end; return -2");
     // 服务端脚本一次完成版本/租约校验、状态转换和索引更新，消除多次 Redis 往返的竞争窗口。
-    private static final String CLAIM = "local v=redis.call('HGET',KEYS[1],'version'); if not v or tonumber(v)~=tonumber(ARGV[1]) then return 0 end; "
-        + "local status=redis.call('HGET',KEYS[1],'status'); if (ARGV[10]=='1' and status~='PENDING_SUBMIT') or (ARGV[10]=='0' and status~='SUBMITTED' and status~='RUNNING') then return 0 end; "
-        + "local lu=tonumber(redis.call('HGET',KEYS[1],'lease_until') or '0'); if lu>tonumber(ARGV[2]) then return 0 end; "
-        + "redis.call('HSET',KEYS[1],'version',ARGV[3],'status',ARGV[4],'lease_owner',ARGV[5],'lease_id',ARGV[6],'lease_until',ARGV[7],'payload',ARGV[8]); "
+    // 领取只改 Hash 投影字段，payload 保持原样，由 load 用投影覆盖，避免在 Java 与 Lua 之间往返正文。
+    private static final RedisScript CLAIM_SUBMISSIONS = new RedisScript("local out={}; for i=5,#ARGV,3 do local id=ARGV[i]; local k=ARGV[4]..id; "
+        + "local h=redis.call('HMGET',k,'version','status','lease_until'); "
+        + "if h[1] and tonumber(h[1])==tonumber(ARGV[i+1]) and h[2]=='PENDING_SUBMIT' and tonumber(h[3] or '0')<=tonumber(ARGV[1]) then "
+        + "redis.call('HSET',k,'version',tostring(tonumber(h[1])+1),'status','SUBMITTING','lease_owner',ARGV[3],'lease_id',ARGV[i+2],'lease_until',ARGV[2]); "
         // 两类任务都保留到租约到期：查询任务可重领，提交任务则由扫描器转为 SUBMIT_UNKNOWN。
-        + "redis.call('ZADD',KEYS[2],ARGV[7],ARGV[9]); "
-        + "redis.call('ZADD',KEYS[3],ARGV[7],ARGV[9]); return 1";
+        + "redis.call('ZADD',KEYS[1],ARGV[2],id); redis.call('ZADD',KEYS[2],ARGV[2],id); out[#out+1]=id end end; return out");
+    // 查询任务无需准入，到期扫描与领取合并为一次脚本调用，并直接返回 payload 省去回读。
+    private static final RedisScript CLAIM_QUERIES = new RedisScript("local ids=redis.call('ZRANGEBYSCORE',KEYS[1],'-inf',ARGV[1],'LIMIT',0,tonumber(ARGV[5])); local out={}; local n=0; "
+        + "for _,id in ipairs(ids) do if n>=tonumber(ARGV[4]) then break end; local k=ARGV[6]..id; "
+        + "local h=redis.call('HMGET',k,'version','status','lease_until','cancel','payload'); "
+        + "if h[1] and (h[2]=='SUBMITTED' or h[2]=='RUNNING') and tonumber(h[3] or '0')<=tonumber(ARGV[1]) then "
+        + "n=n+1; local v=tostring(tonumber(h[1])+1); local lid=ARGV[7]..':'..n; "
+        + "redis.call('HSET',k,'version',v,'lease_owner',ARGV[3],'lease_id',lid,'lease_until',ARGV[2]); "
+        + "redis.call('ZADD',KEYS[1],ARGV[2],id); redis.call('ZADD',KEYS[2],ARGV[2],id); "
+        + "out[#out+1]=id; out[#out+1]=v; out[#out+1]=lid; out[#out+1]=(h[4] or '0'); out[#out+1]=h[5] end end; return out");
+    private static final RedisScript MARK_SUBMIT_UNKNOWN = new RedisScript("local v=redis.call('HGET',KEYS[1],'version'); local s=redis.call('HGET',KEYS[1],'status'); "
+        + "local lu=tonumber(redis.call('HGET',KEYS[1],'lease_until') or '0'); "
+        + "if not v or tonumber(v)~=tonumber(ARGV[1]) or s~='SUBMITTING' or lu>tonumber(ARGV[2]) then return 0 end; "
+        + "redis.call('HSET',KEYS[1],'version',ARGV[3],'status','SUBMIT_UNKNOWN','lease_owner','','lease_id','','lease_until','0','payload',ARGV[4]); "
+        + "redis.call('ZREM',KEYS[2],ARGV[5]); redis.call('ZREM',KEYS[3],ARGV[5]); return 1");
+    private static final RedisScript RENEW = new RedisScript("if redis.call('HGET',KEYS[1],'lease_owner')~=ARGV[1] or redis.call('HGET',KEYS[1],'lease_id')~=ARGV[2] or tonumber(redis.call('HGET',KEYS[1],'lease_until') or '0')<=tonumber(ARGV[3]) then return 0 end; redis.call('HSET',KEYS[1],'lease_until',ARGV[4]); redis.call('ZADD',KEYS[2],ARGV[4],ARGV[5]); return 1");
+    private static final RedisScript RELEASE = new RedisScript("if redis.call('HGET',KEYS[1],'lease_owner')==ARGV[1] and redis.call('HGET',KEYS[1],'lease_id')==ARGV[2] then redis.call('HSET',KEYS[1],'lease_owner','','lease_id','','lease_until','0'); redis.call('ZREM',KEYS[2],ARGV[3]); return 1 end; return 0");
+    private static final RedisScript CANCEL = new RedisScript("local st=redis.call('HGET',KEYS[1],'status'); if not st or redis.call('HGET',KEYS[1],'cancel')=='1' or st=='SUCCEEDED' or st=='FAILED' or st=='CANCELED' or st=='TRACKING_TIMED_OUT' or st=='SUBMIT_UNKNOWN' then return 0 end; redis.call('HSET',KEYS[1],'cancel','1','version',tonumber(redis.call('HGET',KEYS[1],'version'))+1); return 1");
     private final RedisAsyncTaskStoreConfig config;
     private final JedisPooled jedis;
 
@@ -51,7 +76,7 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
 
     @Override
     public long currentTimeMillis() {
-        Object value = eval("local t=redis.call('TIME'); return t[1]*1000+math.floor(t[2]/1000)", Collections.<String>emptyList(), Collections.<String>emptyList());
+        Object value = eval(TIME, Collections.<String>emptyList(), Collections.<String>emptyList());
         return num(value);
     }
 
@@ -60,8 +85,7 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         requireTask(task);
         AsyncTask value = task.copy();
         value.setVersion(0);
-        String script = "if redis.call('EXISTS',KEYS[1])==1 then return 0 end; redis.call('HSET',KEYS[1],'version','0','status',ARGV[1],'lease_owner',ARGV[2],'lease_id',ARGV[3],'lease_until',ARGV[4],'cancel',ARGV[5],'payload',ARGV[6]); redis.call('SADD',KEYS[2],ARGV[7]); if ARGV[1]=='PENDING_SUBMIT' then redis.call('ZADD',KEYS[3],ARGV[8],ARGV[7]) elseif ARGV[1]=='SUBMITTED' or ARGV[1]=='RUNNING' then redis.call('ZADD',KEYS[4],ARGV[9],ARGV[7]) end; return 1";
-        long code = num(eval(script, keys(taskKey(value.getId()), allKey(), submitKey(), queryKey()), args(value.getStatus().name(), text(value.getLeaseOwner()), text(value.getLeaseId()), String.valueOf(value.getLeaseUntil()), value.isCancellationRequested() ? "1" : "0", encode(value), value.getId(), String.valueOf(value.getScheduledSubmitAt()), String.valueOf(value.getNextQueryAt()))));
+        long code = num(eval(CREATE, keys(taskKey(value.getId()), allKey(), submitKey(), queryKey()), args(value.getStatus().name(), text(value.getLeaseOwner()), text(value.getLeaseId()), String.valueOf(value.getLeaseUntil()), value.isCancellationRequested() ? "1" : "0", encode(value), value.getId(), String.valueOf(value.getScheduledSubmitAt()), String.valueOf(value.getNextQueryAt()))));
         if (code != 1) throw new IllegalStateException("Async task already exists: " + value.getId());
         return value.copy();
     }
@@ -69,16 +93,7 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
     @Override
     public AsyncTask load(String id) {
         if (id == null) return null;
-        Map<String, String> h = jedis.hgetAll(taskKey(id));
-        if (h.isEmpty()) return null;
-        AsyncTask t = decode(h.get("payload"));
-        // Lua 会单独更新这些轻量字段，因此 Hash 投影比 payload 中的同名字段更权威。
-        t.setVersion(number(h.get("version")));
-        t.setLeaseOwner(empty(h.get("lease_owner")));
-        t.setLeaseId(empty(h.get("lease_id")));
-        t.setLeaseUntil(number(h.get("lease_until")));
-        t.setCancellationRequested("1".equals(h.get("cancel")));
-        return t;
+        return project(jedis.hgetAll(taskKey(id)));
     }
 
     @Override
@@ -95,8 +110,7 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         value.setVersion(expected + 1);
         value.setCancellationRequested(current.isCancellationRequested() || task.isCancellationRequested());
         String due = value.getStatus().isPendingSubmission() ? String.valueOf(value.getScheduledSubmitAt()) : String.valueOf(value.getNextQueryAt());
-        String script = "local v=redis.call('HGET',KEYS[1],'version'); if not v then return -1 end; if tonumber(v)~=tonumber(ARGV[1]) then return tonumber(v) end; local c=redis.call('HGET',KEYS[1],'cancel'); redis.call('HSET',KEYS[1],'version',ARGV[2],'status',ARGV[3],'lease_owner',ARGV[4],'lease_id',ARGV[5],'lease_until',ARGV[6],'cancel',(c=='1' and '1' or ARGV[7]),'payload',ARGV[8]); redis.call('ZREM',KEYS[2],ARGV[9]); redis.call('ZREM',KEYS[3],ARGV[9]); if ARGV[3]=='PENDING_SUBMIT' then redis.call('ZADD',KEYS[2],ARGV[10],ARGV[9]) elseif ARGV[3]=='SUBMITTED' or ARGV[3]=='RUNNING' then redis.call('ZADD',KEYS[3],ARGV[10],ARGV[9]) end; return -2";
-        long code = num(eval(script, keys(taskKey(value.getId()), submitKey(), queryKey()), args(String.valueOf(expected), String.valueOf(value.getVersion()), value.getStatus().name(), text(value.getLeaseOwner()), text(value.getLeaseId()), String.valueOf(value.getLeaseUntil()), value.isCancellationRequested() ? "1" : "0", encode(value), value.getId(), due)));
+        long code = num(eval(SAVE, keys(taskKey(value.getId()), submitKey(), queryKey()), args(String.valueOf(expected), String.valueOf(value.getVersion()), value.getStatus().name(), text(value.getLeaseOwner()), text(value.getLeaseId()), String.valueOf(value.getLeaseUntil()), value.isCancellationRequested() ? "1" : "0", encode(value), value.getId(), due)));
         if (code != -2) throw new AsyncTaskVersionConflictException(value.getId(), expected, code);
         return load(value.getId());
     }
@@ -109,19 +123,39 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         List<AsyncTask> candidates = due(submitKey(), now, limit * 8);
         // ZSet 负责到期筛选，本地再按业务优先级稳定排序；最终唯一领取仍由 Lua CAS 保证。
         candidates.sort(Comparator.comparingInt(AsyncTask::getPriority).reversed().thenComparingLong(AsyncTask::getScheduledSubmitAt).thenComparingLong(AsyncTask::getCreatedAt));
-        List<AsyncTask> out = new ArrayList<>();
+        List<AsyncTask> selected = new ArrayList<>();
         for (AsyncTask t : candidates) {
-            if (out.size() >= limit) break;
+            if (selected.size() >= limit) break;
             if (t.getStatus() == AsyncTaskStatus.SUBMITTING) {
                 markSubmitUnknown(t, now);
                 continue;
             }
             // 已取消或已超时的任务绕过准入，仅用于让 Worker 写入终态，不会创建供应商任务。
-            if (requiresTerminalTransition(t, now) || policy.tryAcquire(t.copy(), snapshot, now)) {
-                AsyncTask c = claim(t, worker, now, lease, true, submitKey());
-                if (c != null) out.add(c);
-            }
+            if (requiresTerminalTransition(t, now) || policy.tryAcquire(t.copy(), snapshot, now)) selected.add(t);
+        }
+        return claimSubmissions(selected, worker, now, lease);
+    }
+
+    private List<AsyncTask> claimSubmissions(List<AsyncTask> selected, String worker, long now, long lease) {
+        if (selected.isEmpty()) return new ArrayList<>();
+        List<String> a = new ArrayList<>(4 + selected.size() * 3);
+        Collections.addAll(a, String.valueOf(now), String.valueOf(now + lease), worker, taskKey(""));
+        Map<String, AsyncTask> claims = new LinkedHashMap<>();
+        for (AsyncTask t : selected) {
+            AsyncTask c = t.copy();
+            c.setVersion(t.getVersion() + 1);
+            c.setLeaseOwner(worker);
+            c.setLeaseId(UUID.randomUUID().toString());
+            c.setLeaseUntil(now + lease);
+            c.setStatus(AsyncTaskStatus.SUBMITTING);
+            claims.put(t.getId(), c);
+            Collections.addAll(a, t.getId(), String.valueOf(t.getVersion()), c.getLeaseId());
         }
+        // 一次脚本按各自读到的版本 CAS 全部选中任务；版本已变化的任务被跳过，下一轮扫描再处理。
+        Set<String> ok = new HashSet<>();
+        for (Object id : (List<?>) eval(CLAIM_SUBMISSIONS, keys(submitKey(), leasedKey()), a)) ok.add(str(id));
+        List<AsyncTask> out = new ArrayList<>(ok.size());
+        for (AsyncTask c : claims.values()) if (ok.contains(c.getId())) out.add(c);
         return out;
     }
 
@@ -134,12 +168,7 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         unknown.setLeaseUntil(0);
         unknown.setUpdatedAt(now);
         unknown.setErrorMessage("Submission worker lease expired before the result was persisted");
-        String script = "local v=redis.call('HGET',KEYS[1],'version'); local s=redis.call('HGET',KEYS[1],'status'); "
-            + "local lu=tonumber(redis.call('HGET',KEYS[1],'lease_until') or '0'); "
-            + "if not v or tonumber(v)~=tonumber(ARGV[1]) or s~='SUBMITTING' or lu>tonumber(ARGV[2]) then return 0 end; "
-            + "redis.call('HSET',KEYS[1],'version',ARGV[3],'status','SUBMIT_UNKNOWN','lease_owner','','lease_id','','lease_until','0','payload',ARGV[4]); "
-            + "redis.call('ZREM',KEYS[2],ARGV[5]); redis.call('ZREM',KEYS[3],ARGV[5]); return 1";
-        eval(script, keys(taskKey(task.getId()), submitKey(), leasedKey()), args(
+        eval(MARK_SUBMIT_UNKNOWN, keys(taskKey(task.getId()), submitKey(), leasedKey()), args(
             String.valueOf(task.getVersion()), String.valueOf(now), String.valueOf(unknown.getVersion()),
             encode(unknown), task.getId()));
     }
@@ -147,11 +176,17 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
     @Override
     public List<AsyncTask> claimDueTasks(String worker, long now, long lease, int limit) {
         validate(worker, lease, limit);
-        List<AsyncTask> out = new ArrayList<>();
-        for (AsyncTask t : due(queryKey(), now, limit * 4)) {
-            if (out.size() >= limit) break;
-            AsyncTask c = claim(t, worker, now, lease, false, queryKey());
-            if (c != null) out.add(c);
+        long until = now + lease;
+        List<?> r = (List<?>) eval(CLAIM_QUERIES, keys(queryKey(), leasedKey()), args(String.valueOf(now), String.valueOf(until), worker, String.valueOf(limit), String.valueOf(limit * 4), taskKey(""), UUID.randomUUID().toString()));
+        List<AsyncTask> out = new ArrayList<>(r.size() / 5);
+        for (int i = 0; i + 4 < r.size(); i += 5) {
+            AsyncTask t = decode(str(r.get(i + 4)));
+            t.setVersion(number(str(r.get(i + 1))));
+            t.setLeaseOwner(worker);
+            t.setLeaseId(str(r.get(i + 2)));
+            t.setLeaseUntil(until);
+            t.setCancellationRequested("1".equals(str(r.get(i + 3))));
+            out.add(t);
         }
         return out;
     }
@@ -159,54 +194,62 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
     @Override
     public AsyncTask renewLease(String id, String worker, String leaseId, long now, long until) {
         if (until <= now) throw new IllegalArgumentException("leaseUntil must be after now");
-        String s = "if redis.call('HGET',KEYS[1],'lease_owner')~=ARGV[1] or redis.call('HGET',KEYS[1],'lease_id')~=ARGV[2] or tonumber(redis.call('HGET',KEYS[1],'lease_until') or '0')<=tonumber(ARGV[3]) then return 0 end; redis.call('HSET',KEYS[1],'lease_until',ARGV[4]); redis.call('ZADD',KEYS[2],ARGV[4],ARGV[5]); return 1";
-        if (num(eval(s, keys(taskKey(id), leasedKey()), args(worker, leaseId, String.valueOf(now), String.valueOf(until), id))) != 1)
+        if (num(eval(RENEW, keys(taskKey(id), leasedKey()), args(worker, leaseId, String.valueOf(now), String.valueOf(until), id))) != 1)
             throw new IllegalStateException("Async task lease is not owned by worker: " + worker);
         return load(id);
     }
 
     @Override
     public void releaseLease(String id, String worker, String leaseId) {
-        String s = "if redis.call('HGET',KEYS[1],'lease_owner')==ARGV[1] and redis.call('HGET',KEYS[1],'lease_id')==ARGV[2] then redis.call('HSET',KEYS[1],'lease_owner','','lease_id','','lease_until','0'); redis.call('ZREM',KEYS[2],ARGV[3]); return 1 end; return 0";
-        eval(s, keys(taskKey(id), leasedKey()), args(worker, leaseId, id));
+        eval(RELEASE, keys(taskKey(id), leasedKey()), args(worker, leaseId, id));
     }
 
     @Override
     public boolean requestCancellation(String id) {
-        String s = "local st=redis.call('HGET',KEYS[1],'status'); if not st or redis.call('HGET',KEYS[1],'cancel')=='1' or st=='SUCCEEDED' or st=='FAILED' or st=='CANCELED' or st=='TRACKING_TIMED_OUT' or st=='SUBMIT_UNKNOWN' then return 0 end; redis.call('HSET',KEYS[1],'cancel','1','version',tonumber(redis.call('HGET',KEYS[1],'version'))+1); return 1";
-        return num(eval(s, keys(taskKey(id)), Collections.<String>emptyList())) == 1;
-    }
-
-    private AsyncTask claim(AsyncTask t, String worker, long now, long lease, boolean submitting, String dueKey) {
-        AsyncTask c = t.copy();
-        c.setVersion(t.getVersion() + 1);
-        c.setLeaseOwner(worker);
-        c.setLeaseId(UUID.randomUUID().toString());
-        c.setLeaseUntil(now + lease);
-        if (submitting) c.setStatus(AsyncTaskStatus.SUBMITTING);
-        long ok = num(eval(CLAIM, keys(taskKey(t.getId()), dueKey, leasedKey()), args(String.valueOf(t.getVersion()), String.valueOf(now), String.valueOf(c.getVersion()), c.getStatus().name(), worker, c.getLeaseId(), String.valueOf(c.getLeaseUntil()), encode(c), c.getId(), submitting ? "1" : "0")));
-        return ok == 1 ? c : null;
+        return num(eval(CANCEL, keys(taskKey(id)), Collections.<String>emptyList())) == 1;
     }
 
     private List<AsyncTask> due(String key, long now, int count) {
-        List<String> ids = jedis.zrangeByScore(key, Double.NEGATIVE_INFINITY, now, 0, count);
         List<AsyncTask> out = new ArrayList<>();
-        for (String id : ids) {
-            AsyncTask t = load(id);
-            if (t != null && t.getLeaseUntil() <= now) out.add(t);
-        }
+        for (AsyncTask t : loadAll(jedis.zrangeByScore(key, Double.NEGATIVE_INFINITY, now, 0, count)))
+            if (t.getLeaseUntil() <= now) out.add(t);
         return out;
     }
 
     private List<AsyncTask> all() {
-        List<AsyncTask> out = new ArrayList<>();
-        for (String id : jedis.smembers(allKey())) {
-            AsyncTask t = load(id);
+        return loadAll(jedis.smembers(allKey()));
+    }
+
+    // 候选与准入快照用流水线批量读取，读取次数不再随任务数产生同等数量的网络往返。
+    private List<AsyncTask> loadAll(Collection<String> ids) {
+        if (ids.isEmpty()) return new ArrayList<>();
+        List<Response<Map<String, String>>> rows = new ArrayList<>(ids.size());
+        try (AbstractPipeline p = jedis.pipelined()) {
+            for (String id : ids) rows.add(p.hgetAll(taskKey(id)));
+            p.sync();
+        }
+        List<AsyncTask> out = new ArrayList<>(rows.size());
+        for (Response<Map<String, String>> row : rows) {
+            AsyncTask t = project(row.get());
             if (t != null) out.add(t);
         }
         return out;
     }
 
+    private AsyncTask project(Map<String, String> h) {
+        if (h == null || h.isEmpty()) return null;
+        AsyncTask t = decode(h.get("payload"));
+        // Lua 会单独更新这些轻量字段，因此 Hash 投影比 payload 中的同名字段更权威。
+        t.setVersion(number(h.get("version")));
+        String status = empty(h.get("status"));
+        if (status != null) t.setStatus(AsyncTaskStatus.valueOf(status));
+        t.setLeaseOwner(empty(h.get("lease_owner")));
+        t.setLeaseId(empty(h.get("lease_id")));
+        t.setLeaseUntil(number(h.get("lease_until")));
+        t.setCancellationRequested("1".equals(h.get("cancel")));
+        return t;
+    }
+
     private boolean requiresTerminalTransition(AsyncTask task, long now) {
         return task.isCancellationRequested() || (task.getDeadlineAt() > 0 && now >= task.getDeadlineAt());
     }
@@ -231,8 +274,8 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         return config.keyPrefix() + "{async-task}:leased";
     }
 
-    private Object eval(String s, List<String> k, List<String> a) {
-        return jedis.eval(s, k, a);
+    private Object eval(RedisScript s, List<String> k, List<String> a) {
+        return s.eval(jedis, k, a);
     }
 
     private String encode(AsyncTask t) {
@@ -263,6 +306,11 @@ public final class RedisAsyncTaskStore implements AsyncTaskStore {
         return v == null || v.isEmpty() ? 0 : Long.parseLong(v);
     }
 
+    private static String str(Object v) {
+        if (v instanceof byte[]) return new String((byte[]) v, StandardCharsets.UTF_8);
+        return v == null ? null : String.valueOf(v);
+    }
+
     private static long num(Object v) {
         if (v instanceof byte[]) return Long.parseLong(new String((byte[]) v, StandardCharsets.US_ASCII));
         return Long.parseLong(String.valueOf(v));
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.asynctask.store.redis;
+
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * 本地预计算 SHA1 的 Lua 脚本。
+ *
+ * <p>正常路径只发送 EVALSHA 摘要；Redis 重启、主从切换或 SCRIPT FLUSH 后返回 NOSCRIPT 时回退 EVAL，
+ * 服务端执行的同时会重新缓存脚本，后续调用自动恢复为 EVALSHA。</p>
+ */
+final class RedisScript {
+    private final String source;
+    private final String sha1;
+
+    RedisScript(String source) {
+        this.source = source;
+        this.sha1 = sha1(source);
+    }
+
+    String source() {
+        return source;
+    }
+
+    String sha1() {
+        return sha1;
+    }
+
+    Object eval(UnifiedJedis jedis, List<String> keys, List<String> args) {
+        try {
+            return jedis.evalsha(sha1, keys, args);
+        } catch (JedisNoScriptException missing) {
+            return jedis.eval(source, keys, args);
+        }
+    }
+
+    static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+            char[] out = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                out[i * 2] = Character.forDigit((digest[i] >> 4) & 0xF, 16);
+                out[i * 2 + 1] = Character.forDigit(digest[i] & 0xF, 16);
+            }
+            return new String(out);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+}
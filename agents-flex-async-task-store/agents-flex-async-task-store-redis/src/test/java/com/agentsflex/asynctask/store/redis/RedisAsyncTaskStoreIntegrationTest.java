@@ -200,6 +200,56 @@ public class RedisAsyncTaskStoreIntegrationTest {
         assertFalse(store.requestCancellation("missing"));
     }
 
+    /**
+     * 一次批量领取最多返回 limit 个任务，每个任务获得独立 leaseId，且返回值与 Redis 中的投影一致。
+     */
+    @Test
+    public void shouldClaimDueTasksInSingleBatch() {
+        for (int i = 0; i < 5; i++) store.create(task("batch-" + i, AsyncTaskStatus.RUNNING, 0));
+        List<AsyncTask> first = store.claimDueTasks("worker", 10, 100, 3);
+        assertEquals(3, first.size());
+        Set<String> leases = new HashSet<>();
+        for (AsyncTask value : first) {
+            leases.add(value.getLeaseId());
+            AsyncTask loaded = store.load(value.getId());
+            assertEquals(1, loaded.getVersion());
+            assertEquals(value.getLeaseId(), loaded.getLeaseId());
+            assertEquals(110, loaded.getLeaseUntil());
+            assertEquals(AsyncTaskStatus.RUNNING, loaded.getStatus());
+        }
+        assertEquals(3, leases.size());
+        assertEquals(2, store.claimDueTasks("worker", 10, 100, 3).size());
+        assertTrue(store.claimDueTasks("worker", 10, 100, 3).isEmpty());
+    }
+
+    /**
+     * 批量领取提交任务后，状态以 Hash 投影为准，即使 payload 尚未被 Worker 重写。
+     */
+    @Test
+    public void shouldProjectSubmittingStatusAfterBatchClaim() {
+        store.create(task("submit-a", AsyncTaskStatus.PENDING_SUBMIT, 0));
+        store.create(task("submit-b", AsyncTaskStatus.PENDING_SUBMIT, 0));
+        List<AsyncTask> claimed = store.claimDueSubmissions("w", 10, 100, 10, (candidate, all, now) -> true);
+        assertEquals(2, claimed.size());
+        for (AsyncTask value : claimed) {
+            AsyncTask loaded = store.load(value.getId());
+            assertEquals(AsyncTaskStatus.SUBMITTING, loaded.getStatus());
+            assertEquals(value.getVersion(), loaded.getVersion());
+            assertEquals(value.getLeaseId(), loaded.getLeaseId());
+        }
+    }
+
+    /**
+     * 服务端脚本缓存被清空后，EVALSHA 的 NOSCRIPT 错误应透明回退为 EVAL 并重新缓存脚本。
+     */
+    @Test
+    public void shouldReloadScriptsAfterScriptFlush() {
+        store.create(task("flush", AsyncTaskStatus.RUNNING, 0));
+        config.jedis().scriptFlush();
+        assertEquals(1, store.claimDueTasks("worker", 10, 100, 1).size());
+        assertTrue(store.currentTimeMillis() > 0);
+    }
+
     /** 无效领取参数应在访问 Redis 前失败。 */
     @Test
     public void shouldValidateClaimArguments() {
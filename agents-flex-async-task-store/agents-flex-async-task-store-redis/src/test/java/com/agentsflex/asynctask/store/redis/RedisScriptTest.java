@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.asynctask.store.redis;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 脚本摘要必须与 Redis SCRIPT LOAD 的结果一致，否则每次 EVALSHA 都会退化为 NOSCRIPT 后的 EVAL。
+ */
+public class RedisScriptTest {
+    @Test
+    public void shouldComputeRedisCompatibleSha1() {
+        assertEquals("e0e1f9fabfc9d4800c877a703b823ac0578ff8db", new RedisScript("return 1").sha1());
+        assertEquals("da39a3ee5e6b4b0d3255bfef95601890afd80709", RedisScript.sha1(""));
+    }
+}
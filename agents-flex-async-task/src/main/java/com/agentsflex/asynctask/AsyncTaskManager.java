@@ -47,6 +47,7 @@ public final class AsyncTaskManager {
     private final AsyncTaskStore store;
     private final AsyncTaskHandlerRegistry registry;
     private final AsyncTaskHandlerSelector handlerSelector;
+    private volatile Runnable wakeupSignal;
 
     /**
      * 创建任务管理器。
@@ -77,6 +78,18 @@ public final class AsyncTaskManager {
         this.handlerSelector = handlerSelector;
     }
 
+    /**
+     * 设置任务创建后的唤醒信号，通常传入同进程 Worker 的 {@code worker::wakeup}。
+     *
+     * <p>立即可提交的任务写入 Store 后会触发信号，使本地 Worker 不必等待下一个扫描间隔；延迟提交任务
+     * 仍由定时扫描处理。信号只是加速手段，其他节点的 Worker 依旧按扫描间隔发现任务。</p>
+     *
+     * @param wakeupSignal 唤醒回调，为空表示关闭唤醒
+     */
+    public void setWakeupSignal(Runnable wakeupSignal) {
+        this.wakeupSignal = wakeupSignal;
+    }
+
     /**
      * 根据提交参数类型自动选择 Handler，并使用默认调度选项创建持久化异步任务。
      *
@@ -127,7 +140,10 @@ public final class AsyncTaskManager {
         task.setUpdatedAt(now);
         task.setDeadlineAt(safeAdd(now, trackingTimeoutMillis));
         task.setMetadata(effective.getMetadata());
-        return store.create(task);
+        AsyncTask created = store.create(task);
+        Runnable signal = wakeupSignal;
+        if (signal != null && created.getScheduledSubmitAt() <= now) signal.run();
+        return created;
     }
 
     /**
@@ -16,6 +16,7 @@
 package com.agentsflex.asynctask;
 
 import com.agentsflex.asynctask.handler.*;
+import com.agentsflex.asynctask.handler.selector.AsyncTaskHandlerActiveCountProvider;
 import com.agentsflex.asynctask.policy.*;
 import com.agentsflex.asynctask.store.AsyncTaskStore;
 import com.agentsflex.asynctask.store.AsyncTaskVersionConflictException;
@@ -24,18 +25,31 @@ import com.agentsflex.asynctask.store.AsyncTaskVersionConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 后台任务执行器：领取到期提交任务或查询任务，并且每次租约只执行一次外部调用。
  *
  * <p>Store 的 leaseId 用于 fencing 过期 Worker，version 用于 CAS 保存。一次执行失败时，
  * Worker 按重试策略更新下次查询时间；达到终态、取消或超时后停止调度。</p>
+ *
+ * <p>默认在扫描线程内逐个执行任务。配置处理线程池后，每轮只领取空闲槽位数量的任务并交给线程池并发执行，
+ * 单个慢供应商不会阻塞整批任务；可再按 Handler 设置并发上限，活动数同时通过
+ * {@link AsyncTaskHandlerActiveCountProvider} 暴露给最少活跃选择器。</p>
  */
-public final class AsyncTaskWorker implements AutoCloseable {
+public final class AsyncTaskWorker implements AutoCloseable, AsyncTaskHandlerActiveCountProvider {
     private static final Logger log = LoggerFactory.getLogger(AsyncTaskWorker.class);
 
     private final String workerId;
@@ -44,7 +58,15 @@ public final class AsyncTaskWorker implements AutoCloseable {
     private final AsyncTaskRetryPolicy retryPolicy;
     private final AsyncTaskAdmissionPolicy admissionPolicy;
     private final long leaseMillis;
+    private final ConcurrentMap<String, Integer> handlerLimits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> activeCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private volatile Executor processingExecutor;
+    private volatile int maxConcurrency;
+    private ExecutorService ownedExecutor;
     private ScheduledExecutorService scheduler;
+    private int batchSize;
     private boolean closed;
 
     /**
@@ -90,34 +112,188 @@ public final class AsyncTaskWorker implements AutoCloseable {
         this.leaseMillis = leaseMillis;
     }
 
+    /**
+     * 使用内部有界线程池并发执行供应商提交和查询。
+     *
+     * <p>线程池由 Worker 持有并在 close 时关闭。必须在 start 之前配置。</p>
+     *
+     * @param maxConcurrency 同时执行的任务上限，必须大于 0
+     */
+    public synchronized void setConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency must be greater than 0");
+        ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "async-task-processor-" + workerId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        configureExecutor(executor, maxConcurrency);
+        ownedExecutor = executor;
+    }
+
+    /**
+     * 使用调用方提供的执行器并发处理任务，例如 JDK 21 的虚拟线程执行器。
+     *
+     * <p>执行器生命周期由调用方管理；maxConcurrency 仍限制本 Worker 同时持有租约的任务数，
+     * 避免任务在执行器队列中等待时消耗租约。执行器拒绝任务时在扫描线程内直接执行。</p>
+     *
+     * @param executor       任务执行器
+     * @param maxConcurrency 同时执行的任务上限，必须大于 0
+     */
+    public synchronized void setProcessingExecutor(Executor executor, int maxConcurrency) {
+        if (executor == null || maxConcurrency <= 0)
+            throw new IllegalArgumentException("executor is required and maxConcurrency must be greater than 0");
+        configureExecutor(executor, maxConcurrency);
+    }
+
+    private void configureExecutor(Executor executor, int maxConcurrency) {
+        if (closed) throw new IllegalStateException("AsyncTaskWorker is closed");
+        if (scheduler != null || processingExecutor != null)
+            throw new IllegalStateException("Processing executor must be configured once before start");
+        this.maxConcurrency = maxConcurrency;
+        this.processingExecutor = executor;
+    }
+
+    /**
+     * 限制指定 Handler 在本 Worker 内同时执行的任务数，用于隔离慢供应商。
+     *
+     * <p>待提交任务在准入阶段按剩余槽位筛选，不会被领取；查询任务领取后若 Handler 已满，
+     * 会把下次查询时间调整为当前时刻并释放租约，排到其他已到期任务之后。</p>
+     *
+     * @param handlerKey Handler Key
+     * @param limit      并发上限，必须大于 0
+     */
+    public void setHandlerConcurrency(String handlerKey, int limit) {
+        if (handlerKey == null || limit <= 0)
+            throw new IllegalArgumentException("handlerKey is required and limit must be greater than 0");
+        handlerLimits.put(handlerKey, limit);
+    }
+
+    /**
+     * 返回本 Worker 中指定 Handler 正在执行的任务数。
+     */
+    @Override
+    public long getActiveCount(String handlerKey) {
+        AtomicInteger active = handlerKey == null ? null : activeCounts.get(handlerKey);
+        return active == null ? 0 : active.get();
+    }
+
+    /**
+     * 请求尽快执行一轮扫描，而不是等待下一个扫描间隔。
+     *
+     * <p>多次唤醒会合并为一轮；Worker 未启动或已关闭时忽略。通常由
+     * {@link AsyncTaskManager#setWakeupSignal(Runnable)} 在创建任务后调用。</p>
+     */
+    public void wakeup() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+        }
+        if (current == null || !wakeupPending.compareAndSet(false, true)) return;
+        try {
+            current.execute(this::scan);
+        } catch (RejectedExecutionException closing) {
+            wakeupPending.set(false);
+        }
+    }
+
     /**
      * 领取并提交最多 limit 个通过准入策略的待提交任务，返回实际领取数量。
      *
-     * @param limit 本轮最多领取数量，必须大于 0
+     * @param limit 本轮最多领取数量，必须大于 0；并发模式下还受空闲槽位限制
      * @return 实际获得租约的任务数量；策略拒绝和并发竞争任务不计入
      */
     public int submitDueTasks(int limit) {
         validateRun(limit);
+        int capacity = capacity(limit);
+        if (capacity == 0) return 0;
         List<AsyncTask> claimed = store.claimDueSubmissions(
-            workerId, store.currentTimeMillis(), leaseMillis, limit, admissionPolicy);
-        for (AsyncTask task : claimed) submit(task);
+            workerId, store.currentTimeMillis(), leaseMillis, capacity, limitHandlers(admissionPolicy));
+        for (AsyncTask task : claimed) dispatch(task, true);
         return claimed.size();
     }
 
     /**
      * 领取并查询最多 limit 个到期任务，每个任务本轮只访问供应商一次。
      *
-     * @param limit 本轮最多领取数量，必须大于 0
+     * @param limit 本轮最多领取数量，必须大于 0；并发模式下还受空闲槽位限制
      * @return 实际获得租约的任务数量
      */
     public int queryDueTasks(int limit) {
         validateRun(limit);
+        int capacity = capacity(limit);
+        if (capacity == 0) return 0;
         List<AsyncTask> claimed = store.claimDueTasks(
-            workerId, store.currentTimeMillis(), leaseMillis, limit);
-        for (AsyncTask task : claimed) process(task);
+            workerId, store.currentTimeMillis(), leaseMillis, capacity);
+        for (AsyncTask task : claimed) {
+            if (hasHandlerCapacity(task.getHandlerKey(), 0)) dispatch(task, false);
+            else defer(task);
+        }
         return claimed.size();
     }
 
+    private int capacity(int limit) {
+        if (processingExecutor == null) return limit;
+        return Math.max(0, Math.min(limit, maxConcurrency - inFlight.get()));
+    }
+
+    private void dispatch(AsyncTask task, boolean submission) {
+        AtomicInteger active = activeCounts.computeIfAbsent(task.getHandlerKey(), key -> new AtomicInteger());
+        // 领取时立即计数，下一轮扫描或准入判断即可看到尚未开始执行的任务。
+        active.incrementAndGet();
+        inFlight.incrementAndGet();
+        Executor executor = processingExecutor;
+        Runnable run = () -> {
+            try {
+                if (submission) submit(task);
+                else process(task);
+            } finally {
+                active.decrementAndGet();
+                // 只有槽位曾经耗尽时才唤醒补位扫描，队列空闲时不额外访问 Store。
+                if (inFlight.getAndDecrement() >= maxConcurrency && executor != null) wakeup();
+            }
+        };
+        if (executor == null) {
+            run.run();
+            return;
+        }
+        try {
+            executor.execute(run);
+        } catch (RejectedExecutionException rejected) {
+            // 任务已持有租约，提交阶段直接释放会被误判为 SUBMIT_UNKNOWN，因此由当前线程完成。
+            run.run();
+        }
+    }
+
+    private AsyncTaskAdmissionPolicy limitHandlers(AsyncTaskAdmissionPolicy policy) {
+        if (handlerLimits.isEmpty()) return policy;
+        Map<String, Integer> reserved = new HashMap<>();
+        return (task, allTasks, now) -> {
+            Integer pending = reserved.get(task.getHandlerKey());
+            int count = pending == null ? 0 : pending;
+            // 先检查本地槽位再调用外部策略，避免为最终不会领取的任务预占 QPS 或配额。
+            if (!hasHandlerCapacity(task.getHandlerKey(), count) || !policy.tryAcquire(task, allTasks, now)) return false;
+            reserved.put(task.getHandlerKey(), count + 1);
+            return true;
+        };
+    }
+
+    private boolean hasHandlerCapacity(String handlerKey, int pending) {
+        Integer limit = handlerKey == null ? null : handlerLimits.get(handlerKey);
+        return limit == null || getActiveCount(handlerKey) + pending < limit;
+    }
+
+    private void defer(AsyncTask task) {
+        try {
+            // 到期时间改为当前时刻，其他更早到期的任务下一轮先被领取，饱和 Handler 不会反复占满批次。
+            task.setNextQueryAt(Math.min(task.getDeadlineAt(), store.currentTimeMillis()));
+            store.save(task, task.getVersion());
+        } catch (RuntimeException error) {
+            log.warn("Failed to defer async task for saturated handler, taskId={}", task.getId(), error);
+        } finally {
+            store.releaseLease(task.getId(), workerId, task.getLeaseId());
+        }
+    }
+
     private void submit(AsyncTask task) {
         try {
             // 外部提交前优先处理取消和截止时间，避免为已无业务价值的任务创建远端资源。
@@ -297,6 +473,9 @@ public final class AsyncTaskWorker implements AutoCloseable {
     /**
      * 启动单线程定时扫描；重复调用保持幂等，不会创建第二个调度线程。
      *
+     * <p>扫描与唤醒都在同一调度线程中执行，领取不会在本 Worker 内并发进行；任务执行是否并发由
+     * {@link #setConcurrency(int)} 或 {@link #setProcessingExecutor(Executor, int)} 决定。</p>
+     *
      * @param scanIntervalMillis 两轮扫描完成后的固定间隔
      * @param batchSize          每轮提交和查询阶段各自的最大领取数量
      */
@@ -310,15 +489,19 @@ public final class AsyncTaskWorker implements AutoCloseable {
             thread.setDaemon(true);
             return thread;
         });
-        scheduler.scheduleWithFixedDelay(() -> {
-            try {
-                // 同一线程先处理待提交队列，再处理查询队列，避免两个阶段在本 Worker 内并发修改任务。
-                submitDueTasks(batchSize);
-                queryDueTasks(batchSize);
-            } catch (RuntimeException error) {
-                log.warn("Async task worker scan failed, workerId={}", workerId, error);
-            }
-        }, 0, scanIntervalMillis, TimeUnit.MILLISECONDS);
+        this.batchSize = batchSize;
+        scheduler.scheduleWithFixedDelay(this::scan, 0, scanIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void scan() {
+        wakeupPending.set(false);
+        try {
+            // 同一线程先处理待提交队列，再处理查询队列，避免两个阶段在本 Worker 内并发领取任务。
+            submitDueTasks(batchSize);
+            queryDueTasks(batchSize);
+        } catch (RuntimeException error) {
+            log.warn("Async task worker scan failed, workerId={}", workerId, error);
+        }
     }
 
     /**
@@ -330,6 +513,8 @@ public final class AsyncTaskWorker implements AutoCloseable {
 
     /**
      * 永久关闭 Worker 并中断调度线程；关闭后的实例不能重新启动或手动扫描。
+     *
+     * <p>内部处理线程池只停止接收新任务，已开始的供应商调用会继续完成并保存结果。</p>
      */
     @Override
     public synchronized void close() {
@@ -338,6 +523,10 @@ public final class AsyncTaskWorker implements AutoCloseable {
             scheduler.shutdownNow();
             scheduler = null;
         }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+            ownedExecutor = null;
+        }
     }
 
     private boolean sameLease(AsyncTask left, AsyncTask right) {
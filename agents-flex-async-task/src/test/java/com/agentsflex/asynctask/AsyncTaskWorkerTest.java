@@ -166,6 +166,91 @@ public class AsyncTaskWorkerTest {
         expect(IllegalStateException.class, () -> worker.start(1, 1));
     }
 
+    @Test
+    public void shouldProcessClaimedTasksConcurrently() throws Exception {
+        InMemoryAsyncTaskStore store = new InMemoryAsyncTaskStore();
+        createTasks(store, 3);
+        CountDownLatch entered = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncTaskWorker worker = worker(store, handler((p, c) -> {
+            entered.countDown();
+            await(release);
+            return result(AsyncTaskStatus.SUCCEEDED);
+        }), policy(1, 1));
+        worker.setConcurrency(3);
+        try {
+            assertEquals(3, worker.queryDueTasks(10));
+            // 三个查询都在阻塞中同时进入 Handler，说明处理不再串行。
+            assertTrue(entered.await(2, TimeUnit.SECONDS));
+            assertEquals(3, worker.getActiveCount("test"));
+            assertEquals(0, worker.queryDueTasks(10));
+        } finally {
+            release.countDown();
+            worker.close();
+        }
+    }
+
+    @Test
+    public void shouldDeferQueriesWhenHandlerIsSaturated() throws Exception {
+        InMemoryAsyncTaskStore store = new InMemoryAsyncTaskStore();
+        createTasks(store, 3);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        AsyncTaskWorker worker = worker(store, handler((p, c) -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            await(release);
+            return result(AsyncTaskStatus.SUCCEEDED);
+        }), policy(1, 1));
+        worker.setConcurrency(4);
+        worker.setHandlerConcurrency("test", 1);
+        try {
+            assertEquals(3, worker.queryDueTasks(10));
+            assertTrue(entered.await(2, TimeUnit.SECONDS));
+            assertEquals(1, worker.getActiveCount("test"));
+            int leased = 0;
+            for (int i = 0; i < 3; i++) if (store.load("batch-" + i).getLeaseOwner() != null) leased++;
+            assertEquals(1, leased);
+        } finally {
+            release.countDown();
+            worker.close();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldWakeUpWorkerWhenManagerCreatesTask() throws Exception {
+        InMemoryAsyncTaskStore store = new InMemoryAsyncTaskStore();
+        CountDownLatch submitted = new CountDownLatch(1);
+        AsyncTaskHandler<String> handler = new AsyncTaskHandler<String>() {
+            @Override public String getKey() { return "test"; }
+            @Override public Class<String> getSubmitParamsType() { return String.class; }
+            @Override public TaskSubmitResult submit(String params, TaskSubmitContext context) {
+                submitted.countDown();
+                TaskSubmitResult result = new TaskSubmitResult();
+                result.setStatus(AsyncTaskStatus.SUCCEEDED);
+                return result;
+            }
+            @Override public TaskQueryResult query(TaskQueryParams params, TaskQueryContext context) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        InMemoryAsyncTaskHandlerRegistry registry = new InMemoryAsyncTaskHandlerRegistry().register(handler);
+        AsyncTaskWorker worker = new AsyncTaskWorker("worker", store, registry, policy(1, 1), 10_000);
+        AsyncTaskManager manager = new AsyncTaskManager(store, registry);
+        manager.setWakeupSignal(worker::wakeup);
+        worker.start(60_000, 10);
+        try {
+            // 首轮扫描结束后，下一次定时扫描要等一分钟；任务能被及时提交只能来自唤醒信号。
+            Thread.sleep(100);
+            manager.submit("payload", 60_000);
+            assertTrue(submitted.await(2, TimeUnit.SECONDS));
+        } finally {
+            worker.close();
+        }
+    }
+
     @Test
     public void shouldValidateWorkerArguments() {
         InMemoryAsyncTaskStore store = new InMemoryAsyncTaskStore();
@@ -177,6 +262,10 @@ public class AsyncTaskWorkerTest {
         AsyncTaskWorker worker = new AsyncTaskWorker("w", store, registry, policy, 1);
         expect(IllegalArgumentException.class, () -> worker.queryDueTasks(0));
         expect(IllegalArgumentException.class, () -> worker.start(0, 1));
+        expect(IllegalArgumentException.class, () -> worker.setConcurrency(0));
+        expect(IllegalArgumentException.class, () -> worker.setHandlerConcurrency("test", 0));
+        worker.setConcurrency(2);
+        expect(IllegalStateException.class, () -> worker.setConcurrency(2));
         worker.close();
     }
 
@@ -186,6 +275,21 @@ public class AsyncTaskWorkerTest {
             now, now + timeoutMillis));
     }
 
+    private void createTasks(InMemoryAsyncTaskStore store, int count) {
+        long now = store.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            store.create(AsyncTaskTestSupport.task("batch-" + i, AsyncTaskStatus.SUBMITTED, now, now + 60_000));
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private AsyncTaskWorker worker(InMemoryAsyncTaskStore store, AsyncTaskHandler<String> handler,
                                    AsyncTaskRetryPolicy policy) {
         return new AsyncTaskWorker("worker", store,
@@ -25,11 +25,19 @@ import com.knuddels.jtokkit.api.EncodingRegistry;
 import com.knuddels.jtokkit.api.EncodingType;
 import com.knuddels.jtokkit.api.IntArrayList;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class SimpleTokenizeSplitter implements DocumentSplitter {
+    // 一个 UTF-8 字符最多 4 字节，修正字符边界时每侧最多补 3 个 token
+    private static final int MAX_BOUNDARY_TOKENS = 3;
+    private static final int READ_BLOCK_SIZE = 64 * 1024;
+
     private EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
     private EncodingType encodingType = EncodingType.CL100K_BASE;
     private int chunkSize;
@@ -101,59 +109,178 @@ public class SimpleTokenizeSplitter implements DocumentSplitter {
             return Collections.emptyList();
         }
 
-        String content = document.getContent();
         Encoding encoding = this.registry.getEncoding(this.encodingType);
+        IntArrayList tokens = encoding.encode(document.getContent());
 
-        List<Integer> tokens = encoding.encode(content).boxed();
+        List<Document> chunkDocuments = new ArrayList<>();
+        emitChunks(encoding, tokens, 0, true, new IntArrayList(chunkSize + 2 * MAX_BOUNDARY_TOKENS), chunkText -> {
+            Document chunkDocument = new Document();
+            chunkDocument.setTitle(document.getTitle());
+            chunkDocument.setContent(chunkText);
+            chunkDocument.putMetadata(document.getMetadataMap());
 
+            chunkDocument.setId(idGenerator == null ? null : idGenerator.generateId(chunkDocument));
+            chunkDocuments.add(chunkDocument);
+        });
 
-        int index = 0, currentIndex = index;
-        int maxIndex = tokens.size();
+        return chunkDocuments;
+    }
 
+    /**
+     * 流式切分，适合无法一次读入为 String 的超大文本。
+     */
+    public List<Document> split(Reader reader) throws IOException {
         List<Document> chunkDocuments = new ArrayList<>();
-        while (currentIndex < maxIndex) {
-            int endIndex = Math.min(currentIndex + chunkSize, maxIndex);
-            List<Integer> chunkTokens = tokens.subList(currentIndex, endIndex);
+        split(reader, null, chunkDocuments::add);
+        return chunkDocuments;
+    }
 
-            IntArrayList intArrayList = new IntArrayList();
-            for (Integer chunkToken : chunkTokens) {
-                intArrayList.add(chunkToken);
-            }
-            String chunkText = encoding.decode(intArrayList).trim();
-            if (chunkText.isEmpty()) {
-                currentIndex = currentIndex + chunkSize - overlapSize;
+    /**
+     * 流式切分：按块读取文本并在空白处截断后分段编码，每凑满一个分块就交给 consumer，
+     * 内存中只保留当前读取块和尚未输出的 token。
+     * <p>
+     * 分段编码时，截断处附近的 token 边界可能与整段编码略有不同，分块内容不保证与 {@link #split(Document)} 逐字一致。
+     *
+     * @param reader      文本来源，由调用方负责关闭
+     * @param idGenerator 分块 ID 生成器，可为 null
+     * @param consumer    接收每个分块
+     */
+    public void split(Reader reader, DocumentIdGenerator idGenerator, Consumer<Document> consumer) throws IOException {
+        Encoding encoding = this.registry.getEncoding(this.encodingType);
+        IntArrayList buffer = new IntArrayList(chunkSize + 2 * MAX_BOUNDARY_TOKENS);
+        Consumer<String> chunkConsumer = chunkText -> {
+            Document chunkDocument = new Document(chunkText);
+            chunkDocument.setId(idGenerator == null ? null : idGenerator.generateId(chunkDocument));
+            consumer.accept(chunkDocument);
+        };
+
+        char[] block = new char[READ_BLOCK_SIZE];
+        StringBuilder carry = new StringBuilder(READ_BLOCK_SIZE * 2);
+        IntArrayList pending = new IntArrayList();
+        int next = 0;
+        int read;
+        while ((read = reader.read(block)) != -1) {
+            carry.append(block, 0, read);
+            int cut = segmentEnd(carry);
+            if (cut <= 0) {
                 continue;
             }
 
-            //UTF-8 'Unicode replacement character' which in your case is 0xFFFD (65533 in Hex).
-            //fix 修复中文乱码的问题
-            boolean firstIsReplacement = chunkText.charAt(0) == 65533;
-            boolean lastIsReplacement = chunkText.charAt(chunkText.length() - 1) == 65533;
+            appendTokens(pending, encoding.encode(carry.substring(0, cut)));
+            carry.delete(0, cut);
+            next = emitChunks(encoding, pending, next, false, buffer, chunkConsumer);
 
-            if (firstIsReplacement || lastIsReplacement) {
-                int adjustedStart = firstIsReplacement ? Math.max(0, currentIndex - 1) : currentIndex;
-                int adjustedEnd = lastIsReplacement ? Math.min(maxIndex, endIndex + 1) : endIndex;
-
-                chunkTokens = tokens.subList(adjustedStart, adjustedEnd);
-                intArrayList = new IntArrayList();
-                for (Integer chunkToken : chunkTokens) {
-                    intArrayList.add(chunkToken);
+            // 丢弃已输出的 token，只保留向前修正字符边界所需的几个
+            int keepFrom = Math.max(0, next - MAX_BOUNDARY_TOKENS);
+            if (keepFrom > 0) {
+                IntArrayList remaining = new IntArrayList(pending.size() - keepFrom + READ_BLOCK_SIZE / 2);
+                for (int i = keepFrom; i < pending.size(); i++) {
+                    remaining.add(pending.get(i));
                 }
-
-                chunkText = encoding.decode(intArrayList).trim();
+                pending = remaining;
+                next -= keepFrom;
             }
+        }
 
+        if (carry.length() > 0) {
+            appendTokens(pending, encoding.encode(carry.toString()));
+        }
+        emitChunks(encoding, pending, next, true, buffer, chunkConsumer);
+    }
+
+    /**
+     * 从 tokens 的 currentIndex 处开始按 chunkSize / overlapSize 输出分块文本。
+     *
+     * @param endOfInput 为 false 时，剩余 token 不足以组成完整分块（含边界修正余量）就停止，等待更多输入
+     * @return 下一个分块的起始位置
+     */
+    private int emitChunks(Encoding encoding, IntArrayList tokens, int currentIndex, boolean endOfInput,
+                           IntArrayList buffer, Consumer<String> chunkConsumer) {
+        int maxIndex = tokens.size();
+        while (currentIndex < maxIndex) {
+            if (!endOfInput && currentIndex + chunkSize + MAX_BOUNDARY_TOKENS > maxIndex) {
+                break;
+            }
+            int endIndex = Math.min(currentIndex + chunkSize, maxIndex);
+            String chunkText = decodeChunk(encoding, tokens, currentIndex, endIndex, buffer);
             currentIndex = currentIndex + chunkSize - overlapSize;
+            if (!chunkText.isEmpty()) {
+                chunkConsumer.accept(chunkText);
+            }
+        }
+        return currentIndex;
+    }
 
-            Document chunkDocument = new Document();
-            chunkDocument.setTitle(document.getTitle());
-            chunkDocument.setContent(chunkText);
-            chunkDocument.putMetadata(document.getMetadataMap());
+    /**
+     * 解码 [start, end) 范围内的 token，复用同一个 buffer，不装箱。
+     * token 边界可能落在多字节 UTF-8 字符中间（常见于中文），此时向两侧补 token 直到字符完整，
+     * 避免出现 Unicode 替换字符 0xFFFD。
+     */
+    private static String decodeChunk(Encoding encoding, IntArrayList tokens, int start, int end, IntArrayList buffer) {
+        byte[] bytes = decodeBytes(encoding, tokens, start, end, buffer);
+        for (int i = 0; i < MAX_BOUNDARY_TOKENS; i++) {
+            boolean extendStart = start > 0 && startsInsideChar(bytes);
+            boolean extendEnd = end < tokens.size() && endsInsideChar(bytes);
+            if (!extendStart && !extendEnd) {
+                break;
+            }
+            if (extendStart) {
+                start--;
+            }
+            if (extendEnd) {
+                end++;
+            }
+            bytes = decodeBytes(encoding, tokens, start, end, buffer);
+        }
+        return new String(bytes, StandardCharsets.UTF_8).trim();
+    }
 
-            chunkDocument.setId(idGenerator == null ? null : idGenerator.generateId(chunkDocument));
-            chunkDocuments.add(chunkDocument);
+    private static byte[] decodeBytes(Encoding encoding, IntArrayList tokens, int start, int end, IntArrayList buffer) {
+        buffer.clear();
+        for (int i = start; i < end; i++) {
+            buffer.add(tokens.get(i));
         }
+        return encoding.decodeBytes(buffer);
+    }
 
-        return chunkDocuments;
+    private static boolean startsInsideChar(byte[] bytes) {
+        return bytes.length > 0 && (bytes[0] & 0xC0) == 0x80;
+    }
+
+    private static boolean endsInsideChar(byte[] bytes) {
+        int length = bytes.length;
+        for (int i = length - 1; i >= 0 && i >= length - 4; i--) {
+            int b = bytes[i] & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                continue;
+            }
+            int expected = b < 0x80 ? 1 : b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+            return length - i < expected;
+        }
+        return length > 0;
+    }
+
+    private static void appendTokens(IntArrayList target, IntArrayList tokens) {
+        target.ensureCapacity(target.size() + tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            target.add(tokens.get(i));
+        }
+    }
+
+    /**
+     * 返回可安全编码的前缀长度：在最后一个空白字符之前截断，使后续单词连同前导空格一起编码；
+     * 长时间没有空白时在末尾截断（避开代理对）。
+     */
+    private static int segmentEnd(StringBuilder text) {
+        for (int i = text.length() - 1; i > 0; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        if (text.length() < READ_BLOCK_SIZE * 4) {
+            return 0;
+        }
+        int end = text.length();
+        return Character.isHighSurrogate(text.charAt(end - 1)) ? end - 1 : end;
     }
 }
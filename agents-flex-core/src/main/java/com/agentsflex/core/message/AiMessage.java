@@ -17,6 +17,8 @@ package com.agentsflex.core.message;
 
 import com.agentsflex.core.util.StringUtil;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.*;
 
 public class AiMessage extends AbstractTextMessage<AiMessage> {
@@ -115,6 +117,14 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
      * 完整的推理内容；流式响应中保存已累计的推理内容。
      */
     private String fullReasoningContent;
+    /**
+     * 流式累计缓冲区的前缀视图，首次读取 {@link #getFullContent()} 时才生成字符串。
+     */
+    private transient TextPrefix fullContentPrefix;
+    /**
+     * 流式累计推理内容的前缀视图，首次读取 {@link #getFullReasoningContent()} 时才生成字符串。
+     */
+    private transient TextPrefix fullReasoningContentPrefix;
 
     /**
      * LLM 响应结束的原因（如 "stop", "length", "tool_calls" 等），
@@ -141,23 +151,35 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
         this.fullContent = content;
     }
 
+    /**
+     * 将流式增量合并到当前消息。
+     * <p>
+     * 每次合并都会重建正文和推理内容字符串；需要累计大量分片时应使用 {@link AiMessageAccumulator}。
+     */
     public void merge(AiMessage delta) {
         if (delta.content != null) {
             if (this.content == null) this.content = "";
             this.content += delta.content;
-            this.fullContent = this.content;
+            setFullContent(this.content);
         }
 
         if (delta.reasoningContent != null) {
             if (this.reasoningContent == null) this.reasoningContent = "";
             this.reasoningContent += delta.reasoningContent;
-            this.fullReasoningContent = this.reasoningContent;
+            setFullReasoningContent(this.reasoningContent);
         }
 
         if (delta.toolCalls != null && !delta.toolCalls.isEmpty()) {
             if (this.toolCalls == null) this.toolCalls = new ArrayList<>();
             mergeToolCalls(delta.toolCalls);
         }
+        mergeMetadata(delta);
+    }
+
+    /**
+     * 合并正文、推理内容和工具调用以外的响应元数据与 Token 统计。
+     */
+    void mergeMetadata(AiMessage delta) {
         if (delta.id != null) this.id = delta.id;
         if (delta.object != null) this.object = delta.object;
         if (delta.created != null) this.created = delta.created;
@@ -288,7 +310,7 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
         }
     }
 
-    private boolean isNewCall(ToolCall deltaCall, ToolCall lastCall) {
+    static boolean isNewCall(ToolCall deltaCall, ToolCall lastCall) {
         if (StringUtil.noText(deltaCall.getId()) && StringUtil.noText(deltaCall.getName())) {
             return false;
         }
@@ -393,11 +415,29 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
     }
 
     public String getFullContent() {
+        if (fullContentPrefix != null) {
+            fullContent = fullContentPrefix.materialize();
+            fullContentPrefix = null;
+        }
         return fullContent;
     }
 
     public void setFullContent(String fullContent) {
         this.fullContent = fullContent;
+        this.fullContentPrefix = null;
+    }
+
+    /**
+     * 以只追加缓冲区的前 length 个字符作为完整正文，首次读取时才复制为字符串。
+     * <p>
+     * 缓冲区只能在尾部追加，且应在追加线程上读取，否则视图可能观察到未完成的写入。
+     *
+     * @param source 只追加的累计缓冲区
+     * @param length 当前消息对应的前缀长度
+     */
+    public void setFullContent(CharSequence source, int length) {
+        this.fullContent = null;
+        this.fullContentPrefix = source == null ? null : new TextPrefix(source, length);
     }
 
     public String getReasoningContent() {
@@ -426,7 +466,7 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
 
     @Override
     public String getTextContent() {
-        return fullContent;
+        return getFullContent();
     }
 
     @Override
@@ -435,10 +475,11 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
             return;
         }
         super.setContent(content);
-        if (fullContent == null) {
+        String current = getFullContent();
+        if (current == null) {
             fullContent = content;
         } else {
-            fullContent += content;
+            fullContent = current + content;
         }
     }
 
@@ -452,9 +493,9 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
         AiMessage copy = new AiMessage();
         // 基本字段
         copy.content = this.content;
-        copy.fullContent = this.fullContent;
+        copy.fullContent = this.getFullContent();
         copy.reasoningContent = this.reasoningContent;
-        copy.fullReasoningContent = this.fullReasoningContent;
+        copy.fullReasoningContent = this.getFullReasoningContent();
         copy.finishReason = this.finishReason;
         copy.stopReason = this.stopReason;
         copy.finished = this.finished;
@@ -560,11 +601,24 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
     }
 
     public String getFullReasoningContent() {
+        if (fullReasoningContentPrefix != null) {
+            fullReasoningContent = fullReasoningContentPrefix.materialize();
+            fullReasoningContentPrefix = null;
+        }
         return fullReasoningContent;
     }
 
     public void setFullReasoningContent(String fullReasoningContent) {
         this.fullReasoningContent = fullReasoningContent;
+        this.fullReasoningContentPrefix = null;
+    }
+
+    /**
+     * 以只追加缓冲区的前 length 个字符作为完整推理内容，约束同 {@link #setFullContent(CharSequence, int)}。
+     */
+    public void setFullReasoningContent(CharSequence source, int length) {
+        this.fullReasoningContent = null;
+        this.fullReasoningContentPrefix = source == null ? null : new TextPrefix(source, length);
     }
 
     public int getEffectiveTotalTokens() {
@@ -627,8 +681,8 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
             ", localTotalTokens=" + localTotalTokens +
             ", reasoningContent='" + reasoningContent + '\'' +
             ", toolCalls=" + toolCalls +
-            ", fullContent='" + fullContent + '\'' +
-            ", fullReasoningContent='" + fullReasoningContent + '\'' +
+            ", fullContent='" + getFullContent() + '\'' +
+            ", fullReasoningContent='" + getFullReasoningContent() + '\'' +
             ", finishReason='" + finishReason + '\'' +
             ", stopReason='" + stopReason + '\'' +
             ", finished=" + finished +
@@ -636,4 +690,28 @@ public class AiMessage extends AbstractTextMessage<AiMessage> {
             ", metadataMap=" + metadataMap +
             '}';
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // 前缀视图不参与序列化，写出前先生成字符串
+        getFullContent();
+        getFullReasoningContent();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * 只追加缓冲区的固定长度前缀。
+     */
+    private static final class TextPrefix {
+        private final CharSequence source;
+        private final int length;
+
+        private TextPrefix(CharSequence source, int length) {
+            this.source = source;
+            this.length = length;
+        }
+
+        private String materialize() {
+            return source.subSequence(0, length).toString();
+        }
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.message;
+
+import com.agentsflex.core.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于缓冲区的流式 {@link AiMessage} 累计器。
+ * <p>
+ * 与逐片调用 {@link AiMessage#merge(AiMessage)} 的合并结果一致，但正文、推理内容和工具调用参数
+ * 都追加到 {@link StringBuilder}，只在 {@link #toMessage()} 或读取分片的完整内容时才生成字符串，
+ * 避免长回复在每个分片上重复复制已累计的全部字符。
+ * <p>
+ * 该类不是线程安全的，应在接收流式分片的线程上使用。
+ */
+public class AiMessageAccumulator {
+
+    private final AiMessage message = new AiMessage();
+    private StringBuilder content;
+    private StringBuilder reasoningContent;
+    private final List<ToolCall> toolCalls = new ArrayList<>();
+    // 与 toolCalls 一一对应，参数从未出现时为 null
+    private final List<StringBuilder> toolCallArguments = new ArrayList<>();
+
+    /**
+     * 追加一个流式增量。
+     *
+     * @param delta 模型返回的增量消息
+     */
+    public void append(AiMessage delta) {
+        if (delta == null) return;
+        if (delta.getContent() != null) {
+            if (content == null) content = new StringBuilder();
+            content.append(delta.getContent());
+        }
+        if (delta.getReasoningContent() != null) {
+            if (reasoningContent == null) reasoningContent = new StringBuilder();
+            reasoningContent.append(delta.getReasoningContent());
+        }
+        List<ToolCall> deltaCalls = delta.getToolCalls();
+        if (deltaCalls != null && !deltaCalls.isEmpty()) {
+            appendToolCalls(deltaCalls);
+        }
+        message.mergeMetadata(delta);
+    }
+
+    /**
+     * 将截至目前的累计正文和推理内容以延迟视图的形式设置为分片的完整内容。
+     * <p>
+     * 视图记录当前长度，后续追加不会改变该分片读取到的内容；未读取时不会产生复制。
+     *
+     * @param delta 刚刚追加的增量消息
+     */
+    public void applyFullContent(AiMessage delta) {
+        if (content == null) delta.setFullContent(null);
+        else delta.setFullContent(content, content.length());
+        if (reasoningContent == null) delta.setFullReasoningContent(null);
+        else delta.setFullReasoningContent(reasoningContent, reasoningContent.length());
+    }
+
+    /**
+     * @return 已累计的正文长度
+     */
+    public int getContentLength() {
+        return content == null ? 0 : content.length();
+    }
+
+    /**
+     * 生成截至目前的累计消息，正文和推理内容同时写入 content 与 fullContent 字段。
+     *
+     * @return 内部累计消息，多次调用返回同一对象
+     */
+    public AiMessage toMessage() {
+        String text = content == null ? null : content.toString();
+        message.content = text;
+        message.setFullContent(text);
+        String reasoning = reasoningContent == null ? null : reasoningContent.toString();
+        message.setReasoningContent(reasoning);
+        message.setFullReasoningContent(reasoning);
+        if (!toolCalls.isEmpty()) {
+            for (int i = 0; i < toolCalls.size(); i++) {
+                StringBuilder arguments = toolCallArguments.get(i);
+                if (arguments != null) toolCalls.get(i).setArguments(arguments.toString());
+            }
+            message.setToolCalls(toolCalls);
+        }
+        return message;
+    }
+
+    private void appendToolCalls(List<ToolCall> deltaCalls) {
+        if (toolCalls.isEmpty()) {
+            for (ToolCall call : deltaCalls) addToolCall(call);
+            return;
+        }
+        // 正常情况下 delta 部分只有 1 条，规则与 AiMessage#merge 一致
+        ToolCall deltaCall = deltaCalls.get(0);
+        int last = toolCalls.size() - 1;
+        if (AiMessage.isNewCall(deltaCall, toolCalls.get(last))) {
+            addToolCall(deltaCall);
+            return;
+        }
+        ToolCall existing = toolCalls.get(last);
+        if (deltaCall.getArguments() != null) {
+            StringBuilder arguments = toolCallArguments.get(last);
+            if (arguments == null) {
+                arguments = new StringBuilder();
+                toolCallArguments.set(last, arguments);
+            }
+            arguments.append(deltaCall.getArguments());
+        }
+        if (StringUtil.hasText(deltaCall.getId())) {
+            existing.setId(deltaCall.getId());
+        }
+        if (StringUtil.hasText(deltaCall.getName())) {
+            existing.setName(deltaCall.getName());
+        }
+    }
+
+    private void addToolCall(ToolCall call) {
+        toolCalls.add(call);
+        toolCallArguments.add(call == null || call.getArguments() == null
+            ? null : new StringBuilder(call.getArguments()));
+    }
+}
@@ -23,6 +23,10 @@ public final class ChatInterceptorOrders {
     public static final int OBSERVABILITY = -10000;
     public static final int DEFAULT = 0;
     public static final int REQUEST_PREPARATION = 10000;
+    /**
+     * Runs after request preparation so duplicate detection sees the final prompt, options and headers.
+     */
+    public static final int REQUEST_COALESCING = 20000;
 
     private ChatInterceptorOrders() {
     }
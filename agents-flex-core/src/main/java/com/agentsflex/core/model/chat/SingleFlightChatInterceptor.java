@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.chat;
+
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.model.chat.response.AiMessageResponse;
+import com.agentsflex.core.model.client.ChatRequestSpec;
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityAttributeKeys;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import com.agentsflex.core.util.HashUtil;
+import com.agentsflex.core.util.SingleFlight;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+/**
+ * 合并并发重复同步请求的聊天拦截器（single-flight）。
+ *
+ * <p>请求键是最终请求体、请求地址和请求头的 SHA-256。同一时刻键相同的请求只有第一个会继续调用
+ * 模型，其余请求等待它完成并得到各自的 {@link AiMessageResponse} 副本，响应绑定的是调用方自己的
+ * {@link ChatContext}，工具调用仍在调用方的 Prompt 中解析。请求结束后不保留结果，这里只合并
+ * 同时在途的请求，不是响应缓存。流式请求直接放行。</p>
+ *
+ * <p>拦截器默认不启用，应以 {@link ChatInterceptorOrders#REQUEST_COALESCING} 注册，保证在其他拦截器
+ * 修改上下文之后计算请求键：</p>
+ * <pre>{@code
+ * GlobalChatInterceptors.addRegistration(SingleFlightChatInterceptor.registration());
+ * }</pre>
+ *
+ * <p>合并次数可通过 {@link #getCoalescedCount()} 读取，也会在 {@link Observability#isEnabled()} 时以
+ * {@code agentsflex.chat.singleflight.coalesced.count} 指标导出。</p>
+ */
+public class SingleFlightChatInterceptor implements ChatInterceptor {
+
+    /**
+     * runtime 到合并指标 instrument 的弱键缓存，与模型拦截器保持相同策略。
+     */
+    private static final Map<ObservabilityRuntime, LongCounter> INSTRUMENTS = new WeakHashMap<>();
+
+    private final SingleFlight<String, AiMessageResponse> singleFlight = new SingleFlight<>();
+
+    /**
+     * 以 {@link ChatInterceptorOrders#REQUEST_COALESCING} 创建新的拦截器注册。
+     */
+    public static ChatInterceptorRegistration registration() {
+        return ChatInterceptorRegistration.builder("single-flight", new SingleFlightChatInterceptor())
+            .order(ChatInterceptorOrders.REQUEST_COALESCING)
+            .build();
+    }
+
+    @Override
+    public AiMessageResponse intercept(BaseChatModel<?> chatModel, ChatContext context, SyncChain chain) {
+        String key = requestKey(chatModel, context);
+        String model = modelOf(context);
+        return singleFlight.execute(key, () -> chain.proceed(chatModel, context),
+            shared -> {
+                record(model);
+                return copyFor(context, shared);
+            });
+    }
+
+    /** 实际调用模型的次数。 */
+    public long getExecutionCount() {
+        return singleFlight.getExecutionCount();
+    }
+
+    /** 合并到在途请求上的次数。 */
+    public long getCoalescedCount() {
+        return singleFlight.getCoalescedCount();
+    }
+
+    /** 当前在途的不同请求数量。 */
+    public int getInFlightCount() {
+        return singleFlight.getInFlightCount();
+    }
+
+    /**
+     * 计算请求键。请求头参与哈希，避免不同租户的 API Key 或路由头被合并到同一次调用。
+     */
+    protected String requestKey(BaseChatModel<?> chatModel, ChatContext context) {
+        BaseChatConfig config = context.getConfig() == null ? chatModel.getConfig() : context.getConfig();
+        ChatOptions options = context.getOptions() == null ? new ChatOptions() : context.getOptions();
+        String body = chatModel.getChatRequestSpecBuilder()
+            .buildRequestBody(context.getPrompt(), options, config, false);
+
+        StringBuilder source = new StringBuilder(body == null ? 64 : body.length() + 128);
+        ChatRequestSpec requestSpec = context.getRequestSpec();
+        if (requestSpec != null) {
+            source.append(requestSpec.getUrl()).append('\n');
+            if (requestSpec.getHeaders() != null) {
+                source.append(new TreeMap<>(requestSpec.getHeaders())).append('\n');
+            }
+        } else if (config != null) {
+            source.append(config.getEndpoint()).append(config.getRequestPath()).append('\n');
+        }
+        source.append(body);
+        return HashUtil.sha256(source.toString());
+    }
+
+    private static AiMessageResponse copyFor(ChatContext context, AiMessageResponse shared) {
+        if (shared == null) {
+            return null;
+        }
+        AiMessage message = shared.getMessage();
+        AiMessageResponse response = new AiMessageResponse(context, shared.getRawText(),
+            message == null ? null : message.copy());
+        response.setError(shared.isError());
+        response.setErrorMessage(shared.getErrorMessage());
+        response.setErrorType(shared.getErrorType());
+        response.setErrorCode(shared.getErrorCode());
+        return response;
+    }
+
+    private static String modelOf(ChatContext context) {
+        String defaultModel = context.getConfig() == null ? null : context.getConfig().getModel();
+        String model = context.getOptions() == null ? defaultModel : context.getOptions().getModelOrDefault(defaultModel);
+        return model == null ? "unknown" : model;
+    }
+
+    private static void record(String model) {
+        if (!Observability.isEnabled()) {
+            return;
+        }
+        counter().add(1, Attributes.of(ObservabilityAttributeKeys.GEN_AI_REQUEST_MODEL, model));
+    }
+
+    private static LongCounter counter() {
+        ObservabilityRuntime runtime = Observability.currentRuntime();
+        synchronized (INSTRUMENTS) {
+            LongCounter counter = INSTRUMENTS.get(runtime);
+            if (counter == null) {
+                Meter meter = runtime.getMeter();
+                counter = meter.counterBuilder("agentsflex.chat.singleflight.coalesced.count")
+                    .setDescription("Total number of chat requests coalesced onto an in-flight call")
+                    .build();
+                INSTRUMENTS.put(runtime, counter);
+            }
+            return counter;
+        }
+    }
+}
@@ -50,6 +50,7 @@ import java.net.URISyntaxException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -74,6 +75,11 @@ public class AgentsFlexHttpClient {
      */
     private static final AgentsFlexHttpClient INSTANCE = new AgentsFlexHttpClient();
 
+    /**
+     * profile 客户端对应的 AgentsFlexHttpClient 缓存，与 OkHttpClientUtil 的 profile 缓存一一对应。
+     */
+    private static final Map<OkHttpClient, AgentsFlexHttpClient> PROFILE_CLIENTS = new ConcurrentHashMap<>();
+
     /**
      * runtime 到 HTTP 埋点 instrument 的弱键缓存。
      * 一个 runtime 对应一组 instrument，弱键避免动态下线的 Route 被静态缓存永久持有。
@@ -129,6 +135,17 @@ public class AgentsFlexHttpClient {
         return INSTANCE;
     }
 
+    /**
+     * 获取 profile 对应的共享客户端；profile 为空时返回默认客户端。
+     */
+    public static AgentsFlexHttpClient forProfile(HttpClientProfile profile) {
+        if (profile == null) {
+            return INSTANCE;
+        }
+        OkHttpClient okHttpClient = OkHttpClientUtil.buildClient(profile);
+        return PROFILE_CLIENTS.computeIfAbsent(okHttpClient, AgentsFlexHttpClient::new);
+    }
+
     public AgentsFlexHttpClient() {
         this(OkHttpClientUtil.buildDefaultClient());
     }
@@ -16,6 +16,7 @@
 package com.agentsflex.core.model.client;
 
 import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.AiMessageAccumulator;
 import com.agentsflex.core.model.chat.ChatContext;
 import com.agentsflex.core.model.chat.ChatContextHolder;
 import com.agentsflex.core.model.chat.ChatModel;
@@ -34,7 +35,8 @@ public class BaseStreamClientListener implements StreamClientListener {
     private final ChatContext chatContext;
     private final AiMessageParser<JSONObject> messageParser;
     private final StreamContext context;
-    private final AiMessage fullMessage = new AiMessage();
+    // 缓冲区累计正文、推理内容和工具参数，避免每个分片都复制已累计的完整内容
+    private final AiMessageAccumulator accumulator = new AiMessageAccumulator();
     private final AtomicBoolean finishedFlag = new AtomicBoolean(false);
     private final AtomicBoolean stoppedFlag = new AtomicBoolean(false);
     private final AtomicBoolean isFailure = new AtomicBoolean(false);
@@ -74,12 +76,11 @@ public class BaseStreamClientListener implements StreamClientListener {
             JSONObject jsonObject = JSON.parseObject(response);
             AiMessage delta = messageParser.parse(jsonObject, chatContext);
 
-            //合并 增量 delta 到 fullMessage
-            fullMessage.merge(delta);
+            //合并 增量 delta 到累计缓冲区
+            accumulator.append(delta);
 
-            // 设置 delta 全内容
-            delta.setFullContent(fullMessage.getContent());
-            delta.setFullReasoningContent(fullMessage.getReasoningContent());
+            // 设置 delta 全内容，读取时才生成字符串
+            accumulator.applyFullContent(delta);
 
             //输出内容
             AiMessageResponse resp = new AiMessageResponse(chatContext, response, delta);
@@ -94,7 +95,7 @@ public class BaseStreamClientListener implements StreamClientListener {
 
     private void notifyLastMessage(String response) {
         if (finishedFlag.compareAndSet(false, true)) {
-            finalizeFullMessage();
+            AiMessage fullMessage = finalizeFullMessage();
             AiMessageResponse resp = new AiMessageResponse(chatContext, response, fullMessage);
             streamResponseListener.onMessage(context, resp);
         }
@@ -130,7 +131,8 @@ public class BaseStreamClientListener implements StreamClientListener {
         }
     }
 
-    private void finalizeFullMessage() {
+    private AiMessage finalizeFullMessage() {
+        AiMessage fullMessage = accumulator.toMessage();
         String currentContent = fullMessage.getContent();
         String currentReasoningContent = fullMessage.getReasoningContent();
 
@@ -143,6 +145,7 @@ public class BaseStreamClientListener implements StreamClientListener {
         fullMessage.setFinished(true);
 
         context.setFullMessage(fullMessage);
+        return fullMessage;
     }
 
 
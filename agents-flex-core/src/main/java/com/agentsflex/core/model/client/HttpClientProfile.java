@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.client;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * 按模型服务端点划分的 OkHttp 客户端配置。
+ * <p>
+ * 默认客户端由全部模型共享，连接池和 {@code Dispatcher} 也随之共享（默认每个主机最多 5 个并发请求）。
+ * 为某个模型配置 profile 后，会为其创建独立的连接池和 Dispatcher，并继承默认客户端的超时、代理和拦截器。
+ * 配置值相同的 profile 复用同一个客户端；name 同时作为连接池与 Dispatcher 指标的 profile 属性。
+ * <p>
+ * 本地网关（如 vLLM、Ollama 前置的明文 HTTP/2 代理）可以开启 {@link #setH2cPriorKnowledge(boolean)}，
+ * 以明文 HTTP/2 在少量连接上复用大量流式请求。
+ */
+public class HttpClientProfile implements Serializable {
+
+    private String name;
+    // 连接池最多保留的空闲连接数
+    private int maxIdleConnections = 32;
+    private long keepAliveMinutes = 5;
+    // Dispatcher 全局并发上限，只约束异步请求（流式请求使用异步方式）
+    private int maxRequests = 256;
+    // Dispatcher 每个主机的并发上限，HTTP/1.1 下同时决定单主机的连接数
+    private int maxRequestsPerHost = 64;
+    // 是否允许通过 ALPN 协商 HTTP/2，关闭后只使用 HTTP/1.1
+    private boolean http2Enabled = true;
+    // 是否以明文 HTTP/2（h2c prior knowledge）连接，只适用于 http:// 端点
+    private boolean h2cPriorKnowledge = false;
+    // HTTP/2 连接保活 ping 间隔，0 表示不发送
+    private int pingIntervalSeconds = 0;
+
+    public HttpClientProfile() {
+    }
+
+    public HttpClientProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 创建适用于本地明文 HTTP/2 网关的 profile。
+     *
+     * @param name profile 名称
+     * @return 开启 h2c prior knowledge 的 profile
+     */
+    public static HttpClientProfile localGateway(String name) {
+        HttpClientProfile profile = new HttpClientProfile(name);
+        profile.setH2cPriorKnowledge(true);
+        return profile;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveMinutes() {
+        return keepAliveMinutes;
+    }
+
+    public void setKeepAliveMinutes(long keepAliveMinutes) {
+        this.keepAliveMinutes = keepAliveMinutes;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public boolean isH2cPriorKnowledge() {
+        return h2cPriorKnowledge;
+    }
+
+    public void setH2cPriorKnowledge(boolean h2cPriorKnowledge) {
+        this.h2cPriorKnowledge = h2cPriorKnowledge;
+    }
+
+    public int getPingIntervalSeconds() {
+        return pingIntervalSeconds;
+    }
+
+    public void setPingIntervalSeconds(int pingIntervalSeconds) {
+        this.pingIntervalSeconds = pingIntervalSeconds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HttpClientProfile)) return false;
+        HttpClientProfile that = (HttpClientProfile) o;
+        return maxIdleConnections == that.maxIdleConnections
+            && keepAliveMinutes == that.keepAliveMinutes
+            && maxRequests == that.maxRequests
+            && maxRequestsPerHost == that.maxRequestsPerHost
+            && http2Enabled == that.http2Enabled
+            && h2cPriorKnowledge == that.h2cPriorKnowledge
+            && pingIntervalSeconds == that.pingIntervalSeconds
+            && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, maxIdleConnections, keepAliveMinutes, maxRequests, maxRequestsPerHost,
+            http2Enabled, h2cPriorKnowledge, pingIntervalSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientProfile{" +
+            "name='" + name + '\'' +
+            ", maxIdleConnections=" + maxIdleConnections +
+            ", keepAliveMinutes=" + keepAliveMinutes +
+            ", maxRequests=" + maxRequests +
+            ", maxRequestsPerHost=" + maxRequestsPerHost +
+            ", http2Enabled=" + http2Enabled +
+            ", h2cPriorKnowledge=" + h2cPriorKnowledge +
+            ", pingIntervalSeconds=" + pingIntervalSeconds +
+            '}';
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.client;
+
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OkHttp 连接池与 Dispatcher 的饱和度指标。
+ *
+ * <p>每个 profile 的客户端登记后，会在每个 {@link ObservabilityRuntime} 上注册一次异步 Gauge，
+ * 采集时读取连接池和 Dispatcher 的当前状态，不在请求路径上产生额外开销。</p>
+ */
+final class OkHttpClientMetrics {
+
+    private static final AttributeKey<String> PROFILE = AttributeKey.stringKey("agentsflex.http.client.profile");
+    private static final AttributeKey<String> STATE = AttributeKey.stringKey("state");
+
+    /**
+     * 指标名称到客户端的登记表；同名但配置不同的 profile 会以 {@code name#2}、{@code name#3} 等名称区分。
+     */
+    private static final Map<String, OkHttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * 已注册 Gauge 的 runtime，弱键避免动态下线的 Route 被静态缓存永久持有。
+     */
+    private static final Map<ObservabilityRuntime, Boolean> REGISTERED = new WeakHashMap<>();
+
+    private OkHttpClientMetrics() {
+    }
+
+    /**
+     * 登记需要导出指标的客户端，并确保当前 runtime 已注册 Gauge。
+     *
+     * @return 实际用于指标标签的名称；名称已被其他客户端占用时追加 {@code #序号}
+     */
+    static String track(String profile, OkHttpClient client) {
+        String name = profile;
+        for (int i = 2; ; i++) {
+            OkHttpClient existing = CLIENTS.putIfAbsent(name, client);
+            if (existing == null || existing == client) {
+                break;
+            }
+            name = profile + "#" + i;
+        }
+        ensureRegistered();
+        return name;
+    }
+
+    /**
+     * 可观测开启时，为当前 runtime 注册一次连接池与 Dispatcher Gauge。
+     */
+    static void ensureRegistered() {
+        if (!Observability.isEnabled()) {
+            return;
+        }
+        ObservabilityRuntime runtime = Observability.currentRuntime();
+        synchronized (REGISTERED) {
+            if (REGISTERED.containsKey(runtime)) {
+                return;
+            }
+            REGISTERED.put(runtime, Boolean.TRUE);
+        }
+        Meter meter = runtime.getMeter();
+        meter.gaugeBuilder("agentsflex.http.client.connections")
+            .setDescription("Number of pooled HTTP client connections by state")
+            .ofLongs()
+            .buildWithCallback(OkHttpClientMetrics::recordConnections);
+        meter.gaugeBuilder("agentsflex.http.client.dispatcher.running")
+            .setDescription("Number of HTTP client calls currently running")
+            .ofLongs()
+            .buildWithCallback(measurement -> recordDispatcher(measurement, true));
+        meter.gaugeBuilder("agentsflex.http.client.dispatcher.queued")
+            .setDescription("Number of asynchronous HTTP client calls waiting for a dispatcher slot")
+            .ofLongs()
+            .buildWithCallback(measurement -> recordDispatcher(measurement, false));
+        meter.gaugeBuilder("agentsflex.http.client.dispatcher.max_requests_per_host")
+            .setDescription("Configured per-host concurrency limit of the HTTP client dispatcher")
+            .ofLongs()
+            .buildWithCallback(OkHttpClientMetrics::recordLimits);
+    }
+
+    private static void recordConnections(ObservableLongMeasurement measurement) {
+        for (Map.Entry<String, OkHttpClient> entry : CLIENTS.entrySet()) {
+            ConnectionPool pool = entry.getValue().connectionPool();
+            int idle = pool.idleConnectionCount();
+            int total = pool.connectionCount();
+            measurement.record(idle, Attributes.of(PROFILE, entry.getKey(), STATE, "idle"));
+            measurement.record(Math.max(0, total - idle), Attributes.of(PROFILE, entry.getKey(), STATE, "active"));
+        }
+    }
+
+    private static void recordDispatcher(ObservableLongMeasurement measurement, boolean running) {
+        for (Map.Entry<String, OkHttpClient> entry : CLIENTS.entrySet()) {
+            Dispatcher dispatcher = entry.getValue().dispatcher();
+            int value = running ? dispatcher.runningCallsCount() : dispatcher.queuedCallsCount();
+            measurement.record(value, Attributes.of(PROFILE, entry.getKey()));
+        }
+    }
+
+    private static void recordLimits(ObservableLongMeasurement measurement) {
+        for (Map.Entry<String, OkHttpClient> entry : CLIENTS.entrySet()) {
+            measurement.record(entry.getValue().dispatcher().getMaxRequestsPerHost(),
+                Attributes.of(PROFILE, entry.getKey()));
+        }
+    }
+}
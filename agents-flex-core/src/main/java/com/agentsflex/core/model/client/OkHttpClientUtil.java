@@ -23,6 +23,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class OkHttpClientUtil {
@@ -38,6 +42,9 @@ public class OkHttpClientUtil {
     private static volatile OkHttpClient defaultClient;
     private static volatile OkHttpClient.Builder customBuilder;
 
+    // 按 profile 配置缓存的独立客户端，配置相同的 profile 共享连接池和 Dispatcher
+    private static final Map<HttpClientProfile, OkHttpClient> PROFILE_CLIENTS = new ConcurrentHashMap<>();
+
     public static void setOkHttpClientBuilder(OkHttpClient.Builder builder) {
         if (defaultClient != null) {
             throw new IllegalStateException("OkHttpClient has already been initialized. " +
@@ -54,16 +61,81 @@ public class OkHttpClientUtil {
                         ? customBuilder
                         : createDefaultBuilder();
                     defaultClient = builder.build();
+                    OkHttpClientMetrics.track("default", defaultClient);
                     log.debug("OkHttpClient initialized with config: connectTimeout={}s, readTimeout={}s, writeTimeout={}s, " +
-                            "connectionPool(maxIdle={}, keepAlive={}min)",
+                            "connectionPool(maxIdle={}, keepAlive={}min), dispatcher(maxRequests={}, maxRequestsPerHost={})",
                         getConnectTimeout(), getReadTimeout(), getWriteTimeout(),
-                        getMaxIdleConnections(), getKeepAliveMinutes());
+                        getMaxIdleConnections(), getKeepAliveMinutes(),
+                        defaultClient.dispatcher().getMaxRequests(), defaultClient.dispatcher().getMaxRequestsPerHost());
                 }
             }
         }
         return defaultClient;
     }
 
+    /**
+     * 获取 profile 对应的客户端；profile 为空时返回默认客户端。
+     * <p>
+     * profile 客户端继承默认客户端的超时、代理和拦截器，但使用独立的连接池和 Dispatcher，
+     * 使不同模型服务端点的并发互不挤占。
+     */
+    public static OkHttpClient buildClient(HttpClientProfile profile) {
+        if (profile == null) {
+            return buildDefaultClient();
+        }
+        OkHttpClient client = PROFILE_CLIENTS.get(profile);
+        if (client == null) {
+            // profile 是可变对象，缓存键使用副本，避免调用方后续修改导致缓存错乱
+            HttpClientProfile key = copyOf(profile);
+            client = PROFILE_CLIENTS.computeIfAbsent(key, OkHttpClientUtil::createProfileClient);
+        }
+        OkHttpClientMetrics.ensureRegistered();
+        return client;
+    }
+
+    private static OkHttpClient createProfileClient(HttpClientProfile profile) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(1, profile.getMaxRequests()));
+        dispatcher.setMaxRequestsPerHost(Math.max(1, profile.getMaxRequestsPerHost()));
+
+        OkHttpClient.Builder builder = buildDefaultClient().newBuilder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(Math.max(0, profile.getMaxIdleConnections()),
+                profile.getKeepAliveMinutes(), TimeUnit.MINUTES));
+        if (profile.isH2cPriorKnowledge()) {
+            builder.protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        } else if (profile.isHttp2Enabled()) {
+            builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+        if (profile.getPingIntervalSeconds() > 0) {
+            builder.pingInterval(profile.getPingIntervalSeconds(), TimeUnit.SECONDS);
+        }
+
+        OkHttpClient client = builder.build();
+        String name = StringUtil.hasText(profile.getName()) ? profile.getName() : "profile-" + profile.hashCode();
+        String metricName = OkHttpClientMetrics.track(name, client);
+        if (!metricName.equals(name)) {
+            log.warn("HttpClientProfile name '{}' is shared by profiles with different settings; " +
+                "exporting metrics of {} as '{}'", name, profile, metricName);
+        }
+        log.debug("OkHttpClient profile initialized: {}", profile);
+        return client;
+    }
+
+    private static HttpClientProfile copyOf(HttpClientProfile profile) {
+        HttpClientProfile copy = new HttpClientProfile(profile.getName());
+        copy.setMaxIdleConnections(profile.getMaxIdleConnections());
+        copy.setKeepAliveMinutes(profile.getKeepAliveMinutes());
+        copy.setMaxRequests(profile.getMaxRequests());
+        copy.setMaxRequestsPerHost(profile.getMaxRequestsPerHost());
+        copy.setHttp2Enabled(profile.isHttp2Enabled());
+        copy.setH2cPriorKnowledge(profile.isH2cPriorKnowledge());
+        copy.setPingIntervalSeconds(profile.getPingIntervalSeconds());
+        return copy;
+    }
+
     private static OkHttpClient.Builder createDefaultBuilder() {
         OkHttpClient.Builder builder = new OkHttpClient.Builder()
             .connectTimeout(getConnectTimeout(), TimeUnit.SECONDS)
@@ -71,6 +143,11 @@ public class OkHttpClientUtil {
             .writeTimeout(getWriteTimeout(), TimeUnit.SECONDS)
             .connectionPool(new ConnectionPool(getMaxIdleConnections(), getKeepAliveMinutes(), TimeUnit.MINUTES));
 
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(getDispatcherMaxRequests());
+        dispatcher.setMaxRequestsPerHost(getDispatcherMaxRequestsPerHost());
+        builder.dispatcher(dispatcher);
+
         configureProxy(builder);
         return builder;
     }
@@ -97,6 +174,14 @@ public class OkHttpClientUtil {
         return getLongConfig("connectionPool.keepAliveMinutes", "CONNECTION_POOL_KEEP_ALIVE_MINUTES", 10);
     }
 
+    private static int getDispatcherMaxRequests() {
+        return Math.max(1, getIntConfig("dispatcher.maxRequests", "DISPATCHER_MAX_REQUESTS", 64));
+    }
+
+    private static int getDispatcherMaxRequestsPerHost() {
+        return Math.max(1, getIntConfig("dispatcher.maxRequestsPerHost", "DISPATCHER_MAX_REQUESTS_PER_HOST", 5));
+    }
+
     private static String getProxyHost() {
         String host = getPropertyOrEnv("proxy.host", "PROXY_HOST", null);
         if (StringUtil.hasText(host)) return host.trim();
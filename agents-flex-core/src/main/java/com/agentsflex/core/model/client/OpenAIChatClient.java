@@ -47,7 +47,7 @@ public class OpenAIChatClient extends ChatClient {
 
     public AgentsFlexHttpClient getHttpClient() {
         if (agentsFlexHttpClient == null) {
-            agentsFlexHttpClient = AgentsFlexHttpClient.getDefault();
+            agentsFlexHttpClient = AgentsFlexHttpClient.forProfile(chatModel.getConfig().getHttpClientProfile());
         }
         return agentsFlexHttpClient;
     }
@@ -57,8 +57,9 @@ public class OpenAIChatClient extends ChatClient {
     }
 
     public StreamClient getStreamClient() {
-        // SseClient 默认实现是每次请求需要新建一个 SseClient 对象，方便进行 stop 调用
-        return new SseClient();
+        // SseClient 默认实现是每次请求需要新建一个 SseClient 对象，方便进行 stop 调用；
+        // 配置了 HttpClientProfile 时复用该 profile 的连接池和 Dispatcher
+        return new SseClient(OkHttpClientUtil.buildClient(chatModel.getConfig().getHttpClientProfile()));
     }
 
 
@@ -15,6 +15,8 @@
  */
 package com.agentsflex.core.model.config;
 
+import com.agentsflex.core.model.client.HttpClientProfile;
+
 import java.io.Serializable;
 import java.util.*;
 
@@ -29,6 +31,9 @@ public class BaseModelConfig implements Serializable {
 
     protected Map<String, Object> customProperties;
 
+    // 为该模型端点使用独立的连接池和 Dispatcher，为空时使用全局共享客户端
+    protected HttpClientProfile httpClientProfile;
+
 
     public String getProvider() {
         return provider;
@@ -77,6 +82,14 @@ public class BaseModelConfig implements Serializable {
         this.apiKey = apiKey;
     }
 
+    public HttpClientProfile getHttpClientProfile() {
+        return httpClientProfile;
+    }
+
+    public void setHttpClientProfile(HttpClientProfile httpClientProfile) {
+        this.httpClientProfile = httpClientProfile;
+    }
+
     // ---------- Custom Properties ----------
 
     public Map<String, Object> getCustomProperties() {
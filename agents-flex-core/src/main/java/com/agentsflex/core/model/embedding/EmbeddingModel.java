@@ -19,6 +19,10 @@ import com.agentsflex.core.document.Document;
 import com.agentsflex.core.model.exception.ModelException;
 import com.agentsflex.core.store.VectorData;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public interface EmbeddingModel {
 
     default VectorData embed(String text) {
@@ -31,6 +35,31 @@ public interface EmbeddingModel {
 
     VectorData embed(Document document, EmbeddingOptions options);
 
+    default List<VectorData> embedAll(List<Document> documents) {
+        return embedAll(documents, EmbeddingOptions.DEFAULT);
+    }
+
+    /**
+     * 批量生成向量。
+     *
+     * <p>返回列表与入参一一对应，顺序一致。默认实现逐条调用 {@link #embed(Document, EmbeddingOptions)}，
+     * 支持数组 {@code input} 的模型应覆盖本方法，在一次请求中完成整批向量化。</p>
+     *
+     * @param documents 待向量化的文档
+     * @param options   嵌入选项
+     * @return 与 documents 等长的向量列表
+     */
+    default List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<VectorData> result = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            result.add(embed(document, options));
+        }
+        return result;
+    }
+
     default int dimensions() {
         VectorData vectorData = embed(Document.of("agents-flex"));
         if (vectorData == null) {
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.model.exception.ModelException;
+import com.agentsflex.core.store.VectorData;
+import com.agentsflex.core.util.JSONUtil;
+import com.agentsflex.core.util.Maps;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * OpenAI 兼容 Embeddings 接口（{@code /v1/embeddings}）的请求体构建与批量响应解析。
+ */
+public final class OpenAICompatibleEmbeddings {
+
+    private OpenAICompatibleEmbeddings() {
+    }
+
+    /**
+     * 按顺序提取文档内容，作为批量请求的 input 数组。
+     */
+    public static List<String> toInputs(List<Document> documents) {
+        List<String> inputs = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            inputs.add(document.getContent());
+        }
+        return inputs;
+    }
+
+    /**
+     * 构建请求体，input 可以是单条文本或文本列表。
+     *
+     * @param input        单条文本或 {@link #toInputs(List)} 的结果
+     * @param options      调用级参数
+     * @param defaultModel options 未指定模型时使用的模型名
+     */
+    public static String toPayload(Object input, EmbeddingOptions options, String defaultModel) {
+        return Maps.of("model", options.getModelOrDefault(defaultModel))
+            .set("encoding_format", options.getEncodingFormatOrDefault("float"))
+            .set("input", input)
+            .setIfNotEmpty("user", options.getUser())
+            .setIfNotEmpty("dimensions", options.getDimensions())
+            .toJSON();
+    }
+
+    /**
+     * 按 data[].index 把批量响应还原为输入顺序。
+     *
+     * <p>响应不保证按输入顺序返回；条目缺少 index 时按其在 data 中的位置对应。index 越界、重复，
+     * 或条数与输入不一致时抛出 {@link ModelException}，避免向量与文档错位。</p>
+     *
+     * @param response 接口响应
+     * @param expected 输入文档数
+     */
+    public static List<VectorData> readVectors(JSONObject response, int expected) {
+        JSONArray data = response.getJSONArray("data");
+        if (data == null || data.size() != expected) {
+            throw new ModelException("Embedding response size mismatch, expected " + expected
+                + " but got " + (data == null ? 0 : data.size()));
+        }
+
+        VectorData[] vectors = new VectorData[expected];
+        for (int i = 0; i < data.size(); i++) {
+            JSONObject item = data.getJSONObject(i);
+            Integer index = item.getInteger("index");
+            int position = index == null ? i : index;
+            if (position < 0 || position >= expected) {
+                throw new ModelException("Embedding response index " + position + " is out of range [0, "
+                    + expected + ")");
+            }
+            if (vectors[position] != null) {
+                throw new ModelException("Embedding response contains duplicate index " + position);
+            }
+            VectorData vectorData = new VectorData();
+            vectorData.setVector(JSONUtil.readFloatArray(item, "$.embedding"));
+            vectors[position] = vectorData;
+        }
+        return Arrays.asList(vectors);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.model.config.BaseModelConfig;
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityAttributeKeys;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import com.agentsflex.core.store.VectorData;
+import com.agentsflex.core.util.HashUtil;
+import com.agentsflex.core.util.SingleFlight;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * 合并并发重复嵌入请求的 {@link EmbeddingModel} 装饰器（single-flight）。
+ *
+ * <p>同一时刻模型、维度、编码格式、user 与文本内容都相同的请求只调用一次底层模型，其余调用方等待
+ * 并得到向量副本。{@link #embedAll(List, EmbeddingOptions)} 以整批内容为键合并。请求结束后不保留结果，
+ * 需要跨时间复用向量时可与 {@link com.agentsflex.core.model.embedding.cache.CachingEmbeddingModel}
+ * 组合使用（缓存在外层，本装饰器在内层）。</p>
+ *
+ * <p>合并次数可通过 {@link #getCoalescedCount()} 读取，也会在 {@link Observability#isEnabled()} 时以
+ * {@code agentsflex.embedding.singleflight.coalesced.count} 指标导出。</p>
+ */
+public class SingleFlightEmbeddingModel implements EmbeddingModel {
+
+    /**
+     * runtime 到合并指标 instrument 的弱键缓存，与模型拦截器保持相同策略。
+     */
+    private static final Map<ObservabilityRuntime, LongCounter> INSTRUMENTS = new WeakHashMap<>();
+
+    private final EmbeddingModel delegate;
+    private final SingleFlight<String, VectorData> embedFlight = new SingleFlight<>();
+    private final SingleFlight<String, List<VectorData>> batchFlight = new SingleFlight<>();
+
+    /** 未在 {@link EmbeddingOptions} 中指定模型时用于生成请求键的模型名。 */
+    private String defaultModel;
+
+    public SingleFlightEmbeddingModel(EmbeddingModel delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (delegate instanceof BaseEmbeddingModel) {
+            BaseModelConfig config = ((BaseEmbeddingModel<?>) delegate).getConfig();
+            this.defaultModel = config == null ? null : config.getModel();
+        }
+    }
+
+    @Override
+    public VectorData embed(Document document, EmbeddingOptions options) {
+        String model = modelOf(options);
+        String key = requestKey(Collections.singletonList(document), options);
+        return embedFlight.execute(key, () -> delegate.embed(document, options), shared -> {
+            record(model);
+            return copy(shared);
+        });
+    }
+
+    @Override
+    public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String model = modelOf(options);
+        String key = requestKey(documents, options);
+        return batchFlight.execute(key, () -> delegate.embedAll(documents, options), shared -> {
+            record(model);
+            if (shared == null) {
+                return null;
+            }
+            List<VectorData> result = new ArrayList<>(shared.size());
+            for (VectorData vectorData : shared) {
+                result.add(copy(vectorData));
+            }
+            return result;
+        });
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+
+    public String getDefaultModel() {
+        return defaultModel;
+    }
+
+    public void setDefaultModel(String defaultModel) {
+        this.defaultModel = defaultModel;
+    }
+
+    /** 实际调用底层模型的次数。 */
+    public long getExecutionCount() {
+        return embedFlight.getExecutionCount() + batchFlight.getExecutionCount();
+    }
+
+    /** 合并到在途请求上的次数。 */
+    public long getCoalescedCount() {
+        return embedFlight.getCoalescedCount() + batchFlight.getCoalescedCount();
+    }
+
+    /**
+     * 计算请求键。会影响向量结果或计费归属的选项都参与哈希，内容以长度前缀分隔，避免拼接歧义。
+     */
+    protected String requestKey(List<Document> documents, EmbeddingOptions options) {
+        StringBuilder source = new StringBuilder(128);
+        source.append(modelOf(options)).append('\n');
+        if (options != null) {
+            source.append(options.getDimensions()).append('\n');
+            source.append(options.getEncodingFormat()).append('\n');
+            source.append(options.getUser()).append('\n');
+        } else {
+            source.append("null\nnull\nnull\n");
+        }
+        for (Document document : documents) {
+            String content = document == null ? null : document.getContent();
+            if (content == null) {
+                source.append("-1:\n");
+            } else {
+                source.append(content.length()).append(':').append(content).append('\n');
+            }
+        }
+        return HashUtil.sha256(source.toString());
+    }
+
+    private String modelOf(EmbeddingOptions options) {
+        String model = options == null ? defaultModel : options.getModelOrDefault(defaultModel);
+        return model == null ? "unknown" : model;
+    }
+
+    private static VectorData copy(VectorData shared) {
+        if (shared == null) {
+            return null;
+        }
+        VectorData vectorData = new VectorData();
+        vectorData.setVector(shared.getVector() == null ? null : shared.getVector().clone());
+        vectorData.setScore(shared.getScore());
+        if (!shared.isMetadataEmpty()) {
+            vectorData.putMetadata(shared.getMetadataMap());
+        }
+        return vectorData;
+    }
+
+    private static void record(String model) {
+        if (!Observability.isEnabled()) {
+            return;
+        }
+        counter().add(1, Attributes.of(ObservabilityAttributeKeys.GEN_AI_REQUEST_MODEL, model));
+    }
+
+    private static LongCounter counter() {
+        ObservabilityRuntime runtime = Observability.currentRuntime();
+        synchronized (INSTRUMENTS) {
+            LongCounter counter = INSTRUMENTS.get(runtime);
+            if (counter == null) {
+                counter = runtime.getMeter().counterBuilder("agentsflex.embedding.singleflight.coalesced.count")
+                    .setDescription("Total number of embedding requests coalesced onto an in-flight call")
+                    .build();
+                INSTRUMENTS.put(runtime, counter);
+            }
+            return counter;
+        }
+    }
+}
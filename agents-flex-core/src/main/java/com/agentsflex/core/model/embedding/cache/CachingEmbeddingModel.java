@@ -0,0 +1,303 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding.cache;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.model.config.BaseModelConfig;
+import com.agentsflex.core.model.embedding.BaseEmbeddingModel;
+import com.agentsflex.core.model.embedding.EmbeddingModel;
+import com.agentsflex.core.model.embedding.EmbeddingOptions;
+import com.agentsflex.core.model.exception.ModelException;
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityAttributeKeys;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import com.agentsflex.core.store.VectorData;
+import com.agentsflex.core.util.HashUtil;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 为任意 {@link EmbeddingModel} 增加内容哈希缓存的装饰器。
+ *
+ * <p>缓存键由模型名、向量维度、编码格式和文本内容的 SHA-256 组成，文本未变化时直接复用向量，
+ * 重新导入只做了少量修改的知识库时无需重复调用嵌入服务。查找顺序为进程内缓存、持久化缓存，
+ * 持久化缓存命中的结果会回填到进程内缓存。</p>
+ *
+ * <p>命中与未命中次数既可以通过 {@link #getHitCount()} 等方法读取，也会在
+ * {@link Observability#isEnabled()} 时以 {@code agentsflex.embedding.cache.hit.count}、
+ * {@code agentsflex.embedding.cache.miss.count} 指标导出。</p>
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private static final AttributeKey<String> TIER = AttributeKey.stringKey("agentsflex.cache.tier");
+
+    /**
+     * runtime 到缓存指标 instrument 的弱键缓存，与模型拦截器保持相同策略。
+     */
+    private static final Map<ObservabilityRuntime, Instruments> INSTRUMENTS = new WeakHashMap<>();
+
+    private final EmbeddingModel delegate;
+    private final EmbeddingCache memoryCache;
+    private final EmbeddingCache persistentCache;
+
+    /** 未在 {@link EmbeddingOptions} 中指定模型时用于生成缓存键的模型名。 */
+    private String defaultModel;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** 使用容量为 10000 的进程内缓存包装模型。 */
+    public CachingEmbeddingModel(EmbeddingModel delegate) {
+        this(delegate, new InMemoryEmbeddingCache(10000), null);
+    }
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCache memoryCache) {
+        this(delegate, memoryCache, null);
+    }
+
+    /**
+     * @param delegate        实际的嵌入模型
+     * @param memoryCache     进程内缓存，可以为空
+     * @param persistentCache 持久化缓存，可以为空
+     */
+    public CachingEmbeddingModel(EmbeddingModel delegate, EmbeddingCache memoryCache, EmbeddingCache persistentCache) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.memoryCache = memoryCache;
+        this.persistentCache = persistentCache;
+        if (delegate instanceof BaseEmbeddingModel) {
+            BaseModelConfig config = ((BaseEmbeddingModel<?>) delegate).getConfig();
+            this.defaultModel = config == null ? null : config.getModel();
+        }
+    }
+
+    @Override
+    public VectorData embed(Document document, EmbeddingOptions options) {
+        String key = cacheKey(document, options);
+        float[] vector = lookup(key, modelOf(options));
+        if (vector != null) {
+            return toVectorData(vector);
+        }
+
+        VectorData vectorData = delegate.embed(document, options);
+        if (vectorData != null && vectorData.getVector() != null) {
+            save(key, vectorData.getVector());
+        }
+        return vectorData;
+    }
+
+    @Override
+    public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String model = modelOf(options);
+        List<VectorData> result = new ArrayList<>(Collections.nCopies(documents.size(), (VectorData) null));
+        List<Document> missedDocuments = new ArrayList<>();
+        List<Integer> missedIndexes = new ArrayList<>();
+        List<String> missedKeys = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            String key = cacheKey(document, options);
+            float[] vector = lookup(key, model);
+            if (vector != null) {
+                result.set(i, toVectorData(vector));
+            } else {
+                missedDocuments.add(document);
+                missedIndexes.add(i);
+                missedKeys.add(key);
+            }
+        }
+
+        if (missedDocuments.isEmpty()) {
+            return result;
+        }
+
+        List<VectorData> embedded = delegate.embedAll(missedDocuments, options);
+        int embeddedSize = embedded == null ? 0 : embedded.size();
+        if (embeddedSize != missedDocuments.size()) {
+            throw new ModelException("Embedding model returned " + embeddedSize + " vectors for "
+                + missedDocuments.size() + " documents, can not align the batch result with its inputs.");
+        }
+        for (int i = 0; i < missedIndexes.size(); i++) {
+            VectorData vectorData = embedded.get(i);
+            result.set(missedIndexes.get(i), vectorData);
+            if (vectorData != null && vectorData.getVector() != null) {
+                save(missedKeys.get(i), vectorData.getVector());
+            }
+        }
+        return result;
+    }
+
+    /** 清空两级缓存，不重置计数。 */
+    public void clear() {
+        if (memoryCache != null) {
+            memoryCache.clear();
+        }
+        if (persistentCache != null) {
+            persistentCache.clear();
+        }
+    }
+
+    public EmbeddingModel getDelegate() {
+        return delegate;
+    }
+
+    public EmbeddingCache getMemoryCache() {
+        return memoryCache;
+    }
+
+    public EmbeddingCache getPersistentCache() {
+        return persistentCache;
+    }
+
+    public String getDefaultModel() {
+        return defaultModel;
+    }
+
+    public void setDefaultModel(String defaultModel) {
+        this.defaultModel = defaultModel;
+    }
+
+    public long getHitCount() {
+        return memoryHits.get() + persistentHits.get();
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    public long getPersistentHitCount() {
+        return persistentHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * 计算缓存键。模型、维度和编码格式任一不同都会产生不同的向量，因此都参与哈希。
+     */
+    protected String cacheKey(Document document, EmbeddingOptions options) {
+        String content = document.getContent();
+        StringBuilder source = new StringBuilder((content == null ? 0 : content.length()) + 64);
+        source.append(modelOf(options)).append('\n');
+        if (options != null) {
+            source.append(options.getDimensions()).append('\n');
+            source.append(options.getEncodingFormat()).append('\n');
+        } else {
+            source.append("null\nnull\n");
+        }
+        source.append(content);
+        return HashUtil.sha256(source.toString());
+    }
+
+    private String modelOf(EmbeddingOptions options) {
+        String model = options == null ? defaultModel : options.getModelOrDefault(defaultModel);
+        return model == null ? "unknown" : model;
+    }
+
+    private float[] lookup(String key, String model) {
+        if (memoryCache != null) {
+            float[] vector = memoryCache.get(key);
+            if (vector != null) {
+                memoryHits.incrementAndGet();
+                record(true, "memory", model);
+                return vector;
+            }
+        }
+        if (persistentCache != null) {
+            float[] vector = persistentCache.get(key);
+            if (vector != null) {
+                persistentHits.incrementAndGet();
+                record(true, "persistent", model);
+                if (memoryCache != null) {
+                    memoryCache.put(key, vector);
+                }
+                return vector;
+            }
+        }
+        misses.incrementAndGet();
+        record(false, null, model);
+        return null;
+    }
+
+    private void save(String key, float[] vector) {
+        // 缓存持有独立副本，避免调用方后续修改返回的向量影响缓存内容。
+        float[] copy = vector.clone();
+        if (memoryCache != null) {
+            memoryCache.put(key, copy);
+        }
+        if (persistentCache != null) {
+            persistentCache.put(key, copy);
+        }
+    }
+
+    private static VectorData toVectorData(float[] vector) {
+        VectorData vectorData = new VectorData();
+        vectorData.setVector(vector.clone());
+        return vectorData;
+    }
+
+    private static void record(boolean hit, String tier, String model) {
+        if (!Observability.isEnabled()) {
+            return;
+        }
+        Instruments instruments = instruments();
+        if (hit) {
+            instruments.hitCount.add(1, Attributes.of(ObservabilityAttributeKeys.GEN_AI_REQUEST_MODEL, model, TIER, tier));
+        } else {
+            instruments.missCount.add(1, Attributes.of(ObservabilityAttributeKeys.GEN_AI_REQUEST_MODEL, model));
+        }
+    }
+
+    private static Instruments instruments() {
+        ObservabilityRuntime runtime = Observability.currentRuntime();
+        synchronized (INSTRUMENTS) {
+            Instruments instruments = INSTRUMENTS.get(runtime);
+            if (instruments == null) {
+                instruments = new Instruments(runtime.getMeter());
+                INSTRUMENTS.put(runtime, instruments);
+            }
+            return instruments;
+        }
+    }
+
+    private static final class Instruments {
+        private final LongCounter hitCount;
+        private final LongCounter missCount;
+
+        private Instruments(Meter meter) {
+            this.hitCount = meter.counterBuilder("agentsflex.embedding.cache.hit.count")
+                .setDescription("Total number of embedding cache hits")
+                .build();
+            this.missCount = meter.counterBuilder("agentsflex.embedding.cache.miss.count")
+                .setDescription("Total number of embedding cache misses")
+                .build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding.cache;
+
+/**
+ * 向量缓存 SPI。
+ *
+ * <p>键由 {@link CachingEmbeddingModel} 根据模型、维度和文本内容哈希生成，值为原始 {@code float[]}。
+ * 进程内缓存可使用 {@link InMemoryEmbeddingCache}；需要跨重启复用时，可使用 {@link FileEmbeddingCache}
+ * 或基于 JDBC、Redis 等自行实现本接口。实现必须是线程安全的。</p>
+ */
+public interface EmbeddingCache {
+
+    /**
+     * 读取缓存的向量。
+     *
+     * @param key 缓存键
+     * @return 向量；不存在或已过期时返回 {@code null}
+     */
+    float[] get(String key);
+
+    /**
+     * 写入向量。实现可以直接持有传入数组，调用方不会再修改它。
+     */
+    void put(String key, float[] vector);
+
+    /** 删除指定键。 */
+    void remove(String key);
+
+    /** 清空全部缓存。 */
+    void clear();
+}
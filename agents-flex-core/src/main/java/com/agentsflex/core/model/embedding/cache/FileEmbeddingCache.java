@@ -0,0 +1,133 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding.cache;
+
+import com.agentsflex.core.store.exception.StoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 基于本地目录的持久化向量缓存。
+ *
+ * <p>每个键对应一个文件，按键的前两个字符分目录存放，文件内容为小端序的原始 float 数组。
+ * 写入先落临时文件再原子替换，进程重启或重新索引时可直接复用。键应为十六进制哈希，
+ * 不能包含路径分隔符。</p>
+ */
+public class FileEmbeddingCache implements EmbeddingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileEmbeddingCache.class);
+
+    private final Path directory;
+
+    public FileEmbeddingCache(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new StoreException("Can not create embedding cache directory: " + directory, e);
+        }
+    }
+
+    @Override
+    public float[] get(String key) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(pathOf(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Failed to read embedding cache entry: {}", key, e);
+            return null;
+        }
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    @Override
+    public void put(String key, float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        Path path = pathOf(key);
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), key, ".tmp");
+            Files.write(tmp, buffer.array());
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write embedding cache entry: {}", key, e);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        try {
+            Files.deleteIfExists(pathOf(key));
+        } catch (IOException e) {
+            logger.warn("Failed to remove embedding cache entry: {}", key, e);
+        }
+    }
+
+    /** 删除目录下的全部缓存文件；删除失败的条目会汇总为 {@link StoreException} 抛出。 */
+    @Override
+    public void clear() {
+        List<Path> failed = new ArrayList<>();
+        IOException firstError = null;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> iterator = paths.sorted(Comparator.reverseOrder())
+                .filter(path -> !path.equals(directory)).iterator();
+            while (iterator.hasNext()) {
+                Path path = iterator.next();
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    failed.add(path);
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new StoreException("Can not clear embedding cache directory: " + directory, e);
+        }
+        if (!failed.isEmpty()) {
+            throw new StoreException("Can not delete " + failed.size() + " entries of embedding cache directory: "
+                + directory + ", first: " + failed.get(0), firstError);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path pathOf(String key) {
+        String bucket = key.length() > 2 ? key.substring(0, 2) : "_";
+        return directory.resolve(bucket).resolve(key + ".vec");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.model.embedding.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于访问顺序 {@link LinkedHashMap} 的进程内 LRU 向量缓存，支持可选的 TTL。
+ *
+ * <p>值直接保存为 {@code float[]}，不做装箱；超过 {@code maxSize} 时淘汰最久未访问的条目，
+ * 过期条目在读取时惰性删除。</p>
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * 创建不过期的 LRU 缓存。
+     *
+     * @param maxSize 最大条目数
+     */
+    public InMemoryEmbeddingCache(int maxSize) {
+        this(maxSize, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param maxSize 最大条目数
+     * @param ttl     存活时间；小于等于 0 表示不过期
+     * @param unit    存活时间单位
+     */
+    public InMemoryEmbeddingCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl > 0 ? unit.toMillis(ttl) : 0;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > InMemoryEmbeddingCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized float[] get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt > 0 && entry.expireAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.vector;
+    }
+
+    @Override
+    public synchronized void put(String key, float[] vector) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0;
+        entries.put(key, new Entry(vector, expireAt));
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private static final class Entry {
+        private final float[] vector;
+        private final long expireAt;
+
+        private Entry(float[] vector, long expireAt) {
+            this.vector = vector;
+            this.expireAt = expireAt;
+        }
+    }
+}
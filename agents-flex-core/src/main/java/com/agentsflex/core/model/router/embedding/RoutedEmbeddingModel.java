@@ -91,6 +91,15 @@ public class RoutedEmbeddingModel extends AbstractModelRouter<EmbeddingModel> im
         );
     }
 
+    @Override
+    public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        // 整批请求交给同一个节点，保证同一批向量来自同一模型。
+        return execute(
+            model -> model.embedAll(documents, options),
+            extractTags(options)
+        );
+    }
+
     @SuppressWarnings("unchecked")
     private Set<String> extractTags(EmbeddingOptions options) {
         if (options == null) {
@@ -15,13 +15,14 @@
  */
 package com.agentsflex.core.prompt;
 
-import com.agentsflex.core.util.MapUtil;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONPath;
 import com.alibaba.fastjson2.JSONWriter;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,7 +35,9 @@ import java.util.regex.Pattern;
  * 数据: { "user": { "name": "Alice" } }
  * 输出: "Hello Alice!"
  * <p>
- * 支持缓存模板与 JSONPath 编译结果，提升性能。
+ * 支持缓存模板与表达式编译结果，提升性能：{@link #of(String)} 使用容量有限的并发缓存，命中时无锁，
+ * 超出容量后按近似 LRU 批量淘汰；
+ * 形如 {{ a.b.c }} 的简单路径在解析时编译为逐级 Map 取值，其余表达式才交给 JSONPath。
  */
 public class PromptTemplate {
 
@@ -45,14 +48,32 @@ public class PromptTemplate {
         Pattern.compile("\\{\\{\\s*([^{}]+?)\\s*}}");
 
     /**
-     * 模板缓存（按原始模板字符串）
+     * 匹配由标识符和 . 组成的简单路径，例如 user.profile.name
      */
-    private static final Map<String, PromptTemplate> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+    private static final Pattern SIMPLE_PATH_PATTERN =
+        Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
 
     /**
-     * JSONPath 编译缓存，避免重复编译
+     * 模板缓存默认容量
      */
-    private static final Map<String, JSONPath> JSONPATH_CACHE = new ConcurrentHashMap<>();
+    public static final int DEFAULT_CACHE_CAPACITY = 1024;
+
+    private static volatile int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+
+    /**
+     * 模板缓存（按原始模板字符串）；模板内的表达式编译结果随模板一起缓存和淘汰
+     */
+    private static final ConcurrentMap<String, CacheEntry> TEMPLATE_CACHE = new ConcurrentHashMap<>(256);
+
+    /**
+     * 逻辑时钟，只在未命中时递增；命中时把条目的访问时间推进到当前时钟，同一时钟内重复命中不再写入
+     */
+    private static final AtomicLong CACHE_CLOCK = new AtomicLong();
+
+    /**
+     * 串行化淘汰，淘汰只发生在未命中路径上
+     */
+    private static final Object EVICTION_LOCK = new Object();
 
     /**
      * 原始模板字符串
@@ -84,15 +105,82 @@ public class PromptTemplate {
      */
     public static PromptTemplate of(String template) {
         String finalTemplate = template != null ? template : "";
-        return MapUtil.computeIfAbsent(TEMPLATE_CACHE, finalTemplate, k -> new PromptTemplate(finalTemplate));
+        CacheEntry cached = TEMPLATE_CACHE.get(finalTemplate);
+        if (cached != null) {
+            PromptTemplateCacheMetrics.HITS.increment();
+            cached.touch(CACHE_CLOCK.get());
+            return cached.template;
+        }
+
+        // 解析不持有任何锁，并发未命中时以先放入缓存的实例为准
+        PromptTemplateCacheMetrics.MISSES.increment();
+        PromptTemplateCacheMetrics.ensureRegistered(TEMPLATE_CACHE::size);
+        CacheEntry created = new CacheEntry(new PromptTemplate(finalTemplate), CACHE_CLOCK.incrementAndGet());
+        CacheEntry existing = TEMPLATE_CACHE.putIfAbsent(finalTemplate, created);
+        if (existing != null) {
+            return existing.template;
+        }
+        int capacity = cacheCapacity;
+        if (TEMPLATE_CACHE.size() > capacity) {
+            // 批量淘汰到容量的 3/4，分摊排序开销
+            evict(capacity - Math.max(1, capacity / 4));
+        }
+        return created.template;
     }
 
     /**
-     * 清空模板与 JSONPath 缓存
+     * 清空模板缓存
      */
     public static void clearCache() {
         TEMPLATE_CACHE.clear();
-        JSONPATH_CACHE.clear();
+    }
+
+    /**
+     * 设置模板缓存容量，缩小时立即淘汰最久未使用的模板
+     */
+    public static void setCacheCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        cacheCapacity = capacity;
+        evict(capacity);
+    }
+
+    public static int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    /**
+     * 返回模板缓存的命中、未命中、淘汰次数以及当前大小的快照。
+     * 同样的数据以 {@code agentsflex.prompt.template.cache.*} 指标导出到 OpenTelemetry。
+     */
+    public static PromptTemplateCacheStats getCacheStats() {
+        return new PromptTemplateCacheStats(PromptTemplateCacheMetrics.HITS.sum(), PromptTemplateCacheMetrics.MISSES.sum(),
+            PromptTemplateCacheMetrics.EVICTIONS.sum(), TEMPLATE_CACHE.size(), cacheCapacity);
+    }
+
+    /**
+     * 按访问时间从旧到新淘汰，直到缓存大小不超过 target
+     */
+    private static void evict(int target) {
+        synchronized (EVICTION_LOCK) {
+            if (TEMPLATE_CACHE.size() <= target) {
+                return;
+            }
+            List<EvictionCandidate> candidates = new ArrayList<>(TEMPLATE_CACHE.size());
+            for (Map.Entry<String, CacheEntry> entry : TEMPLATE_CACHE.entrySet()) {
+                candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue()));
+            }
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+            for (EvictionCandidate candidate : candidates) {
+                if (TEMPLATE_CACHE.size() <= target) {
+                    break;
+                }
+                if (TEMPLATE_CACHE.remove(candidate.key, candidate.entry)) {
+                    PromptTemplateCacheMetrics.EVICTIONS.increment();
+                }
+            }
+        }
     }
 
     public boolean isFailOnMissingVariable() {
@@ -235,8 +323,11 @@ public class PromptTemplate {
             return escapeForJsonOutput ? escapeJsonString(literal) : literal;
         }
 
-        // 尝试从 JSONPath 取值
-        Object value = getValueByJsonPath(root, pr.expression, escapeForJsonOutput);
+        // 按编译好的路径取值
+        Object value = pr.path.eval(root);
+        if (escapeForJsonOutput && value instanceof String) {
+            value = escapeJsonString((String) value);
+        }
         if (value != null) {
             return value.toString();
         }
@@ -245,23 +336,6 @@ public class PromptTemplate {
         return evaluate(pr.defaultResult, root, escapeForJsonOutput);
     }
 
-    /**
-     * 根据 JSONPath 获取对象值
-     */
-    private Object getValueByJsonPath(Map<String, Object> root, String path, boolean escapeForJsonOutput) {
-        try {
-            String fullPath = path.startsWith("$") ? path : "$." + path;
-            JSONPath compiled = MapUtil.computeIfAbsent(JSONPATH_CACHE, fullPath, JSONPath::compile);
-            Object value = compiled.eval(root);
-            if (escapeForJsonOutput && value instanceof String) {
-                return escapeJsonString((String) value);
-            }
-            return value;
-        } catch (Exception ignored) {
-            return null;
-        }
-    }
-
     /**
      * 将字符串进行 JSON 安全转义
      */
@@ -337,11 +411,13 @@ public class PromptTemplate {
         final String expression;         // 当前表达式内容（可能是 JSONPath 或字符串字面量）
         final ParseResult defaultResult; // 默认值链的下一个节点
         final boolean isLiteral;         // 是否为字面量字符串（'xxx' 或 "xxx"）
+        final ValuePath path;            // 非字面量时的取值路径
 
         ParseResult(String expression, ParseResult defaultResult) {
             this.expression = expression;
             this.defaultResult = defaultResult;
             this.isLiteral = isLiteralExpression(expression);
+            this.path = isLiteral ? null : ValuePath.compile(expression);
         }
 
         /**
@@ -363,6 +439,60 @@ public class PromptTemplate {
         }
     }
 
+    /**
+     * 编译后的取值路径。
+     * 简单路径按 . 拆分后逐级从 Map 中取值，不创建中间对象；遇到非 Map 的中间值
+     * （如 Bean、List）时才退回 JSONPath，保证与原有求值结果一致。
+     */
+    private static class ValuePath {
+        final String fullPath;    // 完整 JSONPath，例如 $.user.name
+        final String[] segments;  // 简单路径的各级 key；非简单路径为 null
+        volatile JSONPath jsonPath;
+
+        private ValuePath(String fullPath, String[] segments) {
+            this.fullPath = fullPath;
+            this.segments = segments;
+        }
+
+        static ValuePath compile(String expression) {
+            String path = expression.startsWith("$.") ? expression.substring(2) : expression;
+            if (SIMPLE_PATH_PATTERN.matcher(path).matches()) {
+                return new ValuePath("$." + path, path.split("\\."));
+            }
+            return new ValuePath(expression.startsWith("$") ? expression : "$." + expression, null);
+        }
+
+        Object eval(Map<String, Object> root) {
+            if (segments == null) {
+                return evalJsonPath(root);
+            }
+            Object current = root;
+            for (String segment : segments) {
+                if (current == null) {
+                    return null;
+                }
+                if (!(current instanceof Map)) {
+                    return evalJsonPath(root);
+                }
+                current = ((Map<?, ?>) current).get(segment);
+            }
+            return current;
+        }
+
+        private Object evalJsonPath(Map<String, Object> root) {
+            try {
+                JSONPath compiled = jsonPath;
+                if (compiled == null) {
+                    compiled = JSONPath.compile(fullPath);
+                    jsonPath = compiled;
+                }
+                return compiled.eval(root);
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
+    }
+
     /**
      * 模板解析的最终结果，包含：
      * - 解析后的表达式树（ParseResult）
@@ -377,4 +507,39 @@ public class PromptTemplate {
             this.explicitEmptyFallback = explicitEmptyFallback;
         }
     }
+
+    /**
+     * 缓存条目，记录最近一次命中时的逻辑时钟
+     */
+    private static final class CacheEntry {
+        private final PromptTemplate template;
+        private volatile long lastAccess;
+
+        private CacheEntry(PromptTemplate template, long lastAccess) {
+            this.template = template;
+            this.lastAccess = lastAccess;
+        }
+
+        private void touch(long clock) {
+            // 同一时钟内只写一次，避免热点模板在每次命中时争用同一缓存行
+            if (lastAccess != clock) {
+                lastAccess = clock;
+            }
+        }
+    }
+
+    /**
+     * 淘汰时的条目快照，固定访问时间以保证排序稳定
+     */
+    private static final class EvictionCandidate {
+        private final String key;
+        private final CacheEntry entry;
+        private final long lastAccess;
+
+        private EvictionCandidate(String key, CacheEntry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
 }
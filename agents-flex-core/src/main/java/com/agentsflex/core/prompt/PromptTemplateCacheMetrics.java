@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.prompt;
+
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link PromptTemplate} 模板缓存的 OpenTelemetry 指标。
+ *
+ * <p>命中、未命中和淘汰次数以无锁的 {@link LongAdder} 累加，命中路径上不访问 Meter；
+ * 每个 {@link ObservabilityRuntime} 注册一次异步 Counter 与 Gauge，采集时读取当前累计值。</p>
+ */
+final class PromptTemplateCacheMetrics {
+
+    private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+    private static final Attributes HIT = Attributes.of(RESULT, "hit");
+    private static final Attributes MISS = Attributes.of(RESULT, "miss");
+
+    static final LongAdder HITS = new LongAdder();
+    static final LongAdder MISSES = new LongAdder();
+    static final LongAdder EVICTIONS = new LongAdder();
+
+    /**
+     * 已注册指标的 runtime，弱键避免动态下线的 Route 被静态缓存永久持有。
+     */
+    private static final Map<ObservabilityRuntime, Boolean> REGISTERED = new WeakHashMap<>();
+
+    private PromptTemplateCacheMetrics() {
+    }
+
+    /**
+     * 可观测开启时，为当前 runtime 注册一次缓存指标。只在未命中路径调用，命中路径不产生额外开销。
+     */
+    static void ensureRegistered(IntSupplier size) {
+        if (!Observability.isEnabled()) {
+            return;
+        }
+        ObservabilityRuntime runtime = Observability.currentRuntime();
+        synchronized (REGISTERED) {
+            if (REGISTERED.containsKey(runtime)) {
+                return;
+            }
+            REGISTERED.put(runtime, Boolean.TRUE);
+        }
+        Meter meter = runtime.getMeter();
+        meter.counterBuilder("agentsflex.prompt.template.cache.requests")
+            .setDescription("Number of prompt template cache lookups by result")
+            .buildWithCallback(measurement -> {
+                measurement.record(HITS.sum(), HIT);
+                measurement.record(MISSES.sum(), MISS);
+            });
+        meter.counterBuilder("agentsflex.prompt.template.cache.evictions")
+            .setDescription("Number of prompt templates evicted from the cache")
+            .buildWithCallback(measurement -> measurement.record(EVICTIONS.sum()));
+        meter.gaugeBuilder("agentsflex.prompt.template.cache.size")
+            .setDescription("Number of parsed prompt templates currently cached")
+            .ofLongs()
+            .buildWithCallback(measurement -> measurement.record(size.getAsInt()));
+    }
+}
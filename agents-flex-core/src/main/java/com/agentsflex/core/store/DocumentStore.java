@@ -16,15 +16,20 @@
 package com.agentsflex.core.store;
 
 import com.agentsflex.core.model.embedding.EmbeddingModel;
+import com.agentsflex.core.model.embedding.EmbeddingOptions;
 import com.agentsflex.core.document.Document;
 import com.agentsflex.core.document.DocumentSplitter;
 import com.agentsflex.core.document.id.DocumentIdGenerator;
 import com.agentsflex.core.document.id.DocumentIdGeneratorFactory;
 import com.agentsflex.core.model.exception.ModelException;
+import com.agentsflex.core.util.LocalTokenCounter;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * 面向 {@link Document} 的向量存储模板。
@@ -47,6 +52,31 @@ public abstract class DocumentStore extends VectorStore<Document> {
     /** 文档 ID 生成器，仅为尚未设置 ID 的文档生成 ID。 */
     private DocumentIdGenerator documentIdGenerator = DocumentIdGeneratorFactory.getDocumentIdGenerator();
 
+    /** 每批向量化的最大文档数；小于等于 1 时逐条向量化。 */
+    private int embeddingBatchSize = 32;
+
+    /**
+     * 每批向量化的最大 token 数（按本地 tokenizer 估算）；小于等于 0 表示不限制。
+     * 单条文档超过上限时仍会单独成批，由模型自行处理超长输入。
+     */
+    private int embeddingMaxTokensPerBatch = 0;
+
+    /**
+     * 流水线写入使用的执行器。为空时 {@link #store(List, StoreOptions)} 按切分、向量化、写入的
+     * 顺序串行执行；配置后切分、批量向量化与 {@link #doStore} 会重叠执行，
+     * 可使用 {@link com.agentsflex.core.util.NamedThreadPools#newVirtualThreadPerTaskExecutor(String)}。
+     */
+    private Executor ingestExecutor;
+
+    /** 流水线模式下同时进行的向量化批次数，用于限制对嵌入服务的并发；同一 Store 上的全部写入共享该额度。 */
+    private int embeddingConcurrency = 4;
+
+    /** 流水线模式下同时进行的 {@link #doStore} 调用数，用于限制对向量库的并发；同一 Store 上的全部写入共享该额度。 */
+    private int storeConcurrency = 2;
+
+    /** 流水线写入共享的并发许可，按当前并发配置延迟创建；修改并发配置后重建。 */
+    private volatile DocumentStorePipeline.Permits pipelinePermits;
+
     public EmbeddingModel getEmbeddingModel() {
         return embeddingModel;
     }
@@ -71,8 +101,67 @@ public abstract class DocumentStore extends VectorStore<Document> {
         this.documentIdGenerator = documentIdGenerator;
     }
 
+    public int getEmbeddingBatchSize() {
+        return embeddingBatchSize;
+    }
+
+    public void setEmbeddingBatchSize(int embeddingBatchSize) {
+        this.embeddingBatchSize = embeddingBatchSize;
+    }
+
+    public int getEmbeddingMaxTokensPerBatch() {
+        return embeddingMaxTokensPerBatch;
+    }
+
+    public void setEmbeddingMaxTokensPerBatch(int embeddingMaxTokensPerBatch) {
+        this.embeddingMaxTokensPerBatch = embeddingMaxTokensPerBatch;
+    }
+
+    public Executor getIngestExecutor() {
+        return ingestExecutor;
+    }
+
+    public void setIngestExecutor(Executor ingestExecutor) {
+        this.ingestExecutor = ingestExecutor;
+    }
+
+    public int getEmbeddingConcurrency() {
+        return embeddingConcurrency;
+    }
+
+    public void setEmbeddingConcurrency(int embeddingConcurrency) {
+        this.embeddingConcurrency = embeddingConcurrency;
+        this.pipelinePermits = null;
+    }
+
+    public int getStoreConcurrency() {
+        return storeConcurrency;
+    }
+
+    public void setStoreConcurrency(int storeConcurrency) {
+        this.storeConcurrency = storeConcurrency;
+        this.pipelinePermits = null;
+    }
+
+    /** 返回本 Store 上全部流水线写入共享的并发许可。 */
+    DocumentStorePipeline.Permits pipelinePermits() {
+        DocumentStorePipeline.Permits permits = pipelinePermits;
+        if (permits == null) {
+            synchronized (this) {
+                permits = pipelinePermits;
+                if (permits == null) {
+                    permits = new DocumentStorePipeline.Permits(embeddingConcurrency, storeConcurrency);
+                    pipelinePermits = permits;
+                }
+            }
+        }
+        return permits;
+    }
+
     /**
      * 写入文档。处理顺序为：规范化选项、切分或生成 ID、补充向量、调用存储实现。
+     * 配置了 {@link #setIngestExecutor(Executor)} 时改为分批流水线执行，
+     * 每批单独调用一次 {@link #doStore}。
      */
     @Override
     public StoreResult store(List<Document> documents, StoreOptions options) {
@@ -80,16 +169,17 @@ public abstract class DocumentStore extends VectorStore<Document> {
             options = StoreOptions.DEFAULT;
         }
 
+        if (ingestExecutor != null) {
+            return new DocumentStorePipeline(this, options).run(documents);
+        }
+
         if (documentSplitter != null) {
             documents = documentSplitter.splitAll(documents, documentIdGenerator);
         }
         // 未启用切分器时，仅为缺少 ID 的原始文档生成 ID。
         else if (documentIdGenerator != null) {
             for (Document document : documents) {
-                if (document.getId() == null) {
-                    Object id = documentIdGenerator.generateId(document);
-                    document.setId(id);
-                }
+                assignIdIfAbsent(document);
             }
         }
 
@@ -98,6 +188,24 @@ public abstract class DocumentStore extends VectorStore<Document> {
         return doStore(documents, options);
     }
 
+    /** 切分单个原始文档；未启用切分器时仅补充 ID。供流水线逐个文档处理使用。 */
+    List<Document> prepareDocument(Document document) {
+        if (documentSplitter != null) {
+            return documentSplitter.split(document, documentIdGenerator);
+        }
+        if (documentIdGenerator != null) {
+            assignIdIfAbsent(document);
+        }
+        return Collections.singletonList(document);
+    }
+
+    private void assignIdIfAbsent(Document document) {
+        if (document.getId() == null) {
+            Object id = documentIdGenerator.generateId(document);
+            document.setId(id);
+        }
+    }
+
     /** 规范化空选项后调用具体存储的删除实现。 */
     @Override
     public StoreResult delete(Collection<?> ids, StoreOptions options) {
@@ -146,17 +254,55 @@ public abstract class DocumentStore extends VectorStore<Document> {
 
     /**
      * 为未携带向量的文档生成向量。已有向量会被保留，嵌入模型为空时直接跳过。
+     *
+     * <p>待向量化的文档按 {@link #getEmbeddingBatchSize()} 和
+     * {@link #getEmbeddingMaxTokensPerBatch()} 切分为小批次，每批调用一次
+     * {@link EmbeddingModel#embedAll(List, EmbeddingOptions)}。</p>
      */
     protected void embedDocumentsIfNecessary(List<Document> documents, StoreOptions options) {
         if (embeddingModel == null) {
             return;
         }
+
+        int batchSize = Math.max(1, embeddingBatchSize);
+        List<Document> batch = new ArrayList<>(Math.min(batchSize, documents.size()));
+        int batchTokens = 0;
         for (Document document : documents) {
-            if (document.getVector() == null) {
-                VectorData vectorData = embeddingModel.embed(document, options.getEmbeddingOptions());
-                if (vectorData != null) {
-                    document.setVector(vectorData.getVector());
-                }
+            if (document.getVector() != null) {
+                continue;
+            }
+            int tokens = embeddingMaxTokensPerBatch > 0 ? LocalTokenCounter.countTokensUncached(document.getContent()) : 0;
+            if (!batch.isEmpty() && embeddingMaxTokensPerBatch > 0 && batchTokens + tokens > embeddingMaxTokensPerBatch) {
+                embedBatch(batch, options);
+                batch.clear();
+                batchTokens = 0;
+            }
+            batch.add(document);
+            batchTokens += tokens;
+            if (batch.size() >= batchSize) {
+                embedBatch(batch, options);
+                batch.clear();
+                batchTokens = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            embedBatch(batch, options);
+        }
+    }
+
+    /** 对一个批次执行向量化，并按顺序回填向量。 */
+    protected void embedBatch(List<Document> batch, StoreOptions options) {
+        List<VectorData> vectors = batch.size() == 1
+            ? Collections.singletonList(embeddingModel.embed(batch.get(0), options.getEmbeddingOptions()))
+            : embeddingModel.embedAll(batch, options.getEmbeddingOptions());
+        if (vectors == null || vectors.size() != batch.size()) {
+            throw new ModelException("Embedding model returned " + (vectors == null ? 0 : vectors.size())
+                + " vectors for " + batch.size() + " documents");
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            VectorData vectorData = vectors.get(i);
+            if (vectorData != null) {
+                batch.get(i).setVector(vectorData.getVector());
             }
         }
     }
@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.store;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.exception.StoreException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * {@link DocumentStore} 的流水线写入实现。
+ *
+ * <p>调用线程逐个切分原始文档并按 {@link DocumentStore#getEmbeddingBatchSize()} 组批，
+ * 每批在执行器中依次完成向量化和 {@link DocumentStore#doStore}。向量化与写入分别受
+ * {@link DocumentStore#getEmbeddingConcurrency()} 与 {@link DocumentStore#getStoreConcurrency()}
+ * 限制；在途批次总数达到两者之和时，切分线程会阻塞等待，从而形成背压。这些许可由
+ * {@link DocumentStore} 持有，同一个 Store 上并发的多次写入共享同一份额度。</p>
+ *
+ * <p>任一批次失败后不再提交新批次，等待已提交批次结束后返回失败结果或抛出首个异常。
+ * 批次之间的写入顺序不保证与输入一致，但返回结果中的 ID 按批次提交顺序汇总。</p>
+ */
+final class DocumentStorePipeline {
+
+    private final DocumentStore store;
+    private final StoreOptions options;
+    private final Permits permits;
+    private final List<CompletableFuture<StoreResult>> futures = new ArrayList<>();
+
+    private volatile boolean failed;
+
+    DocumentStorePipeline(DocumentStore store, StoreOptions options) {
+        this.store = store;
+        this.options = options;
+        // 本次写入全程使用同一组许可，并发度在写入过程中被修改时也能正确归还。
+        this.permits = store.pipelinePermits();
+    }
+
+    StoreResult run(List<Document> documents) {
+        int batchSize = Math.max(1, store.getEmbeddingBatchSize());
+        List<Document> batch = new ArrayList<>(batchSize);
+        try {
+            for (Document document : documents) {
+                if (failed) {
+                    break;
+                }
+                for (Document chunk : store.prepareDocument(document)) {
+                    batch.add(chunk);
+                    if (batch.size() >= batchSize) {
+                        submit(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty() && !failed) {
+                submit(batch);
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            awaitQuietly();
+            throw e;
+        }
+        return await();
+    }
+
+    private void submit(List<Document> batch) {
+        acquire(permits.inFlight);
+        CompletableFuture<StoreResult> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> process(batch), store.getIngestExecutor());
+        } catch (RuntimeException e) {
+            permits.inFlight.release();
+            throw e;
+        }
+        futures.add(future);
+    }
+
+    private StoreResult process(List<Document> batch) {
+        try {
+            if (failed) {
+                return null;
+            }
+
+            acquire(permits.embedding);
+            try {
+                store.embedDocumentsIfNecessary(batch, options);
+            } finally {
+                permits.embedding.release();
+            }
+
+            acquire(permits.store);
+            StoreResult result;
+            try {
+                result = store.doStore(batch, options);
+            } finally {
+                permits.store.release();
+            }
+            if (result != null && !result.isSuccess()) {
+                failed = true;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            permits.inFlight.release();
+        }
+    }
+
+    private StoreResult await() {
+        List<Object> ids = new ArrayList<>();
+        boolean hasIds = false;
+        StoreResult failure = null;
+        RuntimeException exception = null;
+
+        for (CompletableFuture<StoreResult> future : futures) {
+            StoreResult result;
+            try {
+                result = future.join();
+            } catch (CompletionException e) {
+                if (exception == null) {
+                    exception = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new StoreException(e.getCause().getMessage(), e.getCause());
+                }
+                continue;
+            }
+            if (result == null) {
+                continue;
+            }
+            if (!result.isSuccess()) {
+                if (failure == null) {
+                    failure = result;
+                }
+            } else if (result.getIds() != null) {
+                hasIds = true;
+                ids.addAll(result.getIds());
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+        if (failure != null) {
+            return failure;
+        }
+
+        StoreResult result = StoreResult.success();
+        if (hasIds) {
+            result.setIds(ids);
+        }
+        return result;
+    }
+
+    private void awaitQuietly() {
+        for (CompletableFuture<StoreResult> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException ignored) {
+                // 优先抛出调用线程中的异常
+            }
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted while waiting for document ingest pipeline", e);
+        }
+    }
+
+    /** 一个 {@link DocumentStore} 上全部流水线写入共享的并发许可。 */
+    static final class Permits {
+        final Semaphore embedding;
+        final Semaphore store;
+        final Semaphore inFlight;
+
+        Permits(int embeddingConcurrency, int storeConcurrency) {
+            int embeddingLimit = Math.max(1, embeddingConcurrency);
+            int storeLimit = Math.max(1, storeConcurrency);
+            this.embedding = new Semaphore(embeddingLimit);
+            this.store = new Semaphore(storeLimit);
+            this.inFlight = new Semaphore(embeddingLimit + storeLimit);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.util;
+
+import com.agentsflex.core.message.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按对话逐步追加的 prompt token 统计器。
+ * <p>
+ * 逐条记忆已统计消息的身份快照和 token 数。下一次传入同一对话的消息列表时，
+ * 从头比对快照找到第一条变化的消息，只对该位置之后的消息重新编码；
+ * 历史只在尾部追加时，每次统计的编码成本与新增内容成正比。
+ * 比对只使用消息 ID、版本和内容引用，不扫描消息文本。计数口径与
+ * {@link LocalTokenCounter#countPromptTokens(List)} 一致，但不读写其文本缓存。
+ * <p>
+ * 该类不是线程安全的，通常每个对话或每个 Agent Turn 持有一个实例。
+ */
+public class IncrementalTokenCounter {
+
+    /**
+     * 已统计消息的身份快照和计数，下标与消息列表一致
+     */
+    private final List<Counted> counted = new ArrayList<>();
+
+    /**
+     * 已统计消息的 token 合计，不含 prompt 结尾固定 token
+     */
+    private long messageTokens;
+
+    /**
+     * 统计消息列表的 prompt token，只对变化位置之后的消息编码。
+     *
+     * @param messages 按时间顺序排列的完整消息列表
+     * @return 与 {@link LocalTokenCounter#countPromptTokens(List)} 相同口径的 token 数
+     */
+    public int countPromptTokens(List<? extends Message> messages) {
+        if (messages == null || messages.isEmpty()) {
+            reset();
+            return 0;
+        }
+        // 结尾固定 token 与 LocalTokenCounter 保持一致
+        return (int) Math.min(Integer.MAX_VALUE, countMessageTokens(messages) + 2);
+    }
+
+    /**
+     * 统计消息列表中各条消息 token 之和，不含 prompt 结尾固定 token。
+     *
+     * @param messages 按时间顺序排列的完整消息列表
+     * @return 各条消息 {@link LocalTokenCounter#countMessageTokens(Message)} 之和
+     */
+    public long countMessageTokens(List<? extends Message> messages) {
+        if (messages == null || messages.isEmpty()) {
+            reset();
+            return 0;
+        }
+        truncate(matchedPrefixLength(messages));
+        for (int i = counted.size(); i < messages.size(); i++) {
+            Message message = messages.get(i);
+            int tokens = LocalTokenCounter.countMessageTokensUncached(message);
+            counted.add(new Counted(message, tokens));
+            messageTokens += tokens;
+        }
+        return messageTokens;
+    }
+
+    /**
+     * @return 已统计的消息条数
+     */
+    public int getCountedMessageCount() {
+        return counted.size();
+    }
+
+    /**
+     * 丢弃已统计的前缀，下一次统计将完整计算
+     */
+    public void reset() {
+        counted.clear();
+        messageTokens = 0;
+    }
+
+    /**
+     * 逐条校验已统计的前缀，返回与新列表一致的最长前缀长度。
+     * 中间任意一条消息被替换、修改或删除时，都从该位置开始重新统计。
+     */
+    private int matchedPrefixLength(List<? extends Message> messages) {
+        int limit = Math.min(counted.size(), messages.size());
+        for (int i = 0; i < limit; i++) {
+            if (!counted.get(i).matches(messages.get(i))) return i;
+        }
+        return limit;
+    }
+
+    private void truncate(int size) {
+        for (int i = counted.size() - 1; i >= size; i--) {
+            messageTokens -= counted.remove(i).tokens;
+        }
+    }
+
+    private static class Counted {
+        private final Message message;
+        private final String messageId;
+        private final long version;
+        private final String content;
+        private final int tokens;
+
+        private Counted(Message message, int tokens) {
+            this.message = message;
+            this.messageId = message == null ? null : message.getMessageId();
+            this.version = message == null ? 0 : message.getVersion();
+            this.content = message == null ? null : message.getTextContent();
+            this.tokens = tokens;
+        }
+
+        /**
+         * 有消息 ID 时按 ID、版本和内容长度识别，允许历史重新加载后的副本命中，
+         * 同时识别未递增版本的流式追加；没有 ID 时要求同一消息对象且内容引用未变化。
+         * 两种情况都不扫描文本内容。
+         */
+        private boolean matches(Message other) {
+            if (other == null) return message == null;
+            String otherContent = other.getTextContent();
+            if (messageId != null) {
+                return messageId.equals(other.getMessageId()) && version == other.getVersion()
+                    && length(content) == length(otherContent);
+            }
+            return other == message && other.getMessageId() == null && otherContent == content;
+        }
+
+        private static int length(String text) {
+            return text == null ? -1 : text.length();
+        }
+    }
+}
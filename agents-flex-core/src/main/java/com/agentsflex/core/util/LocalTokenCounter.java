@@ -22,20 +22,48 @@ import com.knuddels.jtokkit.Encodings;
 import com.knuddels.jtokkit.api.Encoding;
 import com.knuddels.jtokkit.api.EncodingType;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 静态工具类：更精确的本地 token 统计工具，模拟 OpenAI ChatCompletion 格式。
  * 支持 function calls，按消息 role/name/内容序列化计数。
+ * <p>
+ * 较长文本的编码结果按内容指纹缓存，多轮对话中重复出现的历史消息不会被重新编码。缓存只保存
+ * 64 位哈希、长度和计数，不持有原文，占用内存与文本大小无关；一次性文本可使用
+ * {@link #countTokensUncached(String)} 跳过缓存。
  */
 public class LocalTokenCounter {
 
+    /**
+     * 缓存的最大条数；每条只保存文本指纹和计数
+     */
+    private static final int CACHE_CAPACITY = 4096;
+
+    /**
+     * 短文本编码成本很低，不进入缓存，避免挤出长消息
+     */
+    private static final int MIN_CACHED_LENGTH = 64;
+
     // 静态 Encoder，线程安全
-    private static Encoding ENCODING =
+    private static volatile Encoding ENCODING =
         Encodings.newDefaultEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
 
+    // 文本指纹 -> token 数；无锁读写，超过容量时近似淘汰一部分条目
+    private static final ConcurrentHashMap<Fingerprint, Integer> CACHE = new ConcurrentHashMap<>(256);
+
     public static void init(Encoding encoding) {
         ENCODING = encoding;
+        // 更换编码后旧的计数不再有效
+        clearCache();
+    }
+
+    /**
+     * 清空文本 token 缓存
+     */
+    public static void clearCache() {
+        CACHE.clear();
     }
 
     /**
@@ -74,9 +102,48 @@ public class LocalTokenCounter {
     }
 
     /**
-     * 计算单条消息 token
+     * 计算纯文本 token
+     */
+    public static int countTokens(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        if (text.length() < MIN_CACHED_LENGTH) {
+            return ENCODING.countTokens(text);
+        }
+        Fingerprint key = new Fingerprint(text);
+        Integer cached = CACHE.get(key);
+        if (cached != null) return cached;
+        // 并发线程偶尔重复计算同一文本不影响结果
+        int count = ENCODING.countTokens(text);
+        if (CACHE.size() >= CACHE_CAPACITY) evict();
+        CACHE.put(key, count);
+        return count;
+    }
+
+    /**
+     * 计算纯文本 token，不读写缓存。适合查询结果、流式片段等不会重复出现的文本，避免挤出历史消息的计数。
+     */
+    public static int countTokensUncached(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        return ENCODING.countTokens(text);
+    }
+
+    /**
+     * 近似淘汰：按迭代顺序移除约四分之一条目，不维护访问顺序，读路径因此无需加锁。
+     */
+    private static void evict() {
+        int target = CACHE_CAPACITY * 3 / 4;
+        Iterator<Fingerprint> keys = CACHE.keySet().iterator();
+        while (keys.hasNext() && CACHE.size() > target) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * 计算单条消息 token（role + 内容），不包含 prompt 结尾的固定 token
      */
-    private static int countMessageTokens(Message msg) {
+    public static int countMessageTokens(Message msg) {
+        if (msg == null) return 0;
         int count = 0;
 
         // role token
@@ -85,12 +152,23 @@ public class LocalTokenCounter {
         // content token
         Object content = msg.getTextContent();
         if (content != null) {
-            count += ENCODING.countTokens(content.toString());
+            count += countTokens(content.toString());
         }
 
         return count;
     }
 
+    /**
+     * 计算单条消息 token，口径与 {@link #countMessageTokens(Message)} 一致，但不读写文本缓存。
+     * 适合调用方已自行记忆每条消息计数的场景，例如 {@link IncrementalTokenCounter}。
+     */
+    public static int countMessageTokensUncached(Message msg) {
+        if (msg == null) return 0;
+        Object content = msg.getTextContent();
+        // role token + content token
+        return 1 + (content == null ? 0 : countTokensUncached(content.toString()));
+    }
+
     /**
      * 计算 AiMessage completion token
      * 包含 fullContent / reasoningContent / functionCall
@@ -102,14 +180,14 @@ public class LocalTokenCounter {
 
         // 生成的文本
         if (aiMsg.getFullContent() != null) {
-            count += ENCODING.countTokens(aiMsg.getFullContent());
+            count += countTokens(aiMsg.getFullContent());
         }
 
         // 推理内容
         if (aiMsg.getFullReasoningContent() != null) {
-            count += ENCODING.countTokens(aiMsg.getFullReasoningContent());
+            count += countTokens(aiMsg.getFullReasoningContent());
         } else if (aiMsg.getReasoningContent() != null) {
-            count += ENCODING.countTokens(aiMsg.getReasoningContent());
+            count += countTokens(aiMsg.getReasoningContent());
         }
 
         // function call（按 JSON 序列化计算）
@@ -117,7 +195,7 @@ public class LocalTokenCounter {
         if (toolCalls != null && !toolCalls.isEmpty()) {
             for (ToolCall toolCall : toolCalls) {
                 String serialized = toolCall.toJsonString();
-                count += ENCODING.countTokens(serialized);
+                count += countTokens(serialized);
             }
         }
 
@@ -126,4 +204,34 @@ public class LocalTokenCounter {
         return count;
     }
 
+    /**
+     * 文本的长度与 64 位 FNV-1a 哈希。缓存只用于估算 token，极小概率的哈希碰撞最多导致计数偏差。
+     */
+    private static final class Fingerprint {
+        private final int length;
+        private final long hash;
+
+        private Fingerprint(String text) {
+            long value = 0xcbf29ce484222325L;
+            for (int i = 0; i < text.length(); i++) {
+                value ^= text.charAt(i);
+                value *= 0x100000001b3L;
+            }
+            this.length = text.length();
+            this.hash = value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Fingerprint)) return false;
+            Fingerprint that = (Fingerprint) other;
+            return length == that.length && hash == that.hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash ^ (hash >>> 32)) * 31 + length;
+        }
+    }
 }
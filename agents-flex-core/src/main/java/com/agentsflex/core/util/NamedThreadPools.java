@@ -15,6 +15,7 @@
  */
 package com.agentsflex.core.util;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.*;
 
 /**
@@ -58,4 +59,23 @@ public class NamedThreadPools {
         int corePoolSize, ThreadFactory threadFactory) {
         return new ScheduledThreadPoolExecutor(corePoolSize, threadFactory);
     }
+
+
+    /**
+     * 运行在 JDK 21+ 时返回每任务一个虚拟线程的执行器，线程名为 {@code name-0}、{@code name-1} 等；
+     * 否则退化为命名的缓存线程池。项目以 Java 8 编译，因此通过反射探测虚拟线程 API。
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        try {
+            // 通过公开接口 Thread.Builder 取方法，避免反射调用 JDK 内部实现类时被模块系统拒绝。
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (Exception e) {
+            return newCachedThreadPool(new NamedThreadFactory(name, true));
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.core.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 合并相同键的并发调用。
+ *
+ * <p>同一时刻对同一个键只执行一次 supplier：第一个到达的线程（leader）在自身线程中执行调用，
+ * 期间到达的其他线程（follower）等待 leader 完成并共享其结果或异常。调用结束后立即移除键，
+ * 不缓存结果，之后到达的请求会重新执行。</p>
+ *
+ * <p>共享结果通常是可变对象，follower 拿到的值会先经过 {@code share} 函数，
+ * 调用方可以在其中复制结果并记录合并指标。</p>
+ *
+ * @param <K> 键类型
+ * @param <V> 结果类型
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * 执行或加入同一键的调用。
+     *
+     * @param key      调用键
+     * @param supplier 实际调用，只由 leader 执行
+     * @param share    follower 取得 leader 结果后的转换，可为空
+     * @return leader 的结果，follower 返回经 share 转换后的结果
+     */
+    public V execute(K key, Supplier<V> supplier, Function<? super V, ? extends V> share) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            V value = await(existing);
+            return share == null ? value : share.apply(value);
+        }
+
+        executions.increment();
+        try {
+            V value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /** 当前正在执行的不同键数量。 */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /** 由 leader 实际执行的次数。 */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /** 合并到已有调用上的次数。 */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
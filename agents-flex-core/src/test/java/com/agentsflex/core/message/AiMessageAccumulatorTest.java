@@ -0,0 +1,91 @@
+package com.agentsflex.core.message;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 测试 AiMessageAccumulator 与 AiMessage#merge 的累计结果一致
+ */
+public class AiMessageAccumulatorTest {
+
+    @Test
+    public void testAccumulateMatchesMerge() {
+        AiMessage merged = new AiMessage();
+        AiMessageAccumulator accumulator = new AiMessageAccumulator();
+        for (AiMessage delta : deltas()) {
+            merged.merge(delta);
+        }
+        for (AiMessage delta : deltas()) {
+            accumulator.append(delta);
+        }
+        AiMessage accumulated = accumulator.toMessage();
+
+        assertEquals(merged.getContent(), accumulated.getContent());
+        assertEquals(merged.getFullContent(), accumulated.getFullContent());
+        assertEquals(merged.getReasoningContent(), accumulated.getReasoningContent());
+        assertEquals(merged.getFullReasoningContent(), accumulated.getFullReasoningContent());
+        assertEquals("stop", accumulated.getFinishReason());
+        assertEquals(Integer.valueOf(42), accumulated.getTotalTokens());
+        assertEquals(2, accumulated.getToolCalls().size());
+        for (int i = 0; i < 2; i++) {
+            ToolCall expected = merged.getToolCalls().get(i);
+            ToolCall actual = accumulated.getToolCalls().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getArguments(), actual.getArguments());
+        }
+        assertEquals("{\"city\":\"Shanghai\"}", accumulated.getToolCalls().get(0).getArguments());
+    }
+
+    @Test
+    public void testFullContentViewIsStableAfterFurtherAppends() {
+        AiMessageAccumulator accumulator = new AiMessageAccumulator();
+        AiMessage first = delta("Hel", null);
+        accumulator.append(first);
+        accumulator.applyFullContent(first);
+        AiMessage second = delta("lo", "think");
+        accumulator.append(second);
+        accumulator.applyFullContent(second);
+        accumulator.append(delta(" world", null));
+
+        assertEquals("Hel", first.getFullContent());
+        assertNull(first.getFullReasoningContent());
+        assertEquals("Hello", second.getFullContent());
+        assertEquals("think", second.getFullReasoningContent());
+        assertEquals("Hello", second.copy().getTextContent());
+        assertEquals(11, accumulator.getContentLength());
+    }
+
+    private static List<AiMessage> deltas() {
+        List<AiMessage> deltas = new ArrayList<>();
+        deltas.add(delta("Hel", "Let me "));
+        deltas.add(delta("lo", "think"));
+        deltas.add(toolDelta(new ToolCall("call-1", "weather", "{\"city\":")));
+        deltas.add(toolDelta(new ToolCall(null, null, "\"Shanghai\"}")));
+        deltas.add(toolDelta(new ToolCall("call-2", "time", null)));
+        deltas.add(toolDelta(new ToolCall(null, null, "{}")));
+        AiMessage last = delta("!", null);
+        last.setFinishReason("stop");
+        last.setTotalTokens(42);
+        deltas.add(last);
+        return deltas;
+    }
+
+    private static AiMessage delta(String content, String reasoning) {
+        AiMessage delta = new AiMessage();
+        delta.content = content;
+        delta.setReasoningContent(reasoning);
+        return delta;
+    }
+
+    private static AiMessage toolDelta(ToolCall call) {
+        AiMessage delta = new AiMessage();
+        delta.setToolCalls(new ArrayList<>(Collections.singletonList(call)));
+        return delta;
+    }
+}
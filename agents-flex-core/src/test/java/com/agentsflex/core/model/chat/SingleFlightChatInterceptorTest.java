@@ -0,0 +1,132 @@
+package com.agentsflex.core.model.chat;
+
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.model.chat.response.AiMessageResponse;
+import com.agentsflex.core.model.client.ChatClient;
+import com.agentsflex.core.model.client.ChatRequestSpec;
+import com.agentsflex.core.model.client.ChatRequestSpecBuilder;
+import com.agentsflex.core.prompt.Prompt;
+import com.agentsflex.core.prompt.SimplePrompt;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SingleFlightChatInterceptorTest {
+
+    @Test
+    public void shouldCollapseConcurrentIdenticalRequests() throws Exception {
+        SingleFlightChatInterceptor interceptor = new SingleFlightChatInterceptor();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        BaseChatModel<BaseChatConfig> model = model(interceptor, upstreamCalls, release);
+        int callers = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<AiMessageResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> model.chat(new SimplePrompt("same question"))));
+            }
+            awaitCoalesced(interceptor, callers - 1);
+            release.countDown();
+
+            List<AiMessageResponse> responses = new ArrayList<>();
+            for (Future<AiMessageResponse> future : futures) {
+                responses.add(future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, upstreamCalls.get());
+            for (AiMessageResponse response : responses) {
+                assertEquals("answer: same question", response.getMessage().getContent());
+            }
+            // 每个调用方得到绑定自身上下文的独立响应。
+            assertNotSame(responses.get(0).getMessage(), responses.get(1).getMessage());
+            assertNotSame(responses.get(0).getContext(), responses.get(1).getContext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotCoalesceDifferentPromptsOrSequentialCalls() {
+        SingleFlightChatInterceptor interceptor = new SingleFlightChatInterceptor();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(0);
+        BaseChatModel<BaseChatConfig> model = model(interceptor, upstreamCalls, release);
+
+        model.chat(new SimplePrompt("a"));
+        model.chat(new SimplePrompt("a"));
+        model.chat(new SimplePrompt("b"));
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(0, interceptor.getCoalescedCount());
+        assertEquals(0, interceptor.getInFlightCount());
+    }
+
+    @Test
+    public void shouldRegisterAfterRequestPreparation() {
+        ChatInterceptorRegistration registration = SingleFlightChatInterceptor.registration();
+        assertEquals(ChatInterceptorOrders.REQUEST_COALESCING, registration.getOrder());
+        assertTrue(registration.getOrder() > ChatInterceptorOrders.REQUEST_PREPARATION);
+        assertSame(SingleFlightChatInterceptor.class, registration.getInterceptor().getClass());
+    }
+
+    private static void awaitCoalesced(SingleFlightChatInterceptor interceptor, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (interceptor.getCoalescedCount() < expected) {
+            assertTrue("followers did not join in time", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static BaseChatModel<BaseChatConfig> model(SingleFlightChatInterceptor interceptor,
+                                                       AtomicInteger upstreamCalls,
+                                                       CountDownLatch release) {
+        BaseChatConfig config = new BaseChatConfig();
+        config.setObservabilityEnabled(false);
+        BaseChatModel<BaseChatConfig> model = new BaseChatModel<BaseChatConfig>(
+            config, Collections.singletonList(interceptor)) {
+        };
+        model.setChatRequestSpecBuilder(new ChatRequestSpecBuilder() {
+            @Override
+            public ChatRequestSpec buildRequestSpec(Prompt prompt, ChatOptions options, BaseChatConfig chatConfig) {
+                return new ChatRequestSpec("test", new HashMap<>(), 0, 0);
+            }
+
+            @Override
+            public String buildRequestBody(Prompt prompt, ChatOptions options, BaseChatConfig chatConfig) {
+                return prompt.getMessages().get(0).getTextContent();
+            }
+        });
+        model.setChatClient(new ChatClient(model) {
+            @Override
+            public AiMessageResponse chat(String body) {
+                upstreamCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new AiMessageResponse(ChatContextHolder.currentContext(), body,
+                    new AiMessage("answer: " + body));
+            }
+
+            @Override
+            public void chatStream(String body, StreamResponseListener listener) {
+            }
+        });
+        return model;
+    }
+}
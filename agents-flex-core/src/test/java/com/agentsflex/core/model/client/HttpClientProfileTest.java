@@ -0,0 +1,66 @@
+package com.agentsflex.core.model.client;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class HttpClientProfileTest {
+
+    @Test
+    public void profileClientUsesDedicatedPoolAndDispatcher() {
+        HttpClientProfile profile = new HttpClientProfile("profile-test");
+        profile.setMaxRequestsPerHost(32);
+        profile.setMaxRequests(128);
+
+        OkHttpClient defaultClient = OkHttpClientUtil.buildDefaultClient();
+        OkHttpClient client = OkHttpClientUtil.buildClient(profile);
+
+        assertNotSame(defaultClient.dispatcher(), client.dispatcher());
+        assertNotSame(defaultClient.connectionPool(), client.connectionPool());
+        assertEquals(32, client.dispatcher().getMaxRequestsPerHost());
+        assertEquals(128, client.dispatcher().getMaxRequests());
+        assertEquals(defaultClient.readTimeoutMillis(), client.readTimeoutMillis());
+        assertSame(defaultClient, OkHttpClientUtil.buildClient(null));
+    }
+
+    @Test
+    public void equalProfilesShareClientAndMutationDoesNotAffectCache() {
+        HttpClientProfile profile = new HttpClientProfile("shared-test");
+        OkHttpClient first = OkHttpClientUtil.buildClient(profile);
+        assertSame(first, OkHttpClientUtil.buildClient(new HttpClientProfile("shared-test")));
+        assertSame(AgentsFlexHttpClient.forProfile(profile), AgentsFlexHttpClient.forProfile(profile));
+
+        profile.setMaxRequestsPerHost(7);
+        OkHttpClient second = OkHttpClientUtil.buildClient(profile);
+        assertNotSame(first, second);
+        assertEquals(7, second.dispatcher().getMaxRequestsPerHost());
+        assertSame(first, OkHttpClientUtil.buildClient(new HttpClientProfile("shared-test")));
+    }
+
+    @Test
+    public void localGatewayUsesH2cPriorKnowledge() {
+        OkHttpClient client = OkHttpClientUtil.buildClient(HttpClientProfile.localGateway("gateway-test"));
+        assertEquals(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE), client.protocols());
+
+        HttpClientProfile http1 = new HttpClientProfile("http1-test");
+        http1.setHttp2Enabled(false);
+        assertEquals(Collections.singletonList(Protocol.HTTP_1_1), OkHttpClientUtil.buildClient(http1).protocols());
+    }
+
+    @Test
+    public void duplicateProfileNamesGetDistinctMetricNames() {
+        OkHttpClient first = new OkHttpClient();
+        OkHttpClient second = new OkHttpClient();
+        OkHttpClient third = new OkHttpClient();
+
+        assertEquals("metrics-test", OkHttpClientMetrics.track("metrics-test", first));
+        assertEquals("metrics-test", OkHttpClientMetrics.track("metrics-test", first));
+        assertEquals("metrics-test#2", OkHttpClientMetrics.track("metrics-test", second));
+        assertEquals("metrics-test#2", OkHttpClientMetrics.track("metrics-test", second));
+        assertEquals("metrics-test#3", OkHttpClientMetrics.track("metrics-test", third));
+    }
+}
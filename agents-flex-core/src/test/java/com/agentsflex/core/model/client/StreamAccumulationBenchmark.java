@@ -0,0 +1,75 @@
+package com.agentsflex.core.model.client;
+
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.AiMessageAccumulator;
+import com.agentsflex.core.message.ToolCall;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 流式分片累计的显式基准，类名不匹配 Surefire 默认规则，需要通过
+ * {@code -Dtest=StreamAccumulationBenchmark} 单独运行。
+ */
+public class StreamAccumulationBenchmark {
+
+    @Test
+    public void benchmarkAccumulation() {
+        int chunks = Integer.getInteger("stream.benchmark.chunks", 10_000);
+        int rounds = Integer.getInteger("stream.benchmark.rounds", 5);
+        for (int warmup = 0; warmup < 2; warmup++) {
+            runMerge(chunks);
+            runAccumulator(chunks);
+        }
+        long merge = 0;
+        long accumulator = 0;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            int mergedLength = runMerge(chunks);
+            merge += System.nanoTime() - start;
+            start = System.nanoTime();
+            int accumulatedLength = runAccumulator(chunks);
+            accumulator += System.nanoTime() - start;
+            assertEquals(mergedLength, accumulatedLength);
+        }
+        System.out.printf("stream merge chunks=%d avg=%.2fms%n", chunks, merge / 1e6 / rounds);
+        System.out.printf("stream accumulator chunks=%d avg=%.2fms%n", chunks, accumulator / 1e6 / rounds);
+    }
+
+    /**
+     * 原有路径：每个分片 merge 后把完整正文和推理内容写回分片。
+     */
+    private static int runMerge(int chunks) {
+        AiMessage full = new AiMessage();
+        for (int i = 0; i < chunks; i++) {
+            AiMessage delta = delta(i);
+            full.merge(delta);
+            delta.setFullContent(full.getContent());
+            delta.setFullReasoningContent(full.getReasoningContent());
+        }
+        return full.getContent().length() + full.getToolCalls().get(0).getArguments().length();
+    }
+
+    private static int runAccumulator(int chunks) {
+        AiMessageAccumulator accumulator = new AiMessageAccumulator();
+        for (int i = 0; i < chunks; i++) {
+            AiMessage delta = delta(i);
+            accumulator.append(delta);
+            accumulator.applyFullContent(delta);
+        }
+        AiMessage full = accumulator.toMessage();
+        return full.getContent().length() + full.getToolCalls().get(0).getArguments().length();
+    }
+
+    private static AiMessage delta(int index) {
+        AiMessage delta = new AiMessage();
+        delta.setContent("token" + index + " ");
+        delta.setReasoningContent("r" + index);
+        ToolCall call = index == 0 ? new ToolCall("call-1", "search", "[") : new ToolCall(null, null, index + ",");
+        delta.setToolCalls(new ArrayList<>(Collections.singletonList(call)));
+        return delta;
+    }
+}
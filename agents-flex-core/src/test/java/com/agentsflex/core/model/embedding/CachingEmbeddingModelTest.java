@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.core.model.embedding;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.model.embedding.cache.CachingEmbeddingModel;
+import com.agentsflex.core.model.embedding.cache.FileEmbeddingCache;
+import com.agentsflex.core.model.embedding.cache.InMemoryEmbeddingCache;
+import com.agentsflex.core.model.exception.ModelException;
+import com.agentsflex.core.store.VectorData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CachingEmbeddingModelTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldSkipUpstreamForUnchangedContent() {
+        CountingModel upstream = new CountingModel();
+        CachingEmbeddingModel model = new CachingEmbeddingModel(upstream);
+
+        model.embed("hello");
+        VectorData cached = model.embed("hello");
+        List<VectorData> batch = model.embedAll(Arrays.asList(Document.of("hello"), Document.of("world")));
+
+        assertEquals(2, upstream.texts.get());
+        assertArrayEquals(new float[]{5f}, cached.getVector(), 0f);
+        assertArrayEquals(new float[]{5f}, batch.get(0).getVector(), 0f);
+        assertEquals(2, model.getHitCount());
+        assertEquals(2, model.getMissCount());
+    }
+
+    @Test
+    public void shouldSeparateEntriesByDimensions() {
+        CountingModel upstream = new CountingModel();
+        CachingEmbeddingModel model = new CachingEmbeddingModel(upstream);
+        EmbeddingOptions options = new EmbeddingOptions();
+        options.setDimensions(256);
+
+        model.embed(Document.of("hello"), EmbeddingOptions.DEFAULT);
+        model.embed(Document.of("hello"), options);
+
+        assertEquals(2, upstream.texts.get());
+    }
+
+    @Test
+    public void shouldReuseVectorsFromPersistentTierAcrossInstances() throws Exception {
+        CountingModel upstream = new CountingModel();
+        FileEmbeddingCache fileCache = new FileEmbeddingCache(temporaryFolder.newFolder("vectors").toPath());
+        new CachingEmbeddingModel(upstream, new InMemoryEmbeddingCache(10), fileCache).embed("hello");
+
+        CachingEmbeddingModel restarted = new CachingEmbeddingModel(upstream, new InMemoryEmbeddingCache(10), fileCache);
+        VectorData vectorData = restarted.embed("hello");
+
+        assertEquals(1, upstream.texts.get());
+        assertEquals(1, restarted.getPersistentHitCount());
+        assertArrayEquals(new float[]{5f}, vectorData.getVector(), 0f);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedAndExpiredEntries() throws Exception {
+        InMemoryEmbeddingCache lru = new InMemoryEmbeddingCache(2);
+        lru.put("a", new float[]{1f});
+        lru.put("b", new float[]{2f});
+        lru.get("a");
+        lru.put("c", new float[]{3f});
+
+        assertNull(lru.get("b"));
+        assertEquals(2, lru.size());
+
+        InMemoryEmbeddingCache ttl = new InMemoryEmbeddingCache(2, 1, TimeUnit.MILLISECONDS);
+        ttl.put("a", new float[]{1f});
+        Thread.sleep(5);
+        assertNull(ttl.get("a"));
+    }
+
+    @Test
+    public void shouldRejectBatchResultWithMismatchedSize() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(new EmbeddingModel() {
+            @Override
+            public VectorData embed(Document document, EmbeddingOptions options) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+                return Collections.singletonList(new VectorData());
+            }
+        });
+        try {
+            model.embedAll(Arrays.asList(Document.of("hello"), Document.of("world")));
+            fail("mismatched batch result must be rejected");
+        } catch (ModelException expected) {
+            assertTrue(expected.getMessage().contains("returned 1 vectors for 2 documents"));
+        }
+    }
+
+    @Test
+    public void shouldClearPersistentTierFiles() throws Exception {
+        FileEmbeddingCache fileCache = new FileEmbeddingCache(temporaryFolder.newFolder("cleared").toPath());
+        fileCache.put("abc", new float[]{1f});
+        fileCache.put("xyz", new float[]{2f});
+
+        fileCache.clear();
+
+        assertNull(fileCache.get("abc"));
+        try (Stream<Path> paths = Files.list(fileCache.getDirectory())) {
+            assertEquals(0, paths.count());
+        }
+    }
+
+    private static class CountingModel implements EmbeddingModel {
+        private final AtomicInteger texts = new AtomicInteger();
+
+        @Override
+        public VectorData embed(Document document, EmbeddingOptions options) {
+            texts.incrementAndGet();
+            VectorData vectorData = new VectorData();
+            vectorData.setVector(new float[]{document.getContent().length()});
+            return vectorData;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.core.model.embedding;
+
+import com.agentsflex.core.model.exception.ModelException;
+import com.agentsflex.core.store.VectorData;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OpenAICompatibleEmbeddingsTest {
+
+    @Test
+    public void shouldRestoreInputOrderByIndex() {
+        List<VectorData> vectors = OpenAICompatibleEmbeddings.readVectors(response(
+            "{\"index\":1,\"embedding\":[2]}", "{\"index\":0,\"embedding\":[1]}"), 2);
+
+        assertEquals(2, vectors.size());
+        assertArrayEquals(new float[]{1f}, vectors.get(0).getVector(), 0f);
+        assertArrayEquals(new float[]{2f}, vectors.get(1).getVector(), 0f);
+    }
+
+    @Test
+    public void shouldFallBackToPositionWithoutIndex() {
+        List<VectorData> vectors = OpenAICompatibleEmbeddings.readVectors(response(
+            "{\"embedding\":[1]}", "{\"embedding\":[2]}"), 2);
+
+        assertArrayEquals(new float[]{2f}, vectors.get(1).getVector(), 0f);
+    }
+
+    @Test
+    public void shouldRejectInvalidIndexes() {
+        assertRejected(response("{\"index\":0,\"embedding\":[1]}", "{\"index\":2,\"embedding\":[2]}"),
+            "out of range");
+        assertRejected(response("{\"index\":-1,\"embedding\":[1]}", "{\"index\":0,\"embedding\":[2]}"),
+            "out of range");
+        assertRejected(response("{\"index\":1,\"embedding\":[1]}", "{\"index\":1,\"embedding\":[2]}"),
+            "duplicate index 1");
+        assertRejected(response("{\"index\":0,\"embedding\":[1]}"), "size mismatch");
+    }
+
+    private static void assertRejected(JSONObject response, String message) {
+        try {
+            OpenAICompatibleEmbeddings.readVectors(response, 2);
+            fail("invalid embedding response must be rejected: " + response);
+        } catch (ModelException expected) {
+            assertTrue(expected.getMessage(), expected.getMessage().contains(message));
+        }
+    }
+
+    private static JSONObject response(String... items) {
+        return JSON.parseObject("{\"data\":[" + String.join(",", items) + "]}");
+    }
+}
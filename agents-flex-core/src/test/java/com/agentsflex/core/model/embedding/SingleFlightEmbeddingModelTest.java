@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.core.model.embedding;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.VectorData;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightEmbeddingModelTest {
+
+    @Test
+    public void shouldCollapseConcurrentDuplicatesOntoOneUpstreamCall() throws Exception {
+        BlockingModel upstream = new BlockingModel();
+        SingleFlightEmbeddingModel model = new SingleFlightEmbeddingModel(upstream);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<VectorData>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> model.embed("hello")));
+            }
+            awaitCoalesced(model, callers - 1);
+            upstream.release.countDown();
+
+            List<VectorData> results = new ArrayList<>();
+            for (Future<VectorData> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, upstream.calls.get());
+            assertEquals(1, model.getExecutionCount());
+            for (VectorData result : results) {
+                assertArrayEquals(new float[]{5f}, result.getVector(), 0f);
+            }
+            // 每个调用方拿到独立的向量，修改互不影响。
+            assertNotSame(results.get(0).getVector(), results.get(1).getVector());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 在途请求结束后不保留结果。
+        model.embed("hello");
+        assertEquals(2, upstream.calls.get());
+    }
+
+    @Test
+    public void shouldShareFailureWithFollowersAndKeepDistinctRequestsApart() throws Exception {
+        BlockingModel upstream = new BlockingModel();
+        upstream.failure = new IllegalStateException("upstream down");
+        SingleFlightEmbeddingModel model = new SingleFlightEmbeddingModel(upstream);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<VectorData> first = executor.submit(() -> model.embed("hello"));
+            Future<VectorData> second = executor.submit(() -> model.embed("hello"));
+            awaitCoalesced(model, 1);
+            upstream.release.countDown();
+            for (Future<VectorData> future : new Future[]{first, second}) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    fail("expected failure");
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertEquals("upstream down", e.getCause().getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        upstream.failure = null;
+        EmbeddingOptions options = new EmbeddingOptions();
+        options.setDimensions(256);
+        model.embed(Document.of("hello"), EmbeddingOptions.DEFAULT);
+        model.embed(Document.of("hello"), options);
+        assertEquals(3, upstream.calls.get());
+        assertEquals(1, model.getCoalescedCount());
+    }
+
+    private static void awaitCoalesced(SingleFlightEmbeddingModel model, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (model.getCoalescedCount() < expected) {
+            assertTrue("followers did not join in time", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static class BlockingModel implements EmbeddingModel {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+
+        @Override
+        public VectorData embed(Document document, EmbeddingOptions options) {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            VectorData vectorData = new VectorData();
+            vectorData.setVector(new float[]{document.getContent().length()});
+            return vectorData;
+        }
+    }
+}
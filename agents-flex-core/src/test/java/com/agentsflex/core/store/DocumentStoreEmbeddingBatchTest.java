@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+package com.agentsflex.core.store;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.model.embedding.EmbeddingModel;
+import com.agentsflex.core.model.embedding.EmbeddingOptions;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentStoreEmbeddingBatchTest {
+
+    @Test
+    public void shouldEmbedMissingVectorsInMicroBatches() {
+        BatchCountingModel model = new BatchCountingModel();
+        NoopStore store = new NoopStore();
+        store.setEmbeddingModel(model);
+        store.setEmbeddingBatchSize(2);
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            documents.add(Document.of("doc-" + i));
+        }
+        documents.get(2).setVector(new float[]{9f});
+
+        store.store(documents);
+
+        assertEquals(Arrays.asList(2, 2), model.batchSizes);
+        assertEquals(1, model.singleCalls);
+        assertArrayEquals(new float[]{9f}, documents.get(2).getVector(), 0f);
+        for (Document document : documents) {
+            assertNotNull(document.getVector());
+        }
+        assertArrayEquals(new float[]{"doc-5".length()}, documents.get(5).getVector(), 0f);
+    }
+
+    @Test
+    public void shouldSplitBatchesByTokenBudget() {
+        BatchCountingModel model = new BatchCountingModel();
+        NoopStore store = new NoopStore();
+        store.setEmbeddingModel(model);
+        store.setEmbeddingBatchSize(100);
+        store.setEmbeddingMaxTokensPerBatch(3);
+
+        store.store(Arrays.asList(Document.of("hello"), Document.of("world"), Document.of("again"), Document.of("more")));
+
+        assertEquals(Arrays.asList(3), model.batchSizes);
+        assertEquals(1, model.singleCalls);
+    }
+
+    @Test
+    public void shouldPipelineBatchesThroughIngestExecutor() {
+        BatchCountingModel model = new BatchCountingModel();
+        NoopStore store = new NoopStore();
+        store.setEmbeddingModel(model);
+        store.setEmbeddingBatchSize(3);
+        store.setEmbeddingConcurrency(2);
+        store.setStoreConcurrency(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        store.setIngestExecutor(executor);
+
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            documents.add(Document.of("doc-" + i));
+        }
+
+        try {
+            StoreResult result = store.store(documents);
+
+            assertTrue(result.isSuccess());
+            assertEquals(10, result.getIds().size());
+            assertEquals(4, store.storedBatches.get());
+            assertEquals(1, store.maxConcurrentStores.get());
+            for (Document document : documents) {
+                assertNotNull(document.getId());
+                assertNotNull(document.getVector());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldShareConcurrencyLimitsAcrossConcurrentStoreCalls() throws Exception {
+        BatchCountingModel model = new BatchCountingModel();
+        model.delayMillis = 5;
+        NoopStore store = new NoopStore();
+        store.delayMillis = 5;
+        store.setEmbeddingModel(model);
+        store.setEmbeddingBatchSize(1);
+        store.setEmbeddingConcurrency(1);
+        store.setStoreConcurrency(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        store.setIngestExecutor(executor);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+
+        try {
+            List<Future<StoreResult>> results = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                List<Document> documents = new ArrayList<>();
+                for (int i = 0; i < 6; i++) {
+                    documents.add(Document.of("caller-" + c + "-doc-" + i));
+                }
+                results.add(callers.submit(() -> store.store(documents)));
+            }
+            for (Future<StoreResult> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS).isSuccess());
+            }
+
+            assertEquals(18, store.storedBatches.get());
+            assertEquals(1, model.maxConcurrentCalls.get());
+            assertEquals(1, store.maxConcurrentStores.get());
+        } finally {
+            callers.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private static class BatchCountingModel implements EmbeddingModel {
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+        private volatile long delayMillis;
+        private int singleCalls;
+
+        @Override
+        public VectorData embed(Document document, EmbeddingOptions options) {
+            int current = concurrentCalls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(current, Math::max);
+            try {
+                singleCalls++;
+                pause(delayMillis);
+                return vectorOf(document);
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+
+        @Override
+        public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+            batchSizes.add(documents.size());
+            List<VectorData> result = new ArrayList<>();
+            for (Document document : documents) {
+                result.add(vectorOf(document));
+            }
+            return result;
+        }
+
+        private static VectorData vectorOf(Document document) {
+            VectorData vectorData = new VectorData();
+            vectorData.setVector(new float[]{document.getContent().length()});
+            return vectorData;
+        }
+    }
+
+    private static class NoopStore extends DocumentStore {
+        private final AtomicInteger storedBatches = new AtomicInteger();
+        private final AtomicInteger concurrentStores = new AtomicInteger();
+        private final AtomicInteger maxConcurrentStores = new AtomicInteger();
+        private volatile long delayMillis;
+
+        @Override
+        protected StoreResult doStore(List<Document> documents, StoreOptions options) {
+            int current = concurrentStores.incrementAndGet();
+            maxConcurrentStores.accumulateAndGet(current, Math::max);
+            storedBatches.incrementAndGet();
+            pause(delayMillis);
+            concurrentStores.decrementAndGet();
+            return StoreResult.successWithIds(documents);
+        }
+
+        @Override
+        protected StoreResult doDelete(Collection<?> ids, StoreOptions options) {
+            return StoreResult.success();
+        }
+
+        @Override
+        protected StoreResult doUpdate(List<Document> documents, StoreOptions options) {
+            return StoreResult.success();
+        }
+
+        @Override
+        protected List<Document> doSearch(SearchWrapper wrapper, StoreOptions options) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,35 @@
 package com.agentsflex.core.test;
 
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.TelemetryDestination;
+import com.agentsflex.core.observability.TelemetryRoute;
 import com.agentsflex.core.prompt.PromptTemplate;
+import com.agentsflex.core.prompt.PromptTemplateCacheStats;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class PromptTemplateTest {
 
@@ -95,4 +120,163 @@ public class PromptTemplateTest {
 
         System.out.println(template.format(params, true));
     }
+
+
+    @Test
+    public void testCacheIsBoundedLru() {
+        int capacity = PromptTemplate.getCacheCapacity();
+        PromptTemplate.clearCache();
+        try {
+            PromptTemplate.setCacheCapacity(4);
+            PromptTemplateCacheStats before = PromptTemplate.getCacheStats();
+
+            PromptTemplate a = PromptTemplate.of("a {{x}}");
+            PromptTemplate b = PromptTemplate.of("b {{x}}");
+            PromptTemplate.of("c {{x}}");
+            PromptTemplate.of("d {{x}}");
+            Assert.assertSame(a, PromptTemplate.of("a {{x}}"));
+            // 超出容量 4 后批量淘汰到 3，最久未使用的 b、c 被淘汰
+            PromptTemplate.of("e {{x}}");
+
+            PromptTemplateCacheStats stats = PromptTemplate.getCacheStats();
+            Assert.assertEquals(3, stats.getSize());
+            Assert.assertEquals(1, stats.getHitCount() - before.getHitCount());
+            Assert.assertEquals(5, stats.getMissCount() - before.getMissCount());
+            Assert.assertEquals(2, stats.getEvictionCount() - before.getEvictionCount());
+            Assert.assertSame(a, PromptTemplate.of("a {{x}}"));
+            Assert.assertNotSame(b, PromptTemplate.of("b {{x}}"));
+
+            PromptTemplate.setCacheCapacity(1);
+            Assert.assertEquals(1, PromptTemplate.getCacheStats().getSize());
+        } finally {
+            PromptTemplate.setCacheCapacity(capacity);
+            PromptTemplate.clearCache();
+        }
+    }
+
+    @Test
+    public void testCacheStaysBoundedUnderConcurrentAccess() throws Exception {
+        int capacity = PromptTemplate.getCacheCapacity();
+        PromptTemplate.clearCache();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            PromptTemplate.setCacheCapacity(64);
+            PromptTemplate hot = PromptTemplate.of("hot {{x}}");
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        PromptTemplate.of("hot {{x}}");
+                        Assert.assertEquals("t" + thread + "-" + i + "!",
+                            PromptTemplate.of("t" + thread + "-" + i + "{{x}}").format(Collections.singletonMap("x", "!")));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+
+            Assert.assertTrue(PromptTemplate.getCacheStats().getSize() <= 64);
+            // 持续命中的模板不会被淘汰
+            Assert.assertSame(hot, PromptTemplate.of("hot {{x}}"));
+        } finally {
+            executor.shutdownNow();
+            PromptTemplate.setCacheCapacity(capacity);
+            PromptTemplate.clearCache();
+        }
+    }
+
+    @Test
+    public void testCacheMetricsExportedToOpenTelemetry() {
+        CollectingMetricExporter exporter = new CollectingMetricExporter();
+        try (TelemetryRoute route = TelemetryRoute.builder("prompt-template-cache")
+            .addDestination(TelemetryDestination.builder("collector").metricExporter(exporter).build())
+            .build()) {
+            try (Scope ignored = Observability.useRuntime(route)) {
+                String template = "metrics " + System.nanoTime() + " {{x}}";
+                PromptTemplate.of(template);
+                PromptTemplate.of(template);
+            }
+            route.forceFlush().join(10, TimeUnit.SECONDS);
+
+            Map<String, Long> requests = new HashMap<>();
+            for (MetricData metric : exporter.metrics) {
+                if ("agentsflex.prompt.template.cache.requests".equals(metric.getName())) {
+                    for (LongPointData point : metric.getLongSumData().getPoints()) {
+                        requests.put(point.getAttributes().get(AttributeKey.stringKey("result")), point.getValue());
+                    }
+                }
+            }
+            Assert.assertTrue(requests.get("hit") >= 1);
+            Assert.assertTrue(requests.get("miss") >= 1);
+            Assert.assertTrue(exporter.names().contains("agentsflex.prompt.template.cache.size"));
+            Assert.assertTrue(exporter.names().contains("agentsflex.prompt.template.cache.evictions"));
+        }
+    }
+
+    @Test
+    public void testCompiledPathMatchesJsonPath() {
+        Map<String, Object> user = new HashMap<>();
+        user.put("name", "Michael");
+        user.put("profile", Collections.singletonMap("city", "Beijing"));
+        Map<String, Object> params = new HashMap<>();
+        params.put("user", user);
+        params.put("bean", new Profile("Shanghai"));
+        params.put("items", Arrays.asList("x", "y"));
+
+        PromptTemplate template = new PromptTemplate(
+            "{{user.name}}|{{ $.user.profile.city }}|{{bean.city}}|{{items[1]}}|{{user.age ?? '18'}}|{{user.profile.zip ?? 'none'}}");
+        Assert.assertEquals("Michael|Beijing|Shanghai|y|18|none", template.format(params));
+    }
+
+    public static class Profile {
+        private final String city;
+
+        public Profile(String city) {
+            this.city = city;
+        }
+
+        public String getCity() {
+            return city;
+        }
+    }
+
+    private static final class CollectingMetricExporter implements MetricExporter {
+        private final List<MetricData> metrics = Collections.synchronizedList(new ArrayList<>());
+
+        private List<String> names() {
+            List<String> names = new ArrayList<>();
+            for (MetricData metric : metrics) {
+                names.add(metric.getName());
+            }
+            return names;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            this.metrics.addAll(metrics);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporalitySelector.alwaysCumulative().getAggregationTemporality(instrumentType);
+        }
+
+        @Override
+        public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+            return DefaultAggregationSelector.getDefault().getDefaultAggregation(instrumentType);
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package com.agentsflex.core.test.splitter;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.document.splitter.SimpleTokenizeSplitter;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.knuddels.jtokkit.api.IntArrayList;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 对比原有装箱实现与当前 primitive 实现的耗时和分配量，类名不匹配 Surefire 默认规则，需要通过
+ * {@code -Dtest=SimpleTokenizeSplitterBenchmark} 单独运行。
+ */
+public class SimpleTokenizeSplitterBenchmark {
+
+    private static final String PARAGRAPH = "MyBatis-Flex 是一个优雅的 MyBatis 增强框架，它非常轻量、同时拥有极高的性能与灵活性。" +
+        "AiEditor is a next-generation rich text editor for AI. It is developed based on Web Component.\n";
+
+    @Test
+    public void benchmarkSplit() throws IOException {
+        int chars = Integer.getInteger("splitter.benchmark.chars", 2_000_000);
+        int rounds = Integer.getInteger("splitter.benchmark.rounds", 3);
+        int chunkSize = Integer.getInteger("splitter.benchmark.chunk", 256);
+        StringBuilder sb = new StringBuilder(chars + PARAGRAPH.length());
+        while (sb.length() < chars) {
+            sb.append(PARAGRAPH);
+        }
+        String content = sb.toString();
+        SimpleTokenizeSplitter splitter = new SimpleTokenizeSplitter(chunkSize, chunkSize / 8);
+        Encoding encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+        for (int warmup = 0; warmup < 2; warmup++) {
+            assertEquals(legacySplit(encoding, content, chunkSize, chunkSize / 8), splitter.split(Document.of(content)).size());
+            splitter.split(new StringReader(content));
+        }
+
+        long[] legacy = new long[2];
+        long[] current = new long[2];
+        long[] streaming = new long[2];
+        for (int i = 0; i < rounds; i++) {
+            measure(legacy, () -> legacySplit(encoding, content, chunkSize, chunkSize / 8));
+            measure(current, () -> splitter.split(Document.of(content)).size());
+            measure(streaming, () -> {
+                try {
+                    return splitter.split(new StringReader(content)).size();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        print("legacy boxed", chars, rounds, legacy);
+        print("primitive", chars, rounds, current);
+        print("primitive reader", chars, rounds, streaming);
+    }
+
+    private static void measure(long[] total, IntSupplier task) {
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        task.getAsInt();
+        total[0] += System.nanoTime() - start;
+        total[1] += allocatedBytes() - allocated;
+    }
+
+    private static void print(String name, int chars, int rounds, long[] total) {
+        System.out.printf("%s chars=%d avg=%.2fms allocated=%.1fMB%n",
+            name, chars, total[0] / 1e6 / rounds, total[1] / 1024D / 1024D / rounds);
+    }
+
+    @SuppressWarnings("restriction")
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * 原有实现：整篇 token 装箱，每个分块逐个拷贝到新的 IntArrayList，遇到替换字符再解码一次。
+     */
+    private static int legacySplit(Encoding encoding, String content, int chunkSize, int overlapSize) {
+        List<Integer> tokens = encoding.encode(content).boxed();
+        int currentIndex = 0;
+        int maxIndex = tokens.size();
+        int chunks = 0;
+        while (currentIndex < maxIndex) {
+            int endIndex = Math.min(currentIndex + chunkSize, maxIndex);
+            IntArrayList intArrayList = new IntArrayList();
+            for (Integer chunkToken : tokens.subList(currentIndex, endIndex)) {
+                intArrayList.add(chunkToken);
+            }
+            String chunkText = encoding.decode(intArrayList).trim();
+            if (chunkText.isEmpty()) {
+                currentIndex = currentIndex + chunkSize - overlapSize;
+                continue;
+            }
+            boolean firstIsReplacement = chunkText.charAt(0) == 65533;
+            boolean lastIsReplacement = chunkText.charAt(chunkText.length() - 1) == 65533;
+            if (firstIsReplacement || lastIsReplacement) {
+                int adjustedStart = firstIsReplacement ? Math.max(0, currentIndex - 1) : currentIndex;
+                int adjustedEnd = lastIsReplacement ? Math.min(maxIndex, endIndex + 1) : endIndex;
+                intArrayList = new IntArrayList();
+                for (Integer chunkToken : tokens.subList(adjustedStart, adjustedEnd)) {
+                    intArrayList.add(chunkToken);
+                }
+                encoding.decode(intArrayList).trim();
+            }
+            currentIndex = currentIndex + chunkSize - overlapSize;
+            chunks++;
+        }
+        return chunks;
+    }
+}
@@ -18,8 +18,11 @@ package com.agentsflex.core.test.splitter;
 import com.agentsflex.core.document.Document;
 import com.agentsflex.core.document.splitter.SimpleTokenizeSplitter;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 
 public class SimpleTokenizeSplitterTest {
@@ -69,5 +72,32 @@ public class SimpleTokenizeSplitterTest {
         }
     }
 
+    @Test
+    public void testNoReplacementCharacterAtChunkBoundaries() {
+        SimpleTokenizeSplitter splitter = new SimpleTokenizeSplitter(3, 1);
+        List<Document> chunks = splitter.split(Document.of(text + "😀😁😂🤣"));
+
+        Assert.assertFalse(chunks.isEmpty());
+        for (Document chunk : chunks) {
+            Assert.assertEquals(-1, chunk.getContent().indexOf('\uFFFD'));
+        }
+    }
 
+    @Test
+    public void testSplitReaderMatchesSplitDocument() throws IOException {
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 300_000) {
+            large.append(text2).append('\n');
+        }
+        String content = large.toString();
+        SimpleTokenizeSplitter splitter = new SimpleTokenizeSplitter(200, 20);
+
+        List<Document> expected = splitter.split(Document.of(content));
+        List<Document> actual = splitter.split(new StringReader(content));
+
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getContent(), actual.get(i).getContent());
+        }
+    }
 }
@@ -1,15 +1,75 @@
 package com.agentsflex.core.util;
 
+import com.agentsflex.core.message.AiMessage;
+import com.agentsflex.core.message.Message;
+import com.agentsflex.core.message.UserMessage;
 import com.alibaba.fastjson2.JSONPath;
 import com.alibaba.fastjson2.JSONObject;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class UtilityRegressionTest {
 
+    @Test
+    public void cachedTokenCountMatchesUncachedCountBeyondCapacity() {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            messages.add(new UserMessage("question " + i + " about a fairly long topic that spans many tokens"));
+            messages.add(new AiMessage("answer " + i));
+        }
+        int expected = 2;
+        for (Message message : messages) {
+            expected += 1 + LocalTokenCounter.countTokensUncached(message.getTextContent());
+        }
+        assertEquals(expected, LocalTokenCounter.countPromptTokens(messages));
+        assertEquals(expected, LocalTokenCounter.countPromptTokens(messages));
+
+        // 超过缓存容量后按近似策略淘汰，计数保持正确
+        StringBuilder text = new StringBuilder("a sentence long enough to be cached by the local token counter ");
+        for (int i = 0; i < 5000; i++) {
+            String value = text.append(i % 10).toString();
+            assertEquals(LocalTokenCounter.countTokensUncached(value), LocalTokenCounter.countTokens(value));
+            if (text.length() > 200) text.setLength(64);
+        }
+        assertEquals(expected, LocalTokenCounter.countPromptTokens(messages));
+    }
+
+    @Test
+    public void incrementalTokenCounterRecountsFromFirstChangedMessage() {
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UserMessage message = new UserMessage("question " + i + " about a fairly long topic that spans many tokens");
+            message.setMessageId("m" + i);
+            messages.add(message);
+        }
+        IncrementalTokenCounter counter = new IncrementalTokenCounter();
+        assertEquals(LocalTokenCounter.countPromptTokens(messages), counter.countPromptTokens(messages));
+
+        messages.add(new AiMessage("answer"));
+        assertEquals(LocalTokenCounter.countPromptTokens(messages), counter.countPromptTokens(messages));
+        assertEquals(5, counter.getCountedMessageCount());
+
+        // 中间消息被替换时，不能只校验最后一条已统计消息
+        UserMessage edited = new UserMessage("edited");
+        edited.setMessageId("m1");
+        edited.setVersion(1);
+        messages.set(1, edited);
+        assertEquals(LocalTokenCounter.countPromptTokens(messages), counter.countPromptTokens(messages));
+
+        // 删除中间消息后列表变短，同样从变化位置重新统计
+        messages.remove(2);
+        assertEquals(LocalTokenCounter.countPromptTokens(messages), counter.countPromptTokens(messages));
+        assertEquals(4, counter.getCountedMessageCount());
+    }
+
     @Test
     public void readLongParsesNumericStrings() {
         JSONObject object = new JSONObject();
@@ -66,4 +126,15 @@ public class UtilityRegressionTest {
         }
         return false;
     }
+
+    @Test
+    public void virtualThreadExecutorUsesGivenName() throws Exception {
+        ExecutorService executor = NamedThreadPools.newVirtualThreadPerTaskExecutor("regression-worker");
+        try {
+            String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+            assertTrue(threadName, threadName.startsWith("regression-worker-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -25,17 +25,22 @@ import com.agentsflex.core.util.JSONUtil;
 import com.agentsflex.core.util.Maps;
 import com.agentsflex.core.util.StringUtil;
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OllamaEmbeddingModel extends BaseEmbeddingModel<OllamaEmbeddingConfig> {
 
-    private AgentsFlexHttpClient agentsFlexHttpClient = AgentsFlexHttpClient.getDefault();
+    private AgentsFlexHttpClient agentsFlexHttpClient;
 
     public OllamaEmbeddingModel(OllamaEmbeddingConfig config) {
         super(config);
+        this.agentsFlexHttpClient = AgentsFlexHttpClient.forProfile(config.getHttpClientProfile());
     }
 
     public AgentsFlexHttpClient getHttpClient() {
@@ -49,6 +54,51 @@ public class OllamaEmbeddingModel extends BaseEmbeddingModel<OllamaEmbeddingConf
 
     @Override
     public VectorData embed(Document document, EmbeddingOptions options) {
+        JSONObject jsonObject = requestEmbeddings(document.getContent(), options);
+
+        VectorData vectorData = new VectorData();
+
+        float[] embedding = JSONUtil.readFloatArray(jsonObject, "$.embeddings[0]");
+        vectorData.setVector(embedding);
+
+        vectorData.putMetadata("total_duration", JSONUtil.readLong(jsonObject, "$.total_duration"));
+        vectorData.putMetadata("load_duration", JSONUtil.readLong(jsonObject, "$.load_duration"));
+        vectorData.putMetadata("prompt_eval_count", JSONUtil.readInteger(jsonObject, "$.prompt_eval_count"));
+        vectorData.putMetadata("model", JSONUtil.readString(jsonObject, "$.model"));
+
+        return vectorData;
+    }
+
+    @Override
+    public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> inputs = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            inputs.add(document.getContent());
+        }
+        JSONObject jsonObject = requestEmbeddings(inputs, options);
+
+        JSONArray embeddings = jsonObject.getJSONArray("embeddings");
+        if (embeddings == null || embeddings.size() != documents.size()) {
+            throw new ModelException("Embedding response size mismatch, expected " + documents.size()
+                + " but got " + (embeddings == null ? 0 : embeddings.size()));
+        }
+
+        String model = JSONUtil.readString(jsonObject, "$.model");
+        List<VectorData> result = new ArrayList<>(documents.size());
+        for (int i = 0; i < embeddings.size(); i++) {
+            VectorData vectorData = new VectorData();
+            vectorData.setVectorByNumbers(embeddings.getJSONArray(i).toJavaList(Float.class));
+            vectorData.putMetadata("model", model);
+            result.add(vectorData);
+        }
+        return result;
+    }
+
+    private JSONObject requestEmbeddings(Object input, EmbeddingOptions options) {
         Map<String, String> headers = new HashMap<>();
         headers.put("Content-Type", "application/json");
 
@@ -57,7 +107,7 @@ public class OllamaEmbeddingModel extends BaseEmbeddingModel<OllamaEmbeddingConf
         }
 
         String payload = Maps.of("model", options.getModelOrDefault(config.getModel()))
-            .set("input", document.getContent())
+            .set("input", input)
             .setIfNotEmpty("dimensions", options.getDimensions())
             .toJSON();
 
@@ -75,18 +125,7 @@ public class OllamaEmbeddingModel extends BaseEmbeddingModel<OllamaEmbeddingConf
         if (errorMessage != null) {
             throw new ModelException(errorMessage);
         }
-
-        VectorData vectorData = new VectorData();
-
-        float[] embedding = JSONUtil.readFloatArray(jsonObject, "$.embeddings[0]");
-        vectorData.setVector(embedding);
-
-        vectorData.putMetadata("total_duration", JSONUtil.readLong(jsonObject, "$.total_duration"));
-        vectorData.putMetadata("load_duration", JSONUtil.readLong(jsonObject, "$.load_duration"));
-        vectorData.putMetadata("prompt_eval_count", JSONUtil.readInteger(jsonObject, "$.prompt_eval_count"));
-        vectorData.putMetadata("model", JSONUtil.readString(jsonObject, "$.model"));
-
-        return vectorData;
+        return jsonObject;
     }
 
 }
@@ -19,23 +19,26 @@ import com.agentsflex.core.document.Document;
 import com.agentsflex.core.model.client.AgentsFlexHttpClient;
 import com.agentsflex.core.model.embedding.BaseEmbeddingModel;
 import com.agentsflex.core.model.embedding.EmbeddingOptions;
+import com.agentsflex.core.model.embedding.OpenAICompatibleEmbeddings;
 import com.agentsflex.core.model.exception.ModelException;
 import com.agentsflex.core.store.VectorData;
 import com.agentsflex.core.util.JSONUtil;
-import com.agentsflex.core.util.Maps;
 import com.agentsflex.core.util.StringUtil;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONObject;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OpenAIEmbeddingModel extends BaseEmbeddingModel<OpenAIEmbeddingConfig> {
 
-    private AgentsFlexHttpClient agentsFlexHttpClient = AgentsFlexHttpClient.getDefault();
+    private AgentsFlexHttpClient agentsFlexHttpClient;
 
     public OpenAIEmbeddingModel(OpenAIEmbeddingConfig config) {
         super(config);
+        this.agentsFlexHttpClient = AgentsFlexHttpClient.forProfile(config.getHttpClientProfile());
     }
 
     public AgentsFlexHttpClient getHttpClient() {
@@ -48,11 +51,33 @@ public class OpenAIEmbeddingModel extends BaseEmbeddingModel<OpenAIEmbeddingConf
 
     @Override
     public VectorData embed(Document document, EmbeddingOptions options) {
+        String payload = promptToEmbeddingsPayload(document, options, config);
+        JSONObject jsonObject = requestEmbeddings(payload);
+
+        VectorData vectorData = new VectorData();
+        float[] embedding = JSONUtil.readFloatArray(jsonObject, "$.data[0].embedding");
+        vectorData.setVector(embedding);
+
+        return vectorData;
+    }
+
+    @Override
+    public List<VectorData> embedAll(List<Document> documents, EmbeddingOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String payload = promptToEmbeddingsPayload(documents, options, config);
+        JSONObject jsonObject = requestEmbeddings(payload);
+
+        return OpenAICompatibleEmbeddings.readVectors(jsonObject, documents.size());
+    }
+
+    private JSONObject requestEmbeddings(String payload) {
         Map<String, String> headers = new HashMap<>();
         headers.put("Content-Type", "application/json");
         headers.put("Authorization", "Bearer " + getConfig().getApiKey());
 
-        String payload = promptToEmbeddingsPayload(document, options, config);
         String endpoint = config.getEndpoint();
         // https://platform.openai.com/docs/api-reference/embeddings/create
         String response = agentsFlexHttpClient.post(endpoint + config.getRequestPath(), headers, payload);
@@ -66,22 +91,18 @@ public class OpenAIEmbeddingModel extends BaseEmbeddingModel<OpenAIEmbeddingConf
         if (errorMessage != null) {
             throw new ModelException(errorMessage);
         }
-
-        VectorData vectorData = new VectorData();
-        float[] embedding = JSONUtil.readFloatArray(jsonObject, "$.data[0].embedding");
-        vectorData.setVector(embedding);
-
-        return vectorData;
+        return jsonObject;
     }
 
 
     public static String promptToEmbeddingsPayload(Document text, EmbeddingOptions options, OpenAIEmbeddingConfig config) {
         // https://platform.openai.com/docs/api-reference/making-requests
-        return Maps.of("model", options.getModelOrDefault(config.getModel()))
-            .set("encoding_format", options.getEncodingFormatOrDefault("float"))
-            .set("input", text.getContent())
-            .setIfNotEmpty("user", options.getUser())
-            .setIfNotEmpty("dimensions", options.getDimensions())
-            .toJSON();
+        return OpenAICompatibleEmbeddings.toPayload(text.getContent(), options, config.getModel());
+    }
+
+    public static String promptToEmbeddingsPayload(List<Document> documents, EmbeddingOptions options, OpenAIEmbeddingConfig config) {
+        // https://platform.openai.com/docs/api-reference/making-requests
+        return OpenAICompatibleEmbeddings.toPayload(OpenAICompatibleEmbeddings.toInputs(documents), options,
+            config.getModel());
     }
 }
@@ -34,7 +34,7 @@ public class AliyunImageModel extends BaseImageModel<AliyunImageModelConfig> {
      * @param config 阿里云图片模型配置
      */
     public AliyunImageModel(AliyunImageModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
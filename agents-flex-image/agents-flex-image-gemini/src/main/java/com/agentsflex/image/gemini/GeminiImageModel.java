@@ -39,7 +39,7 @@ public class GeminiImageModel extends BaseImageModel<GeminiImageModelConfig> {
      * 使用默认 HTTP 客户端创建 Gemini 图片模型。
      */
     public GeminiImageModel(GeminiImageModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
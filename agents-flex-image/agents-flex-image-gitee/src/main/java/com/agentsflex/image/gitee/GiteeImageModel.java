@@ -44,7 +44,7 @@ public class GiteeImageModel extends BaseImageModel<GiteeImageModelConfig> {
      * 使用默认 HTTP 客户端创建 Gitee AI 图片模型。
      */
     public GiteeImageModel(GiteeImageModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
@@ -41,7 +41,7 @@ public class OpenAIImageModel extends BaseImageModel<OpenAIImageModelConfig> {
      * 使用默认 HTTP 客户端创建 OpenAI 图片模型。
      */
     public OpenAIImageModel(OpenAIImageModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
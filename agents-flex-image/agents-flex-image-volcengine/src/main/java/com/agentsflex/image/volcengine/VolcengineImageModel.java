@@ -34,7 +34,7 @@ public class VolcengineImageModel extends BaseImageModel<VolcengineImageModelCon
      * 使用默认 HTTP 客户端创建火山引擎图片模型。
      */
     public VolcengineImageModel(VolcengineImageModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.mcp.client;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 同一 MCP Server 的一组异步客户端。每个客户端独占一个传输（stdio 即一个子进程），
+ * 工具调用总是分配给进行中请求最少的客户端。
+ */
+class McpAsyncClientPool implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(McpAsyncClientPool.class);
+
+    private final String name;
+    private final List<McpAsyncClient> clients;
+    private final List<CloseableTransport> transports;
+    private final AtomicInteger[] inFlight;
+
+    McpAsyncClientPool(String name, List<McpAsyncClient> clients, List<CloseableTransport> transports) {
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("MCP async client pool is empty: " + name);
+        }
+        this.name = name;
+        this.clients = clients;
+        this.transports = transports;
+        this.inFlight = new AtomicInteger[clients.size()];
+        for (int i = 0; i < inFlight.length; i++) {
+            inFlight[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * 创建 size 个客户端并并行完成 initialize 握手，任一失败则关闭全部已创建的连接。
+     * 只有第一个客户端订阅工具列表变更，避免同一变更被重复处理。
+     */
+    static McpAsyncClientPool open(String name, int size, Supplier<CloseableTransport> transportSupplier,
+                                   Duration requestTimeout, Consumer<List<McpSchema.Tool>> toolsChangeConsumer) {
+        List<McpAsyncClient> clients = new ArrayList<>(size);
+        List<CloseableTransport> transports = new ArrayList<>(size);
+        McpAsyncClientPool pool = null;
+        try {
+            for (int i = 0; i < size; i++) {
+                CloseableTransport transport = transportSupplier.get();
+                transports.add(transport);
+                McpClient.AsyncSpec asyncSpec = McpClient.async(transport.getTransport())
+                    .requestTimeout(requestTimeout);
+                if (i == 0 && toolsChangeConsumer != null) {
+                    asyncSpec.toolsChangeConsumer(tools -> Mono.fromRunnable(() -> toolsChangeConsumer.accept(tools)));
+                }
+                clients.add(asyncSpec.build());
+            }
+            pool = new McpAsyncClientPool(name, clients, transports);
+            Flux.fromIterable(clients)
+                .flatMap(McpAsyncClient::initialize)
+                .then()
+                .block(requestTimeout);
+            return pool;
+        } catch (RuntimeException e) {
+            if (pool != null) {
+                pool.close();
+            } else {
+                for (CloseableTransport transport : transports) {
+                    closeQuietly(name, transport);
+                }
+            }
+            throw e;
+        }
+    }
+
+    CompletableFuture<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request, Duration timeout) {
+        int slot = leastBusySlot();
+        inFlight[slot].incrementAndGet();
+        try {
+            return clients.get(slot).callTool(request)
+                .timeout(timeout)
+                .toFuture()
+                .whenComplete((result, error) -> inFlight[slot].decrementAndGet());
+        } catch (RuntimeException e) {
+            inFlight[slot].decrementAndGet();
+            throw e;
+        }
+    }
+
+    McpSchema.ListToolsResult listTools(Duration timeout) {
+        return clients.get(0).listTools().block(timeout);
+    }
+
+    void ping(Duration timeout) {
+        Flux.fromIterable(clients)
+            .flatMap(McpAsyncClient::ping)
+            .then()
+            .block(timeout);
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    int inFlight() {
+        int total = 0;
+        for (AtomicInteger count : inFlight) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    private int leastBusySlot() {
+        int slot = 0;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < inFlight.length; i++) {
+            int count = inFlight[i].get();
+            if (count < min) {
+                min = count;
+                slot = i;
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    public void close() {
+        for (McpAsyncClient client : clients) {
+            try {
+                client.close();
+            } catch (Exception ignored) {
+            }
+        }
+        for (CloseableTransport transport : transports) {
+            closeQuietly(name, transport);
+        }
+    }
+
+    private static void closeQuietly(String name, CloseableTransport transport) {
+        try {
+            transport.close();
+        } catch (Exception e) {
+            log.warn("Error closing transport for '{}'", name, e);
+        }
+    }
+}
@@ -24,9 +24,17 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class McpClientDescriptor {
     private static final Logger log = LoggerFactory.getLogger(McpClientDescriptor.class);
@@ -44,33 +52,218 @@ public class McpClientDescriptor {
     private volatile Instant lastPingTime = Instant.EPOCH;
     private static final long MIN_PING_INTERVAL_MS = 5_000;
 
+    public static final Duration DEFAULT_TOOLS_CACHE_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(20);
+
+    private final McpServerMetrics metrics;
+    private final Duration requestTimeout;
+    private final Semaphore inFlightPermits;
+    private volatile McpAsyncClientPool asyncPool;
+
+    // 工具目录缓存：TTL 到期或收到 notifications/tools/list_changed 时整体替换
+    private final Object catalogLock = new Object();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile ToolCatalog toolCatalog;
+    private volatile Duration toolsCacheTtl;
+
     public McpClientDescriptor(String name, McpConfig.ServerSpec spec, Map<String, String> resolvedEnv) {
         this.name = name;
         this.spec = spec;
         this.resolvedEnv = new HashMap<>(resolvedEnv);
+        this.metrics = new McpServerMetrics(name);
+        Long ttlSeconds = spec == null ? null : spec.getToolsCacheTtlSeconds();
+        this.toolsCacheTtl = ttlSeconds == null ? DEFAULT_TOOLS_CACHE_TTL : Duration.ofSeconds(ttlSeconds);
+        Long timeoutSeconds = spec == null ? null : spec.getRequestTimeoutSeconds();
+        this.requestTimeout = timeoutSeconds == null || timeoutSeconds <= 0 ? DEFAULT_REQUEST_TIMEOUT : Duration.ofSeconds(timeoutSeconds);
+        Integer maxInFlight = spec == null ? null : spec.getMaxInFlight();
+        this.inFlightPermits = maxInFlight == null || maxInFlight <= 0 ? null : new Semaphore(maxInFlight, true);
     }
 
-    synchronized McpSyncClient getClient() {
-        if (closed) {
-            throw new IllegalStateException("MCP client closed: " + name);
+    McpSyncClient getClient() {
+        McpSyncClient current = client;
+        if (current != null && !closed) {
+            return current;
         }
-        if (client == null) {
-            initialize();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("MCP client closed: " + name);
+            }
+            if (client == null) {
+                initialize();
+            }
+            return client;
         }
-        return client;
     }
 
 
     public Tool getMcpTool(String toolName) {
-        McpSyncClient client = getClient();
-        McpSchema.ListToolsResult listToolsResult = client.listTools();
-        for (McpSchema.Tool tool : listToolsResult.tools()) {
-            if (tool.name().equals(toolName)) {
-                return new McpTool(getClient(), tool);
+        McpSchema.Tool tool = getToolCatalog().get(toolName);
+        return tool == null ? null : new McpTool(this, tool);
+    }
+
+    /**
+     * 返回该 Server 提供的全部工具，优先使用缓存的工具目录。
+     */
+    public List<Tool> getMcpTools() {
+        Map<String, McpSchema.Tool> catalog = getToolCatalog();
+        List<Tool> tools = new ArrayList<>(catalog.size());
+        for (McpSchema.Tool tool : catalog.values()) {
+            tools.add(new McpTool(this, tool));
+        }
+        return tools;
+    }
+
+    /**
+     * 初始化连接并预先加载工具目录。
+     */
+    public void warmUp() {
+        getToolCatalog();
+    }
+
+    /**
+     * 丢弃缓存的工具目录，下次查找时重新拉取。
+     */
+    public void invalidateTools() {
+        catalogVersion.incrementAndGet();
+        toolCatalog = null;
+    }
+
+    Map<String, McpSchema.Tool> getToolCatalog() {
+        ToolCatalog catalog = toolCatalog;
+        if (catalog != null && catalog.isFresh(toolsCacheTtl)) {
+            return catalog.tools;
+        }
+        synchronized (catalogLock) {
+            catalog = toolCatalog;
+            if (catalog != null && catalog.isFresh(toolsCacheTtl)) {
+                return catalog.tools;
+            }
+            long version = catalogVersion.get();
+            catalog = new ToolCatalog(loadTools());
+            metrics.recordToolListRefresh();
+            // 拉取期间若收到了 list_changed 通知，以通知带来的目录为准
+            if (catalogVersion.compareAndSet(version, version + 1)) {
+                toolCatalog = catalog;
             }
+            return catalog.tools;
         }
+    }
 
-        return null;
+    private List<McpSchema.Tool> loadTools() {
+        if (isAsync()) {
+            return getAsyncPool().listTools(requestTimeout).tools();
+        }
+        return getClient().listTools().tools();
+    }
+
+    /**
+     * 发起一次工具调用。异步模式下请求交给连接池中最空闲的客户端，并按工具配置的超时结束；
+     * 同步模式下在调用线程上完成。配置了 maxInFlight 时，超出上限的调用最多等待该工具的超时时间。
+     */
+    CompletableFuture<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request) {
+        Duration timeout = getToolTimeout(request.name());
+        acquirePermit(request.name(), timeout);
+        CompletableFuture<McpSchema.CallToolResult> future;
+        try {
+            if (isAsync()) {
+                future = getAsyncPool().callTool(request, timeout);
+            } else {
+                future = CompletableFuture.completedFuture(getClient().callTool(request));
+            }
+        } catch (RuntimeException e) {
+            releasePermit();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> releasePermit());
+    }
+
+    Duration getToolTimeout(String toolName) {
+        Map<String, Long> timeouts = spec == null ? null : spec.getToolTimeoutSeconds();
+        Long seconds = timeouts == null ? null : timeouts.get(toolName);
+        return seconds == null || seconds <= 0 ? requestTimeout : Duration.ofSeconds(seconds);
+    }
+
+    private void acquirePermit(String toolName, Duration timeout) {
+        if (inFlightPermits == null) {
+            return;
+        }
+        try {
+            if (!inFlightPermits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new McpCallException("MCP Tool call rejected, too many in-flight calls, server: " + name + ", tool name: " + toolName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new McpCallException("MCP Tool call interrupted, tool name: " + toolName, e);
+        }
+    }
+
+    private void releasePermit() {
+        if (inFlightPermits != null) {
+            inFlightPermits.release();
+        }
+    }
+
+    boolean isAsync() {
+        return spec != null && spec.isAsync();
+    }
+
+    McpAsyncClientPool getAsyncPool() {
+        McpAsyncClientPool current = asyncPool;
+        if (current != null && !closed) {
+            return current;
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("MCP client closed: " + name);
+            }
+            if (asyncPool == null) {
+                asyncPool = openAsyncPool();
+            }
+            return asyncPool;
+        }
+    }
+
+    private McpAsyncClientPool openAsyncPool() {
+        int poolSize = 1;
+        if (McpConfig.DEFAULT_TRANSPORT_TYPE.equalsIgnoreCase(spec.getTransportOrType())
+            && spec.getPoolSize() != null && spec.getPoolSize() > 1) {
+            poolSize = spec.getPoolSize();
+        }
+
+        // 客户端级请求超时取最大的工具超时，单次调用再按各自的工具超时截断
+        Duration clientTimeout = requestTimeout;
+        if (spec.getToolTimeoutSeconds() != null) {
+            for (String toolName : spec.getToolTimeoutSeconds().keySet()) {
+                Duration toolTimeout = getToolTimeout(toolName);
+                if (toolTimeout.compareTo(clientTimeout) > 0) {
+                    clientTimeout = toolTimeout;
+                }
+            }
+        }
+
+        McpTransportFactory factory = getTransportFactory(spec.getTransportOrType());
+        long start = System.nanoTime();
+        try {
+            McpAsyncClientPool pool = McpAsyncClientPool.open(name, poolSize,
+                () -> factory.create(spec, resolvedEnv), clientTimeout, this::onToolsChanged);
+            this.alive = true;
+            metrics.recordInit(System.nanoTime() - start, true);
+            log.info("MCP async client initialized: {}, pool size: {}, cost: {}ms", name, poolSize, metrics.getLastInitMillis());
+            return pool;
+        } catch (Exception e) {
+            metrics.recordInit(System.nanoTime() - start, false);
+            String errorMsg = "Failed to initialize MCP async client: " + name + ", error: " + e.getMessage();
+            log.error(errorMsg, e);
+            throw new RuntimeException(errorMsg, e);
+        }
+    }
+
+    void onToolsChanged(List<McpSchema.Tool> tools) {
+        // SDK 收到 notifications/tools/list_changed 后已重新拉取完整列表，直接替换即可
+        catalogVersion.incrementAndGet();
+        toolCatalog = new ToolCatalog(tools);
+        metrics.recordToolListChanged();
+        log.debug("MCP tool list changed: {}, tools: {}", name, tools == null ? 0 : tools.size());
     }
 
     private synchronized void initialize() {
@@ -87,13 +280,15 @@ public class McpClientDescriptor {
             return;
         }
 
+        long start = System.nanoTime();
         try {
             McpTransportFactory factory = getTransportFactory(spec.getTransportOrType());
             CloseableTransport transport = factory.create(spec, resolvedEnv);
             this.managedTransport = transport;
 
             McpSyncClient mcpSyncClient = McpClient.sync(transport.getTransport())
-                .requestTimeout(Duration.ofSeconds(20)) // default 20 seconds
+                .requestTimeout(requestTimeout)
+                .toolsChangeConsumer(this::onToolsChanged)
 //                .roots(true)       // Enable roots capability
 //                .sampling()        // Enable sampling capability
 //                .elicitation()     // Enable elicitation capability
@@ -102,9 +297,11 @@ public class McpClientDescriptor {
             mcpSyncClient.initialize();
             this.client = mcpSyncClient;
             this.alive = true;
-            log.info("MCP client initialized: {}", name);
+            metrics.recordInit(System.nanoTime() - start, true);
+            log.info("MCP client initialized: {}, cost: {}ms", name, metrics.getLastInitMillis());
 
         } catch (Exception e) {
+            metrics.recordInit(System.nanoTime() - start, false);
             String errorMsg = "Failed to initialize MCP client: " + name + ", error: " + e.getMessage();
             log.error(errorMsg, e);
             if (managedTransport != null) {
@@ -122,7 +319,7 @@ public class McpClientDescriptor {
     }
 
     boolean pingIfNeeded() {
-        if (closed || client == null) {
+        if (closed || (client == null && asyncPool == null)) {
             alive = false;
             return false;
         }
@@ -133,7 +330,13 @@ public class McpClientDescriptor {
         }
 
         try {
-            client.ping();
+            if (client != null) {
+                client.ping();
+            }
+            McpAsyncClientPool pool = asyncPool;
+            if (pool != null) {
+                pool.ping(requestTimeout);
+            }
             alive = true;
         } catch (Exception e) {
             alive = false;
@@ -146,7 +349,7 @@ public class McpClientDescriptor {
     }
 
     boolean isAlive() {
-        return alive && !closed && client != null;
+        return alive && !closed && (client != null || asyncPool != null);
     }
 
     boolean isClosed() {
@@ -165,6 +368,11 @@ public class McpClientDescriptor {
             client = null;
         }
 
+        if (asyncPool != null) {
+            asyncPool.close();
+            asyncPool = null;
+        }
+
         if (managedTransport != null) {
             try {
                 managedTransport.close();
@@ -175,6 +383,7 @@ public class McpClientDescriptor {
         }
 
         alive = false;
+        invalidateTools();
         log.info("MCP client closed: {}", name);
     }
 
@@ -201,6 +410,26 @@ public class McpClientDescriptor {
         return name;
     }
 
+    public McpServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    void setAsyncPool(McpAsyncClientPool asyncPool) {
+        this.asyncPool = asyncPool;
+    }
+
+    public Duration getToolsCacheTtl() {
+        return toolsCacheTtl;
+    }
+
+    public void setToolsCacheTtl(Duration toolsCacheTtl) {
+        this.toolsCacheTtl = toolsCacheTtl == null ? DEFAULT_TOOLS_CACHE_TTL : toolsCacheTtl;
+    }
+
     public McpConfig.ServerSpec getSpec() {
         return spec;
     }
@@ -240,4 +469,23 @@ public class McpClientDescriptor {
     public void setLastPingTime(Instant lastPingTime) {
         this.lastPingTime = lastPingTime;
     }
+
+    private static final class ToolCatalog {
+        final Map<String, McpSchema.Tool> tools;
+        final long loadedAtNanos = System.nanoTime();
+
+        ToolCatalog(List<McpSchema.Tool> tools) {
+            Map<String, McpSchema.Tool> map = new LinkedHashMap<>();
+            if (tools != null) {
+                for (McpSchema.Tool tool : tools) {
+                    map.put(tool.name(), tool);
+                }
+            }
+            this.tools = Collections.unmodifiableMap(map);
+        }
+
+        boolean isFresh(Duration ttl) {
+            return !ttl.isNegative() && !ttl.isZero() && System.nanoTime() - loadedAtNanos < ttl.toNanos();
+        }
+    }
 }
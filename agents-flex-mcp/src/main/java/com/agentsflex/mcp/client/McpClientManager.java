@@ -26,12 +26,22 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class McpClientManager implements AutoCloseable {
 
@@ -44,6 +54,8 @@ public class McpClientManager implements AutoCloseable {
 
     private static final String CONFIG_RESOURCE_PROPERTY = "mcp.config.servers-resource";
     private static final String DEFAULT_CONFIG_RESOURCE = "mcp-servers.json";
+    private static final String WARM_UP_PROPERTY = "mcp.config.warm-up";
+    private static final int MAX_WARM_UP_THREADS = 8;
 
     private McpClientManager() {
         this.healthChecker = Executors.newSingleThreadScheduledExecutor(r ->
@@ -68,6 +80,9 @@ public class McpClientManager implements AutoCloseable {
                 String json = new String(is.readAllBytes(), StandardCharsets.UTF_8);
                 registerFromJson(json);
                 log.info("Auto-loaded MCP configuration from: {}", resourcePath);
+                if (Boolean.getBoolean(WARM_UP_PROPERTY)) {
+                    warmUpAsync();
+                }
             } else {
                 log.debug("MCP config resource not found (skipping auto-load): {}", resourcePath);
             }
@@ -171,6 +186,86 @@ public class McpClientManager implements AutoCloseable {
         return desc.getMcpTool(toolName);
     }
 
+    public List<Tool> getMcpTools(String name) {
+        McpClientDescriptor desc = descriptorRegistry.get(name);
+        if (desc == null) {
+            throw new IllegalArgumentException("MCP client not found: " + name);
+        }
+        return desc.getMcpTools();
+    }
+
+    /**
+     * 并行初始化所有已注册的 MCP Server 并加载其工具目录，不阻塞调用线程。
+     * 返回的 Future 在全部 Server 完成（成功或失败）后结束，结果为初始化失败的 Server 及其异常。
+     */
+    public CompletableFuture<Map<String, Throwable>> warmUpAsync() {
+        List<McpClientDescriptor> descriptors = new ArrayList<>();
+        for (McpClientDescriptor desc : descriptorRegistry.values()) {
+            if (!desc.isClosed()) {
+                descriptors.add(desc);
+            }
+        }
+        if (descriptors.isEmpty()) {
+            return CompletableFuture.completedFuture(new LinkedHashMap<>());
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(descriptors.size(), MAX_WARM_UP_THREADS), r -> {
+            Thread thread = new Thread(r, "mcp-warm-up-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[descriptors.size()];
+        for (int i = 0; i < descriptors.size(); i++) {
+            McpClientDescriptor desc = descriptors.get(i);
+            futures[i] = CompletableFuture.runAsync(desc::warmUp, executor).exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                failures.put(desc.getName(), cause);
+                log.warn("MCP client warm-up failed: {}", desc.getName(), cause);
+                return null;
+            });
+        }
+
+        return CompletableFuture.allOf(futures).handle((v, e) -> {
+            executor.shutdown();
+            log.info("MCP client warm-up finished, total: {}, failed: {}", descriptors.size(), failures.size());
+            return new LinkedHashMap<>(failures);
+        });
+    }
+
+    /**
+     * 并行预热所有已注册的 MCP Server，最多等待 timeout。
+     *
+     * @return 初始化失败的 Server 及其异常，全部成功时为空
+     * @throws TimeoutException 超时仍有 Server 未完成初始化
+     */
+    public Map<String, Throwable> warmUp(Duration timeout) throws TimeoutException {
+        CompletableFuture<Map<String, Throwable>> future = warmUpAsync();
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("MCP client warm-up interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("MCP client warm-up failed", e.getCause());
+        }
+    }
+
+    public McpServerMetrics getMetrics(String name) {
+        McpClientDescriptor desc = descriptorRegistry.get(name);
+        return desc == null ? null : desc.getMetrics();
+    }
+
+    public Map<String, McpServerMetrics> getAllMetrics() {
+        Map<String, McpServerMetrics> result = new LinkedHashMap<>();
+        for (Map.Entry<String, McpClientDescriptor> entry : descriptorRegistry.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getMetrics());
+        }
+        return result;
+    }
+
     public boolean isClientOnline(String name) {
         McpClientDescriptor desc = descriptorRegistry.get(name);
         return desc != null && desc.isAlive();
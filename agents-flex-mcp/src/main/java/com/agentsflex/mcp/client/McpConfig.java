@@ -82,6 +82,30 @@ public class McpConfig {
         private Map<String, String> env = Collections.emptyMap();
         private String url;
         private Map<String, String> headers = Collections.emptyMap();
+        /**
+         * 工具目录缓存时长（秒），为空时使用默认值；小于等于 0 表示每次查找都重新拉取。
+         */
+        private Long toolsCacheTtlSeconds;
+        /**
+         * MCP 请求超时（秒），为空时默认 20 秒。
+         */
+        private Long requestTimeoutSeconds;
+        /**
+         * 单个工具的调用超时（秒），key 为工具名；异步模式下生效，未配置的工具使用 requestTimeoutSeconds。
+         */
+        private Map<String, Long> toolTimeoutSeconds = Collections.emptyMap();
+        /**
+         * 同一 Server 同时进行中的工具调用上限，为空或小于等于 0 表示不限制。
+         */
+        private Integer maxInFlight;
+        /**
+         * 是否使用异步客户端发起工具调用。
+         */
+        private boolean async;
+        /**
+         * 异步模式下 stdio Server 的进程数，并发调用分散到各个进程；其他传输方式忽略该值。
+         */
+        private Integer poolSize;
 
         public String getTransport() {
             return transport;
@@ -151,5 +175,53 @@ public class McpConfig {
         public void setHeaders(Map<String, String> headers) {
             this.headers = headers;
         }
+
+        public Long getToolsCacheTtlSeconds() {
+            return toolsCacheTtlSeconds;
+        }
+
+        public void setToolsCacheTtlSeconds(Long toolsCacheTtlSeconds) {
+            this.toolsCacheTtlSeconds = toolsCacheTtlSeconds;
+        }
+
+        public Long getRequestTimeoutSeconds() {
+            return requestTimeoutSeconds;
+        }
+
+        public void setRequestTimeoutSeconds(Long requestTimeoutSeconds) {
+            this.requestTimeoutSeconds = requestTimeoutSeconds;
+        }
+
+        public Map<String, Long> getToolTimeoutSeconds() {
+            return toolTimeoutSeconds;
+        }
+
+        public void setToolTimeoutSeconds(Map<String, Long> toolTimeoutSeconds) {
+            this.toolTimeoutSeconds = toolTimeoutSeconds;
+        }
+
+        public Integer getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(Integer maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public Integer getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(Integer poolSize) {
+            this.poolSize = poolSize;
+        }
     }
 }
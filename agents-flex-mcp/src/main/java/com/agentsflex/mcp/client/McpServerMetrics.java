@@ -0,0 +1,265 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.mcp.client;
+
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityAttributeKeys;
+import com.agentsflex.core.observability.ObservabilityRuntime;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个 MCP Server 的运行指标：初始化耗时、工具目录刷新次数以及工具调用次数与耗时。
+ *
+ * <p>每次记录都会通过当前 {@link ObservabilityRuntime} 的 Meter 导出 OpenTelemetry 指标，
+ * 以 {@code agentsflex.mcp.server.name} 区分 Server；本对象同时保留进程内累计值，
+ * 作为 {@link McpClientManager#getAllMetrics()} 等接口的快照视图。所有计数均为无锁累加，可在调用线程上直接记录。</p>
+ */
+public class McpServerMetrics {
+
+    private static final AttributeKey<String> SERVER_NAME = AttributeKey.stringKey("agentsflex.mcp.server.name");
+
+    /**
+     * runtime 到 MCP 埋点 instrument 的弱键缓存，与 ToolObservabilityInterceptor 相同，
+     * 每条 TelemetryRoute 使用自己的 Meter，Route 下线后可被回收。
+     */
+    private static final Map<ObservabilityRuntime, Instruments> INSTRUMENTS = new WeakHashMap<>();
+
+    /** 某个 ObservabilityRuntime 专属的一组 MCP 指标 instrument。 */
+    private static final class Instruments {
+        /** 初始化（建立传输并完成 initialize 握手）耗时，单位为秒。 */
+        private final DoubleHistogram initDuration;
+
+        /** 初始化失败次数。 */
+        private final LongCounter initErrorCount;
+
+        /** 工具目录拉取次数。 */
+        private final LongCounter toolListRefreshCount;
+
+        /** 收到 tools/list_changed 通知的次数。 */
+        private final LongCounter toolListChangedCount;
+
+        /** 工具调用次数。 */
+        private final LongCounter callCount;
+
+        /** 工具调用耗时，单位为秒。 */
+        private final DoubleHistogram callDuration;
+
+        /** 失败的工具调用次数。 */
+        private final LongCounter callErrorCount;
+
+        private Instruments(ObservabilityRuntime runtime) {
+            Meter meter = runtime.getMeter();
+            this.initDuration = meter.histogramBuilder("agentsflex.mcp.server.init.duration")
+                .setDescription("MCP server initialization latency in seconds")
+                .setUnit("s")
+                .build();
+            this.initErrorCount = meter.counterBuilder("agentsflex.mcp.server.init.error.count")
+                .setDescription("Total number of failed MCP server initializations")
+                .build();
+            this.toolListRefreshCount = meter.counterBuilder("agentsflex.mcp.server.tool_list.refresh.count")
+                .setDescription("Total number of MCP tool catalog fetches")
+                .build();
+            this.toolListChangedCount = meter.counterBuilder("agentsflex.mcp.server.tool_list.changed.count")
+                .setDescription("Total number of MCP tools/list_changed notifications")
+                .build();
+            this.callCount = meter.counterBuilder("agentsflex.mcp.tool.call.count")
+                .setDescription("Total number of MCP tool calls")
+                .build();
+            this.callDuration = meter.histogramBuilder("agentsflex.mcp.tool.call.duration")
+                .setDescription("MCP tool call latency in seconds")
+                .setUnit("s")
+                .build();
+            this.callErrorCount = meter.counterBuilder("agentsflex.mcp.tool.call.error.count")
+                .setDescription("Total number of failed MCP tool calls")
+                .build();
+        }
+    }
+
+    private final String serverName;
+    private final Attributes serverAttributes;
+
+    private final LongAdder initCount = new LongAdder();
+    private final LongAdder initFailures = new LongAdder();
+    private final AtomicLong lastInitNanos = new AtomicLong();
+
+    private final LongAdder toolListRefreshes = new LongAdder();
+    private final LongAdder toolListChangedNotifications = new LongAdder();
+
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder callFailures = new LongAdder();
+    private final LongAdder totalCallNanos = new LongAdder();
+    private final LongAccumulator maxCallNanos = new LongAccumulator(Math::max, 0);
+
+    public McpServerMetrics(String serverName) {
+        this.serverName = serverName;
+        this.serverAttributes = Attributes.of(SERVER_NAME, String.valueOf(serverName));
+    }
+
+    void recordInit(long elapsedNanos, boolean success) {
+        if (success) {
+            initCount.increment();
+            lastInitNanos.set(elapsedNanos);
+        } else {
+            initFailures.increment();
+        }
+
+        Instruments instruments = instruments(null);
+        if (instruments != null) {
+            Attributes attrs = serverAttributes.toBuilder().put("outcome", success ? "success" : "error").build();
+            instruments.initDuration.record(toSeconds(elapsedNanos), attrs);
+            if (!success) {
+                instruments.initErrorCount.add(1, serverAttributes);
+            }
+        }
+    }
+
+    void recordToolListRefresh() {
+        toolListRefreshes.increment();
+        Instruments instruments = instruments(null);
+        if (instruments != null) {
+            instruments.toolListRefreshCount.add(1, serverAttributes);
+        }
+    }
+
+    void recordToolListChanged() {
+        toolListChangedNotifications.increment();
+        Instruments instruments = instruments(null);
+        if (instruments != null) {
+            instruments.toolListChangedCount.add(1, serverAttributes);
+        }
+    }
+
+    /**
+     * 记录一次工具调用。异步调用在其他线程完成，因此由调用方传入发起调用时的 runtime。
+     *
+     * @param runtime 发起调用时的可观测 runtime，为 null 时使用当前线程的 runtime
+     */
+    void recordCall(ObservabilityRuntime runtime, String toolName, long elapsedNanos, boolean success) {
+        callCount.increment();
+        if (!success) {
+            callFailures.increment();
+        }
+        totalCallNanos.add(elapsedNanos);
+        maxCallNanos.accumulate(elapsedNanos);
+
+        Instruments instruments = instruments(runtime);
+        if (instruments != null) {
+            Attributes attrs = serverAttributes.toBuilder()
+                .put(ObservabilityAttributeKeys.GEN_AI_TOOL_NAME, String.valueOf(toolName))
+                .build();
+            instruments.callCount.add(1, attrs);
+            instruments.callDuration.record(toSeconds(elapsedNanos), attrs);
+            if (!success) {
+                instruments.callErrorCount.add(1, attrs);
+            }
+        }
+    }
+
+    private static Instruments instruments(ObservabilityRuntime runtime) {
+        if (!Observability.isEnabled()) {
+            return null;
+        }
+        ObservabilityRuntime target = runtime != null ? runtime : Observability.currentRuntime();
+        // WeakHashMap 非线程安全，必须同步完成“查找或创建”。
+        synchronized (INSTRUMENTS) {
+            Instruments instruments = INSTRUMENTS.get(target);
+            if (instruments == null) {
+                instruments = new Instruments(target);
+                INSTRUMENTS.put(target, instruments);
+            }
+            return instruments;
+        }
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public long getInitCount() {
+        return initCount.sum();
+    }
+
+    public long getInitFailures() {
+        return initFailures.sum();
+    }
+
+    /**
+     * 最近一次成功初始化（建立传输并完成 initialize 握手）的耗时，单位毫秒。
+     */
+    public long getLastInitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastInitNanos.get());
+    }
+
+    public long getToolListRefreshes() {
+        return toolListRefreshes.sum();
+    }
+
+    public long getToolListChangedNotifications() {
+        return toolListChangedNotifications.sum();
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    public long getCallFailures() {
+        return callFailures.sum();
+    }
+
+    public long getTotalCallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalCallNanos.sum());
+    }
+
+    public long getMaxCallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxCallNanos.get());
+    }
+
+    public double getAvgCallMillis() {
+        long count = callCount.sum();
+        return count == 0 ? 0D : totalCallNanos.sum() / 1_000_000D / count;
+    }
+
+    @Override
+    public String toString() {
+        return "McpServerMetrics{" +
+            "serverName='" + serverName + '\'' +
+            ", initCount=" + getInitCount() +
+            ", initFailures=" + getInitFailures() +
+            ", lastInitMillis=" + getLastInitMillis() +
+            ", toolListRefreshes=" + getToolListRefreshes() +
+            ", toolListChangedNotifications=" + getToolListChangedNotifications() +
+            ", callCount=" + getCallCount() +
+            ", callFailures=" + getCallFailures() +
+            ", avgCallMillis=" + getAvgCallMillis() +
+            ", maxCallMillis=" + getMaxCallMillis() +
+            '}';
+    }
+}
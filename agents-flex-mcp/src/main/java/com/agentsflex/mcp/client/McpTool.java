@@ -17,6 +17,8 @@ package com.agentsflex.mcp.client;
 
 import com.agentsflex.core.model.chat.tool.Parameter;
 import com.agentsflex.core.model.chat.tool.Tool;
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityRuntime;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.spec.McpSchema;
 
@@ -24,15 +26,31 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class McpTool implements Tool {
 
     final McpSyncClient mcpClient;
+    final McpClientDescriptor descriptor;
     final McpSchema.Tool mcpOriginalTool;
+    final McpServerMetrics metrics;
 
     public McpTool(McpSyncClient mcpClient, McpSchema.Tool mcpOriginalTool) {
         this.mcpClient = mcpClient;
+        this.descriptor = null;
         this.mcpOriginalTool = mcpOriginalTool;
+        this.metrics = null;
+    }
+
+    /**
+     * 通过描述符发起调用，使用其连接模式、并发上限、工具超时以及指标统计。
+     */
+    public McpTool(McpClientDescriptor descriptor, McpSchema.Tool mcpOriginalTool) {
+        this.mcpClient = null;
+        this.descriptor = descriptor;
+        this.mcpOriginalTool = mcpOriginalTool;
+        this.metrics = descriptor.getMetrics();
     }
 
     @Override
@@ -106,17 +124,54 @@ public class McpTool implements Tool {
 
     @Override
     public Object invoke(Map<String, Object> argsMap) {
-        McpSchema.CallToolResult callToolResult;
         try {
-            callToolResult = mcpClient.callTool(new McpSchema.CallToolRequest(mcpOriginalTool.name(), argsMap));
-        } catch (Exception e) {
-            throw new McpCallException("MCP Tool call exception, tool name: " + mcpOriginalTool.name(), e);
+            return invokeAsync(argsMap).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof McpCallException) {
+                throw (McpCallException) cause;
+            }
+            throw new McpCallException("MCP Tool call exception, tool name: " + mcpOriginalTool.name(), cause);
         }
+    }
 
-        if (callToolResult.isError() != null && callToolResult.isError()) {
-            throw new McpCallException("MCP Tool call exception, tool name: " + mcpOriginalTool.name() + ", info: " + callToolResult.structuredContent());
+    /**
+     * 异步调用工具。异步模式的描述符不会阻塞调用线程等待结果，可以同时向同一 Server 发出多个调用。
+     */
+    public CompletableFuture<Object> invokeAsync(Map<String, Object> argsMap) {
+        McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(mcpOriginalTool.name(), argsMap);
+        long start = System.nanoTime();
+        // 异步结果在其他线程完成，提前捕获发起调用时的 runtime
+        ObservabilityRuntime runtime = metrics != null && Observability.isEnabled() ? Observability.currentRuntime() : null;
+        CompletableFuture<McpSchema.CallToolResult> future;
+        try {
+            future = descriptor != null ? descriptor.callTool(request)
+                : CompletableFuture.completedFuture(mcpClient.callTool(request));
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
         }
 
+        return future.handle((callToolResult, error) -> {
+            if (error != null) {
+                recordCall(runtime, start, false);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof McpCallException) {
+                    throw (McpCallException) cause;
+                }
+                throw new McpCallException("MCP Tool call exception, tool name: " + mcpOriginalTool.name(), cause);
+            }
+
+            boolean isError = callToolResult.isError() != null && callToolResult.isError();
+            recordCall(runtime, start, !isError);
+            if (isError) {
+                throw new McpCallException("MCP Tool call exception, tool name: " + mcpOriginalTool.name() + ", info: " + callToolResult.structuredContent());
+            }
+            return toResult(callToolResult);
+        });
+    }
+
+    private static Object toResult(McpSchema.CallToolResult callToolResult) {
         List<McpSchema.Content> content = callToolResult.content();
         if (content == null || content.isEmpty()) {
             return null;
@@ -128,4 +183,10 @@ public class McpTool implements Tool {
 
         return content;
     }
+
+    private void recordCall(ObservabilityRuntime runtime, long start, boolean success) {
+        if (metrics != null) {
+            metrics.recordCall(runtime, mcpOriginalTool.name(), System.nanoTime() - start, success);
+        }
+    }
 }
@@ -0,0 +1,306 @@
+package com.agentsflex.mcp.client;
+
+import com.agentsflex.core.model.chat.tool.Tool;
+import com.agentsflex.core.observability.Observability;
+import com.agentsflex.core.observability.ObservabilityAttributeKeys;
+import com.agentsflex.core.observability.TelemetryDestination;
+import com.agentsflex.core.observability.TelemetryRoute;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * McpClientDescriptor tool catalog and metrics test
+ * McpClientDescriptor 工具目录缓存与指标测试
+ */
+class McpClientDescriptorTest {
+
+    @Test
+    @DisplayName("Test tool catalog is cached - 工具目录缓存测试")
+    void testToolCatalogCached() {
+        McpSyncClient client = mockClient(tool("a"), tool("b"));
+        McpClientDescriptor descriptor = descriptor(client);
+
+        assertNotNull(descriptor.getMcpTool("a"));
+        assertNotNull(descriptor.getMcpTool("b"));
+        assertNull(descriptor.getMcpTool("c"));
+        assertEquals(2, descriptor.getMcpTools().size());
+
+        verify(client, times(1)).listTools();
+        assertEquals(1, descriptor.getMetrics().getToolListRefreshes());
+
+        // 手动失效后重新拉取
+        descriptor.invalidateTools();
+        assertNotNull(descriptor.getMcpTool("a"));
+        verify(client, times(2)).listTools();
+    }
+
+    @Test
+    @DisplayName("Test list_changed replaces catalog - 工具列表变更通知测试")
+    void testToolsChangedNotification() {
+        McpSyncClient client = mockClient(tool("a"));
+        McpClientDescriptor descriptor = descriptor(client);
+        assertNotNull(descriptor.getMcpTool("a"));
+
+        descriptor.onToolsChanged(Arrays.asList(tool("b"), tool("c")));
+
+        assertNull(descriptor.getMcpTool("a"));
+        assertNotNull(descriptor.getMcpTool("c"));
+        verify(client, times(1)).listTools();
+        assertEquals(1, descriptor.getMetrics().getToolListChangedNotifications());
+    }
+
+    @Test
+    @DisplayName("Test zero ttl disables cache - TTL 为 0 时不缓存测试")
+    void testZeroTtlDisablesCache() {
+        McpSyncClient client = mockClient(tool("a"));
+        McpClientDescriptor descriptor = descriptor(client);
+        descriptor.setToolsCacheTtl(Duration.ZERO);
+
+        descriptor.getMcpTool("a");
+        descriptor.getMcpTool("a");
+        verify(client, times(2)).listTools();
+    }
+
+    @Test
+    @DisplayName("Test call metrics - 工具调用指标测试")
+    void testCallMetrics() {
+        McpSyncClient client = mockClient(tool("a"));
+        when(client.callTool(any())).thenReturn(McpSchema.CallToolResult.builder()
+            .addTextContent("ok").isError(false).build());
+        McpClientDescriptor descriptor = descriptor(client);
+
+        Tool tool = descriptor.getMcpTool("a");
+        assertEquals("ok", tool.invoke(new HashMap<>()));
+
+        when(client.callTool(any())).thenThrow(new RuntimeException("boom"));
+        assertThrows(McpCallException.class, () -> tool.invoke(new HashMap<>()));
+
+        McpServerMetrics metrics = descriptor.getMetrics();
+        assertEquals(2, metrics.getCallCount());
+        assertEquals(1, metrics.getCallFailures());
+    }
+
+    @Test
+    @DisplayName("Test metrics exported to OpenTelemetry - 指标导出到 OpenTelemetry 测试")
+    void testMetricsExportedToOpenTelemetry() throws Exception {
+        CollectingMetricExporter exporter = new CollectingMetricExporter();
+        McpClientDescriptor descriptor = asyncDescriptor(new McpConfig.ServerSpec(),
+            asyncClient(Mono.just(textResult("ok")).delayElement(Duration.ofMillis(10))));
+
+        try (TelemetryRoute route = TelemetryRoute.builder("mcp-metrics")
+            .addDestination(TelemetryDestination.builder("collector").metricExporter(exporter).build())
+            .build()) {
+            CompletableFuture<Object> result;
+            try (Scope ignored = Observability.useRuntime(route)) {
+                descriptor.onToolsChanged(Collections.singletonList(tool("a")));
+                // 结果在 Reactor 线程完成，指标仍应进入发起调用时的 runtime
+                result = ((McpTool) descriptor.getMcpTool("a")).invokeAsync(new HashMap<>());
+            }
+            assertEquals("ok", result.get(10, TimeUnit.SECONDS));
+            route.forceFlush().join(10, TimeUnit.SECONDS);
+
+            LongPointData calls = longPoint(exporter, "agentsflex.mcp.tool.call.count");
+            assertEquals(1, calls.getValue());
+            assertEquals("test", calls.getAttributes().get(AttributeKey.stringKey("agentsflex.mcp.server.name")));
+            assertEquals("a", calls.getAttributes().get(ObservabilityAttributeKeys.GEN_AI_TOOL_NAME));
+            assertEquals(1, longPoint(exporter, "agentsflex.mcp.server.tool_list.changed.count").getValue());
+            assertTrue(exporter.names().contains("agentsflex.mcp.tool.call.duration"));
+            assertFalse(exporter.names().contains("agentsflex.mcp.tool.call.error.count"));
+        } finally {
+            descriptor.close();
+        }
+
+        // 本地快照视图同样累计
+        assertEquals(1, descriptor.getMetrics().getCallCount());
+    }
+
+    @Test
+    @DisplayName("Test parallel warm-up - 并行预热测试")
+    void testWarmUp() throws Exception {
+        McpClientManager manager = McpClientManager.getInstance();
+        // 只预热本测试注册的描述符，不连接测试资源中配置的真实 Server
+        Map<String, McpClientDescriptor> registered = new HashMap<>(manager.getDescriptorRegistry());
+        manager.getDescriptorRegistry().clear();
+        try {
+            McpClientDescriptor ok = descriptor(mockClient(tool("a")));
+            McpClientDescriptor broken = spy(new McpClientDescriptor("broken", new McpConfig.ServerSpec(), new HashMap<>()));
+            doThrow(new IllegalStateException("unreachable")).when(broken).warmUp();
+            manager.getDescriptorRegistry().put("ok", ok);
+            manager.getDescriptorRegistry().put("broken", broken);
+
+            Map<String, Throwable> failures = manager.warmUp(Duration.ofSeconds(10));
+
+            assertEquals(Collections.singleton("broken"), failures.keySet());
+            assertInstanceOf(IllegalStateException.class, failures.get("broken"));
+            assertEquals(1, manager.getMetrics("ok").getToolListRefreshes());
+            assertEquals(1, manager.getMcpTools("ok").size());
+        } finally {
+            manager.getDescriptorRegistry().clear();
+            manager.getDescriptorRegistry().putAll(registered);
+        }
+    }
+
+    @Test
+    @DisplayName("Test async pool spreads concurrent calls - 异步连接池分散并发调用测试")
+    void testAsyncPoolSpreadsCalls() throws Exception {
+        McpAsyncClient busy = asyncClient(Mono.never());
+        McpAsyncClient idle = asyncClient(Mono.just(textResult("ok")));
+        McpClientDescriptor descriptor = asyncDescriptor(new McpConfig.ServerSpec(), busy, idle);
+
+        McpTool tool = (McpTool) descriptor.getMcpTool("a");
+        CompletableFuture<Object> first = tool.invokeAsync(new HashMap<>());
+        CompletableFuture<Object> second = tool.invokeAsync(new HashMap<>());
+
+        assertEquals("ok", second.get());
+        assertFalse(first.isDone());
+        verify(busy, times(1)).callTool(any());
+        verify(idle, times(1)).callTool(any());
+        descriptor.close();
+    }
+
+    @Test
+    @DisplayName("Test per-tool timeout - 工具级超时测试")
+    void testToolTimeout() {
+        McpConfig.ServerSpec spec = new McpConfig.ServerSpec();
+        spec.setToolTimeoutSeconds(Collections.singletonMap("a", 1L));
+        McpClientDescriptor descriptor = asyncDescriptor(spec, asyncClient(Mono.never()));
+
+        assertEquals(Duration.ofSeconds(1), descriptor.getToolTimeout("a"));
+        assertEquals(McpClientDescriptor.DEFAULT_REQUEST_TIMEOUT, descriptor.getToolTimeout("b"));
+
+        Tool tool = descriptor.getMcpTool("a");
+        McpCallException e = assertThrows(McpCallException.class, () -> tool.invoke(new HashMap<>()));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(1, descriptor.getMetrics().getCallFailures());
+        descriptor.close();
+    }
+
+    @Test
+    @DisplayName("Test in-flight limit - 并发上限测试")
+    void testMaxInFlight() {
+        McpConfig.ServerSpec spec = new McpConfig.ServerSpec();
+        spec.setMaxInFlight(1);
+        spec.setToolTimeoutSeconds(Collections.singletonMap("b", 1L));
+        McpClientDescriptor descriptor = asyncDescriptor(spec, asyncClient(Mono.never()));
+
+        CompletableFuture<Object> pending = ((McpTool) descriptor.getMcpTool("a")).invokeAsync(new HashMap<>());
+        Tool limited = descriptor.getMcpTool("b");
+        McpCallException e = assertThrows(McpCallException.class, () -> limited.invoke(new HashMap<>()));
+        assertTrue(e.getMessage().contains("too many in-flight calls"));
+        assertFalse(pending.isDone());
+        descriptor.close();
+    }
+
+    private static McpClientDescriptor asyncDescriptor(McpConfig.ServerSpec spec, McpAsyncClient... clients) {
+        spec.setAsync(true);
+        McpClientDescriptor descriptor = new McpClientDescriptor("test", spec, new HashMap<>());
+        descriptor.setAsyncPool(new McpAsyncClientPool("test", Arrays.asList(clients), Collections.emptyList()));
+        descriptor.onToolsChanged(Arrays.asList(tool("a"), tool("b")));
+        return descriptor;
+    }
+
+    private static McpAsyncClient asyncClient(Mono<McpSchema.CallToolResult> result) {
+        McpAsyncClient client = mock(McpAsyncClient.class);
+        when(client.callTool(any())).thenReturn(result);
+        return client;
+    }
+
+    private static McpSchema.CallToolResult textResult(String text) {
+        return McpSchema.CallToolResult.builder().addTextContent(text).isError(false).build();
+    }
+
+    private static McpClientDescriptor descriptor(McpSyncClient client) {
+        McpClientDescriptor descriptor = new McpClientDescriptor("test", new McpConfig.ServerSpec(), new HashMap<>());
+        descriptor.setClient(client);
+        return descriptor;
+    }
+
+    private static McpSyncClient mockClient(McpSchema.Tool... tools) {
+        McpSyncClient client = mock(McpSyncClient.class);
+        List<McpSchema.Tool> list = Arrays.asList(tools);
+        when(client.listTools()).thenReturn(new McpSchema.ListToolsResult(list, null));
+        return client;
+    }
+
+    private static McpSchema.Tool tool(String name) {
+        return McpSchema.Tool.builder().name(name).description(name).inputSchema(new HashMap<>()).build();
+    }
+
+    private static LongPointData longPoint(CollectingMetricExporter exporter, String name) {
+        for (MetricData metric : exporter.metrics) {
+            if (metric.getName().equals(name)) {
+                return metric.getLongSumData().getPoints().iterator().next();
+            }
+        }
+        throw new AssertionError("metric not exported: " + name);
+    }
+
+    private static final class CollectingMetricExporter implements MetricExporter {
+        private final List<MetricData> metrics = Collections.synchronizedList(new ArrayList<>());
+
+        private List<String> names() {
+            List<String> names = new ArrayList<>();
+            for (MetricData metric : metrics) {
+                names.add(metric.getName());
+            }
+            return names;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            this.metrics.addAll(metrics);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporalitySelector.alwaysCumulative().getAggregationTemporality(instrumentType);
+        }
+
+        @Override
+        public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+            return DefaultAggregationSelector.getDefault().getDefaultAggregation(instrumentType);
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
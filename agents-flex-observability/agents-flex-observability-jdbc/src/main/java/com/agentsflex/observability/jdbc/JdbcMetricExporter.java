@@ -34,6 +34,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * <p>该 Exporter 请求 cumulative temporality，数据库中的相邻记录表示同一时间序列在不同时间点的累计值。
  * 查询侧需要按 metric name、attributes 和时间排序后计算所需变化量。</p>
+ *
+ * <p>缓冲模式下 export 只入队，point 展开与数据库写入在后台线程完成。</p>
  */
 final class JdbcMetricExporter implements MetricExporter {
     /** 记录数据库导出失败的日志记录器。 */
@@ -49,11 +51,15 @@ final class JdbcMetricExporter implements MetricExporter {
     /** 负责 point 展开、SQL 映射和事务提交的共享 JDBC Repository。 */
     private final JdbcTelemetryRepository repository;
 
+    /** 缓冲模式的环形缓冲区；为 null 时同步写入。 */
+    private final JdbcTelemetryBuffer<MetricData> buffer;
+
     /** Exporter 是否已经 shutdown；使用原子变量兼容 Metric Reader 调度线程与关闭线程并发。 */
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
-    JdbcMetricExporter(JdbcTelemetryRepository repository) {
+    JdbcMetricExporter(JdbcTelemetryRepository repository, JdbcTelemetryBuffer<MetricData> buffer) {
         this.repository = repository;
+        this.buffer = buffer;
     }
 
     @Override
@@ -64,6 +70,10 @@ final class JdbcMetricExporter implements MetricExporter {
         if (metrics == null || metrics.isEmpty()) {
             return CompletableResultCode.ofSuccess();
         }
+        if (buffer != null) {
+            buffer.offer(metrics);
+            return CompletableResultCode.ofSuccess();
+        }
         try {
             // 一个 MetricData 可能包含多组 attributes point，Repository 会展开后在同一事务批量写入。
             repository.writeMetrics(metrics);
@@ -86,14 +96,14 @@ final class JdbcMetricExporter implements MetricExporter {
 
     @Override
     public CompletableResultCode flush() {
-        // Exporter 没有自身缓冲；PeriodicMetricReader 的 forceFlush 会主动触发一次 collect + export。
-        return CompletableResultCode.ofSuccess();
+        // 同步模式没有自身缓冲；PeriodicMetricReader 的 forceFlush 会主动触发一次 collect + export。
+        return buffer == null ? CompletableResultCode.ofSuccess() : buffer.flush();
     }
 
     @Override
     public CompletableResultCode shutdown() {
         // DataSource 不属于 Exporter，关闭时只拒绝后续 export。
         shutdown.set(true);
-        return CompletableResultCode.ofSuccess();
+        return buffer == null ? CompletableResultCode.ofSuccess() : buffer.shutdown();
     }
 }
@@ -27,8 +27,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * 将 OTel SDK 提交的一批完整 Span 写入 JDBC。
  *
- * <p>Exporter 本身不维护队列或重试状态，这些职责属于上游 SpanProcessor。数据库异常通过
+ * <p>默认同步模式下 Exporter 不维护队列或重试状态，这些职责属于上游 SpanProcessor。数据库异常通过
  * {@link CompletableResultCode} 报告给 OTel，而不是向业务调用栈继续抛出。</p>
+ *
+ * <p>配置缓冲模式后，export 只把 Span 放入 {@link JdbcTelemetryBuffer} 并立即返回，数据库写入由后台线程
+ * 完成，BatchSpanProcessor 线程不会因数据库变慢而阻塞。</p>
  */
 final class JdbcSpanExporter implements SpanExporter {
     /** 记录数据库导出失败的日志记录器。 */
@@ -37,11 +40,15 @@ final class JdbcSpanExporter implements SpanExporter {
     /** 负责实际 SQL 映射和事务提交的共享 JDBC Repository。 */
     private final JdbcTelemetryRepository repository;
 
+    /** 缓冲模式的环形缓冲区；为 null 时同步写入。 */
+    private final JdbcTelemetryBuffer<SpanData> buffer;
+
     /** Exporter 是否已经 shutdown；使用原子变量兼容 OTel 调度线程与关闭线程并发。 */
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
-    JdbcSpanExporter(JdbcTelemetryRepository repository) {
+    JdbcSpanExporter(JdbcTelemetryRepository repository, JdbcTelemetryBuffer<SpanData> buffer) {
         this.repository = repository;
+        this.buffer = buffer;
     }
 
     @Override
@@ -53,6 +60,11 @@ final class JdbcSpanExporter implements SpanExporter {
         if (spans == null || spans.isEmpty()) {
             return CompletableResultCode.ofSuccess();
         }
+        if (buffer != null) {
+            // 缓冲区满时丢弃的数量由统计计数反映，不向 SDK 报告失败，避免每个批次都刷失败日志。
+            buffer.offer(spans);
+            return CompletableResultCode.ofSuccess();
+        }
         try {
             // Repository 保证整个 batch 共用一个事务，任何一条失败都会回滚本批次。
             repository.writeSpans(spans);
@@ -65,14 +77,14 @@ final class JdbcSpanExporter implements SpanExporter {
 
     @Override
     public CompletableResultCode flush() {
-        // Exporter 内部没有二级缓冲，数据在 export 返回前已提交，因此无需额外 flush。
-        return CompletableResultCode.ofSuccess();
+        // 同步模式下数据在 export 返回前已提交；缓冲模式则在当前线程写出剩余数据。
+        return buffer == null ? CompletableResultCode.ofSuccess() : buffer.flush();
     }
 
     @Override
     public CompletableResultCode shutdown() {
         // 这里只关闭 Exporter 的接收状态，不关闭由宿主应用拥有的 DataSource。
         shutdown.set(true);
-        return CompletableResultCode.ofSuccess();
+        return buffer == null ? CompletableResultCode.ofSuccess() : buffer.shutdown();
     }
 }
@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.observability.jdbc;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exporter 与数据库之间的有界环形缓冲区，由一个后台线程按数量或时间批量写入。
+ *
+ * <p>OTel 导出线程只把数据放入数组队列即可返回，不再等待数据库事务。缓冲区满时按配置立即丢弃或有限等待，
+ * 并分别计数；写入失败的批次不会重试，与同步模式下 BatchSpanProcessor 的语义一致。</p>
+ *
+ * @param <T> 缓冲的 OTel 数据类型
+ */
+final class JdbcTelemetryBuffer<T> {
+    /** 记录后台写入失败的日志记录器。 */
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTelemetryBuffer.class);
+
+    /** 基于数组的有界队列，容量固定，入队不会为每条数据分配链表节点。 */
+    private final ArrayBlockingQueue<T> queue;
+
+    /** 单次数据库事务最多写入的条数。 */
+    private final int flushBatchSize;
+
+    /** 后台线程两次定时写入之间的最长间隔。 */
+    private final long flushIntervalMillis;
+
+    /** 缓冲区满时的最长等待时间；为 0 表示立即丢弃。 */
+    private final long offerTimeoutNanos;
+
+    /** 实际执行批量写入的 Repository 回调。 */
+    private final BatchWriter<T> writer;
+
+    /** 保证后台批次与 flush/shutdown 的写入互斥，flush 返回时不存在未完成的后台事务。 */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /** 缓冲区是否已停止接收新数据。 */
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    /** 达到批量阈值或关闭时唤醒后台线程的监视器；数据始终留在队列中，flush 可以完整取走。 */
+    private final Object signal = new Object();
+
+    /** 后台批量写入线程。 */
+    private final Thread flusher;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    JdbcTelemetryBuffer(String name, int capacity, int flushBatchSize, long flushIntervalMillis,
+                        long offerTimeoutMillis, BatchWriter<T> writer) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushBatchSize = flushBatchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.writer = writer;
+        this.flusher = new Thread(this::run, "agents-flex-otel-jdbc-" + name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 放入一批数据并返回实际接收的条数；缓冲区已关闭时全部计为丢弃。
+     *
+     * <p>入队后会复查关闭状态，与 {@link #shutdown()} 并发时已接收的数据仍会在返回前写出。</p>
+     */
+    int offer(Collection<? extends T> items) {
+        int count = 0;
+        for (T item : items) {
+            if (!closed.get() && enqueue(item)) {
+                count++;
+            } else {
+                dropped.increment();
+            }
+        }
+        accepted.add(count);
+        if (count > 0 && closed.get()) {
+            // shutdown 可能在关闭检查与入队之间完成了最后一次 flush，由本线程写出残留数据，避免静默丢失。
+            flush();
+        } else if (count > 0 && queue.size() >= flushBatchSize) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+        return count;
+    }
+
+    private boolean enqueue(T item) {
+        if (queue.offer(item)) {
+            return true;
+        }
+        if (offerTimeoutNanos <= 0) {
+            return false;
+        }
+        // 背压只作用于 OTel 导出线程，业务请求线程仍由上游 SpanProcessor 队列隔离。
+        backpressureWaits.increment();
+        try {
+            return queue.offer(item, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 在调用线程中写出当前缓冲的全部数据，并等待正在进行的后台批次完成。
+     */
+    CompletableResultCode flush() {
+        writeLock.lock();
+        try {
+            boolean success = true;
+            List<T> batch = new ArrayList<>(flushBatchSize);
+            while (queue.drainTo(batch, flushBatchSize) > 0) {
+                success &= write(batch);
+                batch.clear();
+            }
+            return success ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 停止接收数据，写出剩余内容后结束后台线程。
+     */
+    CompletableResultCode shutdown() {
+        if (!closed.compareAndSet(false, true)) {
+            return CompletableResultCode.ofSuccess();
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return flush();
+    }
+
+    JdbcTelemetryBufferStats stats() {
+        return new JdbcTelemetryBufferStats(accepted.sum(), written.sum(), dropped.sum(),
+            backpressureWaits.sum(), failed.sum(), queue.size());
+    }
+
+    private void run() {
+        while (!closed.get()) {
+            try {
+                synchronized (signal) {
+                    // 数量先到达阈值时由 offer 唤醒；否则最多等待一个间隔，低流量时写入延迟也有上界。
+                    if (!closed.get() && queue.size() < flushBatchSize) {
+                        signal.wait(flushIntervalMillis);
+                    }
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!queue.isEmpty()) {
+                flush();
+            }
+        }
+    }
+
+    private boolean write(List<T> batch) {
+        try {
+            writer.write(batch);
+            written.add(batch.size());
+            return true;
+        } catch (Throwable error) {
+            failed.add(batch.size());
+            logger.warn("Failed to persist {} buffered OpenTelemetry records", batch.size(), error);
+            return false;
+        }
+    }
+
+    /** Repository 批量写入回调。 */
+    @FunctionalInterface
+    interface BatchWriter<T> {
+        void write(List<T> batch) throws SQLException;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.observability.jdbc;
+
+/**
+ * 缓冲导出模式的计数快照。
+ *
+ * <p>计数从 Exporter 创建起单调累加。dropped 包括缓冲区满和关闭后被拒绝的数据；failed 是已出队但数据库
+ * 事务失败的数据。同步模式下所有计数均为 0。</p>
+ */
+public final class JdbcTelemetryBufferStats {
+    /** 同步模式使用的全零快照。 */
+    static final JdbcTelemetryBufferStats EMPTY = new JdbcTelemetryBufferStats(0, 0, 0, 0, 0, 0);
+
+    private final long accepted;
+    private final long written;
+    private final long dropped;
+    private final long backpressureWaits;
+    private final long failed;
+    private final int pending;
+
+    JdbcTelemetryBufferStats(long accepted, long written, long dropped, long backpressureWaits,
+                             long failed, int pending) {
+        this.accepted = accepted;
+        this.written = written;
+        this.dropped = dropped;
+        this.backpressureWaits = backpressureWaits;
+        this.failed = failed;
+        this.pending = pending;
+    }
+
+    /** 成功放入缓冲区的条数。 */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /** 已提交到数据库的条数。 */
+    public long getWritten() {
+        return written;
+    }
+
+    /** 因缓冲区满或已关闭而丢弃的条数。 */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** 缓冲区满后进入有限等待的次数。 */
+    public long getBackpressureWaits() {
+        return backpressureWaits;
+    }
+
+    /** 数据库写入失败而丢失的条数。 */
+    public long getFailed() {
+        return failed;
+    }
+
+    /** 快照时刻仍在缓冲区中等待写入的条数。 */
+    public int getPending() {
+        return pending;
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcTelemetryBufferStats{accepted=" + accepted + ", written=" + written + ", dropped=" + dropped
+            + ", backpressureWaits=" + backpressureWaits + ", failed=" + failed + ", pending=" + pending + '}';
+    }
+}
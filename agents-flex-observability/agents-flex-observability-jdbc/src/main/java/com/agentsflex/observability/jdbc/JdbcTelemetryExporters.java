@@ -18,7 +18,11 @@ package com.agentsflex.observability.jdbc;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.Objects;
 
 /**
@@ -28,7 +32,8 @@ import java.util.Objects;
  * 不执行建表，也不提供查询接口。DataSource 的所有权始终属于宿主应用，Exporter shutdown 不会关闭它。</p>
  *
  * <p>批处理与定时调度由 OTel 的 BatchSpanProcessor 和 PeriodicMetricReader 完成；Exporter 收到的每个
- * batch 会在一个数据库事务中写入。</p>
+ * batch 会在一个数据库事务中写入。调用 {@link Builder#buffered(int)} 后改为缓冲模式：export 只放入有界
+ * 环形缓冲区，由后台线程按数量或时间合并写入，丢弃和背压通过 {@link JdbcTelemetryBufferStats} 观察。</p>
  */
 public final class JdbcTelemetryExporters {
     /** 未显式配置时写入的默认 Span 表名。 */
@@ -43,11 +48,26 @@ public final class JdbcTelemetryExporters {
     /** 与共享 Repository 绑定的 Metric Exporter。 */
     private final MetricExporter metricExporter;
 
+    /** Span 缓冲区；同步模式为 null。 */
+    private final JdbcTelemetryBuffer<SpanData> spanBuffer;
+
+    /** Metric 缓冲区；同步模式为 null。 */
+    private final JdbcTelemetryBuffer<MetricData> metricBuffer;
+
     private JdbcTelemetryExporters(Builder builder) {
         JdbcTelemetryRepository repository = new JdbcTelemetryRepository(
-            builder.dataSource, builder.spanTable, builder.metricTable);
-        this.spanExporter = new JdbcSpanExporter(repository);
-        this.metricExporter = new JdbcMetricExporter(repository);
+            builder.dataSource, builder.spanTable, builder.metricTable, builder.rowsPerInsert);
+        if (builder.bufferCapacity > 0) {
+            this.spanBuffer = new JdbcTelemetryBuffer<>("spans", builder.bufferCapacity, builder.flushBatchSize,
+                builder.flushInterval.toMillis(), builder.offerTimeout.toMillis(), repository::writeSpans);
+            this.metricBuffer = new JdbcTelemetryBuffer<>("metrics", builder.bufferCapacity, builder.flushBatchSize,
+                builder.flushInterval.toMillis(), builder.offerTimeout.toMillis(), repository::writeMetrics);
+        } else {
+            this.spanBuffer = null;
+            this.metricBuffer = null;
+        }
+        this.spanExporter = new JdbcSpanExporter(repository, spanBuffer);
+        this.metricExporter = new JdbcMetricExporter(repository, metricBuffer);
     }
 
     /** 使用默认表名创建构建器。 */
@@ -65,6 +85,16 @@ public final class JdbcTelemetryExporters {
         return metricExporter;
     }
 
+    /** 返回 Span 缓冲区的计数快照；同步模式下全部为 0。 */
+    public JdbcTelemetryBufferStats getSpanBufferStats() {
+        return spanBuffer == null ? JdbcTelemetryBufferStats.EMPTY : spanBuffer.stats();
+    }
+
+    /** 返回 Metric 缓冲区的计数快照，单位为 MetricData；同步模式下全部为 0。 */
+    public JdbcTelemetryBufferStats getMetricBufferStats() {
+        return metricBuffer == null ? JdbcTelemetryBufferStats.EMPTY : metricBuffer.stats();
+    }
+
     /** JDBC Exporter 构建器，允许使用 schema-qualified 的自定义表名。 */
     public static final class Builder {
         /** 宿主应用提供且拥有生命周期的连接池或 DataSource。 */
@@ -76,6 +106,21 @@ public final class JdbcTelemetryExporters {
         /** Metric INSERT 使用的目标表名，允许包含 schema 前缀。 */
         private String metricTable = DEFAULT_METRIC_TABLE;
 
+        /** 单条 INSERT 语句包含的行数，默认 1 以兼容不支持多行 VALUES 的数据库。 */
+        private int rowsPerInsert = 1;
+
+        /** 缓冲区容量；为 0 表示同步写入。 */
+        private int bufferCapacity;
+
+        /** 缓冲模式下单个数据库事务最多写入的条数。 */
+        private int flushBatchSize = 512;
+
+        /** 缓冲模式下首条数据最长等待多久被写入。 */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /** 缓冲区满时 export 线程的最长等待时间；为 0 表示立即丢弃。 */
+        private Duration offerTimeout = Duration.ZERO;
+
         private Builder(DataSource dataSource) {
             this.dataSource = Objects.requireNonNull(dataSource, "dataSource must not be null");
         }
@@ -92,6 +137,55 @@ public final class JdbcTelemetryExporters {
             return this;
         }
 
+        /**
+         * 设置每条 INSERT 语句写入的行数。MySQL、PostgreSQL、H2 等支持多行 VALUES 的数据库可设为
+         * 32～128；行数乘以列数不能超过驱动的参数上限。
+         */
+        public Builder rowsPerInsert(int rowsPerInsert) {
+            if (rowsPerInsert <= 0 || rowsPerInsert > JdbcTelemetryRepository.MAX_ROWS_PER_INSERT) {
+                throw new IllegalArgumentException("rowsPerInsert must be between 1 and "
+                    + JdbcTelemetryRepository.MAX_ROWS_PER_INSERT);
+            }
+            this.rowsPerInsert = rowsPerInsert;
+            return this;
+        }
+
+        /** 启用缓冲模式，Span 和 Metric 各自使用 capacity 大小的环形缓冲区。 */
+        public Builder buffered(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("buffer capacity must be greater than 0");
+            }
+            this.bufferCapacity = capacity;
+            return this;
+        }
+
+        /** 设置缓冲模式下单个事务的最大条数，达到后立即写入。 */
+        public Builder flushBatchSize(int flushBatchSize) {
+            if (flushBatchSize <= 0) {
+                throw new IllegalArgumentException("flushBatchSize must be greater than 0");
+            }
+            this.flushBatchSize = flushBatchSize;
+            return this;
+        }
+
+        /** 设置缓冲模式下的最长写入延迟。 */
+        public Builder flushInterval(Duration flushInterval) {
+            if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("flushInterval must be positive");
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /** 设置缓冲区满时的背压等待时间；超时后丢弃并计数。 */
+        public Builder offerTimeout(Duration offerTimeout) {
+            if (offerTimeout == null || offerTimeout.isNegative()) {
+                throw new IllegalArgumentException("offerTimeout must not be negative");
+            }
+            this.offerTimeout = offerTimeout;
+            return this;
+        }
+
         public JdbcTelemetryExporters build() {
             spanTable = validateTableName(spanTable, "spanTable");
             metricTable = validateTableName(metricTable, "metricTable");
@@ -26,7 +26,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -34,6 +36,9 @@ import java.util.List;
  *
  * <p>该类不做异步调度和重试。上游 Exporter 每调用一次 write 方法，就获取一个连接并以一个事务提交整个
  * batch，保证不会出现半批成功、半批失败。</p>
+ *
+ * <p>rowsPerInsert 大于 1 时使用多行 VALUES 语句，减少语句数和服务端解析次数。每批数据先按时间排序，
+ * 按时间分区的表中相邻行落在同一分区，时间索引也以追加方式增长。</p>
  */
 final class JdbcTelemetryRepository {
     /** 从 Resource 中读取服务名时使用的标准 OTel 属性键。 */
@@ -58,41 +63,59 @@ final class JdbcTelemetryRepository {
     /** 为兼容旧版 Agents-Flex 数据而保留的账号 ID 属性键。 */
     private static final AttributeKey<String> LEGACY_ACCOUNT_ID = AttributeKey.stringKey("agentsflex.account.id");
 
+    /** Span 表每行绑定的参数个数。 */
+    private static final int SPAN_COLUMNS = 26;
+
+    /** Metric 表每行绑定的参数个数。 */
+    private static final int METRIC_COLUMNS = 20;
+
+    /** 单条语句可绑定的参数上限，取 PostgreSQL、MySQL 等驱动共同支持的 65535。 */
+    private static final int MAX_BIND_PARAMETERS = 65535;
+
+    /** 单条多行 INSERT 允许的最大行数，由列数最多的 Span 表决定。 */
+    static final int MAX_ROWS_PER_INSERT = MAX_BIND_PARAMETERS / Math.max(SPAN_COLUMNS, METRIC_COLUMNS);
+
     /** 宿主应用提供的 DataSource；Repository 使用但不关闭它。 */
     private final DataSource dataSource;
 
-    /** 根据已校验 Span 表名生成的 INSERT SQL 模板。 */
+    /** 单条 INSERT 语句包含的行数；为 1 时与逐行 JDBC batch 完全一致。 */
+    private final int rowsPerInsert;
+
+    /** 根据已校验 Span 表名生成的 INSERT 前缀，VALUES 部分按行数拼接。 */
+    private final String spanInsertPrefix;
+
+    /** 根据已校验 Metric 表名生成的 INSERT 前缀，VALUES 部分按行数拼接。 */
+    private final String metricInsertPrefix;
+
+    /** 包含 rowsPerInsert 行的 Span INSERT SQL，在整批写入中复用。 */
     private final String spanInsertSql;
 
-    /** 根据已校验 Metric 表名生成的 INSERT SQL 模板。 */
+    /** 包含 rowsPerInsert 行的 Metric INSERT SQL，在整批写入中复用。 */
     private final String metricInsertSql;
 
-    JdbcTelemetryRepository(DataSource dataSource, String spanTable, String metricTable) {
+    JdbcTelemetryRepository(DataSource dataSource, String spanTable, String metricTable, int rowsPerInsert) {
         this.dataSource = dataSource;
-        this.spanInsertSql = "INSERT INTO " + spanTable + " (" +
+        this.rowsPerInsert = rowsPerInsert;
+        this.spanInsertPrefix = "INSERT INTO " + spanTable + " (" +
             "trace_id,span_id,parent_span_id,trace_flags,trace_state,span_name,span_kind," +
             "start_epoch_nanos,end_epoch_nanos,duration_nanos,status_code,status_description," +
             "service_name,bot_id,conversation_id,account_id,turn_id,scope_name,scope_version,attributes_json," +
             "events_json,links_json,resource_attributes_json,total_attributes,total_events,total_links" +
-            ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
-        this.metricInsertSql = "INSERT INTO " + metricTable + " (" +
+            ") VALUES ";
+        this.metricInsertPrefix = "INSERT INTO " + metricTable + " (" +
             "service_name,scope_name,scope_version,metric_name,metric_description,metric_unit,metric_type," +
             "aggregation_temporality,monotonic,start_epoch_nanos,epoch_nanos,value_long,value_double," +
             "point_count,point_sum,point_min,point_max,attributes_json,data_json,resource_attributes_json" +
-            ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+            ") VALUES ";
+        this.spanInsertSql = insertSql(spanInsertPrefix, SPAN_COLUMNS, rowsPerInsert);
+        this.metricInsertSql = insertSql(metricInsertPrefix, METRIC_COLUMNS, rowsPerInsert);
     }
 
     void writeSpans(Collection<SpanData> spans) throws SQLException {
-        // PreparedStatement 在一个 batch 内复用，减少数据库往返和 SQL 解析开销。
-        inTransaction(connection -> {
-            try (PreparedStatement statement = connection.prepareStatement(spanInsertSql)) {
-                for (SpanData span : spans) {
-                    bindSpan(statement, span);
-                    statement.addBatch();
-                }
-                statement.executeBatch();
-            }
-        });
+        List<SpanData> rows = new ArrayList<>(spans);
+        rows.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        inTransaction(connection -> insert(connection, spanInsertPrefix, spanInsertSql, SPAN_COLUMNS, rows,
+            JdbcTelemetryRepository::bindSpan));
     }
 
     void writeMetrics(Collection<MetricData> metrics) throws SQLException {
@@ -101,20 +124,57 @@ final class JdbcTelemetryRepository {
         if (records.isEmpty()) {
             return;
         }
-        inTransaction(connection -> {
-            try (PreparedStatement statement = connection.prepareStatement(metricInsertSql)) {
-                for (MetricPointRecord record : records) {
-                    bindMetric(statement, record);
+        records.sort(Comparator.comparingLong(record -> record.point.getEpochNanos()));
+        inTransaction(connection -> insert(connection, metricInsertPrefix, metricInsertSql, METRIC_COLUMNS, records,
+            JdbcTelemetryRepository::bindMetric));
+    }
+
+    private <T> void insert(Connection connection, String prefix, String fullSql, int columns, List<T> rows,
+                            RowBinder<T> binder) throws SQLException {
+        // 完整分组复用同一个 PreparedStatement 并走 JDBC batch，减少数据库往返和 SQL 解析开销。
+        int full = rows.size() / rowsPerInsert * rowsPerInsert;
+        if (full > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(fullSql)) {
+                for (int start = 0; start < full; start += rowsPerInsert) {
+                    for (int row = 0; row < rowsPerInsert; row++) {
+                        binder.bind(statement, row * columns, rows.get(start + row));
+                    }
                     statement.addBatch();
                 }
                 statement.executeBatch();
             }
-        });
+        }
+        if (full < rows.size()) {
+            // 不足一组的尾部单独生成一条语句，避免为补齐行数写入占位数据。
+            try (PreparedStatement statement = connection.prepareStatement(
+                insertSql(prefix, columns, rows.size() - full))) {
+                for (int row = full; row < rows.size(); row++) {
+                    binder.bind(statement, (row - full) * columns, rows.get(row));
+                }
+                statement.executeUpdate();
+            }
+        }
     }
 
-    private static void bindSpan(PreparedStatement statement, SpanData span) throws SQLException {
+    private static String insertSql(String prefix, int columns, int rows) {
+        StringBuilder row = new StringBuilder(columns * 2 + 1).append('(');
+        for (int i = 0; i < columns; i++) {
+            row.append(i == 0 ? "?" : ",?");
+        }
+        row.append(')');
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 1)).append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    private static void bindSpan(PreparedStatement statement, int offset, SpanData span) throws SQLException {
         // 索引顺序必须与构造函数中的 INSERT 列严格一致。常用关联字段单独落列，其余属性保留为 JSON。
-        int index = 1;
+        int index = offset + 1;
         statement.setString(index++, span.getTraceId());
         statement.setString(index++, span.getSpanId());
         statement.setString(index++, span.getParentSpanId());
@@ -146,10 +206,11 @@ final class JdbcTelemetryRepository {
         statement.setInt(index, span.getTotalRecordedLinks());
     }
 
-    private static void bindMetric(PreparedStatement statement, MetricPointRecord record) throws SQLException {
+    private static void bindMetric(PreparedStatement statement, int offset, MetricPointRecord record)
+        throws SQLException {
         // 标量值和常用聚合统计拆成列；桶边界、桶计数、分位数等可变结构保存在 data_json。
         MetricData metric = record.metric;
-        int index = 1;
+        int index = offset + 1;
         setNullableString(statement, index++, metric.getResource().getAttribute(SERVICE_NAME));
         statement.setString(index++, metric.getInstrumentationScopeInfo().getName());
         setNullableString(statement, index++, metric.getInstrumentationScopeInfo().getVersion());
@@ -239,6 +300,11 @@ final class JdbcTelemetryRepository {
         }
     }
 
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement statement, int offset, T row) throws SQLException;
+    }
+
     @FunctionalInterface
     private interface SqlWork {
         void execute(Connection connection) throws SQLException;
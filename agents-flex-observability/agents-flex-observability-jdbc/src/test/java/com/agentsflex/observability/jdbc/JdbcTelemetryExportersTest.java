@@ -16,12 +16,21 @@ import org.junit.Test;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class JdbcTelemetryExportersTest {
     private DataSource dataSource;
@@ -114,6 +123,117 @@ public class JdbcTelemetryExportersTest {
         }
     }
 
+    @Test
+    public void shouldBufferSpansAndFlushWithMultiRowInserts() throws Exception {
+        JdbcTelemetryExporters exporters = JdbcTelemetryExporters.builder(dataSource)
+            .buffered(64)
+            .rowsPerInsert(4)
+            .flushBatchSize(1000)
+            .flushInterval(Duration.ofHours(1))
+            .build();
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporters.getSpanExporter()))
+            .build();
+        try {
+            for (int i = 0; i < 10; i++) {
+                provider.get("jdbc-test").spanBuilder("span-" + i).startSpan().end();
+            }
+            // 批量阈值和时间间隔都未到达，export 只入队，不访问数据库。
+            assertEquals(0, countRows("agents_flex_otel_spans"));
+            assertEquals(10, exporters.getSpanBufferStats().getPending());
+
+            // 10 行按每条语句 4 行写入：两条完整语句加一条 2 行尾部语句。
+            assertTrue(exporters.getSpanExporter().flush().join(5, TimeUnit.SECONDS).isSuccess());
+            assertEquals(10, countRows("agents_flex_otel_spans"));
+            JdbcTelemetryBufferStats stats = exporters.getSpanBufferStats();
+            assertEquals(10, stats.getAccepted());
+            assertEquals(10, stats.getWritten());
+            assertEquals(0, stats.getPending());
+        } finally {
+            provider.shutdown().join(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void shouldFlushByBatchSizeOnBackgroundThread() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        JdbcTelemetryBuffer<String> buffer = new JdbcTelemetryBuffer<>("test", 16, 3, 60_000, 0, batch -> {
+            batches.add(new ArrayList<>(batch));
+            written.countDown();
+        });
+        try {
+            buffer.offer(Arrays.asList("a", "b", "c"));
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("a", "b", "c"), batches.get(0));
+        } finally {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldCountDroppedAndFailedRecords() {
+        JdbcTelemetryBuffer<String> buffer = new JdbcTelemetryBuffer<>("test", 2, 100, 60_000, 0, batch -> {
+            throw new SQLException("database unavailable");
+        });
+        assertEquals(2, buffer.offer(Arrays.asList("a", "b", "c", "d")));
+        assertFalse(buffer.flush().join(5, TimeUnit.SECONDS).isSuccess());
+        JdbcTelemetryBufferStats stats = buffer.stats();
+        assertEquals(2, stats.getAccepted());
+        assertEquals(2, stats.getDropped());
+        assertEquals(2, stats.getFailed());
+
+        buffer.shutdown();
+        assertEquals(0, buffer.offer(Arrays.asList("e")));
+        assertEquals(3, buffer.stats().getDropped());
+    }
+
+    @Test
+    public void shouldWriteRecordAcceptedWhileShutdownDrainsBuffer() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            JdbcTelemetryBuffer<String> buffer = new JdbcTelemetryBuffer<>("test", 1, 100, 60_000, 5_000, batch -> {
+            });
+            assertEquals(1, buffer.offer(Arrays.asList("a")));
+            AtomicInteger producerAccepted = new AtomicInteger(-1);
+            // 缓冲区已满，生产者在关闭检查之后阻塞于背压等待，shutdown 腾出空间后才完成入队。
+            Thread producer = new Thread(() -> producerAccepted.set(buffer.offer(Arrays.asList("b"))));
+            producer.start();
+            while (producer.getState() != Thread.State.TIMED_WAITING) {
+                assertTrue(producer.isAlive());
+                Thread.yield();
+            }
+            buffer.shutdown();
+            producer.join(10_000);
+            assertFalse(producer.isAlive());
+
+            JdbcTelemetryBufferStats stats = buffer.stats();
+            assertEquals(1, producerAccepted.get());
+            assertEquals(0, stats.getPending());
+            assertEquals(2, stats.getWritten());
+        }
+    }
+
+    private int countRows(String table) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+    @Test
+    public void shouldLimitRowsPerInsertByBindParameterCap() {
+        assertEquals(2520, JdbcTelemetryRepository.MAX_ROWS_PER_INSERT);
+        JdbcTelemetryExporters.builder(dataSource).rowsPerInsert(JdbcTelemetryRepository.MAX_ROWS_PER_INSERT);
+        try {
+            JdbcTelemetryExporters.builder(dataSource).rowsPerInsert(JdbcTelemetryRepository.MAX_ROWS_PER_INSERT + 1);
+            fail("rowsPerInsert above the bind parameter cap must be rejected");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().endsWith(String.valueOf(JdbcTelemetryRepository.MAX_ROWS_PER_INSERT)));
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldRejectUnsafeTableNames() {
         JdbcTelemetryExporters.builder(dataSource).spanTable("spans; DROP TABLE users").build();
@@ -52,7 +52,7 @@ public class BaiduOcrModel extends BaseOcrModel<BaiduOcrConfig> {
      * 使用默认 HTTP 客户端创建百度 OCR 模型。
      */
     public BaiduOcrModel(BaiduOcrConfig config) {
-        this(config, OkHttpClientUtil.buildDefaultClient());
+        this(config, OkHttpClientUtil.buildClient(config.getHttpClientProfile()));
     }
 
     /**
@@ -47,7 +47,7 @@ public class GiteeOcrModel extends BaseOcrModel<GiteeOcrConfig> {
      * 使用默认 HTTP 客户端创建 Gitee OCR 模型。
      */
     public GiteeOcrModel(GiteeOcrConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     /**
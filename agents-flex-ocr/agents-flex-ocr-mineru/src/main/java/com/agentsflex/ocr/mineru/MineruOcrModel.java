@@ -67,8 +67,9 @@ public class MineruOcrModel extends BaseOcrModel<MineruOcrConfig> {
      * 使用默认 JSON 客户端和上传客户端创建 MinerU OCR 模型。
      */
     public MineruOcrModel(MineruOcrConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault(), OkHttpClientUtil.buildDefaultClient(),
-            new OpenXlabAuthClient(AgentsFlexHttpClient.getDefault()));
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()),
+            OkHttpClientUtil.buildClient(config.getHttpClientProfile()),
+            new OpenXlabAuthClient(AgentsFlexHttpClient.forProfile(config.getHttpClientProfile())));
     }
 
     /**
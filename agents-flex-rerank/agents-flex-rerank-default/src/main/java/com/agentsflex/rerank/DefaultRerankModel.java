@@ -31,10 +31,11 @@ import java.util.*;
 
 public class DefaultRerankModel extends BaseRerankModel<DefaultRerankModelConfig> {
 
-    private AgentsFlexHttpClient agentsFlexHttpClient = AgentsFlexHttpClient.getDefault();
+    private AgentsFlexHttpClient agentsFlexHttpClient;
 
     public DefaultRerankModel(DefaultRerankModelConfig config) {
         super(config);
+        this.agentsFlexHttpClient = AgentsFlexHttpClient.forProfile(config.getHttpClientProfile());
     }
 
     public AgentsFlexHttpClient getHttpClient() {
@@ -19,6 +19,10 @@ public class LuceneConfig {
     // lucene 目录
     private String indexDirPath;
 
+    // 后台提交间隔（毫秒）；默认 0，即每次写入后立即提交。
+    // 设为正数可合并提交提升写入吞吐，但进程退出前未调用 close() 时会丢失最近一个间隔内的写入
+    private long commitIntervalMillis = 0;
+
     public String getIndexDirPath() {
         return indexDirPath;
     }
@@ -26,4 +30,12 @@ public class LuceneConfig {
     public void setIndexDirPath(String indexDirPath) {
         this.indexDirPath = indexDirPath;
     }
+
+    public long getCommitIntervalMillis() {
+        return commitIntervalMillis;
+    }
+
+    public void setCommitIntervalMillis(long commitIntervalMillis) {
+        this.commitIntervalMillis = commitIntervalMillis;
+    }
 }
@@ -16,6 +16,8 @@
 package com.agentsflex.search.engine.lucene;
 
 import com.agentsflex.core.document.Document;
+import com.agentsflex.core.util.NamedThreadFactory;
+import com.agentsflex.core.util.NamedThreadPools;
 import com.agentsflex.search.engine.service.DocumentSearcher;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.document.Field;
@@ -27,7 +29,6 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
-import org.jetbrains.annotations.NotNull;
 import org.lionsoul.jcseg.ISegment;
 import org.lionsoul.jcseg.analyzer.JcsegAnalyzer;
 import org.lionsoul.jcseg.dic.DictionaryFactory;
@@ -35,6 +36,7 @@ import org.lionsoul.jcseg.segmenter.SegmenterConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -42,13 +44,33 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-
-public class LuceneSearcher implements DocumentSearcher {
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于 Lucene 的关键词检索实现。
+ *
+ * <p>每个实例持有一个长期存活的 {@link IndexWriter}，写入后通过近实时（NRT）{@link SearcherManager}
+ * 对检索可见。默认每次写入后立即提交；配置 {@link LuceneConfig#getCommitIntervalMillis()} 为正数后
+ * 改由后台线程周期提交，此时必须调用 {@link #close()}，否则最近一个间隔内的写入会在进程退出时丢失。
+ * 分词器在实例内复用。由于 IndexWriter 独占索引目录锁，同一目录只能创建一个实例，
+ * 不再使用时应调用 {@link #close()} 释放写锁。</p>
+ */
+public class LuceneSearcher implements DocumentSearcher, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
     private static final String METADATA_FIELD_PREFIX = "metadata.";
 
-    private Directory directory;
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final boolean commitOnWrite;
+    private final ScheduledExecutorService commitScheduler;
+
+    /** 是否存在尚未刷新到 SearcherManager 的写入。 */
+    private final AtomicBoolean refreshNeeded = new AtomicBoolean(false);
 
     public LuceneSearcher(LuceneConfig config) {
         Objects.requireNonNull(config, "LuceneConfig 不能为 null");
@@ -60,38 +82,61 @@ public class LuceneSearcher implements DocumentSearcher {
             }
 
             this.directory = FSDirectory.open(indexDir.toPath());
+            this.analyzer = createAnalyzer();
+            this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(indexWriter, null);
         } catch (IOException e) {
             LOG.error("初始化 Lucene 索引失败", e);
             throw new RuntimeException(e);
         }
+
+        long commitIntervalMillis = config.getCommitIntervalMillis();
+        this.commitOnWrite = commitIntervalMillis <= 0;
+        if (commitOnWrite) {
+            this.commitScheduler = null;
+        } else {
+            this.commitScheduler = NamedThreadPools.newScheduledThreadPool(1, new NamedThreadFactory("lucene-commit", true));
+            this.commitScheduler.scheduleWithFixedDelay(this::commit,
+                commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public boolean addDocument(Document document) {
         if (document == null || document.getContent() == null) return false;
 
-        IndexWriter indexWriter = null;
         try {
-            indexWriter = createIndexWriter();
+            indexWriter.addDocument(toLuceneDocument(document));
+            afterWrite();
+            return true;
+        } catch (Exception e) {
+            LOG.error("添加文档失败", e);
+            return false;
+        }
+    }
 
-            org.apache.lucene.document.Document luceneDoc = new org.apache.lucene.document.Document();
-            luceneDoc.add(new StringField("id", document.getId().toString(), Field.Store.YES));
-            luceneDoc.add(new TextField("content", document.getContent(), Field.Store.YES));
+    /**
+     * 批量添加文档，整批只触发一次提交（或等待后台提交）与一次刷新。
+     */
+    @Override
+    public boolean addDocuments(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) return false;
 
-            if (document.getTitle() != null) {
-                luceneDoc.add(new TextField("title", document.getTitle(), Field.Store.YES));
+        try {
+            List<org.apache.lucene.document.Document> luceneDocs = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                if (document != null && document.getContent() != null) {
+                    luceneDocs.add(toLuceneDocument(document));
+                }
             }
-            addMetadataFields(luceneDoc, document.getMetadataMap());
+            if (luceneDocs.isEmpty()) return false;
 
-
-            indexWriter.addDocument(luceneDoc);
-            indexWriter.commit();
-            return true;
+            indexWriter.addDocuments(luceneDocs);
+            afterWrite();
+            return luceneDocs.size() == documents.size();
         } catch (Exception e) {
-            LOG.error("添加文档失败", e);
+            LOG.error("批量添加文档失败", e);
             return false;
-        } finally {
-            close(indexWriter);
         }
     }
 
@@ -100,18 +145,14 @@ public class LuceneSearcher implements DocumentSearcher {
     public boolean deleteDocument(Object id) {
         if (id == null) return false;
 
-        IndexWriter indexWriter = null;
         try {
-            indexWriter = createIndexWriter();
             Term term = new Term("id", id.toString());
             indexWriter.deleteDocuments(term);
-            indexWriter.commit();
+            afterWrite();
             return true;
         } catch (IOException e) {
             LOG.error("删除文档失败", e);
             return false;
-        } finally {
-            close(indexWriter);
         }
     }
 
@@ -119,28 +160,14 @@ public class LuceneSearcher implements DocumentSearcher {
     public boolean updateDocument(Document document) {
         if (document == null || document.getId() == null) return false;
 
-        IndexWriter indexWriter = null;
         try {
-            indexWriter = createIndexWriter();
             Term term = new Term("id", document.getId().toString());
-
-            org.apache.lucene.document.Document luceneDoc = new org.apache.lucene.document.Document();
-            luceneDoc.add(new StringField("id", document.getId().toString(), Field.Store.YES));
-            luceneDoc.add(new TextField("content", document.getContent(), Field.Store.YES));
-
-            if (document.getTitle() != null) {
-                luceneDoc.add(new TextField("title", document.getTitle(), Field.Store.YES));
-            }
-            addMetadataFields(luceneDoc, document.getMetadataMap());
-
-            indexWriter.updateDocument(term, luceneDoc);
-            indexWriter.commit();
+            indexWriter.updateDocument(term, toLuceneDocument(document));
+            afterWrite();
             return true;
         } catch (IOException e) {
             LOG.error("更新文档失败", e);
             return false;
-        } finally {
-            close(indexWriter);
         }
     }
 
@@ -152,8 +179,19 @@ public class LuceneSearcher implements DocumentSearcher {
     @Override
     public List<Document> searchDocuments(String keyword, int count, Map<String, Object> metadataFilters) {
         List<Document> results = new ArrayList<>();
-        try (IndexReader reader = DirectoryReader.open(directory)) {
-            IndexSearcher searcher = new IndexSearcher(reader);
+        IndexSearcher searcher = null;
+        try {
+            // 仅在有新写入时刷新，保证写后可读，且无写入时检索不产生额外开销。
+            if (refreshNeeded.compareAndSet(true, false)) {
+                try {
+                    searcherManager.maybeRefreshBlocking();
+                } catch (IOException | RuntimeException e) {
+                    // 刷新失败时保留标记，下次检索重试，避免已写入的文档一直不可见
+                    refreshNeeded.set(true);
+                    throw e;
+                }
+            }
+            searcher = searcherManager.acquire();
             Query query = buildQuery(keyword, metadataFilters);
             TopDocs topDocs = searcher.search(query, count);
             for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
@@ -170,12 +208,86 @@ public class LuceneSearcher implements DocumentSearcher {
             }
         } catch (Exception e) {
             LOG.error("搜索文档失败", e);
+        } finally {
+            release(searcher);
         }
 
         return results;
     }
 
-    private static Query buildQuery(String keyword, Map<String, Object> metadataFilters) {
+    /**
+     * 立即提交未提交的写入。后台提交线程也会周期性调用本方法。
+     */
+    public void commit() {
+        try {
+            if (indexWriter.isOpen() && indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (Exception e) {
+            LOG.error("提交 Lucene 索引失败", e);
+        }
+    }
+
+    /**
+     * 提交剩余写入并释放写锁、检索器和后台线程。
+     */
+    @Override
+    public void close() {
+        if (commitScheduler != null) {
+            commitScheduler.shutdown();
+            try {
+                // 等待进行中的后台提交结束，再关闭 IndexWriter
+                if (!commitScheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                    LOG.warn("等待 Lucene 后台提交结束超时");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            searcherManager.close();
+        } catch (IOException e) {
+            LOG.error("关闭 Lucene SearcherManager 失败", e);
+        }
+        close(indexWriter);
+        try {
+            directory.close();
+        } catch (IOException e) {
+            LOG.error("关闭 Lucene 目录失败", e);
+        }
+    }
+
+    private void afterWrite() throws IOException {
+        if (commitOnWrite) {
+            indexWriter.commit();
+        }
+        refreshNeeded.set(true);
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            LOG.error("释放 Lucene IndexSearcher 失败", e);
+        }
+    }
+
+    private static org.apache.lucene.document.Document toLuceneDocument(Document document) {
+        org.apache.lucene.document.Document luceneDoc = new org.apache.lucene.document.Document();
+        luceneDoc.add(new StringField("id", document.getId().toString(), Field.Store.YES));
+        luceneDoc.add(new TextField("content", document.getContent(), Field.Store.YES));
+
+        if (document.getTitle() != null) {
+            luceneDoc.add(new TextField("title", document.getTitle(), Field.Store.YES));
+        }
+        addMetadataFields(luceneDoc, document.getMetadataMap());
+        return luceneDoc;
+    }
+
+    private Query buildQuery(String keyword, Map<String, Object> metadataFilters) {
         Query textQuery = buildTextQuery(keyword);
         BooleanQuery.Builder builder = new BooleanQuery.Builder();
         if (textQuery != null) {
@@ -187,13 +299,13 @@ public class LuceneSearcher implements DocumentSearcher {
         return builder.build();
     }
 
-    private static Query buildTextQuery(String keyword) {
+    private Query buildTextQuery(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return null;
         }
 
         try {
-            Analyzer analyzer = createAnalyzer();
+            // QueryParser 非线程安全，需按查询创建；Analyzer 本身可复用。
             QueryParser titleQueryParser = new QueryParser("title", analyzer);
             Query titleQuery = titleQueryParser.parse(keyword);
 
@@ -254,13 +366,6 @@ public class LuceneSearcher implements DocumentSearcher {
     }
 
 
-    @NotNull
-    private IndexWriter createIndexWriter() throws IOException {
-        Analyzer analyzer = createAnalyzer();
-        IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
-        return new IndexWriter(directory, indexWriterConfig);
-    }
-
 
     private static Analyzer createAnalyzer() {
         SegmenterConfig config = new SegmenterConfig(true);
@@ -76,6 +76,7 @@ public class TestLuceneCRUD {
         // 查询删除后的结果
         testSearch(luceneSearcher, "报酬");
 
+        luceneSearcher.close();
     }
 
     // 封装一个搜索方法，打印搜索结果
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.search.engine.lucene;
+
+import com.agentsflex.core.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+public class LuceneSearcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File indexDir;
+    private LuceneSearcher searcher;
+
+    @After
+    public void tearDown() {
+        if (searcher != null) {
+            searcher.close();
+        }
+    }
+
+    @Test
+    public void shouldSearchUncommittedWritesThroughNrtReader() throws Exception {
+        searcher = newSearcher(60_000);
+
+        Assert.assertTrue(searcher.addDocument(document(1, "lucene near real time search")));
+
+        List<Document> results = searcher.searchDocuments("lucene", 10);
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals("1", results.get(0).getId());
+        Assert.assertEquals(0, committedDocs());
+
+        Assert.assertTrue(searcher.updateDocument(document(1, "updated content")));
+        Assert.assertTrue(searcher.searchDocuments("lucene", 10).isEmpty());
+        Assert.assertEquals(1, searcher.searchDocuments("updated", 10).size());
+
+        Assert.assertTrue(searcher.deleteDocument(1));
+        Assert.assertTrue(searcher.searchDocuments("updated", 10).isEmpty());
+    }
+
+    @Test
+    public void shouldCommitOnDemandAndOnClose() throws Exception {
+        searcher = newSearcher(60_000);
+
+        searcher.addDocument(document(1, "first document"));
+        searcher.commit();
+        Assert.assertEquals(1, committedDocs());
+
+        searcher.addDocument(document(2, "second document"));
+        Assert.assertEquals(1, committedDocs());
+
+        searcher.close();
+        searcher = null;
+        Assert.assertEquals(2, committedDocs());
+    }
+
+    @Test
+    public void shouldCommitBatchInBackground() throws Exception {
+        searcher = newSearcher(50);
+
+        Assert.assertTrue(searcher.addDocuments(Arrays.asList(
+            document(1, "batch one"), document(2, "batch two"), document(3, "batch three"))));
+        Assert.assertEquals(3, searcher.searchDocuments("batch", 10).size());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (committedDocs() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(3, committedDocs());
+    }
+
+    @Test
+    public void shouldCommitEachWriteByDefault() throws Exception {
+        indexDir = folder.newFolder("index");
+        LuceneConfig config = new LuceneConfig();
+        config.setIndexDirPath(indexDir.getAbsolutePath());
+        searcher = new LuceneSearcher(config);
+
+        searcher.addDocument(document(1, "committed immediately"));
+        Assert.assertEquals(1, committedDocs());
+        Assert.assertTrue(searcher.deleteDocument(1));
+        Assert.assertEquals(0, committedDocs());
+    }
+
+    @Test
+    public void shouldRejectBatchWithInvalidDocument() throws Exception {
+        searcher = newSearcher(60_000);
+
+        Document withoutId = new Document();
+        withoutId.setContent("document without id");
+
+        Assert.assertFalse(searcher.addDocuments(Arrays.asList(document(1, "valid document"), withoutId)));
+        Assert.assertTrue(searcher.searchDocuments("document", 10).isEmpty());
+
+        Document withoutContent = new Document();
+        withoutContent.setId(3);
+        Assert.assertFalse(searcher.addDocuments(Arrays.asList(document(2, "partial batch"), withoutContent)));
+        Assert.assertEquals(1, searcher.searchDocuments("partial", 10).size());
+    }
+
+    private LuceneSearcher newSearcher(long commitIntervalMillis) throws IOException {
+        indexDir = folder.newFolder("index");
+        LuceneConfig config = new LuceneConfig();
+        config.setIndexDirPath(indexDir.getAbsolutePath());
+        config.setCommitIntervalMillis(commitIntervalMillis);
+        return new LuceneSearcher(config);
+    }
+
+    private int committedDocs() throws IOException {
+        try (Directory directory = FSDirectory.open(indexDir.toPath())) {
+            if (!DirectoryReader.indexExists(directory)) {
+                return 0;
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                return reader.numDocs();
+            }
+        }
+    }
+
+    private static Document document(Object id, String content) {
+        Document document = new Document();
+        document.setId(id);
+        document.setContent(content);
+        return document;
+    }
+}
@@ -24,6 +24,22 @@ public interface DocumentSearcher {
 
     boolean addDocument(Document document);
 
+    /**
+     * 批量添加文档。默认逐条调用 {@link #addDocument(Document)}，支持批量写入的实现应覆盖本方法。
+     *
+     * @return 全部文档添加成功时返回 {@code true}
+     */
+    default boolean addDocuments(List<Document> documents) {
+        if (documents == null || documents.isEmpty()) {
+            return false;
+        }
+        boolean success = true;
+        for (Document document : documents) {
+            success &= addDocument(document);
+        }
+        return success;
+    }
+
     boolean deleteDocument(Object id);
 
     boolean updateDocument(Document document);
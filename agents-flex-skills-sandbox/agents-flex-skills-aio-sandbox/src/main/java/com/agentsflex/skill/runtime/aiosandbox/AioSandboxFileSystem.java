@@ -17,6 +17,9 @@ package com.agentsflex.skill.runtime.aiosandbox;
 
 import com.agentsflex.skill.runtime.SkillExecutionResult;
 import com.agentsflex.skill.runtime.SkillFileInfo;
+import com.agentsflex.skill.runtime.SkillFileSearchCommands;
+import com.agentsflex.skill.runtime.SkillFileSearchRequest;
+import com.agentsflex.skill.runtime.SkillFileSearchResult;
 import com.agentsflex.skill.runtime.SkillRuntimeException;
 import com.agentsflex.skill.runtime.SkillRuntimeFileSystem;
 import com.alibaba.fastjson2.JSONObject;
@@ -34,7 +37,8 @@ import java.util.List;
  *
  * <p>文本读写使用 {@code /v1/file/read} 和 {@code /v1/file/write}；二进制下载使用
  * {@code /v1/file/download}。AIO 当前没有直接满足搜索所需的统一 stat/list 元数据 API，
- * 因此这两项能力通过受控 Shell 命令实现。</p>
+ * 因此这两项能力通过受控 Shell 命令实现。grep 同样下推为一条 {@code grep -rlP} 命令，
+ * 避免逐个文件调用 {@code /v1/file/read}。</p>
  */
 public class AioSandboxFileSystem implements SkillRuntimeFileSystem {
 
@@ -138,6 +142,19 @@ public class AioSandboxFileSystem implements SkillRuntimeFileSystem {
         return values;
     }
 
+    @Override
+    public SkillFileSearchResult search(SkillFileSearchRequest request) {
+        String command = SkillFileSearchCommands.grepFilesCommand(request);
+        if (command == null) {
+            return null;
+        }
+        SkillExecutionResult result = client.execute(command, "/", 30000);
+        if (result.isTimedOut()) {
+            return null;
+        }
+        return SkillFileSearchCommands.parseGrepFiles(request, result.getExitCode(), result.getStdout());
+    }
+
     static void requireSuccessful(SkillExecutionResult result, String operation) {
         if (result.isTimedOut() || result.getExitCode() != 0) {
             String detail = result.getStderr().isEmpty() ? result.getStdout() : result.getStderr();
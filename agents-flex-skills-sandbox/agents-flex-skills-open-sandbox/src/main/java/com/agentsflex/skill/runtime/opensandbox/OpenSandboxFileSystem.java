@@ -16,9 +16,15 @@
 package com.agentsflex.skill.runtime.opensandbox;
 
 import com.agentsflex.skill.runtime.SkillFileInfo;
+import com.agentsflex.skill.runtime.SkillFileSearchCommands;
+import com.agentsflex.skill.runtime.SkillFileSearchRequest;
+import com.agentsflex.skill.runtime.SkillFileSearchResult;
 import com.agentsflex.skill.runtime.SkillRuntimeException;
 import com.agentsflex.skill.runtime.SkillRuntimeFileSystem;
 import com.alibaba.opensandbox.sandbox.Sandbox;
+import com.alibaba.opensandbox.sandbox.domain.models.execd.executions.Execution;
+import com.alibaba.opensandbox.sandbox.domain.models.execd.executions.OutputMessage;
+import com.alibaba.opensandbox.sandbox.domain.models.execd.executions.RunCommandRequest;
 import com.alibaba.opensandbox.sandbox.domain.models.execd.filesystem.EntryInfo;
 import com.alibaba.opensandbox.sandbox.domain.models.execd.filesystem.WriteEntry;
 
@@ -26,6 +32,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -36,7 +43,8 @@ import java.util.function.Supplier;
  * 基于 OpenSandbox SDK 的 Runtime 文件系统实现。
  *
  * <p>二进制下载直接使用 SDK 的 {@code readStream}，不会把整个文件缓存在 Java 堆中。
- * {@link Supplier} 允许 Runtime 延迟创建 Sandbox，并保证所有文件操作使用同一个实例。</p>
+ * {@link Supplier} 允许 Runtime 延迟创建 Sandbox，并保证所有文件操作使用同一个实例。
+ * grep 通过一条 {@code grep -rlP} 命令下推到 Sandbox 内执行，避免逐个文件读取。</p>
  */
 public class OpenSandboxFileSystem implements SkillRuntimeFileSystem {
 
@@ -145,10 +153,45 @@ public class OpenSandboxFileSystem implements SkillRuntimeFileSystem {
         }
     }
 
+    @Override
+    public SkillFileSearchResult search(SkillFileSearchRequest request) {
+        String command = SkillFileSearchCommands.grepFilesCommand(request);
+        if (command == null) {
+            return null;
+        }
+        try {
+            Execution execution = sandbox().commands().run(RunCommandRequest.builder()
+                .command(command)
+                .workingDirectory("/")
+                .timeout(Duration.ofSeconds(30))
+                .build());
+            int exitCode = execution.getExitCode() == null ? -1 : execution.getExitCode();
+            return SkillFileSearchCommands.parseGrepFiles(request, exitCode,
+                stdout(execution.getLogs() == null ? null : execution.getLogs().getStdout()));
+        } catch (RuntimeException e) {
+            // 下推失败时退回通用的逐文件搜索，而不是让 grep 工具整体失败。
+            return null;
+        }
+    }
+
     private Sandbox sandbox() {
         return sandboxSupplier.get();
     }
 
+    private static String stdout(List<OutputMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (OutputMessage message : messages) {
+            result.append(message.getText());
+            if (!message.getText().endsWith("\n")) {
+                result.append('\n');
+            }
+        }
+        return result.toString();
+    }
+
     private static SkillFileInfo toSkillFileInfo(EntryInfo info) {
         long modified = info.getModifiedAt() == null ? 0 : info.getModifiedAt().toInstant().toEpochMilli();
         return new SkillFileInfo(info.getPath(), "directory".equalsIgnoreCase(info.getType()),
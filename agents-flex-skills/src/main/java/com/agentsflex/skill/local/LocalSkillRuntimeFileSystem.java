@@ -16,6 +16,8 @@
 package com.agentsflex.skill.local;
 
 import com.agentsflex.skill.runtime.SkillFileInfo;
+import com.agentsflex.skill.runtime.SkillFileSearchRequest;
+import com.agentsflex.skill.runtime.SkillFileSearchResult;
 import com.agentsflex.skill.runtime.SkillRuntimeException;
 import com.agentsflex.skill.runtime.SkillRuntimeFileSystem;
 
@@ -31,6 +33,11 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -41,6 +48,10 @@ import java.util.stream.Stream;
  */
 class LocalSkillRuntimeFileSystem implements SkillRuntimeFileSystem {
 
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+    /** 每批并行扫描的文件数；批与批之间按遍历顺序检查是否已达到 maxResults。 */
+    private static final int SEARCH_BATCH_SIZE = PARALLELISM * 4;
+
     @Override
     public InputStream openInputStream(String path) {
         Path file = Paths.get(path).toAbsolutePath().normalize();
@@ -149,4 +160,124 @@ class LocalSkillRuntimeFileSystem implements SkillRuntimeFileSystem {
             throw new SkillRuntimeException("Failed to list local files: " + path, e);
         }
     }
+
+    /**
+     * 在宿主机上并行完成 glob/grep 搜索。
+     *
+     * <p>遍历时直接跳过忽略目录，并只保留通过路径过滤的文件；内容匹配按批并行执行，找到 {@code maxResults} 个匹配文件后不再提交后续批次。结果保持遍历顺序，并已按请求语义精确确认。</p>
+     */
+    @Override
+    public SkillFileSearchResult search(SkillFileSearchRequest request) {
+        Path root = Paths.get(request.getRoot()).toAbsolutePath().normalize();
+        int limit = request.getMaxResults() > 0 ? request.getMaxResults() : Integer.MAX_VALUE;
+        boolean content = request.getPattern() != null;
+        List<SkillFileInfo> candidates = collectCandidates(root, request, content ? request.getMaxFiles()
+            : Math.min(request.getMaxFiles(), limit));
+        if (!content) {
+            return new SkillFileSearchResult(candidates, true,
+                candidates.size() >= Math.min(request.getMaxFiles(), limit));
+        }
+
+        List<SkillFileInfo> matches = new ArrayList<>();
+        for (int from = 0; from < candidates.size() && matches.size() < limit; from += SEARCH_BATCH_SIZE) {
+            List<SkillFileInfo> batch = candidates.subList(from, Math.min(candidates.size(), from + SEARCH_BATCH_SIZE));
+            List<Future<Boolean>> futures = new ArrayList<>(batch.size());
+            for (final SkillFileInfo file : batch) {
+                futures.add(SearchExecutor.INSTANCE.submit(() -> contentMatches(file, request)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (matches.size() >= limit) {
+                    futures.get(i).cancel(false);
+                } else if (await(futures.get(i))) {
+                    matches.add(batch.get(i));
+                }
+            }
+        }
+        return new SkillFileSearchResult(matches, true,
+            matches.size() >= limit || candidates.size() >= request.getMaxFiles());
+    }
+
+    private List<SkillFileInfo> collectCandidates(final Path root, final SkillFileSearchRequest request,
+                                                  final int maxCandidates) {
+        final boolean content = request.getPattern() != null;
+        final List<SkillFileInfo> candidates = new ArrayList<>();
+        if (Files.isRegularFile(root)) {
+            SkillFileInfo info = stat(root.toString());
+            if (info != null && request.accepts(info.getPath())
+                && (!content || info.getSize() <= request.getMaxFileBytes())) {
+                candidates.add(info);
+            }
+            return candidates;
+        }
+        if (!Files.isDirectory(root)) {
+            throw new SkillRuntimeException("Path does not exist or is not a directory: " + request.getRoot());
+        }
+        try {
+            Files.walkFileTree(root, java.util.EnumSet.noneOf(java.nio.file.FileVisitOption.class),
+                request.getMaxDepth(), new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attrs) {
+                        // 整棵忽略目录不再进入，而不是先列出再逐个过滤。
+                        return !directory.equals(root) && directory.getFileName() != null
+                            && request.getIgnoredDirectories().contains(directory.getFileName().toString())
+                            ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile() && (!content || attrs.size() <= request.getMaxFileBytes())
+                            && request.accepts(file.toString())) {
+                            candidates.add(new SkillFileInfo(file.toString(), false, attrs.size(),
+                                attrs.lastModifiedTime().toMillis()));
+                        }
+                        return candidates.size() >= maxCandidates ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            return candidates;
+        } catch (IOException e) {
+            throw new SkillRuntimeException("Failed to search local files: " + request.getRoot(), e);
+        }
+    }
+
+    private static boolean contentMatches(SkillFileInfo file, SkillFileSearchRequest request) {
+        try {
+            Path path = Paths.get(file.getPath());
+            if (Files.size(path) > request.getMaxFileBytes()) {
+                return false;
+            }
+            // 与 readText 一致：非法 UTF-8 字节替换为替换字符，而不是跳过整个文件。
+            return request.matches(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean await(Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SkillRuntimeException("Interrupted while searching local files", e);
+        } catch (ExecutionException e) {
+            // 与通用 grep 一致，无法读取或匹配失败的文件直接跳过。
+            return false;
+        }
+    }
+
+    /**
+     * 本地搜索共享的守护线程池，首次搜索时创建。
+     */
+    private static final class SearchExecutor {
+        private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "skill-local-search-" + THREAD_INDEX.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.skill.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 远程 Runtime 把 {@link SkillFileSearchRequest} 下推为一条 Shell 命令时使用的公共工具。
+ *
+ * <p>命令使用 {@code grep -rlP} 在 Runtime 内一次列出内容匹配的文件，避免逐个文件发起读取请求。
+ * PCRE 与 Java 正则方言存在细微差异，因此结果只作为候选集合（{@code exact=false}），由调用方读取
+ * 候选文件后再按 Java 语义确认。目标环境缺少 {@code grep -P} 或不接受该表达式时，命令以
+ * {@link #UNSUPPORTED_EXIT_CODE} 退出，调用方应退回逐文件扫描。</p>
+ */
+public final class SkillFileSearchCommands {
+
+    /**
+     * grep 不可用或表达式无法被 PCRE 接受时使用的专用退出码。
+     */
+    public static final int UNSUPPORTED_EXIT_CODE = 45;
+
+    private static final int SUPPORTED_FLAGS = Pattern.MULTILINE | Pattern.CASE_INSENSITIVE;
+
+    private SkillFileSearchCommands() {
+    }
+
+    /**
+     * 生成列出匹配文件的 Shell 命令。
+     *
+     * @param request 搜索请求
+     * @return Shell 命令；请求不适合下推（仅路径筛选、多行模式或使用了其他正则标志）时返回 {@code null}
+     */
+    public static String grepFilesCommand(SkillFileSearchRequest request) {
+        Pattern pattern = request.getPattern();
+        if (pattern == null || request.isMultiline() || (pattern.flags() & ~SUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        StringBuilder grep = new StringBuilder("grep -rlP");
+        if ((pattern.flags() & Pattern.CASE_INSENSITIVE) != 0) {
+            grep.append('i');
+        }
+        for (String directory : request.getIgnoredDirectories()) {
+            grep.append(" --exclude-dir=").append(shellQuote(directory));
+        }
+        for (String fileName : request.getFileNamePatterns()) {
+            grep.append(" --include=").append(shellQuote(fileName));
+        }
+        grep.append(" -e ").append(shellQuote(pattern.pattern()))
+            .append(" -- ").append(shellQuote(request.getRoot()));
+        // grep 退出码 1 表示没有匹配，大于 1 表示参数或表达式不受支持。
+        return "out=$(" + grep + " 2>/dev/null); code=$?; "
+            + "if [ $code -gt 1 ]; then exit " + UNSUPPORTED_EXIT_CODE + "; fi; "
+            + "if [ -n \"$out\" ]; then printf '%s\\n' \"$out\" | head -n " + request.getMaxFiles() + "; fi; exit 0";
+    }
+
+    /**
+     * 解析 {@link #grepFilesCommand(SkillFileSearchRequest)} 的输出。
+     *
+     * @param request  搜索请求
+     * @param exitCode 命令退出码
+     * @param stdout   命令标准输出
+     * @return 候选文件；命令不受支持或执行失败时返回 {@code null}。输出达到 {@code maxFiles} 行时标记为截断，
+     *     因为 {@code head} 在路径过滤之前生效，过滤后可能缺少部分匹配文件
+     */
+    public static SkillFileSearchResult parseGrepFiles(SkillFileSearchRequest request, int exitCode, String stdout) {
+        if (exitCode != 0) {
+            return null;
+        }
+        List<SkillFileInfo> files = new ArrayList<>();
+        int lines = 0;
+        for (String line : (stdout == null ? "" : stdout).split("\\r?\\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            lines++;
+            if (request.accepts(line)) {
+                files.add(new SkillFileInfo(line, false, 0, 0));
+            }
+        }
+        return new SkillFileSearchResult(files, false, lines >= request.getMaxFiles());
+    }
+
+    /**
+     * 使用单引号包裹 Shell 参数，避免路径或表达式改变命令结构。
+     */
+    public static String shellQuote(String value) {
+        return "'" + value.replace("'", "'\"'\"'") + "'";
+    }
+}
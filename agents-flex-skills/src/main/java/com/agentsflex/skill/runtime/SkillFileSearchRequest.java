@@ -0,0 +1,303 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.skill.runtime;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 交给 {@link SkillRuntimeFileSystem#search(SkillFileSearchRequest)} 在 Runtime 内一次完成的文件搜索请求。
+ *
+ * <p>未设置 {@code pattern} 时只按路径筛选文件（glob）；设置后只返回内容匹配的文件（grep）。
+ * 内容匹配语义与 grep 工具一致：非多行模式下逐行匹配，并跳过超过 {@code maxLineLength} 的行；
+ * 多行模式下对整个文件匹配。请求对象不可变，可安全地在调用链中传递。</p>
+ */
+public class SkillFileSearchRequest {
+
+    private final String root;
+    private final Pattern pattern;
+    private final boolean multiline;
+    private final Predicate<String> fileFilter;
+    private final Set<String> ignoredDirectories;
+    private final Set<String> fileNamePatterns;
+    private final int maxDepth;
+    private final int maxFiles;
+    private final long maxFileBytes;
+    private final int maxLineLength;
+    private final int maxResults;
+
+    private SkillFileSearchRequest(Builder builder) {
+        this.root = builder.root;
+        this.pattern = builder.pattern;
+        this.multiline = builder.multiline;
+        this.fileFilter = builder.fileFilter;
+        this.ignoredDirectories = Collections.unmodifiableSet(new LinkedHashSet<>(builder.ignoredDirectories));
+        this.fileNamePatterns = Collections.unmodifiableSet(new LinkedHashSet<>(builder.fileNamePatterns));
+        this.maxDepth = builder.maxDepth;
+        this.maxFiles = builder.maxFiles;
+        this.maxFileBytes = builder.maxFileBytes;
+        this.maxLineLength = builder.maxLineLength;
+        this.maxResults = builder.maxResults;
+    }
+
+    /**
+     * @param root Runtime 内的起始文件或目录
+     * @return 请求构建器
+     */
+    public static Builder builder(String root) {
+        return new Builder(root);
+    }
+
+    /**
+     * @return 仅替换起始路径的副本，供工作区等包装层映射路径
+     */
+    public SkillFileSearchRequest withRoot(String root) {
+        return toBuilder(root).build();
+    }
+
+    /**
+     * @return Runtime 内的起始文件或目录
+     */
+    public String getRoot() {
+        return root;
+    }
+
+    /**
+     * @return 内容正则；为 {@code null} 时只按路径筛选
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return 是否对整个文件做多行匹配
+     */
+    public boolean isMultiline() {
+        return multiline;
+    }
+
+    /**
+     * @return 需要整体跳过的目录名，例如 {@code .git}、{@code node_modules}
+     */
+    public Set<String> getIgnoredDirectories() {
+        return ignoredDirectories;
+    }
+
+    /**
+     * 文件名 glob 提示，例如 {@code *.java}。
+     *
+     * <p>只描述文件名（不含目录），供 Runtime 在远端提前缩小候选集合，例如转换为 {@code grep --include}；
+     * 文件名不匹配任一模式的文件可以直接跳过。提示不替代 {@link #accepts(String)}，返回的文件仍须通过路径过滤。</p>
+     *
+     * @return 文件名模式；为空时不限制
+     */
+    public Set<String> getFileNamePatterns() {
+        return fileNamePatterns;
+    }
+
+    /**
+     * @return 最大递归深度
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return 最多检查的候选文件数
+     */
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    /**
+     * @return 超过该字节数的文件不参与内容匹配
+     */
+    public long getMaxFileBytes() {
+        return maxFileBytes;
+    }
+
+    /**
+     * @return 非多行模式下参与匹配的最大行长度
+     */
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    /**
+     * @return 找到这么多个匹配文件后即可停止；0 表示不限制
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * 判断候选文件路径是否通过调用方的过滤规则（glob、文件类型等）。
+     *
+     * @param path Runtime 内文件路径
+     * @return 是否需要检查该文件
+     */
+    public boolean accepts(String path) {
+        return fileFilter == null || fileFilter.test(path);
+    }
+
+    /**
+     * 按请求的匹配语义检查文件内容。
+     *
+     * <p>非多行模式不拆分字符串，而是在原内容上逐行设置匹配区域，避免为每一行创建子串。</p>
+     *
+     * @param content 文件文本
+     * @return 是否至少有一处匹配；未设置 pattern 时恒为 {@code true}
+     */
+    public boolean matches(CharSequence content) {
+        if (pattern == null) {
+            return true;
+        }
+        Matcher matcher = pattern.matcher(content);
+        if (multiline) {
+            return matcher.find();
+        }
+        int length = content.length();
+        int start = 0;
+        while (start <= length) {
+            int end = start;
+            while (end < length && content.charAt(end) != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && content.charAt(end - 1) == '\r' && end < length ? end - 1 : end;
+            if (lineEnd - start <= maxLineLength && matcher.region(start, lineEnd).find()) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    private Builder toBuilder(String root) {
+        Builder builder = new Builder(root);
+        builder.pattern = pattern;
+        builder.multiline = multiline;
+        builder.fileFilter = fileFilter;
+        builder.ignoredDirectories.addAll(ignoredDirectories);
+        builder.fileNamePatterns.addAll(fileNamePatterns);
+        builder.maxDepth = maxDepth;
+        builder.maxFiles = maxFiles;
+        builder.maxFileBytes = maxFileBytes;
+        builder.maxLineLength = maxLineLength;
+        builder.maxResults = maxResults;
+        return builder;
+    }
+
+    /**
+     * {@link SkillFileSearchRequest} 构建器。
+     */
+    public static class Builder {
+
+        private final String root;
+        private Pattern pattern;
+        private boolean multiline;
+        private Predicate<String> fileFilter;
+        private final Set<String> ignoredDirectories = new LinkedHashSet<>();
+        private final Set<String> fileNamePatterns = new LinkedHashSet<>();
+        private int maxDepth = Integer.MAX_VALUE;
+        private int maxFiles = Integer.MAX_VALUE;
+        private long maxFileBytes = Long.MAX_VALUE;
+        private int maxLineLength = Integer.MAX_VALUE;
+        private int maxResults;
+
+        private Builder(String root) {
+            if (root == null || root.trim().isEmpty()) {
+                throw new IllegalArgumentException("root must not be empty");
+            }
+            this.root = root;
+        }
+
+        public Builder pattern(Pattern pattern) {
+            this.pattern = pattern;
+            return this;
+        }
+
+        public Builder multiline(boolean multiline) {
+            this.multiline = multiline;
+            return this;
+        }
+
+        public Builder fileFilter(Predicate<String> fileFilter) {
+            this.fileFilter = fileFilter;
+            return this;
+        }
+
+        public Builder ignoredDirectories(Set<String> ignoredDirectories) {
+            if (ignoredDirectories != null) {
+                this.ignoredDirectories.addAll(ignoredDirectories);
+            }
+            return this;
+        }
+
+        public Builder fileNamePatterns(Collection<String> fileNamePatterns) {
+            if (fileNamePatterns != null) {
+                this.fileNamePatterns.addAll(fileNamePatterns);
+            }
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            this.maxDepth = positive(maxDepth, "maxDepth");
+            return this;
+        }
+
+        public Builder maxFiles(int maxFiles) {
+            this.maxFiles = positive(maxFiles, "maxFiles");
+            return this;
+        }
+
+        public Builder maxFileBytes(long maxFileBytes) {
+            if (maxFileBytes <= 0) {
+                throw new IllegalArgumentException("maxFileBytes must be greater than zero");
+            }
+            this.maxFileBytes = maxFileBytes;
+            return this;
+        }
+
+        public Builder maxLineLength(int maxLineLength) {
+            this.maxLineLength = positive(maxLineLength, "maxLineLength");
+            return this;
+        }
+
+        public Builder maxResults(int maxResults) {
+            if (maxResults < 0) {
+                throw new IllegalArgumentException("maxResults must not be negative");
+            }
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        public SkillFileSearchRequest build() {
+            return new SkillFileSearchRequest(this);
+        }
+
+        private static int positive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be greater than zero");
+            }
+            return value;
+        }
+    }
+}
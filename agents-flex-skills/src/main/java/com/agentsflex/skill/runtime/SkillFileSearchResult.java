@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.skill.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link SkillRuntimeFileSystem#search(SkillFileSearchRequest)} 的结果。
+ *
+ * <p>{@code exact} 为 {@code true} 时，每个文件都已按请求语义确认至少有一处匹配，调用方可直接使用；
+ * 为 {@code false} 时结果是候选集合（例如由 Runtime 内的 {@code grep -P} 得到，其正则方言与 Java
+ * 略有差异），调用方仍需读取文件逐一确认。</p>
+ */
+public class SkillFileSearchResult {
+
+    private final List<SkillFileInfo> files;
+    private final boolean exact;
+    private final boolean truncated;
+
+    /**
+     * @param files     匹配或候选文件，按遍历顺序排列
+     * @param exact     结果是否已按请求语义精确确认
+     * @param truncated 是否因达到 maxResults 或 maxFiles 提前结束
+     */
+    public SkillFileSearchResult(List<SkillFileInfo> files, boolean exact, boolean truncated) {
+        this.files = files == null
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(new ArrayList<>(files));
+        this.exact = exact;
+        this.truncated = truncated;
+    }
+
+    /**
+     * @return 不可变的文件列表
+     */
+    public List<SkillFileInfo> getFiles() {
+        return files;
+    }
+
+    /**
+     * @return 结果是否已按请求语义精确确认
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return 是否提前结束
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -219,4 +219,19 @@ public interface SkillRuntimeFileSystem {
      */
     List<SkillFileInfo> listFiles(String path, int maxDepth, int maxResults);
 
+    /**
+     * 在 Runtime 内一次完成 glob/grep 文件搜索。
+     *
+     * <p>这是可选能力。默认返回 {@code null}，glob、grep 工具会退回到
+     * {@link #listFiles(String, int, int)} 加逐个 {@link #readText(String, int)} 的通用实现；
+     * 远程 Runtime 每次读取都是一次网络往返，应覆盖本方法把搜索下推到 Runtime 内执行。
+     * 返回的文件必须已通过 {@link SkillFileSearchRequest#accepts(String)}，并跳过忽略目录。</p>
+     *
+     * @param request 搜索请求
+     * @return 匹配或候选文件；不支持下推时返回 {@code null}
+     */
+    default SkillFileSearchResult search(SkillFileSearchRequest request) {
+        return null;
+    }
+
 }
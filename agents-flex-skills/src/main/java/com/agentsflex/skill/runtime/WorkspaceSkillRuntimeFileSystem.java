@@ -63,4 +63,9 @@ final class WorkspaceSkillRuntimeFileSystem implements SkillRuntimeFileSystem {
     public List<SkillFileInfo> listFiles(String path, int maxDepth, int maxResults) {
         return delegate.listFiles(workspace.resolveReadablePath(path), maxDepth, maxResults);
     }
+
+    @Override
+    public SkillFileSearchResult search(SkillFileSearchRequest request) {
+        return delegate.search(request.withRoot(workspace.resolveReadablePath(request.getRoot())));
+    }
 }
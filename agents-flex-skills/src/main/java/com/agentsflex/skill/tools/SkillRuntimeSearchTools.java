@@ -19,6 +19,8 @@ import com.agentsflex.core.model.chat.tool.annotation.ToolDef;
 import com.agentsflex.core.model.chat.tool.annotation.ToolParam;
 import com.agentsflex.core.util.StringUtil;
 import com.agentsflex.skill.runtime.SkillFileInfo;
+import com.agentsflex.skill.runtime.SkillFileSearchRequest;
+import com.agentsflex.skill.runtime.SkillFileSearchResult;
 import com.agentsflex.skill.runtime.SkillRuntime;
 import com.agentsflex.skill.runtime.SkillRuntimeFileSystem;
 
@@ -45,6 +47,9 @@ import java.util.regex.Pattern;
  * {@code ripgrep}。工具先通过 {@link SkillRuntimeFileSystem#listFiles(String, int, int)}
  * 获取候选文件，再应用 glob、文件类型、大小和忽略目录规则，使本地与远程 Runtime
  * 获得一致行为。</p>
+ *
+ * <p>Runtime 实现了 {@link SkillRuntimeFileSystem#search(SkillFileSearchRequest)} 时，glob 和 grep
+ * 会先把搜索下推到 Runtime 内一次完成，只读取返回的匹配文件；未实现时退回上述通用流程。</p>
  */
 public class SkillRuntimeSearchTools {
 
@@ -55,6 +60,8 @@ public class SkillRuntimeSearchTools {
     private static final int MAX_FILE_BYTES = 2 * 1024 * 1024;
     private static final int MAX_OUTPUT_LENGTH = 100000;
     private static final int MAX_LINE_LENGTH = 10000;
+    private static final String SEARCH_TRUNCATED = "\n... (search stopped after " + MAX_FILES
+        + " candidate files; results may be incomplete, narrow the path, glob or type)";
     private static final Set<String> IGNORED_DIRS = new LinkedHashSet<>(Arrays.asList(
         ".git", "node_modules", "target", "build", ".idea", ".vscode", "dist", "__pycache__",
         ".gradle", ".mvn"));
@@ -142,16 +149,26 @@ public class SkillRuntimeSearchTools {
             return "Error: The glob pattern must not be empty";
         }
         String root = defaultPath(path);
+        String globPattern = pattern.trim();
         try {
+            SkillFileSearchResult searched = files.search(SkillFileSearchRequest.builder(root)
+                .fileFilter(file -> !isIgnored(file, root) && matchesGlob(file, root, globPattern))
+                .ignoredDirectories(IGNORED_DIRS)
+                .maxDepth(MAX_DEPTH)
+                .maxFiles(MAX_FILES)
+                .build());
+            List<SkillFileInfo> candidates = searched != null ? searched.getFiles()
+                : files.listFiles(root, MAX_DEPTH, MAX_FILES);
+            boolean truncated = searched != null ? searched.isTruncated() : candidates.size() >= MAX_FILES;
             List<SkillFileInfo> matches = new ArrayList<>();
-            for (SkillFileInfo file : files.listFiles(root, MAX_DEPTH, MAX_FILES)) {
+            for (SkillFileInfo file : candidates) {
                 if (!file.isDirectory() && !isIgnored(file.getPath(), root)
-                    && matchesGlob(file.getPath(), root, pattern.trim())) {
+                    && matchesGlob(file.getPath(), root, globPattern)) {
                     matches.add(file);
                 }
             }
             if (matches.isEmpty()) {
-                return "No files found matching pattern: " + pattern;
+                return "No files found matching pattern: " + pattern + (truncated ? SEARCH_TRUNCATED : "");
             }
             matches.sort(Comparator.comparingLong(SkillFileInfo::getModifiedTimeMillis).reversed()
                 .thenComparing(SkillFileInfo::getPath));
@@ -159,7 +176,7 @@ public class SkillRuntimeSearchTools {
             for (int i = 0; i < Math.min(matches.size(), MAX_GLOB_RESULTS); i++) {
                 result.append(matches.get(i).getPath()).append('\n');
             }
-            return result.toString().trim();
+            return result.toString().trim() + (truncated ? SEARCH_TRUNCATED : "");
         } catch (RuntimeException e) {
             return "Error executing glob in " + runtime.getName() + " runtime: " + e.getMessage();
         }
@@ -232,15 +249,40 @@ public class SkillRuntimeSearchTools {
         int after = Math.max(0, context != null ? context : contextAfter == null ? 0 : contextAfter);
         int skip = Math.max(0, offset == null ? 0 : offset);
         int limit = headLimit != null && headLimit > 0 ? headLimit : Integer.MAX_VALUE;
+        long wanted = (long) skip + limit;
         List<String> results = new ArrayList<>();
         String root = defaultPath(path);
 
         try {
-            for (SkillFileInfo file : files.listFiles(root, MAX_DEPTH, MAX_FILES)) {
+            // 每个匹配文件至少产生一条结果，因此找到 skip + limit 个文件后即可停止搜索。
+            SkillFileSearchResult searched = files.search(SkillFileSearchRequest.builder(root)
+                .pattern(regex)
+                .multiline(Boolean.TRUE.equals(multiline))
+                .fileFilter(file -> !isIgnored(file, root) && matchesFilters(file, root, glob, type))
+                .fileNamePatterns(fileNamePatterns(glob, type))
+                .ignoredDirectories(IGNORED_DIRS)
+                .maxDepth(MAX_DEPTH)
+                .maxFiles(MAX_FILES)
+                .maxFileBytes(MAX_FILE_BYTES)
+                .maxLineLength(MAX_LINE_LENGTH)
+                .maxResults(wanted > Integer.MAX_VALUE ? 0 : (int) wanted)
+                .build());
+            boolean exact = searched != null && searched.isExact();
+            List<SkillFileInfo> candidates = searched != null ? searched.getFiles()
+                : files.listFiles(root, MAX_DEPTH, MAX_FILES);
+            boolean truncated = searched != null ? searched.isTruncated() : candidates.size() >= MAX_FILES;
+            for (SkillFileInfo file : candidates) {
                 if (file.isDirectory() || file.getSize() > MAX_FILE_BYTES || isIgnored(file.getPath(), root)
                     || !matchesFilters(file.getPath(), root, glob, type)) {
                     continue;
                 }
+                if (exact && "files_with_matches".equals(mode)) {
+                    results.add(file.getPath());
+                    if (results.size() >= wanted) {
+                        break;
+                    }
+                    continue;
+                }
                 String content;
                 try {
                     content = files.readText(file.getPath(), MAX_FILE_BYTES);
@@ -253,18 +295,20 @@ public class SkillRuntimeSearchTools {
                     addLineResults(results, file.getPath(), content, regex, mode, before, after,
                         showLineNumbers == null || showLineNumbers);
                 }
-                if (results.size() >= skip + limit) {
+                if (results.size() >= wanted) {
                     break;
                 }
             }
+            // 候选集合被截断且结果未凑满时，未检查的文件中可能还有匹配，需要提示模型缩小范围。
+            String incomplete = truncated && results.size() < wanted ? SEARCH_TRUNCATED : "";
             if (results.isEmpty()) {
-                return "No matches found for pattern: " + pattern;
+                return "No matches found for pattern: " + pattern + incomplete;
             }
             int from = Math.min(skip, results.size());
             int to = Math.min(results.size(), from + limit);
             String joined = String.join("\n", results.subList(from, to));
-            return joined.length() > MAX_OUTPUT_LENGTH
-                ? joined.substring(0, MAX_OUTPUT_LENGTH) + "\n... (output truncated)" : joined;
+            return (joined.length() > MAX_OUTPUT_LENGTH
+                ? joined.substring(0, MAX_OUTPUT_LENGTH) + "\n... (output truncated)" : joined) + incomplete;
         } catch (RuntimeException e) {
             return "Error executing grep in " + runtime.getName() + " runtime: " + e.getMessage();
         }
@@ -369,6 +413,30 @@ public class SkillRuntimeSearchTools {
         return true;
     }
 
+    /**
+     * 生成可下推给 Runtime 的文件名提示。提示只需是实际过滤规则的超集：glob 去掉开头的 {@code **}{@code /}
+     * 后仅剩文件名部分时使用 glob，否则使用文件类型对应的模式；花括号等 {@code grep --include} 不支持的写法不下推。
+     */
+    private static List<String> fileNamePatterns(String glob, String type) {
+        if (StringUtil.hasText(glob)) {
+            String name = glob.trim();
+            while (name.startsWith("**/")) {
+                name = name.substring(3);
+            }
+            if (!name.isEmpty() && name.indexOf('/') < 0 && name.indexOf('\\') < 0 && name.indexOf('{') < 0
+                && !name.contains("**")) {
+                return Collections.singletonList(name);
+            }
+        }
+        if (StringUtil.hasText(type)) {
+            List<String> patterns = TYPE_PATTERNS.get(type.toLowerCase());
+            if (patterns != null) {
+                return patterns;
+            }
+        }
+        return Collections.emptyList();
+    }
+
     private static boolean matchesGlob(String file, String root, String pattern) {
         String normalizedFile = file.replace('\\', '/');
         String normalizedRoot = normalizeRoot(root);
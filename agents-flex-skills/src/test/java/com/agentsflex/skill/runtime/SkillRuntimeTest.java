@@ -22,6 +22,7 @@ import com.agentsflex.skill.file.FilePublishRequest;
 import com.agentsflex.skill.file.FilePublisher;
 import com.agentsflex.skill.file.PublishedFile;
 import com.agentsflex.skill.local.LocalSkillRuntime;
+import com.agentsflex.skill.tools.SkillRuntimeSearchTools;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -30,6 +31,7 @@ import java.io.File;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.ArrayList;
@@ -39,10 +41,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -399,6 +403,124 @@ public class SkillRuntimeTest {
         assertFalse(entriesByPath.get(nestedFile.toPath().toAbsolutePath().normalize().toString()).isDirectory());
     }
 
+    @Test
+    public void localSearchSkipsIgnoredDirectoriesAndStopsAtMaxResults() throws Exception {
+        File directory = temporaryFolder.newFolder("local-search");
+        File ignored = new File(directory, "node_modules");
+        assertTrue(ignored.mkdir());
+        Files.write(new File(ignored, "dep.js").toPath(), "needle".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 40; i++) {
+            Files.write(new File(directory, "file-" + i + ".txt").toPath(),
+                ("line\r\n" + (i % 2 == 0 ? "needle " + i : "other")).getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 200 * 1024) {
+            large.append("filler line\n");
+        }
+        Files.write(new File(directory, "large.log").toPath(),
+            large.append("needle in large file").toString().getBytes(StandardCharsets.UTF_8));
+        SkillRuntimeFileSystem files = new LocalSkillRuntime().getFileSystem();
+
+        SkillFileSearchResult all = files.search(SkillFileSearchRequest.builder(directory.getAbsolutePath())
+            .pattern(Pattern.compile("^needle", Pattern.MULTILINE))
+            .ignoredDirectories(Collections.singleton("node_modules"))
+            .build());
+        assertTrue(all.isExact());
+        assertEquals(21, all.getFiles().size());
+        for (SkillFileInfo file : all.getFiles()) {
+            assertFalse(file.getPath().contains("node_modules"));
+        }
+
+        SkillFileSearchResult limited = files.search(SkillFileSearchRequest.builder(directory.getAbsolutePath())
+            .pattern(Pattern.compile("needle"))
+            .fileFilter(path -> path.endsWith(".txt"))
+            .maxResults(3)
+            .build());
+        assertEquals(3, limited.getFiles().size());
+        assertTrue(limited.isTruncated());
+
+        SkillFileSearchResult tooLong = files.search(SkillFileSearchRequest.builder(directory.getAbsolutePath())
+            .pattern(Pattern.compile("other$", Pattern.MULTILINE))
+            .maxLineLength(4)
+            .build());
+        assertTrue(tooLong.getFiles().isEmpty());
+    }
+
+    @Test
+    public void grepToolUsesRuntimeSearchAndHonorsHeadLimit() throws Exception {
+        File directory = temporaryFolder.newFolder("grep-search");
+        for (int i = 0; i < 10; i++) {
+            Files.write(new File(directory, "match-" + i + ".md").toPath(),
+                ("# title\nrelease " + i).getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(new File(directory, "skip.txt").toPath(), "release".getBytes(StandardCharsets.UTF_8));
+        SkillRuntimeSearchTools tools = new SkillRuntimeSearchTools(new LocalSkillRuntime());
+
+        String files = tools.grep("release", directory.getAbsolutePath(), null, null, null, null, null,
+            null, null, "md", 4, 1, null);
+        assertEquals(4, files.split("\n").length);
+        assertFalse(files.contains("skip.txt"));
+
+        String content = tools.grep("RELEASE \\d", directory.getAbsolutePath(), "*.md", "content", null, null,
+            null, true, true, null, null, null, null);
+        assertEquals(10, content.split("\n").length);
+        assertTrue(content.contains(":2:  release"));
+    }
+
+    @Test
+    public void grepPushdownCommandFallsBackForUnsupportedRequests() {
+        SkillFileSearchRequest multiline = SkillFileSearchRequest.builder("/work")
+            .pattern(Pattern.compile("a.b", Pattern.DOTALL)).multiline(true).build();
+        assertNull(SkillFileSearchCommands.grepFilesCommand(multiline));
+        assertNull(SkillFileSearchCommands.grepFilesCommand(SkillFileSearchRequest.builder("/work").build()));
+
+        SkillFileSearchRequest request = SkillFileSearchRequest.builder("/work/it's")
+            .pattern(Pattern.compile("TODO", Pattern.MULTILINE | Pattern.CASE_INSENSITIVE))
+            .ignoredDirectories(Collections.singleton(".git"))
+            .fileFilter(path -> path.endsWith(".java"))
+            .fileNamePatterns(Collections.singletonList("*.java"))
+            .maxFiles(2)
+            .build();
+        String command = SkillFileSearchCommands.grepFilesCommand(request);
+        assertTrue(command.contains("grep -rlPi --exclude-dir='.git' --include='*.java' -e 'TODO' -- '/work/it'\"'\"'s'"));
+        assertNull(SkillFileSearchCommands.parseGrepFiles(request, SkillFileSearchCommands.UNSUPPORTED_EXIT_CODE, ""));
+
+        SkillFileSearchResult result = SkillFileSearchCommands.parseGrepFiles(request, 0, "/work/A.java\n/work/b.txt\n");
+        assertFalse(result.isExact());
+        assertTrue(result.isTruncated());
+        assertEquals(1, result.getFiles().size());
+        assertEquals("/work/A.java", result.getFiles().get(0).getPath());
+    }
+
+    @Test
+    public void grepToolPushesFileNameHintsAndReportsTruncatedCandidates() {
+        RecordingRuntime runtime = new RecordingRuntime();
+        runtime.fileSystem.writeText("/runtime/docs/a.md", "release notes");
+        runtime.fileSystem.writeText("/runtime/docs/b.md", "draft");
+        runtime.fileSystem.searchResult = new SkillFileSearchResult(Arrays.asList(
+            new SkillFileInfo("/runtime/docs/a.md", false, 0, 0),
+            new SkillFileInfo("/runtime/docs/b.md", false, 0, 0)), false, true);
+        SkillRuntimeSearchTools tools = new SkillRuntimeSearchTools(runtime);
+
+        String output = tools.grep("release", "/runtime", null, null, null, null, null,
+            null, null, "md", null, null, null);
+        assertTrue(output.startsWith("/runtime/docs/a.md\n"));
+        assertFalse(output.contains("b.md"));
+        assertTrue(output.contains("results may be incomplete"));
+        assertEquals(Arrays.asList("*.md", "*.markdown"),
+            new ArrayList<>(runtime.fileSystem.lastSearch.getFileNamePatterns()));
+
+        tools.grep("release", "/runtime", "**/*.md", null, null, null, null, null, null, "md", 1, null, null);
+        assertEquals(Collections.singleton("*.md"), runtime.fileSystem.lastSearch.getFileNamePatterns());
+        tools.grep("release", "/runtime", "docs/*.{md,txt}", null, null, null, null, null, null, null, 1, null, null);
+        assertTrue(runtime.fileSystem.lastSearch.getFileNamePatterns().isEmpty());
+
+        runtime.fileSystem.searchResult = new SkillFileSearchResult(Collections.singletonList(
+            new SkillFileInfo("/runtime/docs/a.md", false, 0, 0)), false, true);
+        assertEquals("/runtime/docs/a.md", tools.grep("release", "/runtime", null, null, null, null, null,
+            null, null, null, 1, null, null));
+    }
+
     @Test
     public void runtimeFileCanBeReadAsBytesAndDownloadedToLocalPath() throws Exception {
         byte[] expected = new byte[]{0, 1, 2, 3, 127, (byte) 255};
@@ -495,6 +617,14 @@ public class SkillRuntimeTest {
     private static class MemoryFileSystem implements SkillRuntimeFileSystem {
 
         private final Map<String, String> values = new LinkedHashMap<>();
+        private SkillFileSearchResult searchResult;
+        private SkillFileSearchRequest lastSearch;
+
+        @Override
+        public SkillFileSearchResult search(SkillFileSearchRequest request) {
+            lastSearch = request;
+            return searchResult;
+        }
 
         @Override
         public InputStream openInputStream(String path) {
@@ -0,0 +1,412 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * 分层可导航小世界（HNSW）近似最近邻图。
+ *
+ * <p>第 0 层邻接表按节点分块保存在 {@code int[]} 中，每个节点占用
+ * {@code 1 + 2M} 个槽位（首槽为邻居数）；只有极少数节点拥有更高层级，其邻接表
+ * 单独分配。写入需由调用方持有写锁，检索可以在读锁下并发执行。</p>
+ */
+final class HnswIndex {
+
+    private static final int MAX_LEVEL = 16;
+    private static final int INITIAL_BLOCK_NODES = 64;
+
+    private final VectorStorage vectors;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private int[][] level0Blocks = new int[0][];
+    private byte[] levels = new byte[INITIAL_BLOCK_NODES];
+    private int[][][] upperNeighbors = new int[INITIAL_BLOCK_NODES][][];
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /** 写路径复用的临时向量，只在写锁内使用。 */
+    private final float[] candidateScratch;
+    private final float[] ownerScratch;
+
+    private final ConcurrentLinkedQueue<VisitedSet> visitedPool = new ConcurrentLinkedQueue<>();
+
+    HnswIndex(VectorStorage vectors, int m, int efConstruction, long seed) {
+        this.vectors = vectors;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new Random(seed);
+        this.candidateScratch = new float[vectors.dimension()];
+        this.ownerScratch = new float[vectors.dimension()];
+    }
+
+    VectorStorage vectors() {
+        return vectors;
+    }
+
+    int size() {
+        return vectors.size();
+    }
+
+    /** 写入一个向量并接入图，返回节点编号。 */
+    int add(float[] vector) {
+        float[] query = vectors.prepare(vector);
+        int node = vectors.append(query);
+        int level = randomLevel();
+        ensureNodeCapacity(node);
+        levels[node] = (byte) level;
+        if (level > 0) {
+            upperNeighbors[node] = new int[level][];
+            for (int l = 0; l < level; l++) {
+                upperNeighbors[node][l] = new int[m + 1];
+            }
+        }
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedySearch(query, current, l);
+        }
+        int[] entryNodes = new int[]{current};
+        int entryCount = 1;
+        int[] candidateNodes = new int[efConstruction];
+        float[] candidateDistances = new float[efConstruction];
+        VisitedSet visited = acquireVisited();
+        try {
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                NodeQueue results = searchLayer(query, entryNodes, entryCount, efConstruction, l, null, visited);
+                int count = results.drainAscending(candidateNodes, candidateDistances);
+                int[] selected = selectNeighbors(candidateNodes, candidateDistances, count, l == 0 ? maxM0 : m);
+                setNeighbors(node, l, selected);
+                for (int neighbor : selected) {
+                    link(neighbor, node, l);
+                }
+                entryNodes = Arrays.copyOf(candidateNodes, count);
+                entryCount = count;
+            }
+        } finally {
+            releaseVisited(visited);
+        }
+
+        if (level > maxLevel) {
+            entryPoint = node;
+            maxLevel = level;
+        }
+        return node;
+    }
+
+    /**
+     * 检索与查询向量最接近的节点。
+     *
+     * @param accept 结果过滤器，为空表示接受全部节点；被拒绝的节点仍参与图遍历
+     * @return 最多 {@code k} 个结果的最大堆，堆顶为其中距离最远者
+     */
+    NodeQueue search(float[] query, int k, int ef, IntPredicate accept) {
+        if (entryPoint < 0) {
+            return new NodeQueue(0, true);
+        }
+        float[] prepared = vectors.prepare(query);
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedySearch(prepared, current, l);
+        }
+        VisitedSet visited = acquireVisited();
+        try {
+            NodeQueue results = searchLayer(prepared, new int[]{current}, 1, Math.max(ef, k), 0, accept, visited);
+            while (results.size() > k) {
+                results.pop();
+            }
+            return results;
+        } finally {
+            releaseVisited(visited);
+        }
+    }
+
+    /** 对全部节点精确计算距离，返回最多 {@code k} 个结果的最大堆。 */
+    NodeQueue exactSearch(float[] query, int k, IntPredicate accept) {
+        float[] prepared = vectors.prepare(query);
+        NodeQueue results = new NodeQueue(k + 1, true);
+        int size = vectors.size();
+        for (int node = 0; node < size; node++) {
+            if (accept != null && !accept.test(node)) {
+                continue;
+            }
+            float distance = vectors.distance(prepared, node);
+            if (results.size() < k) {
+                results.push(node, distance);
+            } else if (distance < results.topDistance()) {
+                results.pop();
+                results.push(node, distance);
+            }
+        }
+        return results;
+    }
+
+    private int greedySearch(float[] query, int current, int level) {
+        float best = vectors.distance(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = neighborList(current, level);
+            int base = neighborBase(current, level);
+            int count = list[base];
+            for (int i = 1; i <= count; i++) {
+                int neighbor = list[base + i];
+                float distance = vectors.distance(query, neighbor);
+                if (distance < best) {
+                    best = distance;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private NodeQueue searchLayer(float[] query, int[] entryNodes, int entryCount, int ef, int level,
+                                  IntPredicate accept, VisitedSet visited) {
+        NodeQueue candidates = new NodeQueue(ef * 2, false);
+        NodeQueue results = new NodeQueue(ef + 1, true);
+        visited.reset(vectors.size());
+        for (int i = 0; i < entryCount; i++) {
+            int entry = entryNodes[i];
+            if (!visited.add(entry)) {
+                continue;
+            }
+            float distance = vectors.distance(query, entry);
+            candidates.push(entry, distance);
+            if (accept == null || accept.test(entry)) {
+                results.push(entry, distance);
+                if (results.size() > ef) {
+                    results.pop();
+                }
+            }
+        }
+
+        while (!candidates.isEmpty()) {
+            if (results.size() >= ef && candidates.topDistance() > results.topDistance()) {
+                break;
+            }
+            int current = candidates.pop();
+            int[] list = neighborList(current, level);
+            int base = neighborBase(current, level);
+            int count = list[base];
+            for (int i = 1; i <= count; i++) {
+                int neighbor = list[base + i];
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+                float distance = vectors.distance(query, neighbor);
+                if (results.size() < ef || distance < results.topDistance()) {
+                    candidates.push(neighbor, distance);
+                    if (accept == null || accept.test(neighbor)) {
+                        results.push(neighbor, distance);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 启发式邻居选择：候选按距离升序考察，若它与某个已选邻居的距离比与目标更近，
+     * 则认为它已被覆盖而跳过，使邻居分布在不同方向上，提升图的连通性。
+     */
+    private int[] selectNeighbors(int[] nodes, float[] distances, int count, int max) {
+        int[] selected = new int[Math.min(count, max)];
+        int size = 0;
+        for (int i = 0; i < count && size < selected.length; i++) {
+            int candidate = nodes[i];
+            vectors.read(candidate, candidateScratch);
+            boolean keep = true;
+            for (int j = 0; j < size; j++) {
+                if (vectors.distance(candidateScratch, selected[j]) < distances[i]) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[size++] = candidate;
+            }
+        }
+        return size == selected.length ? selected : Arrays.copyOf(selected, size);
+    }
+
+    /** 将 {@code node} 加入 {@code owner} 的邻接表，超出容量时重新挑选邻居。 */
+    private void link(int owner, int node, int level) {
+        int[] list = neighborList(owner, level);
+        int base = neighborBase(owner, level);
+        int count = list[base];
+        int capacity = level == 0 ? maxM0 : m;
+        if (count < capacity) {
+            list[base + 1 + count] = node;
+            list[base] = count + 1;
+            return;
+        }
+
+        vectors.read(owner, ownerScratch);
+        NodeQueue ordered = new NodeQueue(count + 1, false);
+        for (int i = 1; i <= count; i++) {
+            ordered.push(list[base + i], vectors.distance(ownerScratch, list[base + i]));
+        }
+        ordered.push(node, vectors.distance(ownerScratch, node));
+        int[] nodes = new int[count + 1];
+        float[] distances = new float[count + 1];
+        int total = ordered.drainAscending(nodes, distances);
+        int[] selected = selectNeighbors(nodes, distances, total, capacity);
+        setNeighbors(owner, level, selected);
+    }
+
+    private void setNeighbors(int node, int level, int[] selected) {
+        int[] list = neighborList(node, level);
+        int base = neighborBase(node, level);
+        list[base] = selected.length;
+        System.arraycopy(selected, 0, list, base + 1, selected.length);
+    }
+
+    private int[] neighborList(int node, int level) {
+        return level == 0 ? level0Blocks[node >>> VectorStorage.BLOCK_SHIFT] : upperNeighbors[node][level - 1];
+    }
+
+    private int neighborBase(int node, int level) {
+        return level == 0 ? (node & VectorStorage.BLOCK_MASK) * (maxM0 + 1) : 0;
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble();
+        return Math.min(MAX_LEVEL, (int) (-Math.log(uniform) * levelMultiplier));
+    }
+
+    private void ensureNodeCapacity(int node) {
+        if (node >= levels.length) {
+            int capacity = Math.max(node + 1, levels.length * 2);
+            levels = Arrays.copyOf(levels, capacity);
+            upperNeighbors = Arrays.copyOf(upperNeighbors, capacity);
+        }
+        int stride = maxM0 + 1;
+        int block = node >>> VectorStorage.BLOCK_SHIFT;
+        int slot = node & VectorStorage.BLOCK_MASK;
+        if (block == level0Blocks.length) {
+            level0Blocks = Arrays.copyOf(level0Blocks, block + 1);
+            level0Blocks[block] = new int[INITIAL_BLOCK_NODES * stride];
+        } else if (level0Blocks[block].length <= slot * stride) {
+            int nodes = Math.min(VectorStorage.BLOCK_SIZE, Math.max(slot + 1, slot * 2));
+            level0Blocks[block] = Arrays.copyOf(level0Blocks[block], nodes * stride);
+        }
+    }
+
+    private VisitedSet acquireVisited() {
+        VisitedSet visited = visitedPool.poll();
+        return visited != null ? visited : new VisitedSet();
+    }
+
+    private void releaseVisited(VisitedSet visited) {
+        visitedPool.offer(visited);
+    }
+
+    void writeTo(SnapshotOutput out) throws IOException {
+        vectors.writeTo(out);
+        out.writeInt(m);
+        out.writeInt(efConstruction);
+        out.writeInt(entryPoint);
+        out.writeInt(maxLevel);
+        int size = vectors.size();
+        out.writeBytes(levels, 0, size);
+        int stride = maxM0 + 1;
+        for (int block = 0; block * VectorStorage.BLOCK_SIZE < size; block++) {
+            int nodes = Math.min(VectorStorage.BLOCK_SIZE, size - block * VectorStorage.BLOCK_SIZE);
+            out.writeInts(level0Blocks[block], 0, nodes * stride);
+        }
+        for (int node = 0; node < size; node++) {
+            for (int l = 0; l < levels[node]; l++) {
+                out.writeInts(upperNeighbors[node][l], 0, m + 1);
+            }
+        }
+    }
+
+    static HnswIndex readFrom(SnapshotInput in, long seed) throws IOException {
+        VectorStorage vectors = VectorStorage.readFrom(in);
+        HnswIndex index = new HnswIndex(vectors, in.readInt(), in.readInt(), seed);
+        index.entryPoint = in.readInt();
+        index.maxLevel = in.readInt();
+        int size = vectors.size();
+        index.levels = new byte[Math.max(INITIAL_BLOCK_NODES, size)];
+        index.upperNeighbors = new int[index.levels.length][][];
+        in.readBytes(index.levels, 0, size);
+        int stride = index.maxM0 + 1;
+        int blocks = (size + VectorStorage.BLOCK_MASK) >>> VectorStorage.BLOCK_SHIFT;
+        index.level0Blocks = new int[blocks][];
+        for (int block = 0; block < blocks; block++) {
+            int nodes = Math.min(VectorStorage.BLOCK_SIZE, size - block * VectorStorage.BLOCK_SIZE);
+            index.level0Blocks[block] = new int[nodes * stride];
+            in.readInts(index.level0Blocks[block], 0, nodes * stride);
+        }
+        for (int node = 0; node < size; node++) {
+            int level = index.levels[node];
+            if (level > 0) {
+                index.upperNeighbors[node] = new int[level][];
+                for (int l = 0; l < level; l++) {
+                    index.upperNeighbors[node][l] = new int[index.m + 1];
+                    in.readInts(index.upperNeighbors[node][l], 0, index.m + 1);
+                }
+            }
+        }
+        return index;
+    }
+
+    /** 以代数标记实现的访问集合，复用数组避免每次检索重新分配。 */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[Math.max(capacity, marks.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean add(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
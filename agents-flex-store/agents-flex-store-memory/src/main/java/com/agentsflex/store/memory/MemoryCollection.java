@@ -0,0 +1,444 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.SearchWrapper;
+import com.agentsflex.core.store.condition.Condition;
+import com.alibaba.fastjson2.JSON;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 单个集合的数据与索引。
+ *
+ * <p>文档字段按节点编号保存在并行数组中，与 {@link HnswIndex} 的节点一一对应。
+ * 覆盖写入和删除只标记旧节点，旧节点仍参与图导航但不再出现在结果中；
+ * 标记删除的节点过多时重建索引回收空间。</p>
+ */
+final class MemoryCollection {
+
+    /** 至少积累这么多删除节点且超过有效节点数时才重建，避免频繁重建。 */
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final String name;
+    private final MemoryVectorStoreConfig config;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private HnswIndex index;
+    private final Map<String, Integer> nodeById = new HashMap<>();
+    private String[] ids = new String[16];
+    private String[] titles = new String[16];
+    private String[] contents = new String[16];
+    private Object[] metadata = new Object[16];
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    MemoryCollection(String name, MemoryVectorStoreConfig config) {
+        this.name = name;
+        this.config = config;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int count() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 写入或覆盖文档。整批校验通过后才会修改集合。 */
+    void upsert(List<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                validate(document, true);
+            }
+            for (Document document : documents) {
+                String id = String.valueOf(document.getId());
+                Integer previous = nodeById.get(id);
+                if (previous != null) {
+                    markDeleted(previous);
+                }
+                insert(id, document.getTitle(), document.getContent(), copyMetadata(document), document.getVector());
+            }
+            compactIfNecessary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 更新已存在的文档，不存在的 ID 会被忽略。文档未携带向量时只更新标题、内容与
+     * metadata，保留原有向量与图连接。
+     */
+    void update(List<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                validate(document, false);
+            }
+            for (Document document : documents) {
+                String id = String.valueOf(document.getId());
+                Integer node = nodeById.get(id);
+                if (node == null) {
+                    continue;
+                }
+                if (document.getVector() == null) {
+                    titles[node] = document.getTitle();
+                    contents[node] = document.getContent();
+                    metadata[node] = copyMetadata(document);
+                } else {
+                    markDeleted(node);
+                    insert(id, document.getTitle(), document.getContent(), copyMetadata(document), document.getVector());
+                }
+            }
+            compactIfNecessary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete(Collection<?> documentIds) {
+        lock.writeLock().lock();
+        try {
+            for (Object id : documentIds) {
+                if (id == null) {
+                    throw new IllegalArgumentException("Memory document ID must not be null.");
+                }
+                Integer node = nodeById.get(String.valueOf(id));
+                if (node != null) {
+                    markDeleted(node);
+                }
+            }
+            compactIfNecessary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Document> search(SearchWrapper wrapper, int maxResults) {
+        lock.readLock().lock();
+        try {
+            Condition condition = wrapper.getCondition();
+            IntPredicate accept = condition == null
+                ? node -> !deleted.get(node)
+                : node -> !deleted.get(node) && MemoryConditionMatcher.matches(condition, key -> field(node, key));
+            if (index == null) {
+                return new ArrayList<>(0);
+            }
+            if (!wrapper.isWithVector()) {
+                return filterSearch(wrapper, maxResults, accept);
+            }
+            if (wrapper.getVector() == null || wrapper.getVector().length == 0) {
+                throw new IllegalArgumentException(
+                    "Memory vector query requires a vector; use withVector(false) for filter-only queries.");
+            }
+
+            NodeQueue results;
+            if (nodeById.size() <= config.getExactSearchThreshold()) {
+                results = index.exactSearch(wrapper.getVector(), maxResults, accept);
+            } else {
+                results = index.search(wrapper.getVector(), maxResults, config.getEfSearch(), accept);
+                // 过滤条件过于严格，或墓碑节点使图遍历凑不满结果时，退回精确扫描保证召回。
+                // 无过滤条件时存活节点数即可达到的上限，结果已满则不必扫描。
+                int expected = condition == null ? Math.min(maxResults, nodeById.size()) : maxResults;
+                if (results.size() < expected) {
+                    results = index.exactSearch(wrapper.getVector(), maxResults, accept);
+                }
+            }
+            int[] nodes = new int[results.size()];
+            float[] distances = new float[results.size()];
+            int count = results.drainAscending(nodes, distances);
+            List<Document> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                float score = index.vectors().toScore(distances[i]);
+                if (wrapper.getMinScore() != null && score < wrapper.getMinScore()) {
+                    break;
+                }
+                Document document = toDocument(nodes[i], wrapper);
+                document.setScore(score);
+                documents.add(document);
+            }
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Document> filterSearch(SearchWrapper wrapper, int maxResults, IntPredicate accept) {
+        List<Document> documents = new ArrayList<>(Math.min(maxResults, 16));
+        int size = index.size();
+        for (int node = 0; node < size && documents.size() < maxResults; node++) {
+            if (accept.test(node)) {
+                documents.add(toDocument(node, wrapper));
+            }
+        }
+        return documents;
+    }
+
+    private Document toDocument(int node, SearchWrapper wrapper) {
+        Document document = new Document();
+        document.setId(ids[node]);
+        document.setTitle(titles[node]);
+        document.setContent(contents[node]);
+        document.setMetadataMap(filterMetadata(metadataOf(node), wrapper.getOutputFields()));
+        if (wrapper.isOutputVector()) {
+            float[] vector = new float[index.vectors().dimension()];
+            index.vectors().read(node, vector);
+            document.setVector(vector);
+        }
+        return document;
+    }
+
+    /** 解析条件字段：优先匹配文档字段，其余按 metadata 路径查找，支持以点号访问嵌套对象。 */
+    private Object field(int node, String key) {
+        switch (key) {
+            case "id":
+                return ids[node];
+            case "title":
+                return titles[node];
+            case "content":
+                return contents[node];
+            default:
+                break;
+        }
+        String path = normalizeMetadataField(key);
+        Map<String, Object> values = metadataOf(node);
+        if (values == null) {
+            return null;
+        }
+        if (values.containsKey(path)) {
+            return values.get(path);
+        }
+        Object current = values;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<?, ?>) current).get(part);
+        }
+        return current;
+    }
+
+    private void insert(String id, String title, String content, Map<String, Object> values, float[] vector) {
+        if (index == null) {
+            int dimension = config.getVectorDimension() > 0 ? config.getVectorDimension() : vector.length;
+            index = new HnswIndex(new VectorStorage(dimension, config.getDistanceType(), config.getVectorEncoding()),
+                config.getM(), config.getEfConstruction(), config.getRandomSeed());
+        }
+        int node = index.add(vector);
+        ensureDocumentCapacity(node);
+        ids[node] = id;
+        titles[node] = title;
+        contents[node] = content;
+        metadata[node] = values;
+        nodeById.put(id, node);
+    }
+
+    private void markDeleted(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+            nodeById.remove(ids[node]);
+            ids[node] = null;
+            titles[node] = null;
+            contents[node] = null;
+            metadata[node] = null;
+        }
+    }
+
+    /** 删除节点过多时按原写入顺序重建索引，回收向量与邻接表空间。 */
+    private void compactIfNecessary() {
+        if (deletedCount < COMPACT_MIN_DELETED || deletedCount <= nodeById.size()) {
+            return;
+        }
+        HnswIndex previous = index;
+        String[] previousIds = ids;
+        String[] previousTitles = titles;
+        String[] previousContents = contents;
+        Object[] previousMetadata = metadata;
+        BitSet previousDeleted = (BitSet) deleted.clone();
+        int size = previous.size();
+
+        index = null;
+        nodeById.clear();
+        deleted.clear();
+        deletedCount = 0;
+        int capacity = Math.max(16, size - previousDeleted.cardinality());
+        ids = new String[capacity];
+        titles = new String[capacity];
+        contents = new String[capacity];
+        metadata = new Object[capacity];
+        float[] vector = new float[previous.vectors().dimension()];
+        for (int node = 0; node < size; node++) {
+            if (previousDeleted.get(node)) {
+                continue;
+            }
+            previous.vectors().read(node, vector);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> values = (Map<String, Object>) previousMetadata[node];
+            insert(previousIds[node], previousTitles[node], previousContents[node], values, vector);
+        }
+    }
+
+    private void ensureDocumentCapacity(int node) {
+        if (node < ids.length) {
+            return;
+        }
+        int capacity = Math.max(node + 1, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        contents = Arrays.copyOf(contents, capacity);
+        metadata = Arrays.copyOf(metadata, capacity);
+    }
+
+    private void validate(Document document, boolean requireVector) {
+        if (document == null) {
+            throw new IllegalArgumentException("Memory document must not be null.");
+        }
+        if (document.getId() == null) {
+            throw new IllegalArgumentException("Memory document ID must not be null.");
+        }
+        float[] vector = document.getVector();
+        if (vector == null) {
+            if (requireVector) {
+                throw new IllegalArgumentException("Memory document vector must not be null.");
+            }
+            return;
+        }
+        int dimension = index != null ? index.vectors().dimension() : config.getVectorDimension();
+        if (vector.length == 0 || (dimension > 0 && vector.length != dimension)) {
+            throw new IllegalArgumentException("Memory vector dimension mismatch: expected " + dimension
+                + " but was " + vector.length + ".");
+        }
+        for (float value : vector) {
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                throw new IllegalArgumentException("Memory vector values must be finite.");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> metadataOf(int node) {
+        return (Map<String, Object>) metadata[node];
+    }
+
+    private static Map<String, Object> copyMetadata(Document document) {
+        Map<String, Object> values = document.getMetadataMap();
+        return values == null || values.isEmpty() ? null : new LinkedHashMap<>(values);
+    }
+
+    private static Map<String, Object> filterMetadata(Map<String, Object> values, List<String> outputFields) {
+        if (values == null) {
+            return new LinkedHashMap<>();
+        }
+        if (outputFields == null) {
+            return new LinkedHashMap<>(values);
+        }
+        Map<String, Object> filtered = new LinkedHashMap<>();
+        for (String outputField : outputFields) {
+            String key = normalizeMetadataField(outputField);
+            if (values.containsKey(key)) {
+                filtered.put(key, values.get(key));
+            }
+        }
+        return filtered;
+    }
+
+    private static String normalizeMetadataField(String field) {
+        if (field.startsWith("metadataMap.")) {
+            return field.substring("metadataMap.".length());
+        }
+        if (field.startsWith("metadata.")) {
+            return field.substring("metadata.".length());
+        }
+        return field;
+    }
+
+    void writeTo(SnapshotOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeString(name);
+            out.writeBoolean(index != null);
+            if (index == null) {
+                return;
+            }
+            index.writeTo(out);
+            int size = index.size();
+            long[] deletedWords = deleted.toLongArray();
+            out.writeInt(deletedWords.length);
+            for (long word : deletedWords) {
+                out.writeLong(word);
+            }
+            for (int node = 0; node < size; node++) {
+                if (deleted.get(node)) {
+                    continue;
+                }
+                out.writeString(ids[node]);
+                out.writeString(titles[node]);
+                out.writeString(contents[node]);
+                out.writeString(metadata[node] == null ? null : JSON.toJSONString(metadata[node]));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static MemoryCollection readFrom(SnapshotInput in, MemoryVectorStoreConfig config) throws IOException {
+        MemoryCollection collection = new MemoryCollection(in.readString(), config);
+        if (!in.readBoolean()) {
+            return collection;
+        }
+        collection.index = HnswIndex.readFrom(in, config.getRandomSeed());
+        int size = collection.index.size();
+        long[] deletedWords = new long[in.readInt()];
+        for (int i = 0; i < deletedWords.length; i++) {
+            deletedWords[i] = in.readLong();
+        }
+        collection.deleted.or(BitSet.valueOf(deletedWords));
+        collection.deletedCount = collection.deleted.cardinality();
+        collection.ensureDocumentCapacity(size);
+        for (int node = 0; node < size; node++) {
+            if (collection.deleted.get(node)) {
+                continue;
+            }
+            String id = in.readString();
+            collection.ids[node] = id;
+            collection.titles[node] = in.readString();
+            collection.contents[node] = in.readString();
+            String json = in.readString();
+            collection.metadata[node] = json == null ? null : JSON.parseObject(json);
+            collection.nodeById.put(id, node);
+        }
+        return collection;
+    }
+}
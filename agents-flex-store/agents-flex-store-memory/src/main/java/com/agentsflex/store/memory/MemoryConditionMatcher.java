@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import com.agentsflex.core.store.condition.Condition;
+import com.agentsflex.core.store.condition.ConditionType;
+import com.agentsflex.core.store.condition.Connector;
+import com.agentsflex.core.store.condition.Group;
+import com.agentsflex.core.store.condition.Key;
+import com.agentsflex.core.store.condition.Operand;
+import com.agentsflex.core.store.condition.Value;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 在内存中直接求值 {@link Condition} 条件树，语义与其他存储渲染出的过滤表达式一致。
+ *
+ * <p>同级条件链按 SQL 优先级求值：AND 高于 OR；{@code AND_NOT}、{@code OR_NOT} 与
+ * {@code NOT} 连接符会对其后的条件取反。数值比较统一按十进制数值进行，其余类型按
+ * 字符串比较；字段不存在时，除 {@code IS NULL} 与 {@code NOT IN}/{@code !=} 外均不匹配。</p>
+ */
+final class MemoryConditionMatcher {
+
+    private MemoryConditionMatcher() {
+    }
+
+    /**
+     * @param condition 条件链的第一个节点
+     * @param fields    字段解析函数，返回 {@code null} 表示字段不存在
+     */
+    static boolean matches(Condition condition, Function<String, Object> fields) {
+        boolean result = false;
+        boolean conjunction = true;
+        boolean started = false;
+        for (Condition current = condition; current != null; current = current.getNext()) {
+            if (!current.checkEffective()) {
+                continue;
+            }
+            boolean value = evaluate(current, fields);
+            Connector connector = started ? current.getConnector() : null;
+            if (connector == Connector.AND_NOT || connector == Connector.OR_NOT || connector == Connector.NOT) {
+                value = !value;
+            }
+            if (connector == Connector.OR || connector == Connector.OR_NOT) {
+                result |= conjunction;
+                conjunction = value;
+            } else {
+                conjunction = (!started || conjunction) && value;
+            }
+            started = true;
+        }
+        return !started || result || conjunction;
+    }
+
+    private static boolean evaluate(Condition condition, Function<String, Object> fields) {
+        if (condition instanceof Group) {
+            Group group = (Group) condition;
+            boolean matched = matches(group.getChildCondition(), fields);
+            return "NOT".equalsIgnoreCase(group.getPrevOperand()) ? !matched : matched;
+        }
+        Object actual = fields.apply(keyOf(condition.getLeft()));
+        ConditionType type = condition.getType();
+        if (type == ConditionType.IS_NULL) {
+            return actual == null;
+        }
+        if (type == ConditionType.IS_NOT_NULL) {
+            return actual != null;
+        }
+        Object expected = valueOf(condition.getRight());
+        switch (type) {
+            case EQ:
+                return actual != null && equalsValue(actual, expected);
+            case NE:
+                return actual == null || !equalsValue(actual, expected);
+            case GT:
+                return actual != null && compare(actual, expected) > 0;
+            case GE:
+                return actual != null && compare(actual, expected) >= 0;
+            case LT:
+                return actual != null && compare(actual, expected) < 0;
+            case LE:
+                return actual != null && compare(actual, expected) <= 0;
+            case IN:
+                return actual != null && contains((Object[]) expected, actual);
+            case NIN:
+                return actual == null || !contains((Object[]) expected, actual);
+            case BETWEEN:
+                Object[] bounds = (Object[]) expected;
+                return actual != null && compare(actual, bounds[0]) >= 0 && compare(actual, bounds[1]) <= 0;
+            default:
+                throw new IllegalArgumentException("Unsupported memory store condition: " + type);
+        }
+    }
+
+    private static String keyOf(Operand operand) {
+        if (operand instanceof Key) {
+            Object key = ((Key) operand).getKey();
+            return key == null ? "" : key.toString();
+        }
+        throw new IllegalArgumentException("Memory store condition must use a field name on the left side.");
+    }
+
+    private static Object valueOf(Operand operand) {
+        return operand instanceof Value ? ((Value) operand).getValue() : null;
+    }
+
+    private static boolean contains(Object[] values, Object actual) {
+        if (actual instanceof Collection) {
+            for (Object item : (Collection<?>) actual) {
+                if (contains(values, item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Object value : values) {
+            if (equalsValue(actual, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean equalsValue(Object actual, Object expected) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return toDecimal((Number) actual).compareTo(toDecimal((Number) expected)) == 0;
+        }
+        if (actual instanceof Boolean || expected instanceof Boolean || actual instanceof Number
+            || expected instanceof Number) {
+            return Objects.equals(String.valueOf(actual), String.valueOf(expected));
+        }
+        return Objects.equals(actual, expected) || String.valueOf(actual).equals(String.valueOf(expected));
+    }
+
+    private static int compare(Object actual, Object expected) {
+        if (actual instanceof Number && expected instanceof Number) {
+            return toDecimal((Number) actual).compareTo(toDecimal((Number) expected));
+        }
+        if (actual instanceof Number || expected instanceof Number) {
+            try {
+                return new BigDecimal(String.valueOf(actual)).compareTo(new BigDecimal(String.valueOf(expected)));
+            } catch (NumberFormatException ignored) {
+                // 无法按数值比较时退回字符串比较。
+            }
+        }
+        return String.valueOf(actual).compareTo(String.valueOf(expected));
+    }
+
+    private static BigDecimal toDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return new BigDecimal(number.toString());
+    }
+}
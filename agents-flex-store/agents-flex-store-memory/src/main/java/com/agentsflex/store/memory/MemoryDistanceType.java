@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+/**
+ * 内存向量存储的相似度度量。
+ *
+ * <p>检索分值越大越相似：{@link #COSINE} 返回余弦相似度，{@link #INNER_PRODUCT}
+ * 返回原始内积，{@link #EUCLIDEAN} 返回 {@code 1 / (1 + 欧氏距离)}。</p>
+ */
+public enum MemoryDistanceType {
+    COSINE,
+    INNER_PRODUCT,
+    EUCLIDEAN
+}
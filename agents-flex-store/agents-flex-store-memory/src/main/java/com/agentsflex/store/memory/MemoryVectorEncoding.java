@@ -0,0 +1,29 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+/** 向量在内存中的编码方式。 */
+public enum MemoryVectorEncoding {
+
+    /** 原始 32 位浮点数，每维 4 字节，检索精度最高。 */
+    FLOAT32,
+
+    /**
+     * 按向量独立缩放的 8 位对称量化，每维 1 字节外加每个向量 4 字节的缩放系数，
+     * 内存约为 {@link #FLOAT32} 的四分之一，检索分值存在少量量化误差。
+     */
+    INT8
+}
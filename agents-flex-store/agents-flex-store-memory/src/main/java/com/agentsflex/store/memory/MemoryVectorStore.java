@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.DocumentStore;
+import com.agentsflex.core.store.SearchWrapper;
+import com.agentsflex.core.store.StoreOptions;
+import com.agentsflex.core.store.StoreResult;
+import com.agentsflex.core.store.exception.StoreException;
+import com.agentsflex.core.util.StringUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内向量存储，无需外部服务。
+ *
+ * <p>每个 Collection 维护一张 HNSW 图，向量以 {@code float[]} 或 int8 量化形式
+ * 连续存放，不为每个向量分配对象。文档数不超过
+ * {@link MemoryVectorStoreConfig#getExactSearchThreshold()} 时直接精确扫描。
+ * 过滤条件在内存中求值，语义与其他存储的过滤表达式一致。</p>
+ *
+ * <p>可通过 {@link #saveSnapshot(Path)} 将全部集合连同图结构写入快照文件，
+ * 启动时以内存映射方式读取，无需重新建图。</p>
+ */
+public class MemoryVectorStore extends DocumentStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x41464D56;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final MemoryVectorStoreConfig config;
+    private final Map<String, MemoryCollection> collections = new ConcurrentHashMap<>();
+
+    public MemoryVectorStore() {
+        this(new MemoryVectorStoreConfig());
+    }
+
+    public MemoryVectorStore(MemoryVectorStoreConfig config) {
+        if (config == null || !config.checkAvailable()) {
+            throw new IllegalArgumentException("Memory vector store configuration is not available.");
+        }
+        this.config = config;
+        if (config.isRestoreSnapshotOnStart() && StringUtil.hasText(config.getSnapshotPath())) {
+            Path path = Paths.get(config.getSnapshotPath());
+            if (Files.isRegularFile(path)) {
+                loadSnapshot(path);
+            }
+        }
+    }
+
+    public MemoryVectorStoreConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public StoreResult doStore(List<Document> documents, StoreOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return StoreResult.success();
+        }
+        try {
+            collection(options, true).upsert(documents);
+            return StoreResult.successWithIds(documents);
+        } catch (Exception exception) {
+            return StoreResult.fail("Memory store failed: " + exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public StoreResult doDelete(Collection<?> ids, StoreOptions options) {
+        if (ids == null || ids.isEmpty()) {
+            return StoreResult.success();
+        }
+        try {
+            MemoryCollection collection = collection(options, false);
+            if (collection != null) {
+                collection.delete(ids);
+            }
+            return StoreResult.success();
+        } catch (Exception exception) {
+            return StoreResult.fail("Memory delete failed: " + exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public StoreResult doUpdate(List<Document> documents, StoreOptions options) {
+        if (documents == null || documents.isEmpty()) {
+            return StoreResult.success();
+        }
+        try {
+            MemoryCollection collection = collection(options, false);
+            if (collection != null) {
+                collection.update(documents);
+            }
+            return StoreResult.successWithIds(documents);
+        } catch (Exception exception) {
+            return StoreResult.fail("Memory update failed: " + exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public List<Document> doSearch(SearchWrapper wrapper, StoreOptions options) {
+        if (wrapper == null) {
+            throw new IllegalArgumentException("SearchWrapper must not be null.");
+        }
+        int maxResults = wrapper.getMaxResults() == null ? SearchWrapper.DEFAULT_MAX_RESULTS : wrapper.getMaxResults();
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be greater than zero.");
+        }
+        MemoryCollection collection = collection(options, false);
+        return collection == null ? new ArrayList<>(0) : collection.search(wrapper, maxResults);
+    }
+
+    /** 返回集合中的有效文档数；集合不存在时返回 0。 */
+    public int count(StoreOptions options) {
+        MemoryCollection collection = collection(options, false);
+        return collection == null ? 0 : collection.count();
+    }
+
+    /** 删除整个集合。 */
+    public void dropCollection(String collectionName) {
+        collections.remove(collectionName);
+    }
+
+    /** 将全部集合写入配置中的快照路径。 */
+    public void saveSnapshot() {
+        if (!StringUtil.hasText(config.getSnapshotPath())) {
+            throw new IllegalStateException("Memory vector store snapshotPath is not configured.");
+        }
+        saveSnapshot(Paths.get(config.getSnapshotPath()));
+    }
+
+    /**
+     * 将全部集合写入快照。先写临时文件再原子替换，写入过程中崩溃不会破坏已有快照。
+     * 每个集合在读锁下写出，期间检索不受影响。
+     */
+    public void saveSnapshot(Path path) {
+        Path absolute = path.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            if (absolute.getParent() != null) {
+                Files.createDirectories(absolute.getParent());
+            }
+            List<MemoryCollection> snapshot = new ArrayList<>(collections.values());
+            try (SnapshotOutput out = new SnapshotOutput(Files.newOutputStream(temp))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(snapshot.size());
+                for (MemoryCollection collection : snapshot) {
+                    collection.writeTo(out);
+                }
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException atomicMoveFailure) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exception) {
+            throw new StoreException("Failed to write memory vector store snapshot: " + absolute, exception);
+        }
+    }
+
+    /** 从快照恢复全部集合，替换当前内存中的数据。 */
+    public void loadSnapshot(Path path) {
+        try (SnapshotInput in = new SnapshotInput(path)) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new StoreException("Not a memory vector store snapshot: " + path);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new StoreException("Unsupported memory vector store snapshot version: " + version);
+            }
+            int count = in.readInt();
+            Map<String, MemoryCollection> restored = new ConcurrentHashMap<>();
+            for (int i = 0; i < count; i++) {
+                MemoryCollection collection = MemoryCollection.readFrom(in, config);
+                restored.put(collection.getName(), collection);
+            }
+            collections.clear();
+            collections.putAll(restored);
+        } catch (IOException exception) {
+            throw new StoreException("Failed to read memory vector store snapshot: " + path, exception);
+        }
+    }
+
+    private MemoryCollection collection(StoreOptions options, boolean create) {
+        StoreOptions resolved = options == null ? StoreOptions.DEFAULT : options;
+        String collectionName = resolved.getCollectionNameOrDefault(config.getDefaultCollectionName());
+        if (!StringUtil.hasText(collectionName)) {
+            throw new IllegalArgumentException("Memory collection name cannot be blank.");
+        }
+        return create
+            ? collections.computeIfAbsent(collectionName, name -> new MemoryCollection(name, config))
+            : collections.get(collectionName);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import com.agentsflex.core.store.DocumentStoreConfig;
+import com.agentsflex.core.util.StringUtil;
+
+/** 进程内 HNSW 向量存储配置。 */
+public class MemoryVectorStoreConfig implements DocumentStoreConfig {
+
+    private String defaultCollectionName = "default";
+
+    /** 向量维度；为 0 时由集合写入的第一条向量决定。 */
+    private int vectorDimension = 0;
+    private MemoryDistanceType distanceType = MemoryDistanceType.COSINE;
+    private MemoryVectorEncoding vectorEncoding = MemoryVectorEncoding.FLOAT32;
+
+    /** HNSW 每层的最大邻居数，第 0 层使用其两倍。 */
+    private int m = 16;
+
+    /** 建图时的候选队列长度，越大召回越高、写入越慢。 */
+    private int efConstruction = 200;
+
+    /** 检索时的候选队列长度，实际取值不小于 maxResults。 */
+    private int efSearch = 64;
+
+    /** 集合内有效文档数不超过该值时直接精确扫描，不走图检索。 */
+    private int exactSearchThreshold = 2048;
+
+    /** 层级分配使用的随机种子，固定种子可使相同写入顺序得到相同的图。 */
+    private long randomSeed = 42L;
+
+    /** 快照文件路径；为空表示不使用快照。 */
+    private String snapshotPath;
+
+    /** 创建存储时若快照文件存在则自动恢复。 */
+    private boolean restoreSnapshotOnStart = true;
+
+    public String getDefaultCollectionName() {
+        return defaultCollectionName;
+    }
+
+    public void setDefaultCollectionName(String defaultCollectionName) {
+        this.defaultCollectionName = defaultCollectionName;
+    }
+
+    public int getVectorDimension() {
+        return vectorDimension;
+    }
+
+    public void setVectorDimension(int vectorDimension) {
+        this.vectorDimension = vectorDimension;
+    }
+
+    public MemoryDistanceType getDistanceType() {
+        return distanceType;
+    }
+
+    public void setDistanceType(MemoryDistanceType distanceType) {
+        this.distanceType = distanceType;
+    }
+
+    public MemoryVectorEncoding getVectorEncoding() {
+        return vectorEncoding;
+    }
+
+    public void setVectorEncoding(MemoryVectorEncoding vectorEncoding) {
+        this.vectorEncoding = vectorEncoding;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public void setM(int m) {
+        this.m = m;
+    }
+
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+
+    public void setEfConstruction(int efConstruction) {
+        this.efConstruction = efConstruction;
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    public void setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+    }
+
+    public int getExactSearchThreshold() {
+        return exactSearchThreshold;
+    }
+
+    public void setExactSearchThreshold(int exactSearchThreshold) {
+        this.exactSearchThreshold = exactSearchThreshold;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    public boolean isRestoreSnapshotOnStart() {
+        return restoreSnapshotOnStart;
+    }
+
+    public void setRestoreSnapshotOnStart(boolean restoreSnapshotOnStart) {
+        this.restoreSnapshotOnStart = restoreSnapshotOnStart;
+    }
+
+    @Override
+    public boolean checkAvailable() {
+        return StringUtil.hasText(defaultCollectionName)
+            && vectorDimension >= 0
+            && distanceType != null
+            && vectorEncoding != null
+            && m >= 2
+            && efConstruction > 0
+            && efSearch > 0
+            && exactSearchThreshold >= 0;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import java.util.Arrays;
+
+/**
+ * 以原始数组实现的节点二叉堆，按距离排序且不装箱。
+ *
+ * <p>最小堆用于图遍历的候选集合，最大堆用于维护当前最优的若干个结果。</p>
+ */
+final class NodeQueue {
+
+    private final boolean maxHeap;
+    private int[] nodes;
+    private float[] distances;
+    private int size;
+
+    NodeQueue(int capacity, boolean maxHeap) {
+        this.maxHeap = maxHeap;
+        this.nodes = new int[Math.max(4, capacity)];
+        this.distances = new float[nodes.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int topNode() {
+        return nodes[0];
+    }
+
+    float topDistance() {
+        return distances[0];
+    }
+
+    void push(int node, float distance) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            distances = Arrays.copyOf(distances, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(distance, distances[parent])) {
+                break;
+            }
+            nodes[index] = nodes[parent];
+            distances[index] = distances[parent];
+            index = parent;
+        }
+        nodes[index] = node;
+        distances[index] = distance;
+    }
+
+    /** 移除并返回堆顶节点。 */
+    int pop() {
+        int top = nodes[0];
+        int lastNode = nodes[--size];
+        float lastDistance = distances[size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(distances[right], distances[child])) {
+                child = right;
+            }
+            if (!before(distances[child], lastDistance)) {
+                break;
+            }
+            nodes[index] = nodes[child];
+            distances[index] = distances[child];
+            index = child;
+        }
+        nodes[index] = lastNode;
+        distances[index] = lastDistance;
+        return top;
+    }
+
+    /**
+     * 清空队列，并把节点按距离从近到远写入给定数组。
+     *
+     * @return 写入的节点数
+     */
+    int drainAscending(int[] targetNodes, float[] targetDistances) {
+        int count = size;
+        for (int i = 0; i < count; i++) {
+            int index = maxHeap ? count - 1 - i : i;
+            targetDistances[index] = distances[0];
+            targetNodes[index] = pop();
+        }
+        return count;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    private boolean before(float a, float b) {
+        return maxHeap ? a > b : a < b;
+    }
+}
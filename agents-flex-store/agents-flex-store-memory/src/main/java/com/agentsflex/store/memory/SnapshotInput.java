@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射的快照读取器。
+ *
+ * <p>文件按最多 1 GiB 的窗口依次映射，超过单个 {@link MappedByteBuffer} 容量的大快照
+ * 也可以顺序读取；数组直接从映射区批量复制到堆内数组。</p>
+ */
+final class SnapshotInput implements Closeable {
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    SnapshotInput(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        map(0);
+    }
+
+    int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return window.getInt();
+    }
+
+    long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return window.getLong();
+    }
+
+    boolean readBoolean() throws IOException {
+        ensure(1);
+        return window.get() != 0;
+    }
+
+    String readString() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        readBytes(bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void readBytes(byte[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            int n = Math.min(length, available(1));
+            window.get(target, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void readFloats(float[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            int n = Math.min(length, available(Float.BYTES) / Float.BYTES);
+            window.asFloatBuffer().get(target, offset, n);
+            ((Buffer) window).position(window.position() + n * Float.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void readInts(int[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            int n = Math.min(length, available(Integer.BYTES) / Integer.BYTES);
+            window.asIntBuffer().get(target, offset, n);
+            ((Buffer) window).position(window.position() + n * Integer.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /** 返回当前窗口剩余字节数，不足 {@code minimum} 时先重新映射。 */
+    private int available(int minimum) throws IOException {
+        ensure(minimum);
+        return window.remaining();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return;
+        }
+        long position = windowStart + window.position();
+        if (fileSize - position < bytes) {
+            throw new EOFException("Unexpected end of memory store snapshot.");
+        }
+        map(position);
+    }
+
+    private void map(long position) throws IOException {
+        long size = Math.min(WINDOW_BYTES, fileSize - position);
+        this.window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        this.windowStart = position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
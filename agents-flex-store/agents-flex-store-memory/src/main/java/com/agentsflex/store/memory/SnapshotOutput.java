@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** 快照顺序写入器。数组按大端序分块批量写出，避免逐元素调用流方法。 */
+final class SnapshotOutput implements Closeable {
+
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final DataOutputStream out;
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+
+    SnapshotOutput(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, CHUNK_BYTES));
+    }
+
+    void writeInt(int value) throws IOException {
+        out.writeInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        out.writeLong(value);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        out.writeBoolean(value);
+    }
+
+    /** 写入可为空的字符串：长度为 -1 表示 {@code null}。 */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    void writeBytes(byte[] values, int offset, int length) throws IOException {
+        out.write(values, offset, length);
+    }
+
+    void writeFloats(float[] values, int offset, int length) throws IOException {
+        int perChunk = CHUNK_BYTES / Float.BYTES;
+        while (length > 0) {
+            int n = Math.min(length, perChunk);
+            ((Buffer) chunk).clear();
+            chunk.asFloatBuffer().put(values, offset, n);
+            out.write(chunk.array(), 0, n * Float.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    void writeInts(int[] values, int offset, int length) throws IOException {
+        int perChunk = CHUNK_BYTES / Integer.BYTES;
+        while (length > 0) {
+            int n = Math.min(length, perChunk);
+            ((Buffer) chunk).clear();
+            chunk.asIntBuffer().put(values, offset, n);
+            out.write(chunk.array(), 0, n * Integer.BYTES);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
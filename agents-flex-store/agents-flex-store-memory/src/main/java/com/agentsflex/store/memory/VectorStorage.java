@@ -0,0 +1,250 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 按节点编号寻址的连续向量存储。
+ *
+ * <p>向量按每块 {@value #BLOCK_SIZE} 个节点分块保存在 {@code float[]} 或 {@code byte[]}
+ * 中，扩容时最多复制当前块，单个集合也不受 Java 数组长度上限的约束。
+ * 余弦度量在写入时先归一化，检索时只需计算内积。</p>
+ */
+final class VectorStorage {
+
+    static final int BLOCK_SHIFT = 12;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /** 新块的初始容量，之后按倍数增长到 {@link #BLOCK_SIZE}，小集合不会预占整块内存。 */
+    private static final int INITIAL_BLOCK_NODES = 64;
+
+    private final int dimension;
+    private final MemoryDistanceType distanceType;
+    private final MemoryVectorEncoding encoding;
+
+    private float[][] floatBlocks = new float[0][];
+    private byte[][] codeBlocks = new byte[0][];
+    private float[][] scaleBlocks = new float[0][];
+    private int size;
+
+    VectorStorage(int dimension, MemoryDistanceType distanceType, MemoryVectorEncoding encoding) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Memory vector dimension must be greater than zero.");
+        }
+        this.dimension = dimension;
+        this.distanceType = distanceType;
+        this.encoding = encoding;
+    }
+
+    int dimension() {
+        return dimension;
+    }
+
+    MemoryDistanceType distanceType() {
+        return distanceType;
+    }
+
+    MemoryVectorEncoding encoding() {
+        return encoding;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 校验维度与取值，并返回用于写入和检索的向量副本；余弦度量下副本已归一化。
+     */
+    float[] prepare(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Memory vector dimension mismatch: expected " + dimension
+                + " but was " + (vector == null ? 0 : vector.length) + ".");
+        }
+        float[] prepared = Arrays.copyOf(vector, dimension);
+        double norm = 0;
+        for (float value : prepared) {
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                throw new IllegalArgumentException("Memory vector values must be finite.");
+            }
+            norm += value * value;
+        }
+        if (distanceType == MemoryDistanceType.COSINE && norm > 0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                prepared[i] *= inverse;
+            }
+        }
+        return prepared;
+    }
+
+    /** 追加一个已经过 {@link #prepare(float[])} 处理的向量，返回其节点编号。 */
+    int append(float[] prepared) {
+        int node = size;
+        int block = node >>> BLOCK_SHIFT;
+        int slot = node & BLOCK_MASK;
+        if (encoding == MemoryVectorEncoding.FLOAT32) {
+            if (block == floatBlocks.length) {
+                floatBlocks = Arrays.copyOf(floatBlocks, block + 1);
+                floatBlocks[block] = new float[dimension * INITIAL_BLOCK_NODES];
+            } else if (floatBlocks[block].length == slot * dimension) {
+                floatBlocks[block] = Arrays.copyOf(floatBlocks[block], grow(slot) * dimension);
+            }
+            System.arraycopy(prepared, 0, floatBlocks[block], slot * dimension, dimension);
+        } else {
+            if (block == codeBlocks.length) {
+                codeBlocks = Arrays.copyOf(codeBlocks, block + 1);
+                codeBlocks[block] = new byte[dimension * INITIAL_BLOCK_NODES];
+                scaleBlocks = Arrays.copyOf(scaleBlocks, block + 1);
+                scaleBlocks[block] = new float[INITIAL_BLOCK_NODES];
+            } else if (scaleBlocks[block].length == slot) {
+                codeBlocks[block] = Arrays.copyOf(codeBlocks[block], grow(slot) * dimension);
+                scaleBlocks[block] = Arrays.copyOf(scaleBlocks[block], grow(slot));
+            }
+            quantize(prepared, codeBlocks[block], slot * dimension, scaleBlocks[block], slot);
+        }
+        size++;
+        return node;
+    }
+
+    private static int grow(int nodes) {
+        return Math.min(BLOCK_SIZE, nodes * 2);
+    }
+
+    private void quantize(float[] vector, byte[] codes, int offset, float[] scales, int slot) {
+        float maxAbs = 0;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float scale = maxAbs == 0 ? 0 : maxAbs / 127f;
+        float inverse = scale == 0 ? 0 : 1f / scale;
+        for (int i = 0; i < dimension; i++) {
+            codes[offset + i] = (byte) Math.round(vector[i] * inverse);
+        }
+        scales[slot] = scale;
+    }
+
+    /** 将节点向量（量化编码时为反量化结果）写入 {@code target}。 */
+    void read(int node, float[] target) {
+        int block = node >>> BLOCK_SHIFT;
+        int offset = (node & BLOCK_MASK) * dimension;
+        if (encoding == MemoryVectorEncoding.FLOAT32) {
+            System.arraycopy(floatBlocks[block], offset, target, 0, dimension);
+            return;
+        }
+        byte[] codes = codeBlocks[block];
+        float scale = scaleBlocks[block][node & BLOCK_MASK];
+        for (int i = 0; i < dimension; i++) {
+            target[i] = codes[offset + i] * scale;
+        }
+    }
+
+    /**
+     * 计算查询向量与节点之间的距离，数值越小越相似。内积类度量返回负内积，
+     * 欧氏度量返回距离平方。
+     */
+    float distance(float[] query, int node) {
+        int block = node >>> BLOCK_SHIFT;
+        int offset = (node & BLOCK_MASK) * dimension;
+        if (encoding == MemoryVectorEncoding.FLOAT32) {
+            float[] values = floatBlocks[block];
+            if (distanceType == MemoryDistanceType.EUCLIDEAN) {
+                float sum = 0;
+                for (int i = 0; i < dimension; i++) {
+                    float diff = query[i] - values[offset + i];
+                    sum += diff * diff;
+                }
+                return sum;
+            }
+            float dot = 0;
+            for (int i = 0; i < dimension; i++) {
+                dot += query[i] * values[offset + i];
+            }
+            return -dot;
+        }
+
+        byte[] codes = codeBlocks[block];
+        float scale = scaleBlocks[block][node & BLOCK_MASK];
+        if (distanceType == MemoryDistanceType.EUCLIDEAN) {
+            float sum = 0;
+            for (int i = 0; i < dimension; i++) {
+                float diff = query[i] - codes[offset + i] * scale;
+                sum += diff * diff;
+            }
+            return sum;
+        }
+        float dot = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += query[i] * codes[offset + i];
+        }
+        return -dot * scale;
+    }
+
+    /** 将 {@link #distance(float[], int)} 的结果换算为越大越相似的检索分值。 */
+    float toScore(float distance) {
+        if (distanceType == MemoryDistanceType.EUCLIDEAN) {
+            return (float) (1.0 / (1.0 + Math.sqrt(Math.max(0, distance))));
+        }
+        return -distance;
+    }
+
+    void writeTo(SnapshotOutput out) throws IOException {
+        out.writeInt(dimension);
+        out.writeInt(distanceType.ordinal());
+        out.writeInt(encoding.ordinal());
+        out.writeInt(size);
+        for (int block = 0; block * BLOCK_SIZE < size; block++) {
+            int nodes = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+            if (encoding == MemoryVectorEncoding.FLOAT32) {
+                out.writeFloats(floatBlocks[block], 0, nodes * dimension);
+            } else {
+                out.writeBytes(codeBlocks[block], 0, nodes * dimension);
+                out.writeFloats(scaleBlocks[block], 0, nodes);
+            }
+        }
+    }
+
+    static VectorStorage readFrom(SnapshotInput in) throws IOException {
+        int dimension = in.readInt();
+        MemoryDistanceType distanceType = MemoryDistanceType.values()[in.readInt()];
+        MemoryVectorEncoding encoding = MemoryVectorEncoding.values()[in.readInt()];
+        VectorStorage storage = new VectorStorage(dimension, distanceType, encoding);
+        int size = in.readInt();
+        int blocks = (size + BLOCK_MASK) >>> BLOCK_SHIFT;
+        if (encoding == MemoryVectorEncoding.FLOAT32) {
+            storage.floatBlocks = new float[blocks][];
+        } else {
+            storage.codeBlocks = new byte[blocks][];
+            storage.scaleBlocks = new float[blocks][];
+        }
+        for (int block = 0; block < blocks; block++) {
+            int nodes = Math.min(BLOCK_SIZE, size - block * BLOCK_SIZE);
+            if (encoding == MemoryVectorEncoding.FLOAT32) {
+                storage.floatBlocks[block] = new float[nodes * dimension];
+                in.readFloats(storage.floatBlocks[block], 0, nodes * dimension);
+            } else {
+                storage.codeBlocks[block] = new byte[nodes * dimension];
+                storage.scaleBlocks[block] = new float[nodes];
+                in.readBytes(storage.codeBlocks[block], 0, nodes * dimension);
+                in.readFloats(storage.scaleBlocks[block], 0, nodes);
+            }
+        }
+        storage.size = size;
+        return storage;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.store.memory;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.SearchWrapper;
+import com.agentsflex.core.store.StoreOptions;
+import com.agentsflex.core.store.StoreResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryVectorStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldFilterProjectAndApplyMinScore() {
+        MemoryVectorStore store = new MemoryVectorStore();
+        store.store(Arrays.asList(
+            document("a", new float[]{1, 0, 0}, "news", 2021),
+            document("b", new float[]{0.9f, 0.1f, 0}, "blog", 2023),
+            document("c", new float[]{0, 1, 0}, "news", 2024),
+            document("d", new float[]{0, 0, 1}, "blog", 2019)));
+
+        List<Document> nearest = store.search(query(new float[]{1, 0, 0}).maxResults(2));
+        assertEquals(Arrays.asList("a", "b"), idsOf(nearest));
+        assertEquals(1.0f, nearest.get(0).getScore(), 0.0001f);
+
+        List<Document> filtered = store.search(query(new float[]{1, 0, 0})
+            .condition("category = 'news' OR category = 'blog' AND year > 2020")
+            .outputFields("category").maxResults(10));
+        assertEquals(Arrays.asList("a", "b", "c"), idsOf(filtered));
+        assertEquals(Collections.singletonMap("category", "news"), filtered.get(0).getMetadataMap());
+
+        assertEquals(Arrays.asList("a", "b"), idsOf(store.search(query(new float[]{1, 0, 0})
+            .minScore(0.5).maxResults(10))));
+        assertEquals(Arrays.asList("b", "d"), idsOf(store.search(new SearchWrapper()
+            .withVector(false).eq("category", "blog").maxResults(10))));
+    }
+
+    @Test
+    public void shouldUpdateAndDeleteDocuments() {
+        MemoryVectorStore store = new MemoryVectorStore();
+        StoreOptions options = StoreOptions.ofCollectionName("docs");
+        store.store(Arrays.asList(document("a", new float[]{1, 0}, "x", 1),
+            document("b", new float[]{0, 1}, "x", 2)), options);
+
+        Document moved = document("a", new float[]{0, 1}, "y", 3);
+        assertTrue(store.update(Collections.singletonList(moved), options).isSuccess());
+        List<Document> results = store.search(query(new float[]{0, 1})
+            .eq("category", "y"), options);
+        assertEquals(Collections.singletonList("a"), idsOf(results));
+
+        Document retitled = new Document("renamed");
+        retitled.setId("b");
+        store.update(Collections.singletonList(retitled), options);
+        Document b = store.search(new SearchWrapper().withVector(false).eq("id", "b"), options).get(0);
+        assertEquals("renamed", b.getContent());
+        assertNull(b.getMetadata("category"));
+
+        store.delete(Collections.singletonList("a"), options);
+        assertEquals(1, store.count(options));
+        assertEquals(0, store.count(StoreOptions.ofCollectionName("missing")));
+        StoreResult invalid = store.store(Collections.singletonList(document("c", new float[]{1, 2, 3}, "x", 1)), options);
+        assertFalse(invalid.isSuccess());
+    }
+
+    @Test
+    public void hnswSearchShouldMatchExactSearchRecall() {
+        int dimension = 32;
+        int size = 3000;
+        MemoryVectorStoreConfig graphConfig = new MemoryVectorStoreConfig();
+        graphConfig.setExactSearchThreshold(0);
+        MemoryVectorStore graph = new MemoryVectorStore(graphConfig);
+        MemoryVectorStore exact = new MemoryVectorStore();
+        exact.getConfig().setExactSearchThreshold(Integer.MAX_VALUE);
+
+        Random random = new Random(7);
+        List<Document> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            documents.add(document("doc-" + i, randomVector(random, dimension), i % 2 == 0 ? "even" : "odd", i));
+        }
+        graph.store(documents);
+        exact.store(documents);
+
+        int hits = 0;
+        int total = 0;
+        for (int q = 0; q < 50; q++) {
+            SearchWrapper wrapper = query(randomVector(random, dimension)).maxResults(10);
+            Set<String> expected = new HashSet<>(idsOf(exact.search(wrapper)));
+            for (String id : idsOf(graph.search(wrapper))) {
+                if (expected.contains(id)) {
+                    hits++;
+                }
+            }
+            total += expected.size();
+        }
+        assertTrue("recall was " + hits + "/" + total, hits >= total * 0.95);
+
+        SearchWrapper filtered = query(randomVector(random, dimension))
+            .eq("category", "odd").maxResults(10);
+        List<Document> results = graph.search(filtered);
+        assertEquals(10, results.size());
+        for (Document document : results) {
+            assertEquals("odd", document.getMetadata("category"));
+        }
+    }
+
+    @Test
+    public void unfilteredSearchShouldFillResultsDespiteTombstones() {
+        MemoryVectorStoreConfig config = new MemoryVectorStoreConfig();
+        config.setExactSearchThreshold(0);
+        MemoryVectorStore store = new MemoryVectorStore(config);
+
+        Random random = new Random(5);
+        List<Document> documents = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            documents.add(document("doc-" + i, randomVector(random, 16), "c", i));
+            if (i % 50 != 0) {
+                deletedIds.add("doc-" + i);
+            }
+        }
+        store.store(documents);
+        // 删除量低于压缩阈值，已删除节点以墓碑形式留在图中。
+        store.delete(deletedIds);
+
+        List<Document> results = store.search(query(documents.get(1).getVector()).maxResults(15));
+        assertEquals(15, results.size());
+        for (Document document : results) {
+            assertEquals(0, Integer.parseInt(String.valueOf(document.getId()).substring(4)) % 50);
+        }
+    }
+
+    @Test
+    public void shouldRestoreQuantizedSnapshot() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("vectors.snapshot");
+        MemoryVectorStoreConfig config = new MemoryVectorStoreConfig();
+        config.setVectorEncoding(MemoryVectorEncoding.INT8);
+        config.setDistanceType(MemoryDistanceType.EUCLIDEAN);
+        config.setExactSearchThreshold(0);
+        config.setSnapshotPath(snapshot.toString());
+        MemoryVectorStore store = new MemoryVectorStore(config);
+
+        Random random = new Random(11);
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            documents.add(document("doc-" + i, randomVector(random, 16), "c" + (i % 5), i));
+        }
+        store.store(documents);
+        store.delete(Collections.singletonList("doc-0"));
+        SearchWrapper wrapper = query(documents.get(42).getVector())
+            .outputVector(true).maxResults(3);
+        List<Document> before = store.search(wrapper);
+        assertEquals("doc-42", before.get(0).getId());
+        store.saveSnapshot();
+
+        MemoryVectorStore restored = new MemoryVectorStore(config);
+        assertEquals(499, restored.count(null));
+        List<Document> after = restored.search(wrapper);
+        assertEquals(idsOf(before), idsOf(after));
+        assertEquals(before.get(0).getScore(), after.get(0).getScore(), 0.0001f);
+        assertEquals(documents.get(42).getVector()[0], after.get(0).getVector()[0], 0.02f);
+        assertEquals(2, after.get(0).getMetadataMap().size());
+
+        restored.store(Collections.singletonList(document("doc-new", randomVector(random, 16), "c0", 1)));
+        assertEquals(500, restored.count(null));
+    }
+
+    private static Document document(String id, float[] vector, String category, int year) {
+        Document document = new Document("content of " + id);
+        document.setId(id);
+        document.setVector(vector);
+        document.putMetadata("category", category);
+        document.putMetadata("year", year);
+        return document;
+    }
+
+    private static SearchWrapper query(float[] vector) {
+        SearchWrapper wrapper = new SearchWrapper();
+        wrapper.setVector(vector);
+        return wrapper;
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static List<String> idsOf(List<Document> documents) {
+        List<String> ids = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            ids.add(String.valueOf(document.getId()));
+        }
+        return ids;
+    }
+}
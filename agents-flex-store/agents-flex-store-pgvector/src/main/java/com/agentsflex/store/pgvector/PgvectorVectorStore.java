@@ -17,9 +17,14 @@ import com.agentsflex.core.store.StoreResult;
 import com.agentsflex.core.store.exception.StoreException;
 import com.agentsflex.core.util.StringUtil;
 import com.alibaba.fastjson2.JSON;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.ds.PGSimpleDataSource;
 import org.postgresql.util.PGobject;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -31,6 +36,8 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 基于 PostgreSQL pgvector 扩展的文档向量存储。
@@ -38,16 +45,26 @@ import java.util.Map;
  * <p>集合名映射为数据表，文档固定字段保存为表列，其他元数据保存为 JSONB。
  * 写入操作使用事务；过滤条件由 {@link PgvectorExpressionAdaptor} 转换为参数化 SQL，
  * 避免将条件值直接拼接进语句。</p>
+ *
+ * <p>单次写入的文档数达到 {@link PgvectorVectorStoreConfig#getBulkCopyThreshold()} 时改用
+ * 二进制 COPY 导入。建表与建索引的 DDL 探测在每个集合上只执行一次。</p>
  */
 public class PgvectorVectorStore extends DocumentStore {
 
     public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.3;
 
+    /** PostgreSQL undefined_table 错误码，表被外部删除后需要重新执行 DDL 探测。 */
+    private static final String UNDEFINED_TABLE = "42P01";
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
     private final PGSimpleDataSource dataSource;
     private final String defaultCollectionName;
     private final Integer defaultVectorDimension;
     private final PgvectorVectorStoreConfig config;
 
+    /** 已确认存在的集合；只有在建表事务提交后才会加入。 */
+    private final Set<String> knownCollections = ConcurrentHashMap.newKeySet();
+
     public PgvectorVectorStore(PgvectorVectorStoreConfig config) {
         if (config == null || !config.checkAvailable()) {
             throw new IllegalArgumentException("Pgvector configuration is not available");
@@ -74,7 +91,9 @@ public class PgvectorVectorStore extends DocumentStore {
              Statement statement = connection.createStatement()) {
             statement.executeUpdate("CREATE EXTENSION IF NOT EXISTS vector");
             if (config.isAutoCreateCollection() && StringUtil.hasText(defaultCollectionName)) {
-                createCollectionIfNotExist(connection, defaultCollectionName, defaultVectorDimension);
+                if (createCollectionIfNotExist(connection, defaultCollectionName, defaultVectorDimension)) {
+                    knownCollections.add(defaultCollectionName);
+                }
             }
         } catch (SQLException e) {
             throw new StoreException("Failed to initialize pgvector", e);
@@ -88,27 +107,24 @@ public class PgvectorVectorStore extends DocumentStore {
         }
         String collectionName = resolveCollectionName(options);
         int dimensions = resolveDimensions(documents, options);
+        boolean bulkCopy = config.getBulkCopyThreshold() > 0 && documents.size() >= config.getBulkCopyThreshold();
         try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(false);
             try {
-                createCollectionIfNotExist(connection, collectionName, dimensions);
-                String sql = "INSERT INTO " + quoteIdentifier(collectionName)
-                    + " (id, title, content, vector, metadata) VALUES (?, ?, ?, ?, ?::jsonb)";
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    for (Document document : documents) {
-                        statement.setString(1, String.valueOf(document.getId()));
-                        statement.setString(2, document.getTitle());
-                        statement.setString(3, document.getContent());
-                        statement.setObject(4, toPgVector(document));
-                        statement.setString(5, JSON.toJSONString(metadata(document)));
-                        statement.addBatch();
-                    }
-                    statement.executeBatch();
+                boolean created = createCollectionIfNotExist(connection, collectionName, dimensions);
+                if (bulkCopy) {
+                    copyDocuments(connection, collectionName, documents);
+                } else {
+                    insertDocuments(connection, collectionName, documents);
                 }
                 connection.commit();
+                if (created) {
+                    knownCollections.add(collectionName);
+                }
                 return StoreResult.successWithIds(documents);
             } catch (Exception e) {
                 rollback(connection, e);
+                forgetCollectionIfMissing(collectionName, e);
                 return StoreResult.fail("Store failed: " + e.getMessage(), e);
             }
         } catch (SQLException e) {
@@ -116,6 +132,67 @@ public class PgvectorVectorStore extends DocumentStore {
         }
     }
 
+    private void insertDocuments(Connection connection, String collectionName, List<Document> documents)
+        throws SQLException {
+        String sql = "INSERT INTO " + quoteIdentifier(collectionName)
+            + " (id, title, content, vector, metadata) VALUES (?, ?, ?, ?, ?::jsonb)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Document document : documents) {
+                statement.setString(1, String.valueOf(document.getId()));
+                statement.setString(2, document.getTitle());
+                statement.setString(3, document.getContent());
+                statement.setObject(4, toPgVector(document));
+                statement.setString(5, JSON.toJSONString(metadata(document)));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /** 使用二进制 COPY 写入文档，数据经 64 KiB 缓冲分段发送，不在内存中拼接整批数据。 */
+    private void copyDocuments(Connection connection, String collectionName, List<Document> documents)
+        throws SQLException, IOException {
+        for (Document document : documents) {
+            requireVector(document);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        String sql = PgvectorBinaryCopy.copySql(quoteIdentifier(collectionName));
+        PGCopyOutputStream copyStream = new PGCopyOutputStream(pgConnection, sql);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(copyStream, COPY_BUFFER_SIZE));
+        try {
+            PgvectorBinaryCopy.writeHeader(out);
+            for (Document document : documents) {
+                PgvectorBinaryCopy.writeRow(out, String.valueOf(document.getId()), document.getTitle(),
+                    document.getContent(), document.getVector(), JSON.toJSONString(metadata(document)));
+            }
+            PgvectorBinaryCopy.writeTrailer(out);
+            // 关闭时刷出缓冲并结束 COPY，服务端在此时校验整批数据。
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            if (copyStream.isActive()) {
+                try {
+                    copyStream.cancelCopy();
+                } catch (SQLException cancelException) {
+                    e.addSuppressed(cancelException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 为集合创建 HNSW 向量索引。配合 {@link PgvectorVectorStoreConfig#setDeferIndexBuild(boolean)}
+     * 使用：先批量导入，再一次性建索引。索引已存在时不做任何操作。
+     */
+    public void createVectorIndex(String collectionName) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(createIndexSql(collectionName));
+        } catch (SQLException e) {
+            throw new StoreException("Failed to create pgvector index for " + collectionName, e);
+        }
+    }
+
     @Override
     public StoreResult doDelete(Collection<?> ids, StoreOptions options) {
         if (ids == null || ids.isEmpty()) {
@@ -235,10 +312,15 @@ public class PgvectorVectorStore extends DocumentStore {
         return "\"" + identifier.replace("\"", "\"\"") + "\"";
     }
 
-    private void createCollectionIfNotExist(Connection connection, String collectionName, Integer dimensions)
+    /**
+     * 按需创建集合表和索引。已确认存在的集合直接跳过，避免每次写入都执行 DDL 探测。
+     *
+     * @return 本次是否执行了 DDL；调用方应在事务提交后再记录集合已存在
+     */
+    private boolean createCollectionIfNotExist(Connection connection, String collectionName, Integer dimensions)
         throws SQLException {
-        if (!config.isAutoCreateCollection()) {
-            return;
+        if (!config.isAutoCreateCollection() || knownCollections.contains(collectionName)) {
+            return false;
         }
         if (dimensions == null || dimensions <= 0) {
             throw new IllegalArgumentException("Pgvector dimensions must be greater than zero");
@@ -249,10 +331,24 @@ public class PgvectorVectorStore extends DocumentStore {
                 + " (id varchar(100) PRIMARY KEY, title text, content text, vector vector(" + dimensions
                 + "), metadata jsonb NOT NULL DEFAULT '{}'::jsonb)");
             statement.executeUpdate("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS title text");
-            if (config.isUseHnswIndex()) {
-                statement.executeUpdate("CREATE INDEX IF NOT EXISTS "
-                    + quoteIdentifier(collectionName + "_vector_idx") + " ON " + table
-                    + " USING hnsw (vector vector_cosine_ops)");
+            if (config.isUseHnswIndex() && !config.isDeferIndexBuild()) {
+                statement.executeUpdate(createIndexSql(collectionName));
+            }
+        }
+        return true;
+    }
+
+    private static String createIndexSql(String collectionName) {
+        return "CREATE INDEX IF NOT EXISTS " + quoteIdentifier(collectionName + "_vector_idx")
+            + " ON " + quoteIdentifier(collectionName) + " USING hnsw (vector vector_cosine_ops)";
+    }
+
+    /** 表被外部删除时清除缓存，下次写入重新建表。 */
+    private void forgetCollectionIfMissing(String collectionName, Exception exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && UNDEFINED_TABLE.equals(((SQLException) cause).getSQLState())) {
+                knownCollections.remove(collectionName);
+                return;
             }
         }
     }
@@ -275,10 +371,14 @@ public class PgvectorVectorStore extends DocumentStore {
     }
 
     private PGobject toPgVector(Document document) throws SQLException {
+        requireVector(document);
+        return PgvectorUtil.toPgVector(document.getVector());
+    }
+
+    private static void requireVector(Document document) {
         if (document == null || document.getVector() == null || document.getVector().length == 0) {
             throw new IllegalArgumentException("Pgvector document vector cannot be null or empty");
         }
-        return PgvectorUtil.toPgVector(document.getVector());
     }
 
     private Map<String, Object> metadata(Document document) {
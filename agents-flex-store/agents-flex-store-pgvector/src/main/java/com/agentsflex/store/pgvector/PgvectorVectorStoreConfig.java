@@ -42,6 +42,13 @@ public class PgvectorVectorStoreConfig implements DocumentStoreConfig {
     private boolean autoCreateCollection = true;
     /** 是否为向量列创建 HNSW 索引。 */
     private boolean useHnswIndex = false;
+    /** 单次写入的文档数达到该值时改用二进制 COPY；小于等于 0 表示始终使用批量 INSERT。 */
+    private int bulkCopyThreshold = 1000;
+    /**
+     * 是否推迟 HNSW 索引构建。开启后自动建表不再创建索引，需在批量导入完成后调用
+     * {@link PgvectorVectorStore#createVectorIndex(String)}，一次性建索引比边写边维护快得多。
+     */
+    private boolean deferIndexBuild = false;
     /** 默认向量维度。 */
     private int vectorDimension = 1024;
 
@@ -126,6 +133,22 @@ public class PgvectorVectorStoreConfig implements DocumentStoreConfig {
         this.vectorDimension = vectorDimension;
     }
 
+    public int getBulkCopyThreshold() {
+        return bulkCopyThreshold;
+    }
+
+    public void setBulkCopyThreshold(int bulkCopyThreshold) {
+        this.bulkCopyThreshold = bulkCopyThreshold;
+    }
+
+    public boolean isDeferIndexBuild() {
+        return deferIndexBuild;
+    }
+
+    public void setDeferIndexBuild(boolean deferIndexBuild) {
+        this.deferIndexBuild = deferIndexBuild;
+    }
+
     public boolean isUseHnswIndex() {
         return useHnswIndex;
     }
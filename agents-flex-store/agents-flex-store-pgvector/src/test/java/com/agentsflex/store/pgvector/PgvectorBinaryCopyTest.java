@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package com.agentsflex.store.pgvector;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PgvectorBinaryCopyTest {
+
+    @Test
+    public void shouldEncodeRowsInPostgresBinaryCopyFormat() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        PgvectorBinaryCopy.writeHeader(out);
+        PgvectorBinaryCopy.writeRow(out, "id-1", null, "内容", new float[]{1.5f, -2f}, "{\"a\":1}");
+        PgvectorBinaryCopy.writeTrailer(out);
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        byte[] signature = new byte[11];
+        buffer.get(signature);
+        assertArrayEquals("PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1), signature);
+        assertEquals(0, buffer.getInt());
+        assertEquals(0, buffer.getInt());
+
+        assertEquals(5, buffer.getShort());
+        assertEquals("id-1", readText(buffer));
+        assertEquals(-1, buffer.getInt());
+        assertEquals("内容", readText(buffer));
+
+        assertEquals(4 + 2 * 4, buffer.getInt());
+        assertEquals(2, buffer.getShort());
+        assertEquals(0, buffer.getShort());
+        assertEquals(1.5f, buffer.getFloat(), 0f);
+        assertEquals(-2f, buffer.getFloat(), 0f);
+
+        int jsonLength = buffer.getInt();
+        assertEquals(1, buffer.get());
+        byte[] json = new byte[jsonLength - 1];
+        buffer.get(json);
+        assertEquals("{\"a\":1}", new String(json, StandardCharsets.UTF_8));
+
+        assertEquals(-1, buffer.getShort());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void shouldBuildCopyStatement() {
+        assertEquals("COPY \"docs\" (id, title, content, vector, metadata) FROM STDIN (FORMAT BINARY)",
+            PgvectorBinaryCopy.copySql(PgvectorVectorStore.quoteIdentifier("docs")));
+    }
+
+    private static String readText(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
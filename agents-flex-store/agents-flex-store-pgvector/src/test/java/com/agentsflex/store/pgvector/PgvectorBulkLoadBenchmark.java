@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package com.agentsflex.store.pgvector;
+
+import com.agentsflex.core.document.Document;
+import com.agentsflex.core.store.StoreOptions;
+import org.junit.Assume;
+import org.junit.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 比较批量 INSERT 与二进制 COPY 的写入吞吐，并测量导入后一次性建 HNSW 索引的耗时。
+ * 类名不匹配 Surefire 默认规则，需要真实 PostgreSQL：
+ * {@code -Dtest=PgvectorBulkLoadBenchmark -Dagentsflex.pgvector.integration=true}。
+ */
+public class PgvectorBulkLoadBenchmark {
+
+    @Test
+    public void benchmarkBulkLoad() throws SQLException {
+        Assume.assumeTrue("Enable with -Dagentsflex.pgvector.integration=true",
+            Boolean.getBoolean("agentsflex.pgvector.integration"));
+        int rows = Integer.getInteger("pgvector.benchmark.rows", 50_000);
+        int dimension = Integer.getInteger("pgvector.benchmark.dimension", 768);
+        int batchSize = Integer.getInteger("pgvector.benchmark.batch", 2_000);
+        List<Document> documents = documents(rows, dimension);
+
+        run("insert", Integer.MAX_VALUE, documents, batchSize, dimension);
+        run("copy", 1, documents, batchSize, dimension);
+    }
+
+    private static void run(String name, int copyThreshold, List<Document> documents, int batchSize, int dimension)
+        throws SQLException {
+        String collection = "agents_flex_bench_" + name + "_" + UUID.randomUUID().toString().replace("-", "");
+        PgvectorVectorStoreConfig config = config(collection, dimension);
+        config.setBulkCopyThreshold(copyThreshold);
+        PgvectorVectorStore store = new PgvectorVectorStore(config);
+        StoreOptions options = StoreOptions.ofCollectionName(collection);
+        try {
+            long start = System.nanoTime();
+            for (int from = 0; from < documents.size(); from += batchSize) {
+                List<Document> batch = documents.subList(from, Math.min(documents.size(), from + batchSize));
+                assertTrue(store.doStore(batch, options).isSuccess());
+            }
+            long loadNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            store.createVectorIndex(collection);
+            long indexNanos = System.nanoTime() - start;
+            System.out.printf("pgvector %s rows=%d dim=%d batch=%d load=%.0f rows/s index=%.1fs%n",
+                name, documents.size(), dimension, batchSize,
+                documents.size() / (loadNanos / 1e9), indexNanos / 1e9);
+        } finally {
+            drop(config, collection);
+        }
+    }
+
+    private static PgvectorVectorStoreConfig config(String collection, int dimension) {
+        PgvectorVectorStoreConfig config = new PgvectorVectorStoreConfig();
+        config.setHost(System.getProperty("agentsflex.pgvector.host", "127.0.0.1"));
+        config.setPort(Integer.getInteger("agentsflex.pgvector.port", 5432));
+        config.setDatabaseName(System.getProperty("agentsflex.pgvector.database", "agent_vector"));
+        config.setUsername(System.getProperty("agentsflex.pgvector.username", "agentsflex"));
+        config.setPassword(System.getProperty("agentsflex.pgvector.password", "agentsflex"));
+        config.setDefaultCollectionName(collection);
+        config.setVectorDimension(dimension);
+        config.setUseHnswIndex(true);
+        config.setDeferIndexBuild(true);
+        return config;
+    }
+
+    private static void drop(PgvectorVectorStoreConfig config, String collection) throws SQLException {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setServerNames(new String[]{config.getHost()});
+        dataSource.setPortNumbers(new int[]{config.getPort()});
+        dataSource.setDatabaseName(config.getDatabaseName());
+        dataSource.setUser(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS " + PgvectorVectorStore.quoteIdentifier(collection));
+        }
+    }
+
+    private static List<Document> documents(int rows, int dimension) {
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            float[] vector = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                vector[d] = random.nextFloat() - 0.5f;
+            }
+            Document document = Document.of("content " + i);
+            document.setId("doc-" + i);
+            document.setTitle("title " + i);
+            document.setVector(vector);
+            document.putMetadata("bucket", i % 16);
+            documents.add(document);
+        }
+        return documents;
+    }
+}
@@ -19,6 +19,8 @@ import org.junit.Test;
 import org.postgresql.ds.PGSimpleDataSource;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
@@ -34,6 +36,7 @@ import static org.junit.Assert.assertTrue;
 
 public class PgvectorVectorStoreIntegrationTest {
 
+    private PgvectorVectorStoreConfig config;
     private PgvectorVectorStore store;
     private PGSimpleDataSource dataSource;
     private String firstCollection;
@@ -53,7 +56,7 @@ public class PgvectorVectorStoreIntegrationTest {
         firstCollection = "agents_flex_it_a_" + suffix;
         secondCollection = "agents_flex_it_b_" + suffix;
 
-        PgvectorVectorStoreConfig config = new PgvectorVectorStoreConfig();
+        config = new PgvectorVectorStoreConfig();
         config.setHost(host);
         config.setPort(port);
         config.setDatabaseName(database);
@@ -166,6 +169,51 @@ public class PgvectorVectorStoreIntegrationTest {
         assertTrue(store.doDelete(Collections.emptyList(), options).isSuccess());
     }
 
+    @Test
+    public void shouldBulkCopyAndBuildDeferredIndex() throws SQLException {
+        config.setBulkCopyThreshold(2);
+        config.setUseHnswIndex(true);
+        config.setDeferIndexBuild(true);
+        PgvectorVectorStore bulkStore = new PgvectorVectorStore(config);
+        StoreOptions options = StoreOptions.ofCollectionName(secondCollection);
+        Document untitled = document("doc-3", "Ops", "Ops", 30, new float[]{0, 1, 0});
+        untitled.setTitle(null);
+        assertTrue(bulkStore.doStore(Arrays.asList(
+            document("doc-1", "AI", "AI", 10, new float[]{1, 0, 0}),
+            document("doc-2", "Java", "Java", 20, new float[]{0.5f, 0.8660254f, 0}),
+            untitled
+        ), options).isSuccess());
+
+        List<Document> results = bulkStore.doSearch(search(new float[]{1, 0, 0}).outputVector(true)
+            .eq("metadataMap.category", "AI"), options);
+        assertEquals(1, results.size());
+        assertEquals("title-doc-1", results.get(0).getTitle());
+        assertEquals(1.0f, results.get(0).getVector()[0], 0.0001f);
+        assertNull(bulkStore.doSearch(search(new float[]{0, 1, 0}).eq("id", "doc-3"), options).get(0).getTitle());
+
+        assertFalse(bulkStore.doStore(Arrays.asList(
+            document("doc-1", "dup", "AI", 1, new float[]{1, 0, 0}),
+            document("doc-4", "new", "AI", 1, new float[]{1, 0, 0})
+        ), options).isSuccess());
+        assertEquals(3, bulkStore.doSearch(search(new float[]{1, 0, 0}), options).size());
+
+        assertFalse(hasVectorIndex(secondCollection));
+        bulkStore.createVectorIndex(secondCollection);
+        assertTrue(hasVectorIndex(secondCollection));
+    }
+
+    private boolean hasVectorIndex(String collectionName) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT 1 FROM pg_indexes WHERE tablename = ? AND indexname = ?")) {
+            statement.setString(1, collectionName);
+            statement.setString(2, collectionName + "_vector_idx");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
     private SearchWrapper search(float[] vector) {
         SearchWrapper wrapper = new SearchWrapper().maxResults(10);
         wrapper.setVector(vector);
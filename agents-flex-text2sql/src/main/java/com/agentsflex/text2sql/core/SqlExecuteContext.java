@@ -28,6 +28,11 @@ import java.util.Map;
  */
 public class SqlExecuteContext {
 
+    /**
+     * Attribute key of the row limit (Integer) that interceptors push down to the JDBC driver
+     */
+    public static final String MAX_ROWS_ATTRIBUTE = "text2sql.maxRows";
+
     /**
      * Tool name
      */
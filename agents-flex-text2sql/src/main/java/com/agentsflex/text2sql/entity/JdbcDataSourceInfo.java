@@ -15,9 +15,12 @@
  */
 package com.agentsflex.text2sql.entity;
 
+import com.agentsflex.core.util.HashUtil;
 import com.agentsflex.core.util.MapUtil;
 import com.agentsflex.text2sql.jdbc.JdbcTableBuilder;
 import com.agentsflex.text2sql.jdbc.dialect.IDialect;
+import com.agentsflex.text2sql.schema.SchemaCatalog;
+import com.agentsflex.text2sql.schema.SchemaCatalogStore;
 import com.agentsflex.text2sql.util.DataSourceBuilder;
 
 import javax.sql.DataSource;
@@ -39,6 +42,9 @@ public class JdbcDataSourceInfo extends DataSourceInfo {
     private Set<String> tableNames;
     private Set<String> ignoreColumns;
 
+    // 表结构快照存储，设置后 buildTables 只重新读取发生变化的表
+    private SchemaCatalogStore catalogStore;
+
 
     @Override
     public DataSource getJdbcDataSource() {
@@ -89,7 +95,38 @@ public class JdbcDataSourceInfo extends DataSourceInfo {
     }
 
     public void buildTables() {
-        new JdbcTableBuilder(this, dialect).build(this.tableNames, this.ignoreColumns);
+        if (catalogStore == null) {
+            new JdbcTableBuilder(this, dialect).build(this.tableNames, this.ignoreColumns);
+        } else {
+            refreshTables();
+        }
+    }
+
+    /**
+     * 对照已持久化的表结构快照增量刷新，只有结构发生变化时才写回快照
+     * <p>
+     * 未设置 {@link SchemaCatalogStore} 时等同于全量构建。可定期调用以感知表结构变更。
+     * </p>
+     */
+    public synchronized void refreshTables() {
+        if (catalogStore == null) {
+            new JdbcTableBuilder(this, dialect).build(this.tableNames, this.ignoreColumns);
+            return;
+        }
+
+        String key = getCatalogKey();
+        SchemaCatalog previous = catalogStore.load(key);
+        SchemaCatalog catalog = new JdbcTableBuilder(this, dialect).refresh(this.tableNames, this.ignoreColumns, previous);
+        if (!catalog.hasSameSchema(previous)) {
+            catalogStore.save(key, catalog);
+        }
+    }
+
+    /**
+     * 表结构快照的存储标识，由名称、连接地址、schema 和用户名计算得出，不包含密码
+     */
+    public String getCatalogKey() {
+        return HashUtil.md5(getName() + "__" + jdbcUrl + "__" + schema + "__" + username);
     }
 
     public void setJdbcDataSource(DataSource jdbcDataSource) {
@@ -97,6 +134,14 @@ public class JdbcDataSourceInfo extends DataSourceInfo {
     }
 
 
+    public SchemaCatalogStore getCatalogStore() {
+        return catalogStore;
+    }
+
+    public void setCatalogStore(SchemaCatalogStore catalogStore) {
+        this.catalogStore = catalogStore;
+    }
+
     public IDialect getDialect() {
         return dialect;
     }
@@ -43,6 +43,10 @@ public class TableInfo extends BaseInfo {
         return primaryKeys;
     }
 
+    public void setPrimaryKeys(List<String> primaryKeys) {
+        this.primaryKeys = primaryKeys;
+    }
+
     public boolean hasPrimaryKey(String primaryKey) {
         return primaryKeys != null && primaryKeys.contains(primaryKey);
     }
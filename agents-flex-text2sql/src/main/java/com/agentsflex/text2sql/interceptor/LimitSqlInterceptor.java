@@ -19,16 +19,37 @@ import com.agentsflex.text2sql.core.SqlExecuteContext;
 import com.agentsflex.text2sql.core.SqlInterceptor;
 import com.agentsflex.text2sql.core.SqlInvocation;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * LIMIT protection interceptor
+ * <p>
+ * Appends a trailing LIMIT when the statement has none, clamps a larger trailing LIMIT to maxLimit,
+ * and records the limit as {@link SqlExecuteContext#MAX_ROWS_ATTRIBUTE} so that it is also pushed
+ * down to the driver via {@code Statement.setMaxRows}, which still applies when the LIMIT is nested
+ * in a sub-query or uses placeholders.
+ * </p>
  *
  * @author Michael Yang
  */
 public class LimitSqlInterceptor implements SqlInterceptor {
 
+    /**
+     * Trailing top-level LIMIT: "LIMIT n", "LIMIT offset, n" or "LIMIT n OFFSET m"
+     */
+    private static final Pattern TRAILING_LIMIT = Pattern.compile(
+        "\\bLIMIT\\s+(\\d+)(?:\\s*,\\s*(\\d+))?(?:\\s+OFFSET\\s+\\d+)?\\s*$",
+        Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LIMIT_KEYWORD = Pattern.compile("\\bLIMIT\\b", Pattern.CASE_INSENSITIVE);
+
     private final int maxLimit;
 
     public LimitSqlInterceptor(int maxLimit) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException("maxLimit must be greater than 0");
+        }
         this.maxLimit = maxLimit;
     }
 
@@ -36,11 +57,45 @@ public class LimitSqlInterceptor implements SqlInterceptor {
     public Object intercept(SqlInvocation invocation) throws Exception {
 
         SqlExecuteContext ctx = invocation.getContext();
-        String sql = ctx.getSql().toUpperCase();
-        if (!sql.contains("LIMIT")) {
-            ctx.setSql(ctx.getSql() + " LIMIT " + maxLimit);
-        }
+        ctx.setSql(applyLimit(ctx.getSql()));
+
+        Object current = ctx.getAttribute(SqlExecuteContext.MAX_ROWS_ATTRIBUTE);
+        int maxRows = current instanceof Integer && (Integer) current > 0
+            ? Math.min((Integer) current, maxLimit) : maxLimit;
+        ctx.addAttribute(SqlExecuteContext.MAX_ROWS_ATTRIBUTE, maxRows);
 
         return invocation.proceed();
     }
+
+    String applyLimit(String sql) {
+        String trimmed = sql.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+
+        Matcher matcher = TRAILING_LIMIT.matcher(trimmed);
+        if (!matcher.find()) {
+            // LIMIT with placeholders or inside a sub-query is left untouched, maxRows still applies
+            return LIMIT_KEYWORD.matcher(trimmed).find() ? trimmed : trimmed + " LIMIT " + maxLimit;
+        }
+
+        int countGroup = matcher.group(2) != null ? 2 : 1;
+        if (!exceedsMaxLimit(matcher.group(countGroup))) {
+            return trimmed;
+        }
+        return trimmed.substring(0, matcher.start(countGroup)) + maxLimit + trimmed.substring(matcher.end(countGroup));
+    }
+
+    /**
+     * Compares a LIMIT literal with maxLimit without overflowing: literals longer than 18 digits
+     * (after leading zeros) are always larger than any int limit
+     */
+    private boolean exceedsMaxLimit(String literal) {
+        int start = 0;
+        while (start < literal.length() - 1 && literal.charAt(start) == '0') {
+            start++;
+        }
+        String digits = literal.substring(start);
+        return digits.length() > 18 || Long.parseLong(digits) > maxLimit;
+    }
 }
@@ -15,17 +15,17 @@
  */
 package com.agentsflex.text2sql.jdbc;
 
+import com.agentsflex.core.util.HashUtil;
 import com.agentsflex.text2sql.entity.JdbcDataSourceInfo;
 import com.agentsflex.text2sql.entity.TableInfo;
 import com.agentsflex.text2sql.jdbc.dialect.IDialect;
+import com.agentsflex.text2sql.schema.SchemaCatalog;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * 代码生成器。
@@ -57,6 +57,88 @@ public class JdbcTableBuilder {
         }
     }
 
+    /**
+     * 增量刷新表结构
+     * <p>
+     * 先通过一次 getTables 和一次批量 getColumns 计算每张表的签名，再与上次的快照比较：
+     * 签名未变的表直接复用，只有新增或发生变化的表才逐表读取主键和列信息，已删除的表被移除。
+     * 主键变化不会单独改变签名，如有需要可删除快照后全量重建。
+     * </p>
+     *
+     * @param tableNames    指定的表名，为空时表示全部表
+     * @param ignoreColumns 忽略的列
+     * @param previous      上次的快照，可为 null
+     * @return 新的快照，表结构同时写入数据源
+     */
+    public SchemaCatalog refresh(Collection<String> tableNames, Collection<String> ignoreColumns, SchemaCatalog previous) {
+        try (Connection conn = dataSource.getJdbcDataSource().getConnection()) {
+            DatabaseMetaData dbMeta = conn.getMetaData();
+            String schemaName = dataSource.getSchema();
+
+            Map<String, String> remarks = new LinkedHashMap<>();
+            try (ResultSet rs = getTablesResultSet(dbMeta, conn, schemaName)) {
+                while (rs.next()) {
+                    String tableName = rs.getString("TABLE_NAME");
+                    if (tableNames != null && !tableNames.isEmpty() && !tableNames.contains(tableName)) {
+                        continue;
+                    }
+                    remarks.put(tableName, rs.getString("REMARKS"));
+                }
+            }
+
+            Map<String, String> signatures = buildSignatures(dbMeta, conn, schemaName, remarks, ignoreColumns);
+            Map<String, TableInfo> cached = previous != null ? previous.tableMap() : Collections.emptyMap();
+            Map<String, String> cachedSignatures = previous != null ? previous.getSignatures() : Collections.emptyMap();
+
+            List<TableInfo> tables = new ArrayList<>(remarks.size());
+            for (Map.Entry<String, String> entry : remarks.entrySet()) {
+                String tableName = entry.getKey();
+                TableInfo table = cached.get(tableName);
+                if (table == null || !signatures.get(tableName).equals(cachedSignatures.get(tableName))) {
+                    table = buildTable(dbMeta, conn, schemaName, tableName, entry.getValue(), ignoreColumns);
+                }
+                tables.add(table);
+            }
+
+            dataSource.setTables(tables);
+            return new SchemaCatalog(tables, signatures, System.currentTimeMillis());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 通过一次批量 getColumns 计算每张表的签名，签名包含表注释及各列的名称、类型、长度、可空和注释
+     */
+    protected Map<String, String> buildSignatures(DatabaseMetaData dbMeta, Connection conn, String schemaName,
+                                                  Map<String, String> remarks, Collection<String> ignoreColumns) throws SQLException {
+        Map<String, StringBuilder> contents = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : remarks.entrySet()) {
+            contents.put(entry.getKey(), new StringBuilder(entry.getKey()).append('|').append(entry.getValue()));
+        }
+
+        try (ResultSet rs = getColumnsResultSet(dbMeta, conn, schemaName)) {
+            while (rs.next()) {
+                StringBuilder content = contents.get(rs.getString("TABLE_NAME"));
+                String columnName = rs.getString("COLUMN_NAME");
+                if (content == null || (ignoreColumns != null && ignoreColumns.contains(columnName))) {
+                    continue;
+                }
+                content.append('\n').append(columnName)
+                    .append('|').append(rs.getString("TYPE_NAME"))
+                    .append('|').append(rs.getInt("COLUMN_SIZE"))
+                    .append('|').append(rs.getInt("NULLABLE"))
+                    .append('|').append(rs.getString("REMARKS"));
+            }
+        }
+
+        Map<String, String> signatures = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> entry : contents.entrySet()) {
+            signatures.put(entry.getKey(), HashUtil.sha256(entry.getValue().toString()));
+        }
+        return signatures;
+    }
+
     protected void buildPrimaryKey(DatabaseMetaData dbMeta, Connection conn, TableInfo table) throws SQLException {
         try (ResultSet rs = dbMeta.getPrimaryKeys(conn.getCatalog(), null, table.getName())) {
             while (rs.next()) {
@@ -77,22 +159,25 @@ public class JdbcTableBuilder {
                     continue;
                 }
 
-                TableInfo table = new TableInfo();
+                tables.add(buildTable(dbMeta, conn, schemaName, tableName, rs.getString("REMARKS"), ignoreColumns));
+            }
+        }
+        return tables;
+    }
 
-                table.setSchema(schemaName);
-                table.setName(tableName);
+    protected TableInfo buildTable(DatabaseMetaData dbMeta, Connection conn, String schemaName, String tableName,
+                                   String remarks, Collection<String> ignoreColumns) throws SQLException {
+        TableInfo table = new TableInfo();
 
-                String remarks = rs.getString("REMARKS");
-                table.setDescription(remarks);
+        table.setSchema(schemaName);
+        table.setName(tableName);
+        table.setDescription(remarks);
 
-                buildPrimaryKey(dbMeta, conn, table);
+        buildPrimaryKey(dbMeta, conn, table);
 
-                dialect.buildTableColumns(schemaName, table, dbMeta, conn, ignoreColumns);
+        dialect.buildTableColumns(schemaName, table, dbMeta, conn, ignoreColumns);
 
-                tables.add(table);
-            }
-        }
-        return tables;
+        return table;
     }
 
 
@@ -100,5 +185,9 @@ public class JdbcTableBuilder {
         return dialect.getTablesResultSet(dbMeta, conn, schema, new String[]{"TABLE", "VIEW"});
     }
 
+    protected ResultSet getColumnsResultSet(DatabaseMetaData dbMeta, Connection conn, String schema) throws SQLException {
+        return dialect.getColumnsResultSet(dbMeta, conn, schema);
+    }
+
 
 }
@@ -81,4 +81,18 @@ public interface IDialect {
      */
     ResultSet getTablesResultSet(DatabaseMetaData dbMeta, Connection conn, String schema, String[] types) throws SQLException;
 
+    /**
+     * 获取模式下全部表的列描述信息，用于一次性批量计算表结构签名。
+     * 默认按当前 catalog 与指定模式读取，需要推导默认模式的方言可以覆盖。
+     *
+     * @param dbMeta 数据库元数据
+     * @param conn   连接
+     * @param schema 模式
+     * @return 结果集
+     * @throws SQLException 发生 SQL 异常时抛出
+     */
+    default ResultSet getColumnsResultSet(DatabaseMetaData dbMeta, Connection conn, String schema) throws SQLException {
+        return dbMeta.getColumns(conn.getCatalog(), schema, null, null);
+    }
+
 }
@@ -44,6 +44,11 @@ public class OracleJdbcDialect extends AbstractJdbcDialect {
         return dbMeta.getTables(conn.getCatalog(), StringUtil.hasText(schema) ? schema : dbMeta.getUserName(), null, types);
     }
 
+    @Override
+    public ResultSet getColumnsResultSet(DatabaseMetaData dbMeta, Connection conn, String schema) throws SQLException {
+        return dbMeta.getColumns(conn.getCatalog(), StringUtil.hasText(schema) ? schema : dbMeta.getUserName(), null, null);
+    }
+
     @Override
     protected ResultSet forRemarks(String schema, TableInfo table, DatabaseMetaData dbMeta, Connection conn) throws SQLException {
         if (conn instanceof OracleConnection) {
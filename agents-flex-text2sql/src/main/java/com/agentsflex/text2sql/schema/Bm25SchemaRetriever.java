@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.agentsflex.text2sql.entity.ColumnInfo;
+import com.agentsflex.text2sql.entity.TableInfo;
+
+import java.util.*;
+
+/**
+ * 基于 BM25 的表检索
+ * <p>
+ * 构建时为每张表建立倒排索引，索引内容为表名、表注释、列名和列注释，其中表名权重最高。
+ * 英文按驼峰、下划线切词并做简单的复数归一，中文按相邻两字切分，因此 "订单金额" 可以匹配注释为 "订单总金额" 的列。
+ * 索引构建后只读，可以被多个线程同时检索。
+ * </p>
+ */
+public class Bm25SchemaRetriever implements SchemaRetriever {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int COLUMN_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "a", "an", "the", "of", "in", "on", "for", "to", "by", "and", "or", "with", "is", "are",
+        "what", "which", "how", "many", "much", "show", "list", "me", "all", "each", "per", "from"
+    ));
+
+    private final List<TableInfo> tables;
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private final int[] lengths;
+    private final double averageLength;
+
+    public Bm25SchemaRetriever(List<TableInfo> tables) {
+        this.tables = tables != null ? new ArrayList<>(tables) : new ArrayList<>();
+        this.lengths = new int[this.tables.size()];
+
+        long totalLength = 0;
+        for (int doc = 0; doc < this.tables.size(); doc++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            TableInfo table = this.tables.get(doc);
+            addTokens(frequencies, table.getName(), NAME_WEIGHT);
+            addTokens(frequencies, table.getDescription(), DESCRIPTION_WEIGHT);
+            List<ColumnInfo> columns = table.getColumns();
+            if (columns != null) {
+                for (ColumnInfo column : columns) {
+                    addTokens(frequencies, column.getName(), COLUMN_WEIGHT);
+                    addTokens(frequencies, column.getDescription(), COLUMN_WEIGHT);
+                }
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(new Posting(doc, entry.getValue()));
+                length += entry.getValue();
+            }
+            lengths[doc] = length;
+            totalLength += length;
+        }
+        this.averageLength = this.tables.isEmpty() ? 0 : Math.max(1.0, (double) totalLength / this.tables.size());
+    }
+
+    @Override
+    public List<TableInfo> retrieve(String question, int topK) {
+        if (topK <= 0 || tables.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double[] scores = new double[tables.size()];
+        boolean matched = false;
+        for (String term : new LinkedHashSet<>(tokenize(question))) {
+            List<Posting> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            matched = true;
+            double idf = Math.log(1 + (tables.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            for (Posting posting : termPostings) {
+                double norm = K1 * (1 - B + B * lengths[posting.doc] / averageLength);
+                scores[posting.doc] += idf * posting.frequency * (K1 + 1) / (posting.frequency + norm);
+            }
+        }
+        if (!matched) {
+            return new ArrayList<>();
+        }
+
+        // 小顶堆保留得分最高的 topK 张表，同分时保持原有顺序
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(topK, tables.size()) + 1,
+            (a, b) -> scores[a] != scores[b] ? Double.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] <= 0) {
+                continue;
+            }
+            heap.offer(doc);
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        }
+
+        List<TableInfo> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(tables.get(heap.poll()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * 切词：英文和数字按驼峰、下划线等边界切分并转为小写，中文按相邻两字切分
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder han = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+                flushWord(word, tokens);
+                han.append(c);
+            } else if (Character.isLetterOrDigit(c)) {
+                flushHan(han, tokens);
+                if (word.length() > 0 && isBoundary(word.charAt(word.length() - 1), c)) {
+                    flushWord(word, tokens);
+                }
+                word.append(c);
+            } else {
+                flushWord(word, tokens);
+                flushHan(han, tokens);
+            }
+        }
+        flushWord(word, tokens);
+        flushHan(han, tokens);
+        return tokens;
+    }
+
+    private static boolean isBoundary(char previous, char current) {
+        return (Character.isLowerCase(previous) && Character.isUpperCase(current))
+            || (Character.isDigit(previous) != Character.isDigit(current));
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() == 0) {
+            return;
+        }
+        String token = normalize(word.toString().toLowerCase(Locale.ROOT));
+        word.setLength(0);
+        if (!STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+
+    private static void flushHan(StringBuilder han, List<String> tokens) {
+        if (han.length() == 1) {
+            tokens.add(han.toString());
+        }
+        for (int i = 0; i + 1 < han.length(); i++) {
+            tokens.add(han.substring(i, i + 2));
+        }
+        han.setLength(0);
+    }
+
+    /**
+     * 简单的复数归一：orders -> order，categories -> category
+     */
+    private static String normalize(String token) {
+        if (token.length() > 4 && token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static final class Posting {
+        private final int doc;
+        private final int frequency;
+
+        private Posting(int doc, int frequency) {
+            this.doc = doc;
+            this.frequency = frequency;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.alibaba.fastjson2.JSON;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 以 JSON 文件保存表结构快照，每个数据源一个文件
+ * <p>
+ * 写入时先写临时文件再原子替换，读取失败（文件损坏、版本不兼容）时返回 null，由调用方重新全量构建。
+ * </p>
+ */
+public class FileSchemaCatalogStore implements SchemaCatalogStore {
+
+    private final Path directory;
+
+    public FileSchemaCatalogStore(String directory) {
+        this(Paths.get(directory));
+    }
+
+    public FileSchemaCatalogStore(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        this.directory = directory;
+    }
+
+    @Override
+    public SchemaCatalog load(String key) {
+        Path file = file(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return JSON.parseObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), SchemaCatalog.class);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void save(String key, SchemaCatalog catalog) {
+        Path file = file(key);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try {
+                Files.write(temp, JSON.toJSONString(catalog).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save schema catalog: " + file, e);
+        }
+    }
+
+    private Path file(String key) {
+        if (key == null || !key.matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("Invalid schema catalog key: " + key);
+        }
+        return directory.resolve(key + ".json");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.agentsflex.text2sql.entity.TableInfo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据源的表结构快照
+ * <p>
+ * 除表结构外，还记录每张表的元数据签名（表注释及各列的名称、类型、长度、可空和注释）。
+ * 刷新时只需一次批量元数据查询即可比较签名，只重新读取发生变化或新增的表。
+ * </p>
+ */
+public class SchemaCatalog {
+
+    private List<TableInfo> tables;
+
+    /**
+     * 表名 -> 元数据签名
+     */
+    private Map<String, String> signatures;
+
+    /**
+     * 最近一次刷新时间（毫秒）
+     */
+    private long refreshedAt;
+
+    public SchemaCatalog() {
+    }
+
+    public SchemaCatalog(List<TableInfo> tables, Map<String, String> signatures, long refreshedAt) {
+        this.tables = tables;
+        this.signatures = signatures;
+        this.refreshedAt = refreshedAt;
+    }
+
+    public List<TableInfo> getTables() {
+        return tables != null ? tables : new ArrayList<>();
+    }
+
+    public void setTables(List<TableInfo> tables) {
+        this.tables = tables;
+    }
+
+    public Map<String, String> getSignatures() {
+        return signatures != null ? signatures : new LinkedHashMap<>();
+    }
+
+    public void setSignatures(Map<String, String> signatures) {
+        this.signatures = signatures;
+    }
+
+    public long getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(long refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    /**
+     * 表集合及每张表的签名都相同时，认为结构未发生变化
+     */
+    public boolean hasSameSchema(SchemaCatalog other) {
+        return other != null && getSignatures().equals(other.getSignatures());
+    }
+
+    /**
+     * @return 按表名索引的表结构
+     */
+    public Map<String, TableInfo> tableMap() {
+        Map<String, TableInfo> map = new LinkedHashMap<>();
+        for (TableInfo table : getTables()) {
+            map.put(table.getName(), table);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+/**
+ * 表结构快照的持久化存储
+ * <p>
+ * 应用重启后可直接复用上次的表结构，只需比较签名即可发现变更，而无需逐表重新读取元数据。
+ * </p>
+ */
+public interface SchemaCatalogStore {
+
+    /**
+     * 读取快照
+     *
+     * @param key 数据源标识
+     * @return 快照，不存在或无法读取时返回 null
+     */
+    SchemaCatalog load(String key);
+
+    /**
+     * 保存快照
+     *
+     * @param key     数据源标识
+     * @param catalog 快照
+     */
+    void save(String key, SchemaCatalog catalog);
+}
@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.agentsflex.text2sql.entity.TableInfo;
+
+import java.util.List;
+
+/**
+ * 按问题检索相关表
+ * <p>
+ * 表数量很多时，不再把全部表名放入提示词，而是只返回与问题最相关的 topK 张表。
+ * 默认实现为基于关键词的 {@link Bm25SchemaRetriever}，也可以基于 EmbeddingModel 自行实现。
+ * </p>
+ */
+public interface SchemaRetriever {
+
+    /**
+     * @param question 用户问题或关键词
+     * @param topK     最多返回的表数量
+     * @return 按相关度从高到低排列的表，没有任何匹配时返回空列表
+     */
+    List<TableInfo> retrieve(String question, int topK);
+}
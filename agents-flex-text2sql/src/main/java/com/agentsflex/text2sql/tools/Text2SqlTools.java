@@ -25,6 +25,10 @@ import com.agentsflex.text2sql.entity.ColumnInfo;
 import com.agentsflex.text2sql.entity.DataSourceInfo;
 import com.agentsflex.text2sql.entity.JdbcDataSourceInfo;
 import com.agentsflex.text2sql.entity.TableInfo;
+import com.agentsflex.text2sql.schema.Bm25SchemaRetriever;
+import com.agentsflex.text2sql.schema.SchemaRetriever;
+import com.agentsflex.text2sql.util.ColumnarResultWriter;
+import com.agentsflex.text2sql.util.JdbcQueryOptions;
 import com.agentsflex.text2sql.util.JdbcQueryUtil;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONWriter;
@@ -33,6 +37,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Text2SqlTools - AI Data Query Toolset
@@ -55,12 +61,49 @@ public class Text2SqlTools {
 
     private static final String ERROR_PREFIX = "Error: ";
 
+    public static final int DEFAULT_MAX_ROWS = 200;
+    public static final int DEFAULT_FETCH_SIZE = 200;
+    public static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 30;
+    public static final int DEFAULT_MAX_RESULT_TOKENS = 8000;
+    public static final int DEFAULT_MAX_LISTED_TABLES = 100;
+    public static final int DEFAULT_SCHEMA_TOP_K = 20;
+
     private final List<DataSourceInfo> dataSourceInfos;
     /**
      * SQL interceptor chain
      */
     private final List<SqlInterceptor> sqlInterceptors;
 
+    /**
+     * Statement level limits pushed down to the JDBC driver
+     */
+    private final JdbcQueryOptions queryOptions;
+
+    /**
+     * Token budget of the result returned by queryDataList, 0 means unlimited
+     */
+    private final int maxResultTokens;
+
+    /**
+     * listTables returns the full table list only when the data source has no more tables than this
+     */
+    private int maxListedTables = DEFAULT_MAX_LISTED_TABLES;
+
+    /**
+     * Number of relevant tables returned by listTables for a question on large data sources
+     */
+    private int schemaTopK = DEFAULT_SCHEMA_TOP_K;
+
+    /**
+     * Creates the table retriever of a data source, BM25 keyword ranking by default
+     */
+    private Function<List<TableInfo>, SchemaRetriever> schemaRetrieverFactory = Bm25SchemaRetriever::new;
+
+    /**
+     * Retriever per data source, rebuilt when the table list of the data source is replaced (e.g. refreshed)
+     */
+    private final Map<DataSourceInfo, IndexedTables> retrievers = new ConcurrentHashMap<>();
+
     /**
      * 构造函数（向后兼容，无验证器/重写器）
      */
@@ -74,8 +117,28 @@ public class Text2SqlTools {
      * @param dataSourceInfos 数据源列表
      */
     public Text2SqlTools(List<DataSourceInfo> dataSourceInfos, List<SqlInterceptor> sqlInterceptors) {
+        this(dataSourceInfos, sqlInterceptors,
+            new JdbcQueryOptions(DEFAULT_FETCH_SIZE, DEFAULT_MAX_ROWS, DEFAULT_QUERY_TIMEOUT_SECONDS),
+            DEFAULT_MAX_RESULT_TOKENS);
+    }
+
+    /**
+     * 构造函数（支持结果集限制）
+     *
+     * @param dataSourceInfos 数据源列表
+     * @param sqlInterceptors SQL 拦截器
+     * @param queryOptions    下推给驱动的 fetchSize、maxRows 和查询超时，maxRows 为 queryDataList 返回的最大行数
+     * @param maxResultTokens queryDataList 返回结果的 token 预算，0 表示不限制
+     */
+    public Text2SqlTools(List<DataSourceInfo> dataSourceInfos, List<SqlInterceptor> sqlInterceptors,
+                         JdbcQueryOptions queryOptions, int maxResultTokens) {
+        if (maxResultTokens < 0) {
+            throw new IllegalArgumentException("maxResultTokens must not be negative");
+        }
         this.dataSourceInfos = dataSourceInfos != null ? dataSourceInfos : new ArrayList<>();
         this.sqlInterceptors = sqlInterceptors != null ? new ArrayList<>(sqlInterceptors) : new ArrayList<>();
+        this.queryOptions = queryOptions != null ? queryOptions : new JdbcQueryOptions();
+        this.maxResultTokens = maxResultTokens;
     }
 
     // ========================================================================
@@ -119,7 +182,8 @@ public class Text2SqlTools {
                 "- dataSourceName MUST come from <available_data_sources>\n" +
                 "- Match name strictly (case-sensitive)\n" +
                 "- Never invent data source names\n" +
-                "- If user does not specify data source, list options first\n\n" +
+                "- If user does not specify data source, list options first\n" +
+                "- For data sources with many tables, pass the user question to get only the most relevant tables\n\n" +
 
                 "<available_data_sources>\n" +
                 dataSourceAndDescriptions +
@@ -139,8 +203,19 @@ public class Text2SqlTools {
                         "- NEVER place this value inside parameters.\n")
                     .required(true)
                     .build()
+            )
+            .addParameter(
+                Parameter.builder()
+                    .name("question")
+                    .type("string")
+                    .description("The user question or its keywords (table names, business terms).\n" +
+                        "- Used to rank tables by relevance when the data source has many tables.\n" +
+                        "- Optional for small data sources.\n")
+                    .required(false)
+                    .build()
             ).function(argsMap -> {
                 String dataSourceName = (String) argsMap.get("dataSourceName");
+                Object question = argsMap.get("question");
                 if (dataSourceName == null || dataSourceName.isEmpty()) {
                     return ERROR_PREFIX + "Current data source is empty, please specify a data source name.";
                 } else {
@@ -149,7 +224,7 @@ public class Text2SqlTools {
 
                 for (DataSourceInfo dataSourceInfo : dataSourceInfos) {
                     if (dataSourceInfo.getName().equalsIgnoreCase(dataSourceName)) {
-                        return formatTableList(dataSourceInfo);
+                        return formatTableList(dataSourceInfo, question != null ? question.toString().trim() : null);
                     }
                 }
                 return ERROR_PREFIX + "Data source not found: '" + dataSourceName + "'";
@@ -160,7 +235,7 @@ public class Text2SqlTools {
     /**
      * Format table list into AI-friendly text
      */
-    private String formatTableList(DataSourceInfo dataSourceInfo) {
+    private String formatTableList(DataSourceInfo dataSourceInfo, String question) {
         List<TableInfo> tables = dataSourceInfo.getTables();
         if (tables == null || tables.isEmpty()) {
             return "📭 No available tables under data source '" + dataSourceInfo.getName() + "'";
@@ -170,19 +245,80 @@ public class Text2SqlTools {
         sb.append("📋 Data Source: `").append(dataSourceInfo.getName()).append("`\n")
             .append("Available Tables Count: ").append(tables.size()).append("\n\n");
 
+        List<TableInfo> listed = tables;
+        String note = null;
+        if (maxListedTables > 0 && tables.size() > maxListedTables) {
+            List<TableInfo> relevant = question == null || question.isEmpty()
+                ? null : retrieverOf(dataSourceInfo, tables).retrieve(question, schemaTopK);
+            if (relevant != null && !relevant.isEmpty()) {
+                listed = relevant;
+                sb.append("Most relevant tables for the question (").append(relevant.size()).append(" of ")
+                    .append(tables.size()).append("):\n\n");
+                note = "> 💡 If the required table is not listed, call listTables again with other keywords in `question`\n";
+            } else {
+                listed = tables.subList(0, maxListedTables);
+                note = "> ⚠️ Only the first " + maxListedTables + " tables are listed. "
+                    + "Call listTables again with the user question in `question` to get the most relevant tables\n";
+            }
+        }
+
         sb.append("| Table Name | Description |\n")
             .append("|------------|-------------|\n");
 
-        for (TableInfo table : tables) {
+        for (TableInfo table : listed) {
             sb.append("| `").append(safeStr(table.genName())).append("`")
                 .append(" | ").append(safeStr(table.genDescription()))
                 .append(" |\n");
         }
 
-        sb.append("\n> 💡 Tip: When calling listTableColumns, tableName must use the `Table Name` above");
+        sb.append("\n");
+        if (note != null) {
+            sb.append(note);
+        }
+        sb.append("> 💡 Tip: When calling listTableColumns, tableName must use the `Table Name` above");
         return sb.toString();
     }
 
+    private SchemaRetriever retrieverOf(DataSourceInfo dataSourceInfo, List<TableInfo> tables) {
+        IndexedTables indexed = retrievers.get(dataSourceInfo);
+        if (indexed == null || indexed.tables != tables) {
+            indexed = new IndexedTables(tables, schemaRetrieverFactory.apply(tables));
+            retrievers.put(dataSourceInfo, indexed);
+        }
+        return indexed.retriever;
+    }
+
+    public int getMaxListedTables() {
+        return maxListedTables;
+    }
+
+    /**
+     * @param maxListedTables listTables 返回全部表的上限，超过时按问题检索相关表，0 表示始终返回全部表
+     */
+    public void setMaxListedTables(int maxListedTables) {
+        this.maxListedTables = maxListedTables;
+    }
+
+    public int getSchemaTopK() {
+        return schemaTopK;
+    }
+
+    public void setSchemaTopK(int schemaTopK) {
+        this.schemaTopK = schemaTopK;
+    }
+
+    public Function<List<TableInfo>, SchemaRetriever> getSchemaRetrieverFactory() {
+        return schemaRetrieverFactory;
+    }
+
+    /**
+     * @param schemaRetrieverFactory 根据表列表创建检索器，例如基于 EmbeddingModel 的实现
+     */
+    public void setSchemaRetrieverFactory(Function<List<TableInfo>, SchemaRetriever> schemaRetrieverFactory) {
+        this.schemaRetrieverFactory = schemaRetrieverFactory != null ? schemaRetrieverFactory : Bm25SchemaRetriever::new;
+        this.retrievers.clear();
+    }
+
     // ========================================================================
     // [Step 2] listTableColumns - Get table schema (Returns Markdown string)
     // ========================================================================
@@ -295,7 +431,13 @@ public class Text2SqlTools {
             "- dataSourceName MUST NOT appear inside parameters\n" +
             "- parameters ONLY contains values replacing '?' placeholders\n" +
             "- The number of parameters MUST equal number of '?' in SQL\n" +
-            "- If SQL has no '?', parameters MUST be []\n"
+            "- If SQL has no '?', parameters MUST be []\n\n" +
+
+            "=== Result Format ===\n" +
+            "- Columnar JSON: {\"columns\":[...],\"rows\":[[...]],\"rowCount\":n,\"truncated\":bool}\n" +
+            "- Each row is an array of values in the order of columns\n" +
+            "- When truncated is true, only the first rows are returned (truncatedBy: maxRows or tokenBudget);\n" +
+            "  refine the WHERE clause, select fewer columns or aggregate instead of paging through everything\n"
     )
     public String queryDataList(
         @ToolParam(name = "dataSourceName", description = "Target data source.\n" +
@@ -322,17 +464,19 @@ public class Text2SqlTools {
             parameters,
             context -> {
 
-                List<Map<String, Object>> result =
-                    JdbcQueryUtil.query(
-                        context.getDataSource().getJdbcDataSource(),
-                        context.getSql(),
-                        context.getParameters()
-                    );
+                int maxRows = resolveMaxRows(context);
+                ColumnarResultWriter writer = new ColumnarResultWriter(maxRows, maxResultTokens);
 
-                return JSON.toJSONString(
-                    result,
-                    JSONWriter.Feature.PrettyFormat
+                // 多请求一行，用于判断结果是否被 maxRows 截断
+                JdbcQueryUtil.query(
+                    context.getDataSource().getJdbcDataSource(),
+                    context.getSql(),
+                    context.getParameters(),
+                    queryOptions.withMaxRows(maxRows > 0 ? maxRows + 1 : 0),
+                    writer
                 );
+
+                return writer.toJson();
             }
         );
     }
@@ -393,7 +537,8 @@ public class Text2SqlTools {
                     JdbcQueryUtil.queryOne(
                         context.getDataSource().getJdbcDataSource(),
                         context.getSql(),
-                        context.getParameters()
+                        context.getParameters(),
+                        queryOptions
                     );
 
                 if (result == null) {
@@ -463,7 +608,8 @@ public class Text2SqlTools {
                     JdbcQueryUtil.queryValue(
                         context.getDataSource().getJdbcDataSource(),
                         context.getSql(),
-                        context.getParameters()
+                        context.getParameters(),
+                        queryOptions
                     );
 
                 return result != null
@@ -522,6 +668,18 @@ public class Text2SqlTools {
         }
     }
 
+    /**
+     * 工具配置的 maxRows 与拦截器写入上下文的行数限制取较小值，0 表示不限制
+     */
+    private int resolveMaxRows(SqlExecuteContext context) {
+        int maxRows = queryOptions.getMaxRows();
+        Object limit = context.getAttribute(SqlExecuteContext.MAX_ROWS_ATTRIBUTE);
+        if (limit instanceof Integer && (Integer) limit > 0) {
+            maxRows = maxRows > 0 ? Math.min(maxRows, (Integer) limit) : (Integer) limit;
+        }
+        return maxRows;
+    }
+
     private DataSourceInfo findDataSource(String dataSourceName) {
         if (dataSourceInfos.isEmpty()) {
             return null;
@@ -612,6 +770,17 @@ public class Text2SqlTools {
     }
 
 
+    private static final class IndexedTables {
+        private final List<TableInfo> tables;
+        private final SchemaRetriever retriever;
+
+        private IndexedTables(List<TableInfo> tables, SchemaRetriever retriever) {
+            this.tables = tables;
+            this.retriever = retriever;
+        }
+    }
+
+
     // ========================================================================
     // Builder Pattern
     // ========================================================================
@@ -623,6 +792,13 @@ public class Text2SqlTools {
     public static class Builder {
         private final List<DataSourceInfo> dataSourceInfos = new ArrayList<>();
         private final List<SqlInterceptor> sqlInterceptors = new ArrayList<>();
+        private int maxRows = DEFAULT_MAX_ROWS;
+        private int fetchSize = DEFAULT_FETCH_SIZE;
+        private int queryTimeoutSeconds = DEFAULT_QUERY_TIMEOUT_SECONDS;
+        private int maxResultTokens = DEFAULT_MAX_RESULT_TOKENS;
+        private int maxListedTables = DEFAULT_MAX_LISTED_TABLES;
+        private int schemaTopK = DEFAULT_SCHEMA_TOP_K;
+        private Function<List<TableInfo>, SchemaRetriever> schemaRetrieverFactory;
 
         public Builder addDataSourceInfo(DataSourceInfo dataSourceInfo) {
             if (dataSourceInfo != null) {
@@ -652,6 +828,50 @@ public class Text2SqlTools {
             return this;
         }
 
+        /**
+         * queryDataList 返回的最大行数，同时通过 setMaxRows 下推给驱动，0 表示不限制
+         */
+        public Builder maxRows(int maxRows) {
+            this.maxRows = maxRows;
+            return this;
+        }
+
+        public Builder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        public Builder queryTimeoutSeconds(int queryTimeoutSeconds) {
+            this.queryTimeoutSeconds = queryTimeoutSeconds;
+            return this;
+        }
+
+        /**
+         * queryDataList 返回结果的 token 预算，0 表示不限制
+         */
+        public Builder maxResultTokens(int maxResultTokens) {
+            this.maxResultTokens = maxResultTokens;
+            return this;
+        }
+
+        /**
+         * 数据源的表数量超过该值时，listTables 只返回与问题最相关的 schemaTopK 张表，0 表示始终返回全部表
+         */
+        public Builder maxListedTables(int maxListedTables) {
+            this.maxListedTables = maxListedTables;
+            return this;
+        }
+
+        public Builder schemaTopK(int schemaTopK) {
+            this.schemaTopK = schemaTopK;
+            return this;
+        }
+
+        public Builder schemaRetrieverFactory(Function<List<TableInfo>, SchemaRetriever> schemaRetrieverFactory) {
+            this.schemaRetrieverFactory = schemaRetrieverFactory;
+            return this;
+        }
+
         public List<Tool> buildTools() {
             for (DataSourceInfo dataSourceInfo : this.dataSourceInfos) {
                 if (dataSourceInfo instanceof JdbcDataSourceInfo) {
@@ -662,7 +882,11 @@ public class Text2SqlTools {
                 }
             }
 
-            Text2SqlTools text2SqlTools = new Text2SqlTools(this.dataSourceInfos, this.sqlInterceptors);
+            Text2SqlTools text2SqlTools = new Text2SqlTools(this.dataSourceInfos, this.sqlInterceptors,
+                new JdbcQueryOptions(fetchSize, maxRows, queryTimeoutSeconds), maxResultTokens);
+            text2SqlTools.setMaxListedTables(maxListedTables);
+            text2SqlTools.setSchemaTopK(schemaTopK);
+            text2SqlTools.setSchemaRetrieverFactory(schemaRetrieverFactory);
 
             List<Tool> tools = new ArrayList<>();
             tools.add(text2SqlTools.buildListTablesTool());
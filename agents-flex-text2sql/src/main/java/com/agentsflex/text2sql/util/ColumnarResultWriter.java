@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.util;
+
+import com.agentsflex.core.util.LocalTokenCounter;
+import com.alibaba.fastjson2.JSON;
+
+/**
+ * 将流式查询结果编码为返回给模型的紧凑列式 JSON
+ * <p>
+ * 列名只在表头出现一次，每行编码为一个值数组：
+ * <pre>
+ * {"columns":["id","name"],"rows":[[1,"a"],[2,"b"]],"rowCount":2,"truncated":false}
+ * </pre>
+ * 超过 maxRows 或 token 预算时停止读取，并通过 {@code truncated} 与 {@code truncatedBy} 告知模型结果不完整。
+ * 为判断是否还有更多行，执行查询时应向驱动请求 {@code maxRows + 1} 行。
+ * </p>
+ */
+public class ColumnarResultWriter implements JdbcRowHandler {
+
+    public static final String TRUNCATED_BY_MAX_ROWS = "maxRows";
+    public static final String TRUNCATED_BY_TOKEN_BUDGET = "tokenBudget";
+
+    private final int maxRows;
+    private final int maxTokens;
+    private final StringBuilder rows = new StringBuilder();
+
+    private String header = "[]";
+    private int rowCount;
+    private int usedTokens;
+    private String truncatedBy;
+
+    /**
+     * @param maxRows   最多输出的行数，0 表示不限制
+     * @param maxTokens 行数据的 token 预算（含表头），0 表示不限制
+     */
+    public ColumnarResultWriter(int maxRows, int maxTokens) {
+        if (maxRows < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("maxRows and maxTokens must not be negative");
+        }
+        this.maxRows = maxRows;
+        this.maxTokens = maxTokens;
+    }
+
+    @Override
+    public void onColumns(String[] labels) {
+        header = JSON.toJSONString(labels);
+        usedTokens = countTokens(header);
+    }
+
+    @Override
+    public boolean onRow(Object[] values) {
+        if (maxRows > 0 && rowCount >= maxRows) {
+            truncatedBy = TRUNCATED_BY_MAX_ROWS;
+            return false;
+        }
+        String row = JSON.toJSONString(values);
+        int tokens = countTokens(row);
+        if (maxTokens > 0 && usedTokens + tokens > maxTokens) {
+            truncatedBy = TRUNCATED_BY_TOKEN_BUDGET;
+            return false;
+        }
+        if (rowCount > 0) {
+            rows.append(',');
+        }
+        rows.append(row);
+        usedTokens += tokens;
+        rowCount++;
+        return true;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean isTruncated() {
+        return truncatedBy != null;
+    }
+
+    /**
+     * @return 截断原因，未截断时为 null
+     */
+    public String getTruncatedBy() {
+        return truncatedBy;
+    }
+
+    /**
+     * @return 列式 JSON 文本
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(rows.length() + header.length() + 96);
+        json.append("{\"columns\":").append(header)
+            .append(",\"rows\":[").append(rows).append(']')
+            .append(",\"rowCount\":").append(rowCount)
+            .append(",\"truncated\":").append(isTruncated());
+        if (truncatedBy != null) {
+            json.append(",\"truncatedBy\":\"").append(truncatedBy).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private int countTokens(String text) {
+        return maxTokens > 0 ? LocalTokenCounter.countTokensUncached(text) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.util;
+
+/**
+ * JDBC 查询的语句级限制
+ * <p>
+ * 所有限制都通过 {@link java.sql.Statement} 下推给驱动，而不是在结果读取完成后再截断。
+ * 取值为 0 表示使用驱动默认行为。
+ * </p>
+ * <p>
+ * 注意：MySQL Connector/J 默认会一次性缓冲整个结果集，需要在 JDBC URL 中加入 {@code useCursorFetch=true}
+ * 后 fetchSize 才会生效；maxRows 对所有驱动都会限制服务端返回的行数。
+ * </p>
+ */
+public class JdbcQueryOptions {
+
+    /**
+     * 每次网络往返读取的行数
+     */
+    private int fetchSize;
+
+    /**
+     * 结果集最多返回的行数
+     */
+    private int maxRows;
+
+    /**
+     * 查询超时时间（秒）
+     */
+    private int queryTimeoutSeconds;
+
+    public JdbcQueryOptions() {
+    }
+
+    public JdbcQueryOptions(int fetchSize, int maxRows, int queryTimeoutSeconds) {
+        setFetchSize(fetchSize);
+        setMaxRows(maxRows);
+        setQueryTimeoutSeconds(queryTimeoutSeconds);
+    }
+
+    /**
+     * 返回只改变 maxRows 的副本
+     */
+    public JdbcQueryOptions withMaxRows(int maxRows) {
+        return new JdbcQueryOptions(fetchSize, maxRows, queryTimeoutSeconds);
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must not be negative");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(int maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("maxRows must not be negative");
+        }
+        this.maxRows = maxRows;
+    }
+
+    public int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+
+    public void setQueryTimeoutSeconds(int queryTimeoutSeconds) {
+        if (queryTimeoutSeconds < 0) {
+            throw new IllegalArgumentException("queryTimeoutSeconds must not be negative");
+        }
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+}
@@ -37,43 +37,97 @@ public class JdbcQueryUtil {
      * @throws SQLException SQL 异常
      */
     public static List<Map<String, Object>> query(DataSource dataSource, String sql, List<Object> params) throws SQLException {
+        return query(dataSource, sql, params, null);
+    }
+
+    /**
+     * 执行查询 SQL，返回结果列表；行数、fetchSize 和超时由 options 下推给驱动
+     */
+    public static List<Map<String, Object>> query(DataSource dataSource, String sql, List<Object> params,
+                                                  JdbcQueryOptions options) throws SQLException {
+        List<Map<String, Object>> result = new ArrayList<>();
+        query(dataSource, sql, params, options, new JdbcRowHandler() {
+            private String[] labels;
+
+            @Override
+            public void onColumns(String[] labels) {
+                this.labels = labels;
+            }
+
+            @Override
+            public boolean onRow(Object[] values) {
+                result.add(toMap(labels, values));
+                return true;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 以流式方式执行查询 SQL，逐行交给 handler 处理，handler 返回 false 时提前结束
+     *
+     * @param dataSource 数据源
+     * @param sql        查询 SQL（支持 ? 占位符）
+     * @param params     参数值数组
+     * @param options    语句级限制，可为 null
+     * @param handler    行处理器
+     * @throws SQLException SQL 异常
+     */
+    public static void query(DataSource dataSource, String sql, List<Object> params, JdbcQueryOptions options,
+                             JdbcRowHandler handler) throws SQLException {
         if (StringUtil.noText(sql)) {
             throw new SQLException("SQL语句不能为空");
         }
 
-        List<Map<String, Object>> result = new ArrayList<>();
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            applyOptions(ps, options);
 
             // 设置参数
-            for (int i = 0; i < params.size(); i++) {
-                ps.setObject(i + 1, params.get(i));
+            if (params != null) {
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
             }
 
             try (ResultSet rs = ps.executeQuery()) {
                 ResultSetMetaData metaData = rs.getMetaData();
                 int columnCount = metaData.getColumnCount();
+                String[] labels = new String[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    labels[i - 1] = metaData.getColumnLabel(i);
+                }
+                handler.onColumns(labels);
 
                 while (rs.next()) {
-                    Map<String, Object> row = new LinkedHashMap<>();
+                    Object[] values = new Object[columnCount];
                     for (int i = 1; i <= columnCount; i++) {
-                        String label = metaData.getColumnLabel(i);
-                        Object value = rs.getObject(i);
-                        row.put(label, value);
+                        values[i - 1] = rs.getObject(i);
+                    }
+                    if (!handler.onRow(values)) {
+                        break;
                     }
-                    result.add(row);
                 }
             }
         }
-        return result;
     }
 
     /**
      * 执行查询 SQL，返回单行结果（若无结果则返回 null）
      */
     public static Map<String, Object> queryOne(DataSource dataSource, String sql, List<Object> params) throws SQLException {
-        List<Map<String, Object>> list = query(dataSource, sql, params);
-        return list.isEmpty() ? null : list.get(0);
+        return queryOne(dataSource, sql, params, null);
+    }
+
+    /**
+     * 执行查询 SQL，返回单行结果；驱动最多返回一行，读取到首行后立即结束
+     */
+    public static Map<String, Object> queryOne(DataSource dataSource, String sql, List<Object> params,
+                                               JdbcQueryOptions options) throws SQLException {
+        FirstRowHandler handler = new FirstRowHandler();
+        query(dataSource, sql, params, firstRowOptions(options), handler);
+        return handler.values == null ? null : toMap(handler.labels, handler.values);
     }
 
 
@@ -81,10 +135,63 @@ public class JdbcQueryUtil {
      * 执行查询 SQL，返回单个值（如 count、sum 等）
      */
     public static Object queryValue(DataSource dataSource, String sql, List<Object> params) throws SQLException {
-        Map<String, Object> row = queryOne(dataSource, sql, params);
-        if (row == null || row.isEmpty()) {
+        return queryValue(dataSource, sql, params, null);
+    }
+
+    /**
+     * 执行查询 SQL，返回首行首列的值；驱动最多返回一行
+     */
+    public static Object queryValue(DataSource dataSource, String sql, List<Object> params,
+                                    JdbcQueryOptions options) throws SQLException {
+        FirstRowHandler handler = new FirstRowHandler();
+        query(dataSource, sql, params, firstRowOptions(options), handler);
+        if (handler.values == null || handler.values.length == 0) {
             return null;
         }
-        return row.values().iterator().next();
+        return handler.values[0];
+    }
+
+    private static void applyOptions(PreparedStatement ps, JdbcQueryOptions options) throws SQLException {
+        if (options == null) {
+            return;
+        }
+        if (options.getFetchSize() > 0) {
+            ps.setFetchSize(options.getFetchSize());
+        }
+        if (options.getMaxRows() > 0) {
+            ps.setMaxRows(options.getMaxRows());
+        }
+        if (options.getQueryTimeoutSeconds() > 0) {
+            ps.setQueryTimeout(options.getQueryTimeoutSeconds());
+        }
+    }
+
+    private static JdbcQueryOptions firstRowOptions(JdbcQueryOptions options) {
+        int timeout = options == null ? 0 : options.getQueryTimeoutSeconds();
+        return new JdbcQueryOptions(1, 1, timeout);
+    }
+
+    private static Map<String, Object> toMap(String[] labels, Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            row.put(labels[i], values[i]);
+        }
+        return row;
+    }
+
+    private static class FirstRowHandler implements JdbcRowHandler {
+        private String[] labels;
+        private Object[] values;
+
+        @Override
+        public void onColumns(String[] labels) {
+            this.labels = labels;
+        }
+
+        @Override
+        public boolean onRow(Object[] values) {
+            this.values = values;
+            return false;
+        }
     }
 }
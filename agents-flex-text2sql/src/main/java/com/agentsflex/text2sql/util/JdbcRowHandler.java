@@ -0,0 +1,43 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.util;
+
+import java.sql.SQLException;
+
+/**
+ * 逐行处理查询结果的回调
+ * <p>
+ * 结果集不会被整体加载到内存中；{@link #onRow(Object[])} 返回 false 时立即停止读取并关闭结果集。
+ * </p>
+ */
+public interface JdbcRowHandler {
+
+    /**
+     * 读取第一行之前回调一次
+     *
+     * @param labels 列标签，按结果集顺序
+     */
+    default void onColumns(String[] labels) {
+    }
+
+    /**
+     * 处理一行数据
+     *
+     * @param values 当前行的列值，数组在回调之间不会复用
+     * @return 是否继续读取下一行
+     */
+    boolean onRow(Object[] values) throws SQLException;
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.interceptor;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LimitSqlInterceptorTest {
+
+    private final LimitSqlInterceptor interceptor = new LimitSqlInterceptor(100);
+
+    @Test
+    public void shouldAppendLimitWhenMissing() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 100", interceptor.applyLimit("SELECT * FROM t"));
+    }
+
+    @Test
+    public void shouldStripTrailingSemicolons() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 100", interceptor.applyLimit("  SELECT * FROM t ;; "));
+        Assert.assertEquals("SELECT * FROM t LIMIT 10", interceptor.applyLimit("SELECT * FROM t LIMIT 10;"));
+    }
+
+    @Test
+    public void shouldKeepOrClampSingleLimit() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 10", interceptor.applyLimit("SELECT * FROM t LIMIT 10"));
+        Assert.assertEquals("SELECT * FROM t LIMIT 100", interceptor.applyLimit("SELECT * FROM t LIMIT 100"));
+        Assert.assertEquals("SELECT * FROM t limit 100", interceptor.applyLimit("SELECT * FROM t limit 5000"));
+    }
+
+    @Test
+    public void shouldClampCountOfOffsetCommaForm() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 20, 50", interceptor.applyLimit("SELECT * FROM t LIMIT 20, 50"));
+        Assert.assertEquals("SELECT * FROM t LIMIT 5000,100", interceptor.applyLimit("SELECT * FROM t LIMIT 5000,9999"));
+    }
+
+    @Test
+    public void shouldClampCountOfOffsetKeywordForm() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 50 OFFSET 5000",
+            interceptor.applyLimit("SELECT * FROM t LIMIT 50 OFFSET 5000"));
+        Assert.assertEquals("SELECT * FROM t LIMIT 100 OFFSET 20",
+            interceptor.applyLimit("SELECT * FROM t LIMIT 9999 OFFSET 20"));
+    }
+
+    @Test
+    public void shouldLeavePlaceholderLimitUntouched() {
+        Assert.assertEquals("SELECT * FROM t LIMIT ?", interceptor.applyLimit("SELECT * FROM t LIMIT ?"));
+        Assert.assertEquals("SELECT * FROM t LIMIT ? OFFSET ?", interceptor.applyLimit("SELECT * FROM t LIMIT ? OFFSET ?;"));
+    }
+
+    @Test
+    public void shouldLeaveSubQueryLimitUntouched() {
+        String sql = "SELECT * FROM (SELECT * FROM t ORDER BY id LIMIT 5000) x WHERE x.a > 1";
+        Assert.assertEquals(sql, interceptor.applyLimit(sql));
+    }
+
+    @Test
+    public void shouldClampLimitLiteralBeyondLongRange() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 100",
+            interceptor.applyLimit("SELECT * FROM t LIMIT 99999999999999999999"));
+        Assert.assertEquals("SELECT * FROM t LIMIT 0, 100",
+            interceptor.applyLimit("SELECT * FROM t LIMIT 0, 123456789012345678901234"));
+    }
+
+    @Test
+    public void shouldIgnoreLeadingZerosOfLimitLiteral() {
+        Assert.assertEquals("SELECT * FROM t LIMIT 0000000000000000000000010",
+            interceptor.applyLimit("SELECT * FROM t LIMIT 0000000000000000000000010"));
+        Assert.assertEquals("SELECT * FROM t LIMIT 0", interceptor.applyLimit("SELECT * FROM t LIMIT 0"));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.jdbc;
+
+import com.agentsflex.text2sql.entity.JdbcDataSourceInfo;
+import com.agentsflex.text2sql.entity.TableInfo;
+import com.agentsflex.text2sql.jdbc.dialect.impl.DefaultJdbcDialect;
+import com.agentsflex.text2sql.schema.SchemaCatalog;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JdbcTableBuilderTest {
+
+    private final AtomicInteger columnsQueries = new AtomicInteger();
+    private JdbcDataSource h2;
+    private JdbcDataSourceInfo dataSource;
+    private JdbcTableBuilder builder;
+
+    @Before
+    public void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:table_builder_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        execute("CREATE TABLE orders(id BIGINT PRIMARY KEY, amount DECIMAL(10, 2))",
+            "CREATE TABLE customer(id BIGINT PRIMARY KEY, name VARCHAR(64))",
+            "CREATE TABLE product(id BIGINT PRIMARY KEY, price DECIMAL(10, 2))");
+
+        dataSource = new JdbcDataSourceInfo();
+        dataSource.setName("test");
+        dataSource.setSchema("PUBLIC");
+        dataSource.setJdbcDataSource(h2);
+        builder = new JdbcTableBuilder(dataSource, new DefaultJdbcDialect() {
+            @Override
+            public ResultSet getColumnsResultSet(DatabaseMetaData dbMeta, Connection conn, String schema) throws SQLException {
+                columnsQueries.incrementAndGet();
+                return super.getColumnsResultSet(dbMeta, conn, schema);
+            }
+        });
+    }
+
+    @Test
+    public void shouldReadColumnsThroughDialect() {
+        SchemaCatalog catalog = builder.refresh(null, null, null);
+
+        Assert.assertEquals(1, columnsQueries.get());
+        Assert.assertEquals(3, catalog.getSignatures().size());
+        Assert.assertEquals(3, dataSource.getTables().size());
+        Assert.assertTrue(catalog.tableMap().get("ORDERS").hasPrimaryKey("ID"));
+    }
+
+    @Test
+    public void shouldReuseUnchangedTables() {
+        SchemaCatalog first = builder.refresh(null, null, null);
+        SchemaCatalog second = builder.refresh(null, null, first);
+
+        Assert.assertTrue(second.hasSameSchema(first));
+        for (Map.Entry<String, TableInfo> entry : first.tableMap().entrySet()) {
+            Assert.assertSame(entry.getValue(), second.tableMap().get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void shouldRebuildChangedAndRemoveDroppedTables() throws Exception {
+        SchemaCatalog first = builder.refresh(null, null, null);
+
+        execute("ALTER TABLE customer ADD COLUMN email VARCHAR(128)", "DROP TABLE product");
+        SchemaCatalog second = builder.refresh(null, null, first);
+
+        Assert.assertFalse(second.hasSameSchema(first));
+        Map<String, TableInfo> tables = second.tableMap();
+        Assert.assertEquals(2, tables.size());
+        Assert.assertFalse(tables.containsKey("PRODUCT"));
+        Assert.assertSame(first.tableMap().get("ORDERS"), tables.get("ORDERS"));
+        Assert.assertNotSame(first.tableMap().get("CUSTOMER"), tables.get("CUSTOMER"));
+        Assert.assertEquals(3, tables.get("CUSTOMER").getColumns().size());
+        Assert.assertNotEquals(first.getSignatures().get("CUSTOMER"), second.getSignatures().get("CUSTOMER"));
+        Assert.assertEquals(first.getSignatures().get("ORDERS"), second.getSignatures().get("ORDERS"));
+    }
+
+    private void execute(String... sqls) throws SQLException {
+        try (Connection conn = h2.getConnection(); Statement st = conn.createStatement()) {
+            for (String sql : sqls) {
+                st.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.agentsflex.text2sql.entity.ColumnInfo;
+import com.agentsflex.text2sql.entity.TableInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Bm25SchemaRetrieverTest {
+
+    @Test
+    public void shouldSplitCamelCaseSnakeCaseAndDigits() {
+        Assert.assertEquals(Arrays.asList("order", "item"), Bm25SchemaRetriever.tokenize("orderItems"));
+        Assert.assertEquals(Arrays.asList("user", "category"), Bm25SchemaRetriever.tokenize("USER_categories"));
+        Assert.assertEquals(Arrays.asList("order", "2024"), Bm25SchemaRetriever.tokenize("order2024"));
+    }
+
+    @Test
+    public void shouldFoldPluralsAndDropStopWords() {
+        Assert.assertEquals(Arrays.asList("order", "customer"), Bm25SchemaRetriever.tokenize("show all orders of the customers"));
+        Assert.assertEquals(Collections.singletonList("class"), Bm25SchemaRetriever.tokenize("class"));
+        Assert.assertEquals(Collections.singletonList("bus"), Bm25SchemaRetriever.tokenize("bus"));
+    }
+
+    @Test
+    public void shouldSplitChineseIntoBigrams() {
+        Assert.assertEquals(Arrays.asList("订单", "单金", "金额"), Bm25SchemaRetriever.tokenize("订单金额"));
+        Assert.assertEquals(Arrays.asList("表", "user", "用户", "户名"), Bm25SchemaRetriever.tokenize("表 user用户名"));
+        Assert.assertTrue(Bm25SchemaRetriever.tokenize(null).isEmpty());
+    }
+
+    @Test
+    public void shouldRankTablesByRelevance() {
+        List<TableInfo> tables = Arrays.asList(
+            table("sys_user", "系统用户", column("user_name", "用户名"), column("email", "邮箱")),
+            table("order_item", "订单明细", column("order_id", "订单编号"), column("amount", "明细金额")),
+            table("orders", "订单", column("total_amount", "订单总金额"), column("user_id", "下单用户")),
+            table("product", "商品", column("price", "价格"))
+        );
+        Bm25SchemaRetriever retriever = new Bm25SchemaRetriever(tables);
+
+        List<TableInfo> result = retriever.retrieve("订单金额", 2);
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals("orders", result.get(0).getName());
+        Assert.assertEquals("order_item", result.get(1).getName());
+
+        Assert.assertEquals("orders", retriever.retrieve("total order amount", 1).get(0).getName());
+        Assert.assertEquals("product", retriever.retrieve("product prices", 5).get(0).getName());
+        Assert.assertEquals(1, retriever.retrieve("product prices", 5).size());
+    }
+
+    @Test
+    public void shouldReturnEmptyWithoutMatches() {
+        Bm25SchemaRetriever retriever = new Bm25SchemaRetriever(Collections.singletonList(table("orders", "订单")));
+        Assert.assertTrue(retriever.retrieve("weather", 5).isEmpty());
+        Assert.assertTrue(retriever.retrieve("orders", 0).isEmpty());
+        Assert.assertTrue(new Bm25SchemaRetriever(null).retrieve("orders", 5).isEmpty());
+    }
+
+    private static TableInfo table(String name, String description, ColumnInfo... columns) {
+        TableInfo table = new TableInfo();
+        table.setName(name);
+        table.setDescription(description);
+        table.setColumns(new ArrayList<>(Arrays.asList(columns)));
+        return table;
+    }
+
+    private static ColumnInfo column(String name, String description) {
+        ColumnInfo column = new ColumnInfo();
+        column.setName(name);
+        column.setDescription(description);
+        return column;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.schema;
+
+import com.agentsflex.text2sql.entity.ColumnInfo;
+import com.agentsflex.text2sql.entity.TableInfo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class FileSchemaCatalogStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldRoundTripCatalog() throws Exception {
+        FileSchemaCatalogStore store = new FileSchemaCatalogStore(folder.getRoot().toPath().resolve("catalogs"));
+        Assert.assertNull(store.load("ds1"));
+
+        TableInfo table = new TableInfo();
+        table.setSchema("PUBLIC");
+        table.setName("orders");
+        table.setDescription("订单");
+        table.addPrimaryKey("id");
+        ColumnInfo column = new ColumnInfo();
+        column.setName("id");
+        column.setType("BIGINT");
+        column.setPrimaryKey(true);
+        table.addColumn(column);
+        Map<String, String> signatures = new LinkedHashMap<>();
+        signatures.put("orders", "abc");
+
+        store.save("ds1", new SchemaCatalog(Collections.singletonList(table), signatures, 42L));
+        SchemaCatalog loaded = store.load("ds1");
+
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(42L, loaded.getRefreshedAt());
+        Assert.assertEquals(signatures, loaded.getSignatures());
+        TableInfo loadedTable = loaded.tableMap().get("orders");
+        Assert.assertEquals("订单", loadedTable.getDescription());
+        Assert.assertEquals("PUBLIC", loadedTable.getSchema());
+        Assert.assertTrue(loadedTable.hasPrimaryKey("id"));
+        Assert.assertEquals("BIGINT", loadedTable.getColumns().get(0).getType());
+        Assert.assertTrue(loaded.hasSameSchema(store.load("ds1")));
+
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath().resolve("catalogs"))) {
+            Assert.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void shouldReturnNullForCorruptedFile() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Files.write(directory.resolve("broken.json"), "{not json".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(new FileSchemaCatalogStore(directory).load("broken"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectKeyEscapingDirectory() {
+        new FileSchemaCatalogStore(folder.getRoot().toPath()).load("../outside");
+    }
+}
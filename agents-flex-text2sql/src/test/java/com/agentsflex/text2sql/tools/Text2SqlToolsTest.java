@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.tools;
+
+import com.agentsflex.core.model.chat.tool.Tool;
+import com.agentsflex.text2sql.entity.JdbcDataSourceInfo;
+import com.agentsflex.text2sql.entity.TableInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Text2SqlToolsTest {
+
+    private JdbcDataSourceInfo dataSource;
+    private Text2SqlTools tools;
+
+    @Before
+    public void setUp() {
+        List<TableInfo> tables = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tables.add(table("log_" + i, "日志分区 " + i));
+        }
+        tables.add(table("orders", "订单"));
+        tables.add(table("customer", "客户"));
+
+        dataSource = new JdbcDataSourceInfo();
+        dataSource.setName("shop");
+        dataSource.setTables(tables);
+        tools = new Text2SqlTools(Collections.singletonList(dataSource));
+        tools.setSchemaTopK(3);
+    }
+
+    @Test
+    public void shouldListAllTablesBelowLimit() {
+        tools.setMaxListedTables(10);
+
+        String result = listTables("orders");
+
+        Assert.assertTrue(result.contains("Available Tables Count: 10"));
+        Assert.assertTrue(result.contains("`log_0`"));
+        Assert.assertTrue(result.contains("`customer`"));
+        Assert.assertFalse(result.contains("Most relevant tables"));
+        Assert.assertFalse(result.contains("Only the first"));
+    }
+
+    @Test
+    public void shouldListRelevantTablesAboveLimit() {
+        tools.setMaxListedTables(5);
+
+        String result = listTables("查询每个客户的订单数量");
+
+        Assert.assertTrue(result.contains("Available Tables Count: 10"));
+        Assert.assertTrue(result.contains("Most relevant tables for the question (2 of 10)"));
+        Assert.assertTrue(result.contains("`orders`"));
+        Assert.assertTrue(result.contains("`customer`"));
+        Assert.assertFalse(result.contains("`log_0`"));
+    }
+
+    @Test
+    public void shouldListFirstTablesAboveLimitWithoutQuestionOrMatch() {
+        tools.setMaxListedTables(5);
+
+        for (String question : new String[]{null, "weather"}) {
+            String result = listTables(question);
+            Assert.assertTrue(result.contains("Only the first 5 tables are listed"));
+            Assert.assertTrue(result.contains("`log_4`"));
+            Assert.assertFalse(result.contains("`log_5`"));
+            Assert.assertFalse(result.contains("`orders`"));
+        }
+    }
+
+    @Test
+    public void shouldAlwaysListAllTablesWhenLimitDisabled() {
+        tools.setMaxListedTables(0);
+
+        String result = listTables(null);
+
+        Assert.assertTrue(result.contains("`log_7`"));
+        Assert.assertTrue(result.contains("`customer`"));
+        Assert.assertFalse(result.contains("Only the first"));
+    }
+
+    private String listTables(String question) {
+        Tool tool = tools.buildListTablesTool();
+        Map<String, Object> args = new HashMap<>();
+        args.put("dataSourceName", "shop");
+        if (question != null) {
+            args.put("question", question);
+        }
+        return String.valueOf(tool.invoke(args));
+    }
+
+    private static TableInfo table(String name, String description) {
+        TableInfo table = new TableInfo();
+        table.setName(name);
+        table.setDescription(description);
+        return table;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.util;
+
+import com.agentsflex.core.util.LocalTokenCounter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ColumnarResultWriterTest {
+
+    @Test
+    public void shouldWriteAllRowsWithinLimits() {
+        ColumnarResultWriter writer = new ColumnarResultWriter(10, 0);
+        writer.onColumns(new String[]{"id", "name"});
+        Assert.assertTrue(writer.onRow(new Object[]{1, "a"}));
+        Assert.assertTrue(writer.onRow(new Object[]{2, "b"}));
+
+        Assert.assertEquals(2, writer.getRowCount());
+        Assert.assertFalse(writer.isTruncated());
+        Assert.assertNull(writer.getTruncatedBy());
+        Assert.assertEquals("{\"columns\":[\"id\",\"name\"],\"rows\":[[1,\"a\"],[2,\"b\"]],\"rowCount\":2,\"truncated\":false}",
+            writer.toJson());
+    }
+
+    @Test
+    public void shouldTruncateByMaxRows() {
+        ColumnarResultWriter writer = new ColumnarResultWriter(2, 0);
+        writer.onColumns(new String[]{"id"});
+        Assert.assertTrue(writer.onRow(new Object[]{1}));
+        Assert.assertTrue(writer.onRow(new Object[]{2}));
+        Assert.assertFalse(writer.onRow(new Object[]{3}));
+
+        Assert.assertEquals(2, writer.getRowCount());
+        Assert.assertTrue(writer.isTruncated());
+        Assert.assertEquals(ColumnarResultWriter.TRUNCATED_BY_MAX_ROWS, writer.getTruncatedBy());
+        Assert.assertTrue(writer.toJson().endsWith("\"rowCount\":2,\"truncated\":true,\"truncatedBy\":\"maxRows\"}"));
+    }
+
+    @Test
+    public void shouldTruncateByTokenBudget() {
+        String value = "the quick brown fox jumps over the lazy dog";
+        int headerTokens = LocalTokenCounter.countTokensUncached("[\"text\"]");
+        int rowTokens = LocalTokenCounter.countTokensUncached("[\"" + value + "\"]");
+        ColumnarResultWriter writer = new ColumnarResultWriter(0, headerTokens + rowTokens * 2);
+        writer.onColumns(new String[]{"text"});
+
+        Assert.assertTrue(writer.onRow(new Object[]{value}));
+        Assert.assertTrue(writer.onRow(new Object[]{value}));
+        Assert.assertFalse(writer.onRow(new Object[]{value}));
+
+        Assert.assertEquals(2, writer.getRowCount());
+        Assert.assertEquals(ColumnarResultWriter.TRUNCATED_BY_TOKEN_BUDGET, writer.getTruncatedBy());
+        Assert.assertTrue(writer.toJson().contains("\"truncatedBy\":\"tokenBudget\""));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2023-2026, Agents-Flex (fuhai999@gmail.com).
+ *  <p>
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  <p>
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  <p>
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.agentsflex.text2sql.util;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JdbcQueryUtilTest {
+
+    private final AtomicInteger nextCalls = new AtomicInteger();
+    private final AtomicInteger maxRows = new AtomicInteger(-1);
+    private DataSource dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:query_util_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (Connection conn = h2.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE item(id INT PRIMARY KEY, name VARCHAR(32))");
+            st.execute("INSERT INTO item SELECT X, 'item-' || X FROM SYSTEM_RANGE(1, 100)");
+        }
+        dataSource = countingDataSource(h2);
+    }
+
+    @Test
+    public void queryOneShouldStopAfterFirstRow() throws Exception {
+        Map<String, Object> row = JdbcQueryUtil.queryOne(dataSource, "SELECT id, name FROM item ORDER BY id", null);
+
+        Assert.assertNotNull(row);
+        Assert.assertEquals(1, ((Number) row.get("ID")).intValue());
+        Assert.assertEquals("item-1", row.get("NAME"));
+        Assert.assertEquals(1, nextCalls.get());
+        Assert.assertEquals(1, maxRows.get());
+    }
+
+    @Test
+    public void queryValueShouldStopAfterFirstRow() throws Exception {
+        Object value = JdbcQueryUtil.queryValue(dataSource, "SELECT name FROM item WHERE id > ? ORDER BY id",
+            Collections.<Object>singletonList(10));
+
+        Assert.assertEquals("item-11", value);
+        Assert.assertEquals(1, nextCalls.get());
+        Assert.assertEquals(1, maxRows.get());
+    }
+
+    @Test
+    public void queryOneShouldReturnNullWithoutRows() throws Exception {
+        Assert.assertNull(JdbcQueryUtil.queryOne(dataSource, "SELECT id FROM item WHERE id < 0", null));
+        Assert.assertNull(JdbcQueryUtil.queryValue(dataSource, "SELECT id FROM item WHERE id < 0", null));
+    }
+
+    @Test
+    public void queryShouldPushMaxRowsToDriver() throws Exception {
+        List<Map<String, Object>> rows = JdbcQueryUtil.query(dataSource, "SELECT id FROM item", null,
+            new JdbcQueryOptions(0, 5, 0));
+
+        Assert.assertEquals(5, rows.size());
+        Assert.assertEquals(5, maxRows.get());
+    }
+
+    private DataSource countingDataSource(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) -> {
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result, (connMethod, connResult) -> {
+                    if (connResult instanceof PreparedStatement) {
+                        return proxy(PreparedStatement.class, connResult, (psMethod, psResult) -> {
+                            if (psResult instanceof ResultSet) {
+                                return proxy(ResultSet.class, psResult, (rsMethod, rsResult) -> {
+                                    if ("next".equals(rsMethod.getName())) {
+                                        nextCalls.incrementAndGet();
+                                    }
+                                    return rsResult;
+                                });
+                            }
+                            return psResult;
+                        }, (psMethod, args) -> {
+                            if ("setMaxRows".equals(psMethod.getName())) {
+                                maxRows.set((Integer) args[0]);
+                            }
+                        });
+                    }
+                    return connResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, ResultDecorator decorator) {
+        return proxy(type, target, decorator, null);
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, ResultDecorator decorator, CallListener listener) {
+        InvocationHandler handler = (p, method, args) -> {
+            if (listener != null) {
+                listener.onCall(method, args);
+            }
+            try {
+                return decorator.decorate(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(JdbcQueryUtilTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private interface ResultDecorator {
+        Object decorate(Method method, Object result);
+    }
+
+    private interface CallListener {
+        void onCall(Method method, Object[] args);
+    }
+}
@@ -11,33 +11,62 @@ import com.agentsflex.toolsearch.ToolSearchRequest;
 import com.agentsflex.toolsearch.ToolSearchResult;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * 默认的内存 Tool 元数据存储与加权词法搜索实现。
+ * 默认的内存 Tool 元数据存储与 BM25 词法搜索实现。
  *
- * <p>该实现使用 {@link ConcurrentHashMap} 保存元数据，每次查询对全部 Tool 执行一次
- * O(n) 扫描，不依赖 Lucene、Elasticsearch、向量数据库或 Embedding 模型。对于通常只有
- * 几十到几百个 Tool 的应用，这种实现部署简单，性能也足够；工具规模很大或需要语义
- * 召回时，可以替换为自定义 {@link ToolSearchProvider}。</p>
+ * <p>保存 Tool 时即完成规范化和分词，并增量维护一个倒排索引（词项到 Tool 的 posting）。
+ * 查询只访问查询词命中的 posting，代价与命中规模相关而不是与目录规模相关，适合从多个 MCP
+ * 服务导入数千个 Tool 的场景。该实现不依赖 Lucene、Elasticsearch、向量数据库或 Embedding
+ * 模型；需要语义召回时，可以替换为自定义 {@link ToolSearchProvider}。</p>
  *
- * <p>搜索会对名称、描述、分类、标签以及参数名称和描述分别加权，按得分降序返回；
- * 分数相同时按 Tool 名称排序，以保证结果稳定。该算法是词法匹配，不理解同义词语义。</p>
+ * <p>名称、描述、分类、标签和参数（含嵌套参数）作为独立字段按 BM25 计分并加权求和；
+ * 查询词没有精确词项时按前缀扩展召回，中文连续文本额外以二元组索引以支持部分匹配。
+ * 完整名称或短语命中会获得额外加分，结果通过大小为 maxResults 的堆选出；分数相同时按
+ * Tool 名称排序，以保证结果稳定。保存后修改 {@link ToolInfo} 不会自动更新索引，需要再次保存。</p>
  */
 public class InMemoryToolSearchProvider implements ToolSearchProvider {
-    /** 线程安全的元数据目录，以 Tool 名称为唯一键。 */
-    private final ConcurrentMap<String, ToolInfo> tools = new ConcurrentHashMap<>();
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int CATEGORY = 2;
+    private static final int TAGS = 3;
+    private static final int PARAMETERS = 4;
+    private static final int FIELD_COUNT = 5;
+
+    private static final String[] FIELD_NAMES = {"name", "description", "category", "tags", "parameters"};
+    /** 字段权重：名称最高，分类和标签次之，描述与参数提供补充召回信号。 */
+    private static final double[] FIELD_WEIGHTS = {3.0, 1.0, 2.0, 2.0, 0.8};
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    /** 前缀扩展词项的权重折扣。 */
+    private static final double PREFIX_WEIGHT = 0.5;
+    /** 单个查询词最多扩展的前缀词项数，防止过短的查询词扫描大量 posting。 */
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+
+    /** 以 Tool 名称为唯一键的索引条目。 */
+    private final Map<String, IndexedTool> tools = new HashMap<>();
+    /** 词项到包含该词项的 Tool 的倒排表；有序结构用于前缀扩展。 */
+    private final TreeMap<String, Set<IndexedTool>> postings = new TreeMap<>();
+    /** 各字段的词项总数，用于计算平均字段长度。 */
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     /**
-     * 保存或覆盖 Tool 元数据。
+     * 保存或覆盖 Tool 元数据，并同步更新倒排索引。
      *
      * @param toolInfo 要保存的元数据，名称不能为空
      * @throws IllegalArgumentException 当元数据或名称为空时抛出
@@ -47,7 +76,16 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
         if (toolInfo == null || !hasText(toolInfo.getName())) {
             throw new IllegalArgumentException("ToolInfo and its name must not be blank");
         }
-        tools.put(toolInfo.getName(), toolInfo);
+        // 分词在锁外完成，写锁只覆盖索引结构的修改。
+        IndexedTool indexed = new IndexedTool(toolInfo);
+        lock.writeLock().lock();
+        try {
+            IndexedTool previous = tools.put(toolInfo.getName(), indexed);
+            if (previous != null) unindex(previous);
+            index(indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -55,7 +93,16 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
      * @return 同名元数据；不存在或 name 为 {@code null} 时返回 {@code null}
      */
     @Override
-    public ToolInfo findByName(String name) { return name == null ? null : tools.get(name); }
+    public ToolInfo findByName(String name) {
+        if (name == null) return null;
+        lock.readLock().lock();
+        try {
+            IndexedTool indexed = tools.get(name);
+            return indexed == null ? null : indexed.info;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
     /**
      * 返回全部元数据的快照，并按 Tool 名称升序排列。
@@ -64,16 +111,22 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
      */
     @Override
     public List<ToolInfo> findAll() {
-        List<ToolInfo> result = new ArrayList<>(tools.values());
+        List<ToolInfo> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (IndexedTool indexed : tools.values()) result.add(indexed.info);
+        } finally {
+            lock.readLock().unlock();
+        }
         result.sort(Comparator.comparing(ToolInfo::getName));
         return result;
     }
 
     /**
-     * 执行加权词法搜索。
+     * 执行 BM25 词法搜索。
      *
      * <p>设置 category 时先做忽略大小写和符号差异的精确分类过滤。query 为空时不评分，
-     * 直接按名称返回分类范围内的前 N 个 Tool；query 非空时只保留得分大于 0 的结果。</p>
+     * 直接按名称返回分类范围内的前 N 个 Tool；query 非空时只返回至少命中一个查询词的结果。</p>
      *
      * @param request 搜索请求
      * @return 最多 {@link ToolSearchRequest#getMaxResults()} 条排序结果
@@ -83,22 +136,32 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
     public List<ToolSearchResult> search(ToolSearchRequest request) {
         if (request == null) throw new IllegalArgumentException("ToolSearchRequest must not be null");
         String query = normalize(request.getQuery());
-        List<String> tokens = tokenize(request.getQuery());
-        List<ToolSearchResult> results = new ArrayList<>();
-        // 分类过滤使用规范化后的精确匹配，避免分类子串造成跨业务域误召回。
-        for (ToolInfo tool : tools.values()) {
-            if (hasText(request.getCategory())
-                && !normalize(request.getCategory()).equals(normalize(tool.getCategory()))) continue;
-            Score score = score(tool, query, tokens);
-            if (!hasText(query) || score.value > 0) {
-                results.add(new ToolSearchResult(tool, score.value, new ArrayList<>(score.fields)));
+        String category = hasText(request.getCategory()) ? normalize(request.getCategory()) : null;
+        int limit = request.getMaxResults();
+        // 小顶堆保留当前最好的 limit 条结果，堆顶是其中最差的一条。
+        PriorityQueue<ToolSearchResult> heap = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+        lock.readLock().lock();
+        try {
+            if (!hasText(query)) {
+                for (IndexedTool tool : tools.values()) {
+                    if (category == null || category.equals(tool.category)) {
+                        offer(heap, new ToolSearchResult(tool.info, 0, new ArrayList<>()), limit);
+                    }
+                }
+            } else {
+                for (Candidate candidate : collectCandidates(query)) {
+                    if (category != null && !category.equals(candidate.tool.category)) continue;
+                    offer(heap, candidate.toResult(query), limit);
+                }
             }
+        } finally {
+            lock.readLock().unlock();
         }
-        // ConcurrentHashMap 没有遍历顺序，使用名称作为同分排序键保证结果可重复。
-        results.sort(Comparator.comparingDouble(ToolSearchResult::getScore).reversed()
-            .thenComparing(result -> result.getToolInfo().getName()));
-        return results.size() > request.getMaxResults()
-            ? new ArrayList<>(results.subList(0, request.getMaxResults())) : results;
+
+        List<ToolSearchResult> results = new ArrayList<>(heap);
+        results.sort(RANKING);
+        return results;
     }
 
     /**
@@ -106,61 +169,129 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
      * @return 是否删除了已存在的元数据
      */
     @Override
-    public boolean remove(String name) { return name != null && tools.remove(name) != null; }
+    public boolean remove(String name) {
+        if (name == null) return false;
+        lock.writeLock().lock();
+        try {
+            IndexedTool removed = tools.remove(name);
+            if (removed == null) return false;
+            unindex(removed);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 
-    /** 清空内存中的全部 Tool 元数据。 */
+    /** 清空内存中的全部 Tool 元数据和索引。 */
     @Override
-    public void clear() { tools.clear(); }
-
-    private static Score score(ToolInfo tool, String query, List<String> tokens) {
-        Score score = new Score();
-        String name = normalize(tool.getName());
-        String description = normalize(tool.getDescription());
-        String category = normalize(tool.getCategory());
-        // 完整名称和名称短语具有最高权重，优先返回模型已经明确指出的 Tool。
-        if (hasText(query) && name.equals(query)) score.add(120, "name");
-        else if (hasText(query) && name.contains(query)) score.add(50, "name");
-        if (hasText(query) && description.contains(query)) score.add(30, "description");
-
-        int matchedTokens = 0;
-        for (String token : tokens) {
-            boolean matched = false;
-            // 单词级名称匹配高于子串匹配；分类、标签、描述和参数提供补充召回信号。
-            if (containsWord(name, token)) { score.add(25, "name"); matched = true; }
-            else if (name.contains(token)) { score.add(12, "name"); matched = true; }
-            if (description.contains(token)) { score.add(6, "description"); matched = true; }
-            if (category.equals(token)) { score.add(20, "category"); matched = true; }
-            else if (category.contains(token)) { score.add(8, "category"); matched = true; }
-            for (String tag : tool.getTags()) {
-                if (normalize(tag).contains(token)) { score.add(15, "tags"); matched = true; }
-            }
-            if (parametersContain(tool.getParameters(), token, score)) matched = true;
-            if (matched) matchedTokens++;
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            tools.clear();
+            postings.clear();
+            for (int i = 0; i < FIELD_COUNT; i++) totalFieldLengths[i] = 0;
+        } finally {
+            lock.writeLock().unlock();
         }
-        // 查询词覆盖率奖励避免只偶然命中一个常见词的 Tool 排在多词命中结果之前。
-        if (!tokens.isEmpty()) score.value += 20.0 * matchedTokens / tokens.size();
-        return score;
     }
 
-    /** 递归检查嵌套参数，使对象参数中的字段名和说明也可以参与检索。 */
-    private static boolean parametersContain(List<ToolParameterInfo> parameters, String token, Score score) {
-        boolean matched = false;
-        for (ToolParameterInfo parameter : parameters) {
-            if (normalize(parameter.getName()).contains(token)) { score.add(10, "parameters"); matched = true; }
-            if (normalize(parameter.getDescription()).contains(token)) { score.add(4, "parameters"); matched = true; }
-            if (parametersContain(parameter.getChildren(), token, score)) matched = true;
+    /** 按分数降序、名称升序排列。 */
+    private static final Comparator<ToolSearchResult> RANKING =
+        Comparator.comparingDouble(ToolSearchResult::getScore).reversed()
+            .thenComparing(result -> result.getToolInfo().getName());
+
+    private static void offer(PriorityQueue<ToolSearchResult> heap, ToolSearchResult result, int limit) {
+        heap.offer(result);
+        if (heap.size() > limit) heap.poll();
+    }
+
+    private void index(IndexedTool tool) {
+        for (String term : tool.termFrequencies.keySet()) {
+            postings.computeIfAbsent(term, key -> new HashSet<>()).add(tool);
+        }
+        for (int i = 0; i < FIELD_COUNT; i++) totalFieldLengths[i] += tool.fieldLengths[i];
+    }
+
+    private void unindex(IndexedTool tool) {
+        for (String term : tool.termFrequencies.keySet()) {
+            Set<IndexedTool> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(tool);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+        for (int i = 0; i < FIELD_COUNT; i++) totalFieldLengths[i] -= tool.fieldLengths[i];
+    }
+
+    /**
+     * 遍历每个查询词（及其前缀扩展）的 posting，累加 BM25 分数。调用方必须持有读锁。
+     */
+    private List<Candidate> collectCandidates(String query) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        Map<IndexedTool, Candidate> candidates = new HashMap<>();
+        int documentCount = tools.size();
+        double[] averageLengths = new double[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            averageLengths[i] = documentCount == 0 ? 0 : (double) totalFieldLengths[i] / documentCount;
+        }
+
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            for (Map.Entry<String, Double> expansion : expand(token).entrySet()) {
+                Set<IndexedTool> posting = postings.get(expansion.getKey());
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (IndexedTool tool : posting) {
+                    Candidate candidate = candidates.computeIfAbsent(tool, key -> new Candidate(key, tokens.size()));
+                    int[] frequencies = tool.termFrequencies.get(expansion.getKey());
+                    for (int field = 0; field < FIELD_COUNT; field++) {
+                        int tf = frequencies[field];
+                        if (tf == 0) continue;
+                        double norm = averageLengths[field] == 0 ? 1
+                            : 1 - B + B * tool.fieldLengths[field] / averageLengths[field];
+                        candidate.score += expansion.getValue() * FIELD_WEIGHTS[field] * idf
+                            * tf * (K1 + 1) / (tf + K1 * norm);
+                        candidate.fields.add(FIELD_NAMES[field]);
+                    }
+                    candidate.matchedTokens[t] = true;
+                }
+            }
         }
-        return matched;
+        return new ArrayList<>(candidates.values());
     }
 
-    private static boolean containsWord(String value, String token) {
-        return Arrays.asList(value.split(" ")).contains(token);
+    /** 精确词项权重为 1，按字典序连续的前缀词项权重打折。 */
+    private Map<String, Double> expand(String token) {
+        Map<String, Double> expansions = new HashMap<>();
+        if (postings.containsKey(token)) expansions.put(token, 1.0);
+        int expanded = 0;
+        for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            if (expanded++ >= MAX_PREFIX_EXPANSIONS) break;
+            expansions.put(term, PREFIX_WEIGHT);
+        }
+        return expansions;
     }
 
-    private static List<String> tokenize(String value) {
-        String normalized = normalize(value);
+    /**
+     * 将规范化文本切分为词项。含汉字且长度大于 2 的词项额外生成二元组，
+     * 使“天气”这类查询可以命中“天气查询”。
+     */
+    private static List<String> terms(String normalized) {
         if (!hasText(normalized)) return Collections.emptyList();
-        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(normalized.split(" "))));
+        List<String> terms = new ArrayList<>();
+        for (String term : normalized.split(" ")) {
+            if (term.isEmpty()) continue;
+            terms.add(term);
+            if (term.length() > 2 && containsHan(term)) {
+                for (int i = 0; i + 2 <= term.length(); i++) terms.add(term.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    private static boolean containsHan(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.UnicodeScript.of(value.charAt(i)) == Character.UnicodeScript.HAN) return true;
+        }
+        return false;
     }
 
     /**
@@ -174,11 +305,69 @@ public class InMemoryToolSearchProvider implements ToolSearchProvider {
 
     private static boolean hasText(String value) { return value != null && !value.trim().isEmpty(); }
 
-    private static class Score {
-        /** 当前累计相关度。 */
-        private double value;
+    /** 保存时预先规范化和分词的 Tool。 */
+    private static final class IndexedTool {
+        private final ToolInfo info;
+        private final String name;
+        private final String description;
+        private final String category;
+        /** 词项到各字段词频的映射，数组下标为字段编号。 */
+        private final Map<String, int[]> termFrequencies = new HashMap<>();
+        private final int[] fieldLengths = new int[FIELD_COUNT];
+
+        private IndexedTool(ToolInfo info) {
+            this.info = info;
+            this.name = normalize(info.getName());
+            this.description = normalize(info.getDescription());
+            this.category = normalize(info.getCategory());
+            addField(NAME, name);
+            addField(DESCRIPTION, description);
+            addField(CATEGORY, category);
+            for (String tag : info.getTags()) addField(TAGS, normalize(tag));
+            addParameters(info.getParameters());
+        }
+
+        /** 递归收录嵌套参数，使对象参数中的字段名和说明也可以参与检索。 */
+        private void addParameters(List<ToolParameterInfo> parameters) {
+            for (ToolParameterInfo parameter : parameters) {
+                addField(PARAMETERS, normalize(parameter.getName()));
+                addField(PARAMETERS, normalize(parameter.getDescription()));
+                addParameters(parameter.getChildren());
+            }
+        }
+
+        private void addField(int field, String normalized) {
+            for (String term : terms(normalized)) {
+                termFrequencies.computeIfAbsent(term, key -> new int[FIELD_COUNT])[field]++;
+                fieldLengths[field]++;
+            }
+        }
+    }
+
+    /** 单次查询中某个 Tool 的累计得分。 */
+    private static final class Candidate {
+        private final IndexedTool tool;
+        private final boolean[] matchedTokens;
         /** 去重后的命中字段，便于调用方观察得分来源。 */
         private final Set<String> fields = new LinkedHashSet<>();
-        private void add(double points, String field) { value += points; fields.add(field); }
+        private double score;
+
+        private Candidate(IndexedTool tool, int tokenCount) {
+            this.tool = tool;
+            this.matchedTokens = new boolean[tokenCount];
+        }
+
+        private ToolSearchResult toResult(String query) {
+            double value = score;
+            // 完整名称和名称短语优先，保证模型明确指出的 Tool 排在最前。
+            if (tool.name.equals(query)) value += 10;
+            else if (tool.name.contains(query)) value += 4;
+            if (tool.description.contains(query)) value += 1;
+            // 查询词覆盖率奖励避免只偶然命中一个常见词的 Tool 排在多词命中结果之前。
+            int matched = 0;
+            for (boolean hit : matchedTokens) if (hit) matched++;
+            value *= 0.5 + 0.5 * matched / matchedTokens.length;
+            return new ToolSearchResult(tool.info, value, new ArrayList<>(fields));
+        }
     }
 }
@@ -43,6 +43,37 @@ public class InMemoryToolSearchProviderTest {
         assertEquals(1, provider.findAll().size());
     }
 
+    @Test
+    public void shouldKeepIndexInSyncAndMatchPrefixes() {
+        InMemoryToolSearchProvider provider = new InMemoryToolSearchProvider();
+        provider.save(info(tool("weatherLookup", "Fetch a forecast", "city"), "weather"));
+        provider.save(info(tool("stockQuote", "Fetch a stock price", "symbol"), "finance"));
+        assertEquals("weatherLookup", provider.search(new ToolSearchRequest("forecast"))
+            .get(0).getToolInfo().getName());
+        assertEquals("stockQuote", provider.search(new ToolSearchRequest("sto"))
+            .get(0).getToolInfo().getName());
+
+        // 覆盖保存后旧词项不再命中，删除后也不再返回。
+        provider.save(info(tool("weatherLookup", "Current conditions", "city"), "weather"));
+        assertTrue(provider.search(new ToolSearchRequest("forecast")).isEmpty());
+        assertTrue(provider.remove("stockQuote"));
+        assertTrue(provider.search(new ToolSearchRequest("stock")).isEmpty());
+    }
+
+    @Test
+    public void shouldMatchChineseSubstringsAndLimitResults() {
+        InMemoryToolSearchProvider provider = new InMemoryToolSearchProvider();
+        provider.save(info(tool("weather", "天气查询服务", "city"), "weather"));
+        for (int i = 0; i < 20; i++) {
+            provider.save(info(tool("tool" + i, "Generic helper " + i, "value"), "misc"));
+        }
+        assertEquals("weather", provider.search(new ToolSearchRequest("天气"))
+            .get(0).getToolInfo().getName());
+        ToolSearchRequest request = new ToolSearchRequest("generic helper");
+        request.setMaxResults(3);
+        assertEquals(3, provider.search(request).size());
+    }
+
     private static ToolInfo info(Tool tool, String category) {
         ToolInfo info = ToolInfo.from(tool);
         info.setCategory(category);
@@ -21,7 +21,7 @@ public class VolcengineVideoModel extends BaseVideoModel<VolcengineVideoModelCon
     private final AgentsFlexHttpClient agentsFlexHttpClient;
 
     public VolcengineVideoModel(VolcengineVideoModelConfig config) {
-        this(config, AgentsFlexHttpClient.getDefault());
+        this(config, AgentsFlexHttpClient.forProfile(config.getHttpClientProfile()));
     }
 
     VolcengineVideoModel(VolcengineVideoModelConfig config, AgentsFlexHttpClient agentsFlexHttpClient) {
@@ -166,6 +166,7 @@ const ragStoreSidebar = [
             {text: 'Chroma', link: '/zh/store/chroma'},
             {text: 'Qdrant', link: '/zh/store/qdrant'},
             {text: '阿里云 DashVector', link: '/zh/store/aliyun'},
+            {text: '进程内 Memory', link: '/zh/store/memory'},
             {text: '自定义 VectorStore', link: '/zh/store/custom-store'},
             {text: '故障排查与生产建议', link: '/zh/store/troubleshooting'},
         ]